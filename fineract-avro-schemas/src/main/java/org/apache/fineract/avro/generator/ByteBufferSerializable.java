@@ -20,9 +20,12 @@
 package org.apache.fineract.avro.generator;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 public interface ByteBufferSerializable {
 
     ByteBuffer toByteBuffer() throws IOException;
+
+    void writeTo(OutputStream outputStream) throws IOException;
 }
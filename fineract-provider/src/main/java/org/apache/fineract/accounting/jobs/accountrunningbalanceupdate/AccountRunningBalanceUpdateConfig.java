@@ -19,6 +19,7 @@
 package org.apache.fineract.accounting.jobs.accountrunningbalanceupdate;
 
 import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceUpdateService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -26,12 +27,16 @@ import org.springframework.batch.core.configuration.annotation.JobBuilderFactory
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 
 @Configuration
 public class AccountRunningBalanceUpdateConfig {
 
+    private static final String WORKER_STEP_NAME = JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE.name() + "_WORKER";
+
     @Autowired
     private JobBuilderFactory jobs;
 
@@ -39,12 +44,30 @@ public class AccountRunningBalanceUpdateConfig {
     private StepBuilderFactory steps;
     @Autowired
     private JournalEntryRunningBalanceUpdateService journalEntryRunningBalanceUpdateService;
+    @Autowired
+    private FineractProperties fineractProperties;
+    @Autowired
+    @Qualifier("runningBalanceTaskExecutor")
+    private TaskExecutor runningBalanceTaskExecutor;
 
     @Bean
     protected Step accountRunningBalanceUpdateStep() {
+        FineractProperties.FineractRunningBalanceProperties properties = fineractProperties.getAccounting().getRunningBalance();
+        if (properties.isPartitionedJobEnabled()) {
+            return steps.get(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE.name())
+                    .partitioner(WORKER_STEP_NAME, new AccountRunningBalanceUpdatePartitioner(journalEntryRunningBalanceUpdateService))
+                    .step(accountRunningBalanceUpdateWorkerStep()).gridSize(Math.max(properties.getThreadPoolSize(), 1))
+                    .taskExecutor(runningBalanceTaskExecutor).build();
+        }
         return steps.get(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE.name()).tasklet(accountRunningBalanceUpdateTasklet()).build();
     }
 
+    @Bean
+    protected Step accountRunningBalanceUpdateWorkerStep() {
+        return steps.get(WORKER_STEP_NAME)
+                .tasklet(new AccountRunningBalanceUpdatePartitionTasklet(journalEntryRunningBalanceUpdateService)).build();
+    }
+
     @Bean
     public Job accountRunningBalanceUpdateJob() {
         return jobs.get(JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE.name()).start(accountRunningBalanceUpdateStep())
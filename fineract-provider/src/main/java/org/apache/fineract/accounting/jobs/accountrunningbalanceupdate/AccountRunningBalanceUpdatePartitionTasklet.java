@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.jobs.accountrunningbalanceupdate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceUpdateService;
+import org.apache.fineract.infrastructure.jobs.service.IdRangePartitions;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+/**
+ * Recalculates the running balances of the GL accounts of a partition, one account per tasklet iteration. The iterations
+ * are committed one by one, so a restarted partition continues after the last recalculated account. The number of
+ * recalculated accounts is kept in the execution context as well, because the write count of the step execution starts
+ * over when the partition is restarted.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AccountRunningBalanceUpdatePartitionTasklet implements Tasklet {
+
+    public static final String RECALCULATED_ACCOUNT_COUNT = "recalculatedAccountCount";
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private final JournalEntryRunningBalanceUpdateService journalEntryRunningBalanceUpdateService;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
+        long minAccountId = executionContext.getLong(AccountRunningBalanceUpdatePartitioner.MIN_ACCOUNT_ID);
+        long maxAccountId = executionContext.getLong(AccountRunningBalanceUpdatePartitioner.MAX_ACCOUNT_ID);
+        Long accountId = journalEntryRunningBalanceUpdateService.updateNextRunningBalance(minAccountId, maxAccountId);
+        if (accountId == null) {
+            logProgress(executionContext);
+            return RepeatStatus.FINISHED;
+        }
+        contribution.incrementWriteCount(1);
+        int recalculatedAccountCount = executionContext.getInt(RECALCULATED_ACCOUNT_COUNT, 0) + 1;
+        executionContext.putInt(RECALCULATED_ACCOUNT_COUNT, recalculatedAccountCount);
+        executionContext.putLong(AccountRunningBalanceUpdatePartitioner.MIN_ACCOUNT_ID, accountId + 1);
+        log.debug("Running balance {}: recalculated GL account {}", executionContext.getString(IdRangePartitions.PARTITION_NAME, ""),
+                accountId);
+        boolean finished = accountId >= maxAccountId;
+        if (finished || recalculatedAccountCount % PROGRESS_LOG_INTERVAL == 0) {
+            logProgress(executionContext);
+        }
+        return finished ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    private void logProgress(ExecutionContext executionContext) {
+        log.info("Running balance {}: recalculated {} of {} GL accounts", executionContext.getString(IdRangePartitions.PARTITION_NAME, ""),
+                executionContext.getInt(RECALCULATED_ACCOUNT_COUNT, 0),
+                executionContext.getInt(AccountRunningBalanceUpdatePartitioner.ACCOUNT_COUNT, 0));
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.jobs.accountrunningbalanceupdate;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceUpdateService;
+import org.apache.fineract.infrastructure.jobs.service.IdRangePartitions;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Partitions the running balance update by GL account id ranges. The running balances of a GL account (office and
+ * organization level) only depend on the journal entries of the account, so the partitions are independent of each
+ * other.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AccountRunningBalanceUpdatePartitioner implements Partitioner {
+
+    public static final String MIN_ACCOUNT_ID = "minAccountId";
+    public static final String MAX_ACCOUNT_ID = "maxAccountId";
+    public static final String ACCOUNT_COUNT = "accountCount";
+
+    private final JournalEntryRunningBalanceUpdateService journalEntryRunningBalanceUpdateService;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<Long> accountIds = journalEntryRunningBalanceUpdateService.retrieveAccountIdsToRecalculate();
+        if (accountIds.isEmpty()) {
+            log.debug("No results found for updation of running balance ");
+            return Map.of();
+        }
+        Map<String, ExecutionContext> partitions = IdRangePartitions.partition(accountIds, gridSize, MIN_ACCOUNT_ID, MAX_ACCOUNT_ID,
+                ACCOUNT_COUNT);
+        log.info("Running balance update of {} GL accounts is split into {} partitions", accountIds.size(), partitions.size());
+        return partitions;
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recalculates the running balances of the journal entries of a single GL account.
+ *
+ * The recalculation starts from the closing balances stored in {@code acc_gl_running_balance_snapshot} for the last day
+ * before the given date, so only the entries from that date onwards are read and updated. The snapshots of the
+ * recalculated days are rewritten afterwards. The organization running balance of an account is the sum of its office
+ * running balances, so it is derived from the office snapshots as well. Concurrent recalculations of the same account
+ * are serialized by locking its {@code acc_gl_account} row before the snapshots are deleted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GLAccountRunningBalanceCalculator {
+
+    private static final int BATCH_UPDATE_SIZE = 1000;
+
+    // Locks the account row, so the recalculations of the same account (job and API) run one after the other. Otherwise
+    // the second one would not see the snapshots committed by the first one and fail on their unique key.
+    private static final String ACCOUNT_TYPE_SQL = "select classification_enum from acc_gl_account where id = ? for update";
+
+    private static final String OPENING_BALANCES_SQL = "select s.office_id as officeId, s.office_running_balance as runningBalance "
+            + "from acc_gl_running_balance_snapshot s where s.account_id = ? and s.entry_date = (select max(s2.entry_date) "
+            + "from acc_gl_running_balance_snapshot s2 where s2.account_id = s.account_id and s2.office_id = s.office_id "
+            + "and s2.entry_date < ?)";
+
+    private static final String ENTRIES_SQL = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, "
+            + "je.type_enum as entryType, je.amount as amount from acc_gl_journal_entry je where je.account_id = ? and je.entry_date >= ?";
+
+    private static final String DELETE_SNAPSHOTS_SQL = "DELETE FROM acc_gl_running_balance_snapshot "
+            + "WHERE account_id = ? AND entry_date >= ?";
+
+    private static final String INSERT_SNAPSHOT_SQL = "INSERT INTO acc_gl_running_balance_snapshot "
+            + "(office_id, account_id, entry_date, office_running_balance, last_journal_entry_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ORGANIZATION_RUNNING_BALANCE_SQL = "UPDATE acc_gl_journal_entry SET "
+            + "is_running_balance_calculated=?, organization_running_balance=?, office_running_balance=?, "
+            + "last_modified_by=?, last_modified_on_utc=? WHERE id=?";
+
+    private static final String UPDATE_OFFICE_RUNNING_BALANCE_SQL = "UPDATE acc_gl_journal_entry SET office_running_balance=?, "
+            + "last_modified_by=?, last_modified_on_utc=? WHERE id=?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Recalculates the organization and office running balances of the journal entries of the given account which were
+     * posted on or after the given date and marks them as calculated.
+     */
+    public void recalculateOrganizationRunningBalance(Long accountId, LocalDate fromDate, Long modifiedBy, OffsetDateTime modifiedOn) {
+        transactionTemplate.executeWithoutResult(status -> recalculate(null, accountId, fromDate, modifiedBy, modifiedOn));
+    }
+
+    /**
+     * Recalculates the office running balances of the journal entries of the given office and account which were posted on
+     * or after the given date.
+     */
+    public void recalculateOfficeRunningBalance(Long officeId, Long accountId, LocalDate fromDate, Long modifiedBy,
+            OffsetDateTime modifiedOn) {
+        transactionTemplate.executeWithoutResult(status -> recalculate(officeId, accountId, fromDate, modifiedBy, modifiedOn));
+    }
+
+    private void recalculate(Long officeId, Long accountId, LocalDate fromDate, Long modifiedBy, OffsetDateTime modifiedOn) {
+        final long startTime = System.currentTimeMillis();
+        final GLAccountType accountType = GLAccountType
+                .fromInt(jdbcTemplate.queryForObject(ACCOUNT_TYPE_SQL, Integer.class, accountId));
+        final Map<Long, BigDecimal> openingBalances = findOpeningBalances(officeId, accountId, fromDate);
+
+        final RunningBalanceCallbackHandler handler;
+        if (officeId == null) {
+            jdbcTemplate.update(DELETE_SNAPSHOTS_SQL, accountId, fromDate);
+            handler = new RunningBalanceCallbackHandler(accountId, accountType, openingBalances, true, modifiedBy, modifiedOn);
+            jdbcTemplate.query(ENTRIES_SQL + " order by je.entry_date, je.id", handler, accountId, fromDate);
+        } else {
+            jdbcTemplate.update(DELETE_SNAPSHOTS_SQL + " AND office_id = ?", accountId, fromDate, officeId);
+            handler = new RunningBalanceCallbackHandler(accountId, accountType, openingBalances, false, modifiedBy, modifiedOn);
+            jdbcTemplate.query(ENTRIES_SQL + " and je.office_id = ? order by je.entry_date, je.id", handler, accountId, fromDate,
+                    officeId);
+        }
+        handler.finish();
+        log.debug("Recalculated the running balance of {} journal entries of GL account {} from {} in {} ms", handler.getEntryCount(),
+                accountId, fromDate, System.currentTimeMillis() - startTime);
+    }
+
+    private Map<Long, BigDecimal> findOpeningBalances(Long officeId, Long accountId, LocalDate fromDate) {
+        final Map<Long, BigDecimal> openingBalances = new HashMap<>();
+        final RowCallbackHandler handler = rs -> openingBalances.put(rs.getLong("officeId"), rs.getBigDecimal("runningBalance"));
+        if (officeId == null) {
+            jdbcTemplate.query(OPENING_BALANCES_SQL, handler, accountId, fromDate);
+        } else {
+            jdbcTemplate.query(OPENING_BALANCES_SQL + " and s.office_id = ?", handler, accountId, fromDate, officeId);
+        }
+        return openingBalances;
+    }
+
+    static BigDecimal signedAmount(GLAccountType accountType, JournalEntryType entryType, BigDecimal amount) {
+        boolean isIncrease = false;
+        switch (accountType) {
+            case ASSET:
+            case EXPENSE:
+                if (entryType.isDebitType()) {
+                    isIncrease = true;
+                }
+            break;
+            case EQUITY:
+            case INCOME:
+            case LIABILITY:
+                if (entryType.isCreditType()) {
+                    isIncrease = true;
+                }
+            break;
+        }
+        return isIncrease ? amount : amount.negate();
+    }
+
+    private final class RunningBalanceCallbackHandler implements RowCallbackHandler {
+
+        private final Long accountId;
+        private final GLAccountType accountType;
+        private final Map<Long, BigDecimal> officeBalances;
+        private final boolean updateOrganizationBalance;
+        private final Long modifiedBy;
+        private final OffsetDateTime modifiedOn;
+        private final List<Object[]> updates = new ArrayList<>();
+        private final List<Object[]> snapshots = new ArrayList<>();
+        // Closing balance of the offices of the current day, they become snapshots when the day is over
+        private final Map<Long, Object[]> dailySnapshots = new LinkedHashMap<>();
+        private BigDecimal organizationBalance;
+        private LocalDate currentDate;
+        private int entryCount;
+
+        RunningBalanceCallbackHandler(Long accountId, GLAccountType accountType, Map<Long, BigDecimal> openingBalances,
+                boolean updateOrganizationBalance, Long modifiedBy, OffsetDateTime modifiedOn) {
+            this.accountId = accountId;
+            this.accountType = accountType;
+            this.officeBalances = openingBalances;
+            this.updateOrganizationBalance = updateOrganizationBalance;
+            this.modifiedBy = modifiedBy;
+            this.modifiedOn = modifiedOn;
+            this.organizationBalance = openingBalances.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        @Override
+        public void processRow(@NotNull ResultSet rs) throws SQLException {
+            final Long id = rs.getLong("id");
+            final Long officeId = rs.getLong("officeId");
+            final LocalDate entryDate = JdbcSupport.getLocalDate(rs, "entryDate");
+            final JournalEntryType entryType = JournalEntryType.fromInt(rs.getInt("entryType"));
+            final BigDecimal amount = signedAmount(accountType, entryType, rs.getBigDecimal("amount"));
+
+            if (currentDate != null && !currentDate.equals(entryDate)) {
+                closeDay();
+            }
+            currentDate = entryDate;
+            entryCount++;
+
+            final BigDecimal officeBalance = officeBalances.getOrDefault(officeId, BigDecimal.ZERO).add(amount);
+            officeBalances.put(officeId, officeBalance);
+            if (updateOrganizationBalance) {
+                organizationBalance = organizationBalance.add(amount);
+                updates.add(new Object[] { Boolean.TRUE, organizationBalance, officeBalance, modifiedBy, modifiedOn, id });
+            } else {
+                updates.add(new Object[] { officeBalance, modifiedBy, modifiedOn, id });
+            }
+            dailySnapshots.put(officeId, new Object[] { officeId, accountId, entryDate, officeBalance, id });
+
+            if (updates.size() >= BATCH_UPDATE_SIZE) {
+                flushUpdates();
+            }
+        }
+
+        void finish() {
+            closeDay();
+            flushUpdates();
+            flushSnapshots();
+        }
+
+        int getEntryCount() {
+            return entryCount;
+        }
+
+        private void closeDay() {
+            snapshots.addAll(dailySnapshots.values());
+            dailySnapshots.clear();
+            if (snapshots.size() >= BATCH_UPDATE_SIZE) {
+                flushSnapshots();
+            }
+        }
+
+        private void flushUpdates() {
+            if (!updates.isEmpty()) {
+                String sql = updateOrganizationBalance ? UPDATE_ORGANIZATION_RUNNING_BALANCE_SQL : UPDATE_OFFICE_RUNNING_BALANCE_SQL;
+                jdbcTemplate.batchUpdate(sql, updates);
+                updates.clear();
+            }
+        }
+
+        private void flushSnapshots() {
+            if (!snapshots.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, snapshots);
+                snapshots.clear();
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.accounting.journalentry.service;
 
+import java.util.List;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 
@@ -25,6 +26,20 @@ public interface JournalEntryRunningBalanceUpdateService {
 
     void updateRunningBalance();
 
+    /**
+     * Returns the ids of the GL accounts which have journal entries with an uncalculated running balance, in ascending
+     * order.
+     */
+    List<Long> retrieveAccountIdsToRecalculate();
+
+    /**
+     * Recalculates the running balance of the first GL account between the given ids (both inclusive) which has journal
+     * entries with an uncalculated running balance, on the calling thread.
+     *
+     * @return the id of the recalculated GL account, or null if there was nothing to recalculate in the range
+     */
+    Long updateNextRunningBalance(Long minAccountId, Long maxAccountId);
+
     CommandProcessingResult updateOfficeRunningBalance(JsonCommand command);
 
 }
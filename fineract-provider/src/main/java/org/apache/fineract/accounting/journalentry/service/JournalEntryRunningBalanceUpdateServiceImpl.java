@@ -18,42 +18,60 @@
  */
 package org.apache.fineract.accounting.journalentry.service;
 
-import java.math.BigDecimal;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
-import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
-import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+/**
+ * Recalculates the running balances of the journal entries.
+ *
+ * The running balances of a GL account do not depend on the entries of other accounts, so the accounts which have
+ * uncalculated entries are recalculated concurrently, each one from the date of its earliest uncalculated entry.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
+    private static final String ORGANIZATION_ACCOUNTS_TO_RECALCULATE_SQL = "select je.account_id as accountId, "
+            + "MIN(je.entry_date) as entryDate from acc_gl_journal_entry je where je.is_running_balance_calculated=false "
+            + "group by je.account_id";
+
+    private static final String OFFICE_ACCOUNTS_TO_RECALCULATE_SQL = "select je.account_id as accountId, "
+            + "MIN(je.entry_date) as entryDate from acc_gl_journal_entry je where je.is_running_balance_calculated=false "
+            + "and je.office_id=? group by je.account_id";
+
+    private static final String RANGE_ACCOUNTS_TO_RECALCULATE_SQL = "select je.account_id as accountId, "
+            + "MIN(je.entry_date) as entryDate from acc_gl_journal_entry je where je.is_running_balance_calculated=false "
+            + "and je.account_id >= ? and je.account_id <= ? group by je.account_id order by je.account_id ";
+
+    private static final String ACCOUNT_IDS_TO_RECALCULATE_SQL = "select distinct je.account_id from acc_gl_journal_entry je "
+            + "where je.is_running_balance_calculated=false order by je.account_id";
+
+    private static final RowMapper<Map.Entry<Long, LocalDate>> ACCOUNT_FROM_DATE_MAPPER = (rs, rowNum) -> Map
+            .entry(rs.getLong("accountId"), JdbcSupport.getLocalDate(rs, "entryDate"));
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
@@ -61,22 +79,58 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
     private final JournalEntryDataValidator dataValidator;
 
     private final FromJsonHelper fromApiJsonHelper;
-    private final DatabaseSpecificSQLGenerator sqlGenerator;
-
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
 
     private final PlatformSecurityContext platformSecurityContext;
 
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private final GLAccountRunningBalanceCalculator runningBalanceCalculator;
+
+    private final AsyncTaskExecutor runningBalanceTaskExecutor;
+
+    public JournalEntryRunningBalanceUpdateServiceImpl(JdbcTemplate jdbcTemplate, OfficeRepositoryWrapper officeRepositoryWrapper,
+            JournalEntryDataValidator dataValidator, FromJsonHelper fromApiJsonHelper, PlatformSecurityContext platformSecurityContext,
+            DatabaseSpecificSQLGenerator sqlGenerator, GLAccountRunningBalanceCalculator runningBalanceCalculator,
+            @Qualifier("runningBalanceTaskExecutor") AsyncTaskExecutor runningBalanceTaskExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.officeRepositoryWrapper = officeRepositoryWrapper;
+        this.dataValidator = dataValidator;
+        this.fromApiJsonHelper = fromApiJsonHelper;
+        this.platformSecurityContext = platformSecurityContext;
+        this.sqlGenerator = sqlGenerator;
+        this.runningBalanceCalculator = runningBalanceCalculator;
+        this.runningBalanceTaskExecutor = runningBalanceTaskExecutor;
+    }
+
     @Override
     public void updateRunningBalance() {
-        String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
-                + "where je.is_running_balance_calculated=false ";
-        try {
-            LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class);
-            updateOrganizationRunningBalance(entityDate);
-        } catch (EmptyResultDataAccessException e) {
+        Map<Long, LocalDate> accountFromDates = findAccountsToRecalculate(ORGANIZATION_ACCOUNTS_TO_RECALCULATE_SQL);
+        if (accountFromDates.isEmpty()) {
             log.debug("No results found for updation of running balance ");
+            return;
+        }
+        final Long modifiedBy = platformSecurityContext.authenticatedUser().getId();
+        final OffsetDateTime modifiedOn = DateUtils.getOffsetDateTimeOfTenant();
+        recalculate(accountFromDates, (accountId, fromDate) -> runningBalanceCalculator.recalculateOrganizationRunningBalance(accountId,
+                fromDate, modifiedBy, modifiedOn));
+    }
+
+    @Override
+    public List<Long> retrieveAccountIdsToRecalculate() {
+        return jdbcTemplate.queryForList(ACCOUNT_IDS_TO_RECALCULATE_SQL, Long.class);
+    }
+
+    @Override
+    public Long updateNextRunningBalance(Long minAccountId, Long maxAccountId) {
+        final List<Map.Entry<Long, LocalDate>> accounts = jdbcTemplate.query(RANGE_ACCOUNTS_TO_RECALCULATE_SQL + sqlGenerator.limit(1),
+                ACCOUNT_FROM_DATE_MAPPER, minAccountId, maxAccountId);
+        if (accounts.isEmpty()) {
+            return null;
         }
+        final Map.Entry<Long, LocalDate> account = accounts.get(0);
+        runningBalanceCalculator.recalculateOrganizationRunningBalance(account.getKey(), account.getValue(),
+                platformSecurityContext.authenticatedUser().getId(), DateUtils.getOffsetDateTimeOfTenant());
+        return account.getKey();
     }
 
     @Override
@@ -90,196 +144,51 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
             updateRunningBalance();
         } else {
             this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
-            String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
-                    + "where je.is_running_balance_calculated=false  and je.office_id=?";
-            try {
-                LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class, officeId);
-                updateRunningBalance(officeId, entityDate);
-            } catch (EmptyResultDataAccessException e) {
+            Map<Long, LocalDate> accountFromDates = findAccountsToRecalculate(OFFICE_ACCOUNTS_TO_RECALCULATE_SQL, officeId);
+            if (accountFromDates.isEmpty()) {
                 log.debug("No results found for updation of office running balance with office id: {}", officeId);
+            } else {
+                final Long modifiedBy = platformSecurityContext.authenticatedUser().getId();
+                final OffsetDateTime modifiedOn = DateUtils.getOffsetDateTimeOfTenant();
+                recalculate(accountFromDates, (accountId, fromDate) -> runningBalanceCalculator.recalculateOfficeRunningBalance(officeId,
+                        accountId, fromDate, modifiedBy, modifiedOn));
             }
             commandProcessingResultBuilder.withOfficeId(officeId);
         }
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
-
-        final String organizationRunningBalanceQuery = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
-
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-                + "from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
-            }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
-
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper, entityDate);
-        if (entryDataList.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final int batchUpdateSize = 1000;
-            List<Object[]> params = new ArrayList<>();
-            int batchIndex = 0;
-            String sql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, organization_running_balance=?,"
-                    + "office_running_balance=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
-            for (int index = 0; index < entryDataList.size(); index++) {
-                JournalEntryData entryData = entryDataList.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
-                }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-
-                params.add(new Object[] { Boolean.TRUE, runningBalance, officeRunningBalance,
-                        platformSecurityContext.authenticatedUser().getId(), DateUtils.getOffsetDateTimeOfTenant(), entryData.getId() });
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDataList.size() - 1) {
-                    this.jdbcTemplate.batchUpdate(sql, params);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    params.clear();
-                }
-            }
-        }
-
+    private Map<Long, LocalDate> findAccountsToRecalculate(String sql, Object... params) {
+        final List<Map.Entry<Long, LocalDate>> rows = jdbcTemplate.query(sql, ACCOUNT_FROM_DATE_MAPPER, params);
+        final Map<Long, LocalDate> accountFromDates = new LinkedHashMap<>();
+        rows.forEach(row -> accountFromDates.put(row.getKey(), row.getValue()));
+        return accountFromDates;
     }
 
-    private void updateRunningBalance(Long officeId, LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, officeId,
-                entityDate);
-        List<Object[]> params = new ArrayList<>();
-
-        String sql = "UPDATE acc_gl_journal_entry SET office_running_balance=?, last_modified_by=?, last_modified_on_utc=? WHERE id=?";
-        for (JournalEntryData entryData : entryDataList) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            params.add(new Object[] { runningBalance, platformSecurityContext.authenticatedUser().getId(),
-                    DateUtils.getOffsetDateTimeOfTenant(), entryData.getId() });
-        }
-        this.jdbcTemplate.batchUpdate(sql, params);
-    }
+    private void recalculate(Map<Long, LocalDate> accountFromDates, BiConsumer<Long, LocalDate> recalculation) {
+        final Map<Long, Future<?>> futures = new LinkedHashMap<>();
+        accountFromDates.forEach((accountId, fromDate) -> futures.put(accountId,
+                runningBalanceTaskExecutor.submit(() -> recalculation.accept(accountId, fromDate))));
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
-        }
-        GLAccountType accountType = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
-        boolean isIncrease = false;
-        switch (accountType) {
-            case ASSET:
-            case EXPENSE:
-                if (entryType.isDebitType()) {
-                    isIncrease = true;
-                }
-            break;
-            case EQUITY:
-            case INCOME:
-            case LIABILITY:
-                if (entryType.isCreditType()) {
-                    isIncrease = true;
+        // Every account is waited for, a failing account must not leave the others running in the background
+        RuntimeException failure = null;
+        for (Map.Entry<Long, Future<?>> future : futures.entrySet()) {
+            try {
+                future.getValue().get();
+            } catch (ExecutionException e) {
+                log.error("Running balance recalculation of GL account {} failed", future.getKey(), e.getCause());
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
                 }
-            break;
-        }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
-        }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
-    }
-
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
-
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
-        }
-
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(remaining -> remaining.cancel(true));
+                throw new IllegalStateException("Running balance recalculation was interrupted", e);
+            }
         }
-
-        @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
-            final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
-
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null);
+        if (failure != null) {
+            throw failure;
         }
+        log.debug("Recalculated the running balance of {} GL accounts", futures.size());
     }
-
 }
@@ -27,9 +27,9 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.HttpMethod;
@@ -87,7 +87,7 @@ public class BatchApiResource {
     /**
      * Rest assured POST method to get {@link BatchRequest} and returns back the consolidated {@link BatchResponse}
      *
-     * @param jsonRequestString
+     * @param jsonRequestStream
      * @param enclosingTransaction
      * @param uriInfo
      * @return serialized JSON
@@ -103,15 +103,15 @@ public class BatchApiResource {
             @ApiResponse(responseCode = "200", description = "Success", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchResponse.class)))) })
     public String handleBatchRequests(
             @DefaultValue("false") @QueryParam("enclosingTransaction") @Parameter(description = "enclosingTransaction", required = false) final boolean enclosingTransaction,
-            @Parameter(hidden = true) final String jsonRequestString, @Context UriInfo uriInfo) {
+            @Parameter(hidden = true) final InputStream jsonRequestStream, @Context UriInfo uriInfo) {
 
         // Handles user authentication
         this.context.authenticatedUser();
 
-        // Converts request array into BatchRequest List
-        final List<BatchRequest> requestList = this.batchRequestJsonHelper.extractList(jsonRequestString);
-
-        validateRequestMethodsAllowedOnInstanceType(requestList);
+        // Reads the request array into a BatchRequest List directly from the request body, validating every request as
+        // soon as it has been read
+        final List<BatchRequest> requestList = this.batchRequestJsonHelper.extractList(jsonRequestStream,
+                this::validateRequestMethodAllowedOnInstanceType);
 
         // Gets back the consolidated BatchResponse from BatchApiservice
         List<BatchResponse> result = new ArrayList<>();
@@ -129,19 +129,15 @@ public class BatchApiResource {
     }
 
     /**
-     * Validates to make sure the request methods are allowed on currently running instance mode (type).
+     * Validates to make sure the request method is allowed on currently running instance mode (type).
      *
-     * @param requestList
-     *            the list of {@link BatchRequest}s
+     * @param request
+     *            the {@link BatchRequest}
      */
-    private void validateRequestMethodsAllowedOnInstanceType(final List<BatchRequest> requestList) {
+    private void validateRequestMethodAllowedOnInstanceType(final BatchRequest request) {
         // Throw exception if instance is read only and any of the batch requests are trying to write/update data.
-        if (fineractProperties.getMode().isReadOnlyMode()) {
-            final Optional<BatchRequest> nonGetRequest = requestList.stream()
-                    .filter(batchRequest -> !HttpMethod.GET.equals(batchRequest.getMethod())).findFirst();
-            if (nonGetRequest.isPresent()) {
-                throw new InvalidInstanceTypeMethodException(nonGetRequest.get().getMethod());
-            }
+        if (fineractProperties.getMode().isReadOnlyMode() && !HttpMethod.GET.equals(request.getMethod())) {
+            throw new InvalidInstanceTypeMethodException(request.getMethod());
         }
     }
 
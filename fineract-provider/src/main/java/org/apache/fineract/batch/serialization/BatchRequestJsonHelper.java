@@ -18,9 +18,20 @@
  */
 package org.apache.fineract.batch.serialization;
 
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.springframework.stereotype.Component;
@@ -48,4 +59,45 @@ public class BatchRequestJsonHelper extends FromJsonHelper {
         final List<BatchRequest> requests = super.getGsonConverter().fromJson(json, listType);
         return requests;
     }
+
+    /**
+     * Returns a list of batchRequests read incrementally from the input stream, without materializing the whole payload
+     * as a String first. Every request is passed to the given consumer as soon as it has been read, so it can be
+     * validated before the rest of the payload is read.
+     *
+     * @param inputStream
+     *            the UTF-8 encoded JSON array of the batch requests
+     * @param onRequest
+     *            called with every request in the order of the payload
+     * @return List&lt;BatchRequest&gt;
+     */
+    public List<BatchRequest> extractList(final InputStream inputStream, final Consumer<BatchRequest> onRequest) {
+        final List<BatchRequest> requests = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            if (isEmpty(reader)) {
+                return requests;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                final BatchRequest request = super.getGsonConverter().fromJson(reader, BatchRequest.class);
+                onRequest.accept(request);
+                requests.add(request);
+            }
+            reader.endArray();
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return requests;
+    }
+
+    private boolean isEmpty(final JsonReader reader) throws IOException {
+        try {
+            reader.peek();
+            return false;
+        } catch (EOFException e) {
+            return true;
+        }
+    }
 }
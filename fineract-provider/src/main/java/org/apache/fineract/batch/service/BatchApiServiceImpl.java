@@ -23,10 +23,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.batch.command.CommandContext;
 import org.apache.fineract.batch.command.CommandStrategy;
@@ -37,6 +38,9 @@ import org.apache.fineract.batch.exception.ClientDetailsNotFoundException;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionException;
@@ -55,23 +59,39 @@ import org.springframework.transaction.support.TransactionTemplate;
  * @see org.apache.fineract.batch.command.CommandStrategyProvider
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BatchApiServiceImpl implements BatchApiService {
 
     private final CommandStrategyProvider strategyProvider;
     private final ResolutionHelper resolutionHelper;
     private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+    private final AsyncTaskExecutor batchApiTaskExecutor;
+
+    public BatchApiServiceImpl(CommandStrategyProvider strategyProvider, ResolutionHelper resolutionHelper,
+            TransactionTemplate transactionTemplate, FineractProperties fineractProperties,
+            @Qualifier("batchApiTaskExecutor") AsyncTaskExecutor batchApiTaskExecutor) {
+        this.strategyProvider = strategyProvider;
+        this.resolutionHelper = resolutionHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.fineractProperties = fineractProperties;
+        this.batchApiTaskExecutor = batchApiTaskExecutor;
+    }
 
     /**
      * Returns the response list by getting a proper {@link org.apache.fineract.batch.command.CommandStrategy}.
      * execute() method of acquired commandStrategy is then provided with the separate Request.
      *
+     * The independent request trees are executed concurrently when {@code concurrently} is set, every tree executes its
+     * requests in its own thread in their dependency order.
+     *
      * @param requestList
      * @param uriInfo
+     * @param concurrently
      * @return {@code List<BatchResponse>}
      */
-    private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+    private List<BatchResponse> handleBatchRequests(final List<BatchRequest> requestList, final UriInfo uriInfo,
+            final boolean concurrently) {
 
         final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
 
@@ -84,14 +104,12 @@ public class BatchApiServiceImpl implements BatchApiService {
             responseList.add(response);
             return responseList;
         }
-        for (BatchRequestNode rootNode : batchRequestNodes) {
-            final BatchRequest rootRequest = rootNode.getRequest();
-            final CommandStrategy commandStrategy = this.strategyProvider
-                    .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
-            final BatchResponse rootResponse = safelyExecuteStrategy(commandStrategy, rootRequest, uriInfo);
-
-            responseList.add(rootResponse);
-            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        if (concurrently && batchRequestNodes.size() > 1) {
+            responseList.addAll(processRequestTreesConcurrently(batchRequestNodes, uriInfo));
+        } else {
+            for (BatchRequestNode rootNode : batchRequestNodes) {
+                responseList.addAll(processRequestTree(rootNode, uriInfo));
+            }
         }
 
         Collections.sort(responseList, Comparator.comparing(BatchResponse::getRequestId));
@@ -100,21 +118,65 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     }
 
+    private List<BatchResponse> processRequestTree(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+        final List<BatchResponse> responseList = new ArrayList<>();
+        final BatchRequest rootRequest = rootNode.getRequest();
+        final CommandStrategy commandStrategy = this.strategyProvider
+                .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
+        final BatchResponse rootResponse = safelyExecuteStrategy(commandStrategy, rootRequest, uriInfo);
+
+        responseList.add(rootResponse);
+        responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        return responseList;
+    }
+
+    private List<BatchResponse> processRequestTreesConcurrently(final List<BatchRequestNode> rootNodes, final UriInfo uriInfo) {
+        if (uriInfo != null) {
+            // The query parameters are parsed lazily, parse them before the strategies read them from several threads
+            uriInfo.getQueryParameters();
+        }
+        // The task decorator of the executor propagates the tenant, business date and security context of the request
+        final List<Future<List<BatchResponse>>> futures = new ArrayList<>(rootNodes.size());
+        for (BatchRequestNode rootNode : rootNodes) {
+            futures.add(this.batchApiTaskExecutor.submit(() -> processRequestTree(rootNode, uriInfo)));
+        }
+
+        final List<BatchResponse> responseList = new ArrayList<>();
+        for (int i = 0; i < rootNodes.size(); i++) {
+            final BatchRequest rootRequest = rootNodes.get(i).getRequest();
+            try {
+                responseList.addAll(futures.get(i).get());
+            } catch (ExecutionException e) {
+                log.warn("Exception while executing the batch request tree of request {}", rootRequest.getRequestId(), e.getCause());
+                final RuntimeException cause = e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+                responseList.add(createErrorResponse(rootRequest, cause));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.get(i).cancel(true);
+                responseList.add(createErrorResponse(rootRequest, new IllegalStateException("Batch request execution was interrupted", e)));
+            }
+        }
+        return responseList;
+    }
+
     private BatchResponse safelyExecuteStrategy(CommandStrategy commandStrategy, BatchRequest request, UriInfo uriInfo) {
         try {
             return commandStrategy.execute(request, uriInfo);
         } catch (RuntimeException e) {
             log.warn("Exception while executing batch strategy {}", commandStrategy.getClass().getSimpleName(), e);
+            return createErrorResponse(request, e);
+        }
+    }
 
-            ErrorInfo ex = ErrorHandler.handler(e);
+    private BatchResponse createErrorResponse(BatchRequest request, RuntimeException e) {
+        ErrorInfo ex = ErrorHandler.handler(e);
 
-            final BatchResponse response = new BatchResponse();
-            response.setRequestId(request.getRequestId());
-            response.setHeaders(request.getHeaders());
-            response.setStatusCode(ex.getStatusCode());
-            response.setBody(ex.getMessage());
-            return response;
-        }
+        final BatchResponse response = new BatchResponse();
+        response.setRequestId(request.getRequestId());
+        response.setHeaders(request.getHeaders());
+        response.setStatusCode(ex.getStatusCode());
+        response.setBody(ex.getMessage());
+        return response;
     }
 
     private List<BatchResponse> processChildRequests(final BatchRequestNode rootRequest, BatchResponse rootResponse, UriInfo uriInfo) {
@@ -168,7 +230,7 @@ public class BatchApiServiceImpl implements BatchApiService {
     @Override
     public List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(final List<BatchRequest> requestList, UriInfo uriInfo) {
 
-        return handleBatchRequests(requestList, uriInfo);
+        return handleBatchRequests(requestList, uriInfo, this.fineractProperties.getBatchApi().isParallelExecutionEnabled());
     }
 
     @Override
@@ -180,7 +242,7 @@ public class BatchApiServiceImpl implements BatchApiService {
                 @Override
                 public List<BatchResponse> doInTransaction(TransactionStatus status) {
                     try {
-                        responseList.addAll(handleBatchRequests(requestList, uriInfo));
+                        responseList.addAll(handleBatchRequests(requestList, uriInfo, false));
                         return responseList;
                     } catch (RuntimeException ex) {
 
@@ -130,22 +130,26 @@ public class ResolutionHelper {
 
         final ReadContext responseCtx = JsonPath.parse(parentResponse.getBody());
 
-        // Gets the body from current Request as a JsonObject
-        final JsonObject jsonRequestBody = this.fromJsonHelper.parse(request.getBody()).getAsJsonObject();
-
-        JsonObject jsonResultBody = new JsonObject();
+        // A body without any JSON path reference is passed on as it is, only bodies with references are parsed and
+        // encoded again
+        if (request.getBody() == null || request.getBody().contains("$.")) {
+            // Gets the body from current Request as a JsonObject
+            final JsonObject jsonRequestBody = this.fromJsonHelper.parse(request.getBody()).getAsJsonObject();
+
+            JsonObject jsonResultBody = new JsonObject();
+
+            // Iterate through each element in the requestBody to find dependent
+            // parameter
+            for (Map.Entry<String, JsonElement> element : jsonRequestBody.entrySet()) {
+                final String key = element.getKey();
+                final JsonElement value = resolveDependentVariables(element, responseCtx);
+                jsonResultBody.add(key, value);
+            }
 
-        // Iterate through each element in the requestBody to find dependent
-        // parameter
-        for (Map.Entry<String, JsonElement> element : jsonRequestBody.entrySet()) {
-            final String key = element.getKey();
-            final JsonElement value = resolveDependentVariables(element, responseCtx);
-            jsonResultBody.add(key, value);
+            // Set the body after dependency resolution
+            br.setBody(jsonResultBody.toString());
         }
 
-        // Set the body after dependency resolution
-        br.setBody(jsonResultBody.toString());
-
         // Also check the relativeUrl for any dependency resolution
         String relativeUrl = request.getRelativeUrl();
 
@@ -18,10 +18,14 @@
  */
 package org.apache.fineract.cob;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.domain.BatchBusinessStep;
@@ -41,10 +45,14 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class COBBusinessStepServiceImpl implements COBBusinessStepService {
 
+    public static final String BUSINESS_STEP_TIMER_NAME = "fineract.cob.business.step";
+
     private final BatchBusinessStepRepository batchBusinessStepRepository;
     private final ApplicationContext applicationContext;
     private final ListableBeanFactory beanFactory;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> businessStepTimers = new ConcurrentHashMap<>();
 
     @Override
     public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> S run(TreeMap<Long, String> executionMap, S item) {
@@ -56,7 +64,12 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
             try {
                 ThreadLocalContextUtil.setActionContext(ActionContext.COB);
                 COBBusinessStep<S> businessStepBean = (COBBusinessStep<S>) applicationContext.getBean(businessStep);
-                item = businessStepBean.execute(item);
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    item = businessStepBean.execute(item);
+                } finally {
+                    sample.stop(getBusinessStepTimer(businessStep));
+                }
             } catch (Exception e) {
                 throw new BusinessStepException("Error happened during business step execution", e);
             } finally {
@@ -68,6 +81,12 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
         return item;
     }
 
+    private Timer getBusinessStepTimer(String businessStep) {
+        return businessStepTimers.computeIfAbsent(businessStep,
+                name -> Timer.builder(BUSINESS_STEP_TIMER_NAME).description("Execution time of a COB business step for a single item")
+                        .tag("step", name).publishPercentileHistogram().register(meterRegistry));
+    }
+
     @NotNull
     @Override
     public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> TreeMap<Long, String> getCOBBusinessStepMap(
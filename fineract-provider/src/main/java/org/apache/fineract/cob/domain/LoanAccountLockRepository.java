@@ -22,14 +22,24 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface LoanAccountLockRepository extends JpaRepository<LoanAccountLock, Long>, JpaSpecificationExecutor<LoanAccountLock> {
 
     Optional<LoanAccountLock> findByLoanIdAndLockOwner(Long loanId, LockOwner lockOwner);
 
-    void deleteByLoanIdInAndLockOwner(List<Long> loanIds, LockOwner lockOwner);
+    @Modifying
+    @Query("delete from LoanAccountLock accountLock where accountLock.loanId in :loanIds and accountLock.lockOwner = :lockOwner")
+    void deleteByLoanIdInAndLockOwner(@Param("loanIds") List<Long> loanIds, @Param("lockOwner") LockOwner lockOwner);
 
     List<LoanAccountLock> findAllByLoanIdIn(List<Long> loanIds);
 
     boolean existsByLoanIdAndLockOwner(Long loanId, LockOwner lockOwner);
+
+    @Query("select accountLock.loanId from LoanAccountLock accountLock where accountLock.lockOwner = :lockOwner "
+            + "and accountLock.loanId between :minLoanId and :maxLoanId order by accountLock.loanId")
+    List<Long> findAllLoanIdsByLockOwnerAndLoanIdBetween(@Param("lockOwner") LockOwner lockOwner, @Param("minLoanId") Long minLoanId,
+            @Param("maxLoanId") Long maxLoanId);
 }
@@ -18,12 +18,15 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.time.LocalDate;
 import java.util.TreeMap;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.ExitStatus;
@@ -37,6 +40,7 @@ import org.springframework.batch.item.ItemProcessor;
 public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, Loan> {
 
     private final COBBusinessStepService cobBusinessStepService;
+    private final NextRelevantCOBDateCalculator nextRelevantCOBDateCalculator;
 
     @Setter(AccessLevel.PROTECTED)
     private ExecutionContext executionContext;
@@ -45,7 +49,10 @@ public abstract class AbstractLoanItemProcessor implements ItemProcessor<Loan, L
     public Loan process(@NotNull Loan item) throws Exception {
         TreeMap<Long, String> businessStepMap = (TreeMap<Long, String>) executionContext.get(LoanCOBConstant.BUSINESS_STEP_MAP);
 
-        return cobBusinessStepService.run(businessStepMap, item);
+        Loan processedLoan = cobBusinessStepService.run(businessStepMap, item);
+        LocalDate cobDate = ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+        processedLoan.updateNextRelevantCOBDate(nextRelevantCOBDateCalculator.calculate(processedLoan, cobDate));
+        return processedLoan;
     }
 
     @AfterStep
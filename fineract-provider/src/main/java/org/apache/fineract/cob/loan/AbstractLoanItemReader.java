@@ -18,8 +18,11 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -40,21 +43,21 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
     private final LoanRepository loanRepository;
 
-    @Setter(AccessLevel.PROTECTED)
-    private List<Long> alreadyLockedOrProcessedAccounts;
+    private Set<Long> alreadyLockedOrProcessedAccounts;
+    @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
     private List<Long> remainingData;
     private Long loanId;
 
     @Override
-    public Loan read() throws Exception {
+    public synchronized Loan read() throws Exception {
         try {
             if (remainingData.size() > 0) {
                 loanId = remainingData.remove(0);
                 if (alreadyLockedOrProcessedAccounts != null && alreadyLockedOrProcessedAccounts.remove(loanId)) {
                     throw new LoanAccountWasAlreadyLockedOrProcessed(loanId);
                 }
-                return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+                return loadLoan(loanId);
             }
         } catch (Exception e) {
             throw new LoanReadException(loanId, e);
@@ -63,6 +66,19 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
 
     }
 
+    protected void setAlreadyLockedOrProcessedAccounts(List<Long> alreadyLockedOrProcessedAccounts) {
+        this.alreadyLockedOrProcessedAccounts = alreadyLockedOrProcessedAccounts == null ? null
+                : new HashSet<>(alreadyLockedOrProcessedAccounts);
+    }
+
+    protected Loan loadLoan(Long loanId) {
+        return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+    }
+
+    protected boolean isAlreadyLockedOrProcessed(Long loanId) {
+        return alreadyLockedOrProcessedAccounts != null && alreadyLockedOrProcessedAccounts.contains(loanId);
+    }
+
     @AfterStep
     public ExitStatus afterStep(@NotNull StepExecution stepExecution) {
         return ExitStatus.COMPLETED;
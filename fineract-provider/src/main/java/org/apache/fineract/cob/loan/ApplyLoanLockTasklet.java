@@ -18,16 +18,15 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.data.LoanAccountHardLockResult;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -36,44 +35,45 @@ import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 
 @Slf4j
-@RequiredArgsConstructor
 public class ApplyLoanLockTasklet implements Tasklet {
 
+    public static final String LOCK_CONTENTION_COUNTER_NAME = "fineract.cob.loan.lock.contention";
+
     private final LoanAccountLockRepository accountLockRepository;
+    private final LoanAccountLockService loanAccountLockService;
+    private final Counter lockContentionCounter;
+
+    public ApplyLoanLockTasklet(LoanAccountLockRepository accountLockRepository, LoanAccountLockService loanAccountLockService,
+            MeterRegistry meterRegistry) {
+        this.accountLockRepository = accountLockRepository;
+        this.loanAccountLockService = loanAccountLockService;
+        this.lockContentionCounter = Counter.builder(LOCK_CONTENTION_COUNTER_NAME)
+                .description("Number of partitioned loans which were already locked by inline COB or processed").register(meterRegistry);
+    }
 
     @Override
     public RepeatStatus execute(@NotNull StepContribution contribution, @NotNull ChunkContext chunkContext) throws Exception {
         ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
-        List<Long> loanIds = (List<Long>) executionContext.get(LoanCOBConstant.LOAN_IDS);
-
-        List<LoanAccountLock> accountLocks = accountLockRepository.findAllByLoanIdIn(loanIds);
-
-        Map<Long, LoanAccountLock> alreadySoftLockedAccountsMap = accountLocks.stream()
-                .filter(e -> LockOwner.LOAN_COB_PARTITIONING.equals(e.getLockOwner()))
-                .collect(Collectors.toMap(LoanAccountLock::getLoanId, Function.identity()));
+        List<Long> loanIds = getLoanIds(executionContext);
 
-        List<Long> alreadyLockedByChunkProcessingAccountIds = accountLocks.stream()
-                .filter(e -> LockOwner.LOAN_COB_CHUNK_PROCESSING.equals(e.getLockOwner())).map(LoanAccountLock::getLoanId).toList();
-
-        List<Long> toBeProcessedLoanIds = new ArrayList<>(alreadySoftLockedAccountsMap.keySet());
-
-        for (Long loanId : toBeProcessedLoanIds) {
-            upgradeToHardLock(loanId, alreadySoftLockedAccountsMap);
+        LoanAccountHardLockResult hardLockResult = loanAccountLockService.applyHardLock(loanIds);
+        if (hardLockResult.getContentionCount() > 0) {
+            log.info("{} of {} loans were already locked by inline COB or processed", hardLockResult.getContentionCount(), loanIds.size());
+            lockContentionCounter.increment(hardLockResult.getContentionCount());
         }
 
-        toBeProcessedLoanIds.addAll(alreadyLockedByChunkProcessingAccountIds);
-        List<Long> alreadyLockedByInlineCOBOrProcessedLoanIds = new ArrayList<>(loanIds);
-        alreadyLockedByInlineCOBOrProcessedLoanIds.removeAll(toBeProcessedLoanIds);
-
         executionContext.put(LoanCOBConstant.ALREADY_LOCKED_BY_INLINE_COB_OR_PROCESSED_LOAN_IDS,
-                new ArrayList<>(alreadyLockedByInlineCOBOrProcessedLoanIds));
+                new ArrayList<>(hardLockResult.getAlreadyLockedLoanIds()));
         return RepeatStatus.FINISHED;
     }
 
-    private void upgradeToHardLock(Long loanId, Map<Long, LoanAccountLock> alreadySoftLockedAccountsMap) {
-        LoanAccountLock loanAccountLock = alreadySoftLockedAccountsMap.get(loanId);
-        // Upgrade lock
-        loanAccountLock.setNewLockOwner(LockOwner.LOAN_COB_CHUNK_PROCESSING);
-        accountLockRepository.save(loanAccountLock);
+    @SuppressWarnings({ "unchecked" })
+    private List<Long> getLoanIds(ExecutionContext executionContext) {
+        if (executionContext.containsKey(LoanCOBConstant.LOAN_IDS)) {
+            return (List<Long>) executionContext.get(LoanCOBConstant.LOAN_IDS);
+        }
+        // Range based partition: the loans of the range which were soft locked by the manager
+        return accountLockRepository.findAllLoanIdsByLockOwnerAndLoanIdBetween(LockOwner.LOAN_COB_PARTITIONING,
+                executionContext.getLong(LoanCOBConstant.MIN_LOAN_ID), executionContext.getLong(LoanCOBConstant.MAX_LOAN_ID));
     }
 }
@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+/**
+ * Soft locks every non closed and not yet locked loan with a single statement. Used by the range based Loan COB
+ * partitioning, where the loan ids are not transferred to the manager at all.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BulkSoftLockLoanTasklet implements Tasklet {
+
+    private final LoanAccountLockService loanAccountLockService;
+    private final boolean dirtyLoanTrackingEnabled;
+
+    @Override
+    public RepeatStatus execute(@NotNull StepContribution contribution, @NotNull ChunkContext chunkContext) throws Exception {
+        LocalDate relevantForCOBDate = dirtyLoanTrackingEnabled ? ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE)
+                : null;
+        int lockedLoanCount = loanAccountLockService.applySoftLockOnNonClosedLoans(relevantForCOBDate);
+        log.debug("Soft lock was applied on {} loans", lockedLoanCount);
+        return RepeatStatus.FINISHED;
+    }
+}
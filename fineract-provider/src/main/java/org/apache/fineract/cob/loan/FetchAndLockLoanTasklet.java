@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -37,6 +38,8 @@ public class FetchAndLockLoanTasklet implements Tasklet {
 
     private final LoanAccountLockRepository loanAccountLockRepository;
 
+    private final LoanAccountLockService loanAccountLockService;
+
     private final RetrieveLoanIdService retrieveLoanIdService;
 
     @Override
@@ -55,25 +58,21 @@ public class FetchAndLockLoanTasklet implements Tasklet {
                 .filter(e -> LockOwner.LOAN_INLINE_COB_PROCESSING.equals(e.getLockOwner())).map(LoanAccountLock::getLoanId).toList();
         List<Long> alreadyMarkedForChunkProcessingLockedAccounts = loanAccountLocks.stream()
                 .filter(e -> LockOwner.LOAN_COB_CHUNK_PROCESSING.equals(e.getLockOwner())).map(LoanAccountLock::getLoanId).toList();
+        List<Long> alreadyMarkedForInterestRecalculationLockedAccounts = loanAccountLocks.stream()
+                .filter(e -> LockOwner.LOAN_INTEREST_RECALCULATION.equals(e.getLockOwner())).map(LoanAccountLock::getLoanId).toList();
 
         // Remove already hard locked accounts
         remainingIds.removeAll(alreadyMarkedForChunkProcessingLockedAccounts);
         remainingIds.removeAll(alreadyMarkedForInlineCOBLockedAccounts);
+        remainingIds.removeAll(alreadyMarkedForInterestRecalculationLockedAccounts);
 
         List<Long> lockableLoanAccounts = new ArrayList<>(remainingIds);
         lockableLoanAccounts.removeAll(alreadySoftLockedAccounts);
 
-        applySoftLock(lockableLoanAccounts);
+        loanAccountLockService.applySoftLock(lockableLoanAccounts);
 
         contribution.getStepExecution().getJobExecution().getExecutionContext().put(LoanCOBConstant.LOAN_IDS, remainingIds);
 
         return RepeatStatus.FINISHED;
     }
-
-    private void applySoftLock(List<Long> alreadySoftLockedAccounts) {
-        for (Long loanId : alreadySoftLockedAccounts) {
-            LoanAccountLock loanAccountLock = new LoanAccountLock(loanId, LockOwner.LOAN_COB_PARTITIONING);
-            loanAccountLockRepository.save(loanAccountLock);
-        }
-    }
 }
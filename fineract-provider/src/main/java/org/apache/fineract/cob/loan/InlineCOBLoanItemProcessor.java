@@ -24,8 +24,9 @@ import org.springframework.batch.core.annotation.BeforeStep;
 
 public class InlineCOBLoanItemProcessor extends AbstractLoanItemProcessor {
 
-    public InlineCOBLoanItemProcessor(COBBusinessStepService cobBusinessStepService) {
-        super(cobBusinessStepService);
+    public InlineCOBLoanItemProcessor(COBBusinessStepService cobBusinessStepService,
+            NextRelevantCOBDateCalculator nextRelevantCOBDateCalculator) {
+        super(cobBusinessStepService, nextRelevantCOBDateCalculator);
     }
 
     @BeforeStep
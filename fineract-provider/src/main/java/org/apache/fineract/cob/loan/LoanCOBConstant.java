@@ -18,17 +18,29 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+
 public final class LoanCOBConstant {
 
     public static final String JOB_NAME = "LOAN_COB";
     public static final String LOAN_COB_JOB_NAME = "LOAN_CLOSE_OF_BUSINESS";
     public static final String LOAN_IDS = "loanIds";
+    public static final String MIN_LOAN_ID = "minLoanId";
+    public static final String MAX_LOAN_ID = "maxLoanId";
     public static final String BUSINESS_STEP_MAP = "businessStepMap";
     public static final String LOAN_COB_WORKER_STEP = "loanCOBWorkerStep";
 
     public static final String ALREADY_LOCKED_BY_INLINE_COB_OR_PROCESSED_LOAN_IDS = "alreadyLockedOrProcessedLoanIds";
     public static final String INLINE_LOAN_COB_JOB_NAME = "INLINE_LOAN_COB";
 
+    public static final List<LoanStatus> NON_CLOSED_LOAN_STATUSES = List.of(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL,
+            LoanStatus.APPROVED, LoanStatus.ACTIVE, LoanStatus.TRANSFER_IN_PROGRESS, LoanStatus.TRANSFER_ON_HOLD);
+    // SQL condition on the m_loan table aliased as loan
+    public static final String NON_CLOSED_LOANS_CONDITION = NON_CLOSED_LOAN_STATUSES.stream()
+            .map(status -> String.valueOf(status.getValue())).collect(Collectors.joining(", ", "loan.loan_status_id IN (", ")"));
+
     private LoanCOBConstant() {
 
     }
@@ -22,6 +22,8 @@ import java.util.List;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.listener.COBExecutionListenerRunner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
@@ -33,6 +35,7 @@ import org.springframework.batch.core.configuration.annotation.StepBuilderFactor
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobOperator;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
 import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilderFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -72,10 +75,17 @@ public class LoanCOBManagerConfiguration {
     private LoanAccountLockRepository accountLockRepository;
     @Autowired
     private BusinessEventNotifierService businessEventNotifierService;
+    @Autowired
+    private LoanAccountLockService loanAccountLockService;
+    @Autowired
+    private FineractProperties fineractProperties;
 
     @Bean
     @JobScope
     public LoanCOBPartitioner partitioner(@Value("#{jobExecutionContext['loanIds']}") List<Long> loanIds) {
+        if (isRangePartitioningEnabled()) {
+            return new LoanCOBRangePartitioner(propertyService, cobBusinessStepService, jobOperator, jobExplorer, retrieveLoanIdService);
+        }
         return new LoanCOBPartitioner(propertyService, cobBusinessStepService, jobOperator, jobExplorer, loanIds);
     }
 
@@ -87,7 +97,8 @@ public class LoanCOBManagerConfiguration {
 
     @Bean
     public Step fetchAndLockStep() {
-        return localStepBuilderFactory.get("Fetch and Lock loan accounts - Step").tasklet(fetchAndLockLoanTasklet()).build();
+        Tasklet tasklet = isRangePartitioningEnabled() ? bulkSoftLockLoanTasklet() : fetchAndLockLoanTasklet();
+        return localStepBuilderFactory.get("Fetch and Lock loan accounts - Step").tasklet(tasklet).build();
     }
 
     @Bean
@@ -98,7 +109,13 @@ public class LoanCOBManagerConfiguration {
     @Bean
     @JobScope
     public FetchAndLockLoanTasklet fetchAndLockLoanTasklet() {
-        return new FetchAndLockLoanTasklet(accountLockRepository, retrieveLoanIdService);
+        return new FetchAndLockLoanTasklet(accountLockRepository, loanAccountLockService, retrieveLoanIdService);
+    }
+
+    @Bean
+    @JobScope
+    public BulkSoftLockLoanTasklet bulkSoftLockLoanTasklet() {
+        return new BulkSoftLockLoanTasklet(loanAccountLockService, fineractProperties.getCob().getLoan().isDirtyLoanTrackingEnabled());
     }
 
     @Bean
@@ -115,4 +132,8 @@ public class LoanCOBManagerConfiguration {
                 .incrementer(new RunIdIncrementer()) //
                 .build();
     }
+
+    private boolean isRangePartitioningEnabled() {
+        return fineractProperties.getCob().getLoan().isRangePartitioningEnabled();
+    }
 }
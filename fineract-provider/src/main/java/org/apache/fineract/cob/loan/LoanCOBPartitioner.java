@@ -65,7 +65,7 @@ public class LoanCOBPartitioner implements Partitioner {
         return getPartitions(partitionSize, cobBusinessStepMap);
     }
 
-    private Map<String, ExecutionContext> getPartitions(int partitionSize, TreeMap<Long, String> cobBusinessStepMap) {
+    protected Map<String, ExecutionContext> getPartitions(int partitionSize, TreeMap<Long, String> cobBusinessStepMap) {
         Map<String, ExecutionContext> partitions = new HashMap<>();
 
         if (CollectionUtils.isEmpty(loanIds)) {
@@ -99,7 +99,7 @@ public class LoanCOBPartitioner implements Partitioner {
         partitions.put(PARTITION_PREFIX + partitionIndex, executionContext);
     }
 
-    private void stopJobExecution() {
+    protected void stopJobExecution() {
         Set<JobExecution> runningJobExecutions = jobExplorer.findRunningJobExecutions(JobName.LOAN_COB.name());
         for (JobExecution jobExecution : runningJobExecutions) {
             try {
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.data.LoanIdRange;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Partitions Loan COB by loan id ranges. Only the boundaries of the ranges are put into the partition execution
+ * contexts, the workers resolve the locked loans of their range themselves.
+ */
+@Slf4j
+public class LoanCOBRangePartitioner extends LoanCOBPartitioner {
+
+    private final RetrieveLoanIdService retrieveLoanIdService;
+
+    public LoanCOBRangePartitioner(PropertyService propertyService, COBBusinessStepService cobBusinessStepService, JobOperator jobOperator,
+            JobExplorer jobExplorer, RetrieveLoanIdService retrieveLoanIdService) {
+        super(propertyService, cobBusinessStepService, jobOperator, jobExplorer, List.of());
+        this.retrieveLoanIdService = retrieveLoanIdService;
+    }
+
+    @Override
+    protected Map<String, ExecutionContext> getPartitions(int partitionSize, TreeMap<Long, String> cobBusinessStepMap) {
+        List<LoanIdRange> loanIdRanges = retrieveLoanIdService.retrieveLoanIdRanges(partitionSize);
+        if (loanIdRanges.isEmpty()) {
+            stopJobExecution();
+            return Map.of();
+        }
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        int partitionIndex = 1;
+        for (LoanIdRange loanIdRange : loanIdRanges) {
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.put(LoanCOBConstant.MIN_LOAN_ID, loanIdRange.getMinLoanId());
+            executionContext.put(LoanCOBConstant.MAX_LOAN_ID, loanIdRange.getMaxLoanId());
+            executionContext.put(LoanCOBConstant.BUSINESS_STEP_MAP, cobBusinessStepMap);
+            executionContext.put("partition", PARTITION_PREFIX + partitionIndex);
+            partitions.put(PARTITION_PREFIX + partitionIndex, executionContext);
+            log.debug("Loan COB partition {} covers loans {} - {} ({} loans)", partitionIndex, loanIdRange.getMinLoanId(),
+                    loanIdRange.getMaxLoanId(), loanIdRange.getLoanCount());
+            partitionIndex++;
+        }
+        return partitions;
+    }
+}
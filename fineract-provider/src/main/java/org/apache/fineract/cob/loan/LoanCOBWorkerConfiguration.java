@@ -18,11 +18,15 @@
  */
 package org.apache.fineract.cob.loan;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.fineract.cob.COBBusinessStepService;
 import org.apache.fineract.cob.common.InitialisationTasklet;
 import org.apache.fineract.cob.common.ResetContextTasklet;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.listener.ChunkProcessingLoanItemListener;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.FineractContextPropagatingTaskDecorator;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.springbatch.PropertyService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -34,6 +38,7 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.listener.ExecutionContextPromotionListener;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +46,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.channel.QueueChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
@@ -61,11 +67,19 @@ public class LoanCOBWorkerConfiguration {
     @Autowired
     private COBBusinessStepService cobBusinessStepService;
     @Autowired
+    private NextRelevantCOBDateCalculator nextRelevantCOBDateCalculator;
+    @Autowired
     private LoanAccountLockRepository accountLockRepository;
     @Autowired
+    private LoanAccountLockService loanAccountLockService;
+    @Autowired
     private AppUserRepositoryWrapper userRepository;
     @Autowired
     private TransactionTemplate transactionTemplate;
+    @Autowired
+    private FineractProperties fineractProperties;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Bean(name = LoanCOBConstant.LOAN_COB_WORKER_STEP)
     public Step loanCOBWorkerStep() {
@@ -87,11 +101,16 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public Step loanBusinessStep(@Value("#{stepExecutionContext['partition']}") String partitionName) {
-        return localStepBuilderFactory.get("Loan Business - Step:" + partitionName)
-                .<Loan, Loan>chunk(propertyService.getChunkSize(JobName.LOAN_COB.name())).reader(cobWorkerItemReader())
+        SimpleStepBuilder<Loan, Loan> stepBuilder = localStepBuilderFactory.get("Loan Business - Step:" + partitionName)
+                .<Loan, Loan>chunk(propertyService.getChunkSize(JobName.LOAN_COB.name())).reader(loanItemReader())
                 .processor(cobWorkerItemProcessor()).writer(cobWorkerItemWriter()).faultTolerant().skip(Exception.class)
                 .skipLimit(propertyService.getChunkSize(JobName.LOAN_COB.name()) + 1).listener(loanItemListener())
-                .listener(promotionListener()).build();
+                .listener(promotionListener());
+        if (isParallelProcessingEnabled()) {
+            // Every chunk is processed by one thread in its own transaction, so the business steps of a loan stay ordered
+            stepBuilder.taskExecutor(loanCOBWorkerTaskExecutor()).throttleLimit(getThreadPoolSize());
+        }
+        return stepBuilder.build();
     }
 
     @Bean
@@ -118,7 +137,7 @@ public class LoanCOBWorkerConfiguration {
 
     @Bean
     public ApplyLoanLockTasklet applyLock() {
-        return new ApplyLoanLockTasklet(accountLockRepository);
+        return new ApplyLoanLockTasklet(accountLockRepository, loanAccountLockService, meterRegistry);
     }
 
     @Bean
@@ -129,13 +148,44 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository);
+        return new LoanItemReader(loanRepository, accountLockRepository);
+    }
+
+    @Bean
+    @StepScope
+    public PrefetchingLoanItemReader cobWorkerPrefetchingItemReader() {
+        return new PrefetchingLoanItemReader(loanRepository, accountLockRepository, propertyService.getChunkSize(JobName.LOAN_COB.name()),
+                meterRegistry);
+    }
+
+    private LoanItemReader loanItemReader() {
+        // The prefetched loans are bound to the chunk of a single thread, so prefetching is not used by parallel processing
+        boolean prefetchEnabled = fineractProperties.getCob().getLoan().isPrefetchEnabled() && !isParallelProcessingEnabled();
+        return prefetchEnabled ? cobWorkerPrefetchingItemReader() : cobWorkerItemReader();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor loanCOBWorkerTaskExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(getThreadPoolSize());
+        taskExecutor.setMaxPoolSize(getThreadPoolSize());
+        taskExecutor.setThreadNamePrefix("loan-cob-worker-");
+        taskExecutor.setTaskDecorator(new FineractContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+
+    private boolean isParallelProcessingEnabled() {
+        return fineractProperties.getCob().getLoan().isParallelProcessingEnabled();
+    }
+
+    private int getThreadPoolSize() {
+        return Math.max(fineractProperties.getCob().getLoan().getThreadPoolSize(), 1);
     }
 
     @Bean
     @StepScope
     public LoanItemProcessor cobWorkerItemProcessor() {
-        return new LoanItemProcessor(cobBusinessStepService);
+        return new LoanItemProcessor(cobBusinessStepService, nextRelevantCOBDateCalculator);
     }
 
     @Bean
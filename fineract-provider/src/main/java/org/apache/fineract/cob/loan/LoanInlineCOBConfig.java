@@ -55,6 +55,8 @@ public class LoanInlineCOBConfig {
     @Autowired
     private COBBusinessStepService cobBusinessStepService;
     @Autowired
+    private NextRelevantCOBDateCalculator nextRelevantCOBDateCalculator;
+    @Autowired
     private LoanAccountLockRepository accountLockRepository;
     @Autowired
     private TransactionTemplate transactionTemplate;
@@ -96,7 +98,7 @@ public class LoanInlineCOBConfig {
 
     @Bean
     public InlineCOBLoanItemProcessor inlineCobWorkerItemProcessor() {
-        return new InlineCOBLoanItemProcessor(cobBusinessStepService);
+        return new InlineCOBLoanItemProcessor(cobBusinessStepService, nextRelevantCOBDateCalculator);
     }
 
     @Bean
@@ -24,8 +24,8 @@ import org.springframework.batch.core.annotation.BeforeStep;
 
 public class LoanItemProcessor extends AbstractLoanItemProcessor {
 
-    public LoanItemProcessor(COBBusinessStepService cobBusinessStepService) {
-        super(cobBusinessStepService);
+    public LoanItemProcessor(COBBusinessStepService cobBusinessStepService, NextRelevantCOBDateCalculator nextRelevantCOBDateCalculator) {
+        super(cobBusinessStepService, nextRelevantCOBDateCalculator);
     }
 
     @BeforeStep
@@ -20,6 +20,8 @@ package org.apache.fineract.cob.loan;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
+import org.apache.fineract.cob.domain.LockOwner;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.StepExecution;
@@ -28,8 +30,11 @@ import org.springframework.batch.item.ExecutionContext;
 
 public class LoanItemReader extends AbstractLoanItemReader {
 
-    public LoanItemReader(LoanRepository loanRepository) {
+    private final LoanAccountLockRepository accountLockRepository;
+
+    public LoanItemReader(LoanRepository loanRepository, LoanAccountLockRepository accountLockRepository) {
         super(loanRepository);
+        this.accountLockRepository = accountLockRepository;
     }
 
     @BeforeStep
@@ -38,7 +43,14 @@ public class LoanItemReader extends AbstractLoanItemReader {
 
         ExecutionContext executionContext = stepExecution.getExecutionContext();
         ExecutionContext jobExecutionContext = stepExecution.getJobExecution().getExecutionContext();
-        List<Long> loanIds = (List<Long>) executionContext.get(LoanCOBConstant.LOAN_IDS);
+        List<Long> loanIds;
+        if (executionContext.containsKey(LoanCOBConstant.LOAN_IDS)) {
+            loanIds = (List<Long>) executionContext.get(LoanCOBConstant.LOAN_IDS);
+        } else {
+            // Range based partition: the loans of the range which were hard locked by the apply lock step
+            loanIds = accountLockRepository.findAllLoanIdsByLockOwnerAndLoanIdBetween(LockOwner.LOAN_COB_CHUNK_PROCESSING,
+                    executionContext.getLong(LoanCOBConstant.MIN_LOAN_ID), executionContext.getLong(LoanCOBConstant.MAX_LOAN_ID));
+        }
         setAlreadyLockedOrProcessedAccounts(
                 (List<Long>) jobExecutionContext.get(LoanCOBConstant.ALREADY_LOCKED_BY_INLINE_COB_OR_PROCESSED_LOAN_IDS));
         setRemainingData(new ArrayList<>(loanIds));
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calculates the first date after the given COB date on which a loan has something to do for the Loan COB business
+ * steps: a repayment becoming due (minus the configured days before due), an installment becoming overdue (plus the
+ * configured days after overdue). Loans with overdue installments are relevant on every day, as delinquency
+ * classification and overdue charges depend on the days past due.
+ */
+@Component
+@RequiredArgsConstructor
+public class NextRelevantCOBDateCalculator {
+
+    private final ConfigurationDomainService configurationDomainService;
+
+    public LocalDate calculate(Loan loan, LocalDate cobDate) {
+        LocalDate nextDay = cobDate.plusDays(1);
+        long daysBeforeDue = toDays(configurationDomainService.retrieveRepaymentDueDays());
+        long daysAfterOverdue = toDays(configurationDomainService.retrieveRepaymentOverdueDays());
+        LocalDate nextRelevantDate = null;
+        for (LoanRepaymentScheduleInstallment installment : loan.getRepaymentScheduleInstallments()) {
+            LocalDate dueDate = installment.getDueDate();
+            nextRelevantDate = earliestAfter(nextRelevantDate, dueDate.minusDays(daysBeforeDue), cobDate);
+            if (!installment.isObligationsMet()) {
+                if (!dueDate.isAfter(cobDate)) {
+                    return nextDay;
+                }
+                nextRelevantDate = earliestAfter(nextRelevantDate, dueDate.plusDays(1), cobDate);
+                nextRelevantDate = earliestAfter(nextRelevantDate, dueDate.plusDays(daysAfterOverdue), cobDate);
+            }
+        }
+        return nextRelevantDate == null ? nextDay : nextRelevantDate;
+    }
+
+    private static LocalDate earliestAfter(LocalDate current, LocalDate candidate, LocalDate cobDate) {
+        if (!candidate.isAfter(cobDate)) {
+            return current;
+        }
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private static long toDays(Long days) {
+        return days == null ? 0L : Math.max(days, 0L);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+/**
+ * Loan COB reader which loads the loans of a chunk together with their associations in a few batched queries instead of
+ * loading them one by one.
+ */
+@Slf4j
+public class PrefetchingLoanItemReader extends LoanItemReader {
+
+    public static final String PREFETCH_TIMER_NAME = "fineract.cob.loan.reader.prefetch";
+
+    private final LoanRepository loanRepository;
+    private final int prefetchSize;
+    private final Timer prefetchTimer;
+    private final Map<Long, Loan> prefetchedLoans = new HashMap<>();
+
+    public PrefetchingLoanItemReader(LoanRepository loanRepository, LoanAccountLockRepository accountLockRepository, int prefetchSize,
+            MeterRegistry meterRegistry) {
+        super(loanRepository, accountLockRepository);
+        this.loanRepository = loanRepository;
+        this.prefetchSize = Math.max(prefetchSize, 1);
+        this.prefetchTimer = Timer.builder(PREFETCH_TIMER_NAME).description("Time spent on prefetching the loans of a Loan COB chunk")
+                .register(meterRegistry);
+    }
+
+    @BeforeChunk
+    public void beforeChunk(@NotNull ChunkContext chunkContext) {
+        // Loans which were prefetched in the transaction of the previous chunk must not leak into the current one
+        prefetchedLoans.clear();
+    }
+
+    @Override
+    protected Loan loadLoan(Long loanId) {
+        if (!prefetchedLoans.containsKey(loanId)) {
+            prefetch(loanId);
+        }
+        Loan loan = prefetchedLoans.remove(loanId);
+        if (loan == null) {
+            throw new LoanNotFoundException(loanId);
+        }
+        return loan;
+    }
+
+    private void prefetch(Long loanId) {
+        List<Long> loanIds = new ArrayList<>(prefetchSize);
+        loanIds.add(loanId);
+        for (Long remainingLoanId : getRemainingData()) {
+            if (loanIds.size() >= prefetchSize) {
+                break;
+            }
+            if (!isAlreadyLockedOrProcessed(remainingLoanId)) {
+                loanIds.add(remainingLoanId);
+            }
+        }
+        long startTime = System.nanoTime();
+        List<Loan> loans = loanRepository.findAllByIdsWithAssociations(loanIds);
+        loans.forEach(this::initializeAssociations);
+        long elapsedTime = System.nanoTime() - startTime;
+        prefetchTimer.record(elapsedTime, TimeUnit.NANOSECONDS);
+        log.debug("Prefetched {} of {} requested loans in {} ms", loans.size(), loanIds.size(), TimeUnit.NANOSECONDS.toMillis(elapsedTime));
+        for (Loan loan : loans) {
+            prefetchedLoans.put(loan.getId(), loan);
+        }
+    }
+
+    private void initializeAssociations(Loan loan) {
+        // The first access triggers the batch fetch of the given association for every loan of the query
+        loan.getRepaymentScheduleInstallments().size();
+        loan.getLoanTransactions().size();
+        loan.getCharges().size();
+        loan.getDisbursementDetails().size();
+        loan.getLoanTermVariations().size();
+    }
+}
@@ -18,17 +18,75 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.apache.fineract.cob.data.LoanIdRange;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 @RequiredArgsConstructor
 public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdService {
 
+    private static final String RELEVANT_FOR_COB_CONDITION = " AND (loan.next_relevant_cob_date IS NULL "
+            + "OR loan.next_relevant_cob_date <= :cobDate)";
+
     private final LoanRepository loanRepository;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final boolean dirtyLoanTrackingEnabled;
 
+    /**
+     * Retrieves the non closed loans. When dirty loan tracking is enabled, the loans which have nothing to do until
+     * after the COB date are left out.
+     */
     @Override
     public List<Long> retrieveLoanIds() {
+        if (dirtyLoanTrackingEnabled) {
+            return loanRepository.findAllNonClosedLoanIdsRelevantForCOB(getCOBDate());
+        }
         return loanRepository.findAllNonClosedLoanIds();
     }
+
+    /**
+     * Computes the loan id ranges on database side, so only the range boundaries are transferred. Every loan is weighted
+     * by its number of transactions, therefore the ranges take approximately the same time to process. The number of
+     * ranges is derived from the partition size.
+     */
+    @Override
+    public List<LoanIdRange> retrieveLoanIdRanges(int partitionSize) {
+        String weightedLoans = "SELECT loan.id AS loan_id, 1 + COALESCE(txn.txn_count, 0) AS weight FROM m_loan loan "
+                + "LEFT JOIN (SELECT loan_id, COUNT(*) AS txn_count FROM m_loan_transaction GROUP BY loan_id) txn "
+                + "ON txn.loan_id = loan.id WHERE " + LoanCOBConstant.NON_CLOSED_LOANS_CONDITION;
+        Map<String, Object> parameters = new HashMap<>();
+        if (dirtyLoanTrackingEnabled) {
+            weightedLoans += RELEVANT_FOR_COB_CONDITION;
+            parameters.put("cobDate", getCOBDate());
+        }
+        Map<String, Object> totals = namedParameterJdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS loan_count, COALESCE(SUM(weighted_loan.weight), 0) AS total_weight FROM (" + weightedLoans
+                        + ") weighted_loan",
+                parameters);
+        long loanCount = ((Number) totals.get("loan_count")).longValue();
+        if (loanCount == 0) {
+            return List.of();
+        }
+        long totalWeight = ((Number) totals.get("total_weight")).longValue();
+        long rangeSize = Math.max(partitionSize, 1);
+        long rangeCount = (loanCount + rangeSize - 1) / rangeSize;
+        parameters.put("weightPerRange", (totalWeight + rangeCount - 1) / rangeCount);
+        String weightedRanges = "SELECT MIN(bucketed_loan.loan_id) AS min_id, MAX(bucketed_loan.loan_id) AS max_id, "
+                + "COUNT(*) AS loan_count FROM (SELECT weighted_loan.loan_id, "
+                + "FLOOR((SUM(weighted_loan.weight) OVER (ORDER BY weighted_loan.loan_id) - 1) / :weightPerRange) AS bucket "
+                + "FROM (" + weightedLoans + ") weighted_loan) bucketed_loan GROUP BY bucketed_loan.bucket ORDER BY min_id";
+        return namedParameterJdbcTemplate.query(weightedRanges, parameters,
+                (rs, rowNum) -> new LoanIdRange(rs.getLong("min_id"), rs.getLong("max_id"), rs.getLong("loan_count")));
+    }
+
+    private LocalDate getCOBDate() {
+        return ThreadLocalContextUtil.getBusinessDateByType(BusinessDateType.COB_DATE);
+    }
 }
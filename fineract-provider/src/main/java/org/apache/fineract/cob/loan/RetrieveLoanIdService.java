@@ -18,9 +18,26 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.ArrayList;
 import java.util.List;
+import org.apache.fineract.cob.data.LoanIdRange;
 
 public interface RetrieveLoanIdService {
 
     List<Long> retrieveLoanIds();
+
+    /**
+     * Splits the loans to be processed by Loan COB into consecutive loan id ranges. The default implementation cuts the
+     * retrieved loan ids into ranges containing at most <code>partitionSize</code> loans.
+     */
+    default List<LoanIdRange> retrieveLoanIdRanges(int partitionSize) {
+        List<Long> loanIds = retrieveLoanIds().stream().sorted().toList();
+        List<LoanIdRange> loanIdRanges = new ArrayList<>();
+        int rangeSize = Math.max(partitionSize, 1);
+        for (int fromIndex = 0; fromIndex < loanIds.size(); fromIndex += rangeSize) {
+            int toIndex = Math.min(fromIndex + rangeSize, loanIds.size());
+            loanIdRanges.add(new LoanIdRange(loanIds.get(fromIndex), loanIds.get(toIndex - 1), toIndex - fromIndex));
+        }
+        return loanIdRanges;
+    }
 }
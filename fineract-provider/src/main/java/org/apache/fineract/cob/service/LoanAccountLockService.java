@@ -18,8 +18,11 @@
  */
 package org.apache.fineract.cob.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import org.apache.fineract.cob.data.LoanAccountHardLockResult;
 import org.apache.fineract.cob.domain.LoanAccountLock;
+import org.apache.fineract.cob.domain.LockOwner;
 
 public interface LoanAccountLockService {
 
@@ -28,4 +31,16 @@ public interface LoanAccountLockService {
     boolean isLoanHardLocked(Long loanId);
 
     boolean isLoanSoftLocked(Long loanId);
+
+    int applySoftLockOnNonClosedLoans(LocalDate relevantForCOBDate);
+
+    int applySoftLock(List<Long> loanIds);
+
+    LoanAccountHardLockResult applyHardLock(List<Long> loanIds);
+
+    boolean applyLock(Long loanId, LockOwner lockOwner);
+
+    void removeLock(Long loanId, LockOwner lockOwner);
+
+    int removeLocks(LockOwner lockOwner);
 }
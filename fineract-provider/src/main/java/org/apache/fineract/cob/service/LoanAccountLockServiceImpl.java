@@ -18,21 +18,42 @@
  */
 package org.apache.fineract.cob.service;
 
+import com.google.common.collect.Lists;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.data.LoanAccountHardLockResult;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.loan.LoanCOBConstant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LoanAccountLockServiceImpl implements LoanAccountLockService {
 
+    // Keeps the number of bind parameters of a single statement well below the database limits
+    private static final int BATCH_SIZE = 1000;
+
     private final LoanAccountLockRepository loanAccountLockRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Override
     public List<LoanAccountLock> getLockedLoanAccountByPage(int page, int limit) {
@@ -51,4 +72,112 @@ public class LoanAccountLockServiceImpl implements LoanAccountLockService {
     public boolean isLoanSoftLocked(Long loanId) {
         return loanAccountLockRepository.existsByLoanIdAndLockOwner(loanId, LockOwner.LOAN_COB_PARTITIONING);
     }
+
+    /**
+     * Soft locks the non closed loans which are not locked yet. When the COB date is given, only the loans which have
+     * something to do on or before that date are locked.
+     */
+    @Override
+    public int applySoftLockOnNonClosedLoans(LocalDate relevantForCOBDate) {
+        String sql = "INSERT INTO m_loan_account_locks (loan_id, version, lock_owner, lock_placed_on) SELECT loan.id, 1, ?, ? "
+                + "FROM m_loan loan WHERE " + LoanCOBConstant.NON_CLOSED_LOANS_CONDITION + " "
+                + "AND NOT EXISTS (SELECT 1 FROM m_loan_account_locks account_lock WHERE account_lock.loan_id = loan.id)";
+        OffsetDateTime lockPlacedOn = DateUtils.getOffsetDateTimeOfTenant();
+        if (relevantForCOBDate == null) {
+            return jdbcTemplate.update(sql, LockOwner.LOAN_COB_PARTITIONING.name(), lockPlacedOn);
+        }
+        sql += " AND (loan.next_relevant_cob_date IS NULL OR loan.next_relevant_cob_date <= ?)";
+        return jdbcTemplate.update(sql, LockOwner.LOAN_COB_PARTITIONING.name(), lockPlacedOn, relevantForCOBDate);
+    }
+
+    @Override
+    public int applySoftLock(List<Long> loanIds) {
+        String sql = "INSERT INTO m_loan_account_locks (loan_id, version, lock_owner, lock_placed_on) VALUES (?, 1, ?, ?)";
+        OffsetDateTime lockPlacedOn = DateUtils.getOffsetDateTimeOfTenant();
+        jdbcTemplate.batchUpdate(sql, loanIds, BATCH_SIZE, (ps, loanId) -> {
+            ps.setLong(1, loanId);
+            ps.setString(2, LockOwner.LOAN_COB_PARTITIONING.name());
+            ps.setObject(3, lockPlacedOn);
+        });
+        return loanIds.size();
+    }
+
+    /**
+     * Upgrades the soft locks of the given loans to hard locks in bulk. The loans which are already hard locked by chunk
+     * processing (e.g. the partition is retried) are processed as well, every other loan is reported as already locked,
+     * as it was taken over by inline COB or processed in the meantime.
+     */
+    @Override
+    public LoanAccountHardLockResult applyHardLock(List<Long> loanIds) {
+        Set<Long> softLockedLoanIds = new HashSet<>();
+        Set<Long> lockedLoanIds = new HashSet<>();
+        findLockOwners(loanIds).forEach((loanId, lockOwner) -> {
+            if (LockOwner.LOAN_COB_PARTITIONING.equals(lockOwner)) {
+                softLockedLoanIds.add(loanId);
+            } else if (LockOwner.LOAN_COB_CHUNK_PROCESSING.equals(lockOwner)) {
+                lockedLoanIds.add(loanId);
+            }
+        });
+        String sql = "UPDATE m_loan_account_locks SET lock_owner = :newLockOwner, version = version + 1, lock_placed_on = :lockPlacedOn "
+                + "WHERE lock_owner = :lockOwner AND loan_id IN (:loanIds)";
+        OffsetDateTime lockPlacedOn = DateUtils.getOffsetDateTimeOfTenant();
+        int upgradedLockCount = 0;
+        for (List<Long> batch : Lists.partition(List.copyOf(softLockedLoanIds), BATCH_SIZE)) {
+            upgradedLockCount += namedParameterJdbcTemplate.update(sql, Map.of("newLockOwner", LockOwner.LOAN_COB_CHUNK_PROCESSING.name(),
+                    "lockPlacedOn", lockPlacedOn, "lockOwner", LockOwner.LOAN_COB_PARTITIONING.name(), "loanIds", batch));
+        }
+        if (upgradedLockCount == softLockedLoanIds.size()) {
+            lockedLoanIds.addAll(softLockedLoanIds);
+        } else {
+            // Some soft locks were taken over concurrently, only the ones upgraded by us belong to the partition
+            findLockOwners(List.copyOf(softLockedLoanIds)).forEach((loanId, lockOwner) -> {
+                if (LockOwner.LOAN_COB_CHUNK_PROCESSING.equals(lockOwner)) {
+                    lockedLoanIds.add(loanId);
+                }
+            });
+        }
+        Set<Long> alreadyLockedLoanIds = new LinkedHashSet<>(loanIds);
+        alreadyLockedLoanIds.removeAll(lockedLoanIds);
+        log.debug("Hard lock was applied on {} loans, {} loans were already locked or processed", lockedLoanIds.size(),
+                alreadyLockedLoanIds.size());
+        return new LoanAccountHardLockResult(lockedLoanIds, alreadyLockedLoanIds);
+    }
+
+    /**
+     * Locks the given loan for the given owner unless it is already locked by anyone else. As the Loan COB soft lock is
+     * only placed on loans without any lock, the loan is skipped by Loan COB while the lock is held.
+     */
+    @Override
+    public boolean applyLock(Long loanId, LockOwner lockOwner) {
+        String sql = "INSERT INTO m_loan_account_locks (loan_id, version, lock_owner, lock_placed_on) SELECT loan.id, 1, ?, ? "
+                + "FROM m_loan loan WHERE loan.id = ? "
+                + "AND NOT EXISTS (SELECT 1 FROM m_loan_account_locks account_lock WHERE account_lock.loan_id = loan.id)";
+        try {
+            return jdbcTemplate.update(sql, lockOwner.name(), DateUtils.getOffsetDateTimeOfTenant(), loanId) > 0;
+        } catch (DuplicateKeyException e) {
+            // The loan was locked concurrently by someone else
+            return false;
+        }
+    }
+
+    @Override
+    public void removeLock(Long loanId, LockOwner lockOwner) {
+        jdbcTemplate.update("DELETE FROM m_loan_account_locks WHERE loan_id = ? AND lock_owner = ?", loanId, lockOwner.name());
+    }
+
+    @Override
+    public int removeLocks(LockOwner lockOwner) {
+        return jdbcTemplate.update("DELETE FROM m_loan_account_locks WHERE lock_owner = ?", lockOwner.name());
+    }
+
+    private Map<Long, LockOwner> findLockOwners(List<Long> loanIds) {
+        Map<Long, LockOwner> lockOwners = new HashMap<>();
+        for (List<Long> batch : Lists.partition(loanIds, BATCH_SIZE)) {
+            namedParameterJdbcTemplate.query("SELECT loan_id, lock_owner FROM m_loan_account_locks WHERE loan_id IN (:loanIds)",
+                    Map.of("loanIds", batch), rs -> {
+                        lockOwners.put(rs.getLong("loan_id"), LockOwner.valueOf(rs.getString("lock_owner")));
+                    });
+        }
+        return lockOwners;
+    }
 }
@@ -19,8 +19,10 @@
 package org.apache.fineract.commands.provider;
 
 import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
-import lombok.NoArgsConstructor;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +31,7 @@ import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
@@ -37,7 +40,11 @@ import org.springframework.stereotype.Component;
  * {@link CommandHandlerProvider} provides {@link NewCommandSourceHandler}s for a given entity and action. <br>
  * <br>
  * A {@link NewCommandSourceHandler} can be registered and the annotation {@link CommandType} is used to determine the
- * entity and the action the handler is capable to process.
+ * entity and the action the handler is capable to process.<br>
+ * <br>
+ * Once all the singletons are instantiated the handlers are resolved into an immutable lookup table, so dispatching a
+ * command is a single hash lookup instead of a bean lookup. The handlers of the table record their invocations and
+ * latency in Micrometer.
  *
  * @author Markus Geiss
  * @version 1.0
@@ -46,18 +53,26 @@ import org.springframework.stereotype.Component;
  * @see CommandType
  */
 @Component
-@NoArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
-public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean {
+public class CommandHandlerProvider implements ApplicationContextAware, InitializingBean, SmartInitializingSingleton {
 
+    private final MeterRegistry meterRegistry;
     private final HashMap<String, String> registeredHandlers = new HashMap<>();
     private ApplicationContext applicationContext;
+    private volatile Map<String, NewCommandSourceHandler> handlersByName = Map.of();
+    private volatile Map<String, NewCommandSourceHandler> handlersByCommand = Map.of();
 
     @Override
     public void afterPropertiesSet() throws Exception {
         initializeHandlerRegistry();
     }
 
+    @Override
+    public void afterSingletonsInstantiated() {
+        initializeHandlerTable();
+    }
+
     private void initializeHandlerRegistry() {
         final String[] commandHandlerBeans = applicationContext.getBeanNamesForAnnotation(CommandType.class);
         if (ArrayUtils.isNotEmpty(commandHandlerBeans)) {
@@ -73,6 +88,22 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         }
     }
 
+    private void initializeHandlerTable() {
+        final Map<String, NewCommandSourceHandler> byName = new HashMap<>();
+        applicationContext.getBeansOfType(NewCommandSourceHandler.class, false, true)
+                .forEach((name, handler) -> byName.put(name, new TimedCommandHandler(name, handler, meterRegistry)));
+        final Map<String, NewCommandSourceHandler> byCommand = new HashMap<>();
+        registeredHandlers.forEach((command, name) -> {
+            final NewCommandSourceHandler handler = byName.get(name);
+            if (handler != null) {
+                byCommand.put(command, handler);
+            }
+        });
+        handlersByName = Map.copyOf(byName);
+        handlersByCommand = Map.copyOf(byCommand);
+        log.info("Resolved {} command handlers for {} commands", byName.size(), byCommand.size());
+    }
+
     /**
      * Returns a handler for the given entity and action.<br>
      * <br>
@@ -89,12 +120,33 @@ public class CommandHandlerProvider implements ApplicationContextAware, Initiali
         Preconditions.checkArgument(StringUtils.isNoneEmpty(action), "An action must be given!");
 
         final String key = entity + "|" + action;
+        final NewCommandSourceHandler handler = handlersByCommand.get(key);
+        if (handler != null) {
+            return handler;
+        }
         if (!registeredHandlers.containsKey(key)) {
             throw new UnsupportedCommandException(key);
         }
         return (NewCommandSourceHandler) applicationContext.getBean(registeredHandlers.get(key));
     }
 
+    /**
+     * Returns the handler registered with the given bean name. It is used for the commands which are dispatched on more
+     * than the entity and the action, like the datatable and note commands.
+     *
+     * @param handlerName
+     *            the bean name of the handler, must be given.
+     */
+    public NewCommandSourceHandler getHandlerByName(final String handlerName) {
+        Preconditions.checkArgument(StringUtils.isNoneEmpty(handlerName), "A handler name must be given!");
+
+        final NewCommandSourceHandler handler = handlersByName.get(handlerName);
+        if (handler != null) {
+            return handler;
+        }
+        return applicationContext.getBean(handlerName, NewCommandSourceHandler.class);
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
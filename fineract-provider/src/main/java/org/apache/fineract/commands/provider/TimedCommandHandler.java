@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.provider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+
+/**
+ * {@link NewCommandSourceHandler} decorator which records the invocations, the latency and the failures of a command
+ * handler. The meters are registered once when the handler table of the {@link CommandHandlerProvider} is built.
+ */
+final class TimedCommandHandler implements NewCommandSourceHandler {
+
+    static final String TIMER_NAME = "fineract.command.handler.duration";
+    static final String FAILURE_COUNTER_NAME = "fineract.command.handler.failures";
+
+    private final NewCommandSourceHandler delegate;
+    private final Timer timer;
+    private final Counter failureCounter;
+
+    TimedCommandHandler(String handlerName, NewCommandSourceHandler delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timer = Timer.builder(TIMER_NAME).description("Time spent on processing commands by the handler").tag("handler", handlerName)
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder(FAILURE_COUNTER_NAME).description("Number of commands failed in the handler")
+                .tag("handler", handlerName).register(meterRegistry);
+    }
+
+    @Override
+    public CommandProcessingResult processCommand(JsonCommand command) {
+        long startTime = System.nanoTime();
+        try {
+            return delegate.processCommand(command);
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -177,49 +177,49 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
         if (wrapper.isDatatableResource()) {
             if (wrapper.isCreateDatatable()) {
-                handler = applicationContext.getBean("createDatatableCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("createDatatableCommandHandler");
             } else if (wrapper.isDeleteDatatable()) {
-                handler = applicationContext.getBean("deleteDatatableCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("deleteDatatableCommandHandler");
             } else if (wrapper.isUpdateDatatable()) {
-                handler = applicationContext.getBean("updateDatatableCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("updateDatatableCommandHandler");
             } else if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createDatatableEntryCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("createDatatableEntryCommandHandler");
             } else if (wrapper.isUpdateMultiple()) {
-                handler = applicationContext.getBean("updateOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("updateOneToManyDatatableEntryCommandHandler");
             } else if (wrapper.isUpdateOneToOne()) {
-                handler = applicationContext.getBean("updateOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("updateOneToOneDatatableEntryCommandHandler");
             } else if (wrapper.isDeleteMultiple()) {
-                handler = applicationContext.getBean("deleteOneToManyDatatableEntryCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("deleteOneToManyDatatableEntryCommandHandler");
             } else if (wrapper.isDeleteOneToOne()) {
-                handler = applicationContext.getBean("deleteOneToOneDatatableEntryCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("deleteOneToOneDatatableEntryCommandHandler");
             } else if (wrapper.isRegisterDatatable()) {
-                handler = applicationContext.getBean("registerDatatableCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("registerDatatableCommandHandler");
             } else {
                 throw new UnsupportedCommandException(wrapper.commandName());
             }
         } else if (wrapper.isNoteResource()) {
             if (wrapper.isCreate()) {
-                handler = applicationContext.getBean("createNoteCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("createNoteCommandHandler");
             } else if (wrapper.isUpdate()) {
-                handler = applicationContext.getBean("updateNoteCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("updateNoteCommandHandler");
             } else if (wrapper.isDelete()) {
-                handler = applicationContext.getBean("deleteNoteCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("deleteNoteCommandHandler");
             } else {
                 throw new UnsupportedCommandException(wrapper.commandName());
             }
         } else if (wrapper.isSurveyResource()) {
             if (wrapper.isRegisterSurvey()) {
-                handler = applicationContext.getBean("registerSurveyCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("registerSurveyCommandHandler");
             } else if (wrapper.isFullFilSurvey()) {
-                handler = applicationContext.getBean("fullFilSurveyCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("fullFilSurveyCommandHandler");
             } else {
                 throw new UnsupportedCommandException(wrapper.commandName());
             }
         } else if (wrapper.isLoanDisburseDetailResource()) {
             if (wrapper.isUpdateDisbursementDate()) {
-                handler = applicationContext.getBean("updateLoanDisburseDateCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("updateLoanDisburseDateCommandHandler");
             } else if (wrapper.addAndDeleteDisbursementDetails()) {
-                handler = applicationContext.getBean("addAndDeleteLoanDisburseDetailsCommandHandler", NewCommandSourceHandler.class);
+                handler = commandHandlerProvider.getHandlerByName("addAndDeleteLoanDisburseDetailsCommandHandler");
             } else {
                 throw new UnsupportedCommandException(wrapper.commandName());
             }
@@ -61,7 +61,7 @@ import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityEx
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.domain.Report;
 import org.apache.fineract.infrastructure.dataqueries.domain.ReportParameterUsage;
 import org.apache.fineract.infrastructure.dataqueries.domain.ReportRepository;
@@ -358,9 +358,9 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
         final String reportType = "report";
 
         List<HashMap<String, Object>> resultList = new ArrayList<HashMap<String, Object>>();
-        final GenericResultsetData results = this.readReportingService.retrieveGenericResultSetForSmsEmailCampaign(reportName, reportType,
+        final ColumnarResultsetData results = this.readReportingService.retrieveColumnarResultSetForSmsEmailCampaign(reportName, reportType,
                 queryParams);
-        final String response = this.genericDataService.generateJsonFromGenericResultsetData(results);
+        final String response = this.genericDataService.generateJsonFromColumnarResultsetData(results);
         resultList = new ObjectMapper().readValue(response, new TypeReference<List<HashMap<String, Object>>>() {});
         // loop changes array date to string date
         for (Iterator<HashMap<String, Object>> it = resultList.iterator(); it.hasNext();) {
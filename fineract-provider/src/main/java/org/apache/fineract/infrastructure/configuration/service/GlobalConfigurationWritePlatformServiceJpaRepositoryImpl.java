@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.configuration.service;
 
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationDataValidator;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
@@ -29,6 +30,8 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -36,6 +39,8 @@ import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -43,10 +48,17 @@ public class GlobalConfigurationWritePlatformServiceJpaRepositoryImpl implements
 
     private static final Logger LOG = LoggerFactory.getLogger(GlobalConfigurationWritePlatformServiceJpaRepositoryImpl.class);
 
+    /*
+     * The next relevant COB date of the loans is calculated from these configurations.
+     */
+    private static final Set<String> NEXT_RELEVANT_COB_DATE_CONFIGURATIONS = Set.of("days-before-repayment-is-due",
+            "days-after-repayment-is-overdue");
+
     private final PlatformSecurityContext context;
     private final GlobalConfigurationRepositoryWrapper repository;
     private final GlobalConfigurationDataValidator globalConfigurationDataValidator;
     private final ConfigurationDomainService configurationDomainService;
+    private final LoanRepositoryWrapper loanRepositoryWrapper;
 
     @Transactional
     @Override
@@ -60,6 +72,12 @@ public class GlobalConfigurationWritePlatformServiceJpaRepositoryImpl implements
 
             if (!changes.isEmpty()) {
                 this.configurationDomainService.removeGlobalConfigurationPropertyDataFromCache(configItemForUpdate.getName());
+                if ("rounding-mode".equals(configItemForUpdate.getName())) {
+                    clearRoundingCacheAfterCommit();
+                }
+                if (NEXT_RELEVANT_COB_DATE_CONFIGURATIONS.contains(configItemForUpdate.getName())) {
+                    this.loanRepositoryWrapper.resetNextRelevantCOBDates();
+                }
                 this.repository.save(configItemForUpdate);
             }
 
@@ -86,6 +104,24 @@ public class GlobalConfigurationWritePlatformServiceJpaRepositoryImpl implements
 
     }
 
+    /*
+     * Clearing before the commit would let a concurrent calculation cache the old rounding mode again until the next
+     * change.
+     */
+    private void clearRoundingCacheAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            MoneyHelper.clearCache();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                MoneyHelper.clearCache();
+            }
+        });
+    }
+
     /*
      * Guaranteed to throw an exception no matter what the data integrity issue is.
      */
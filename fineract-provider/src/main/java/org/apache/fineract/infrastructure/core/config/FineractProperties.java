@@ -20,6 +20,7 @@
 package org.apache.fineract.infrastructure.core.config;
 
 import java.util.List;
+import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -45,6 +46,20 @@ public class FineractProperties {
 
     private FineractEventsProperties events;
 
+    private FineractCOBProperties cob;
+
+    private FineractReportProperties report;
+
+    private FineractBatchApiProperties batchApi;
+
+    private FineractAccountingProperties accounting;
+
+    private FineractJpaProperties jpa;
+
+    private FineractLoanProperties loan;
+
+    private FineractSavingsProperties savings;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -58,6 +73,24 @@ public class FineractProperties {
         private String identifier;
         private String name;
         private String description;
+        private FineractTenantDataSourceProperties datasource;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTenantDataSourceProperties {
+
+        private boolean prewarmEnabled;
+        private long retiredPoolCloseDelaySeconds;
+        private Map<String, FineractTenantDataSourcePoolProperties> pools;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTenantDataSourcePoolProperties {
+
+        private Integer minimumIdle;
+        private Integer maximumPoolSize;
     }
 
     @Getter
@@ -136,6 +169,8 @@ public class FineractProperties {
     public static class FineractExternalEventsProperties {
 
         private boolean enabled;
+        private int configurationVersionCheckInterval;
+        private boolean deferredWritesEnabled;
         private FineractExternalEventsProducerProperties producer;
     }
 
@@ -144,6 +179,9 @@ public class FineractProperties {
     public static class FineractExternalEventsProducerProperties {
 
         private int readBatchSize;
+        private boolean partitionedConsumptionEnabled;
+        private int claimedPartitionCount;
+        private int workerThreadCount;
         private FineractExternalEventsProducerJmsProperties jms;
     }
 
@@ -154,5 +192,108 @@ public class FineractProperties {
         private boolean enabled;
         private String eventQueueName;
         private String brokerUrl;
+        private boolean pipeliningEnabled;
+        private int sendWindowSize;
+        private long sendTimeoutMillis;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCOBProperties {
+
+        private FineractLoanCOBProperties loan;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanCOBProperties {
+
+        private boolean prefetchEnabled;
+        private boolean rangePartitioningEnabled;
+        private boolean parallelProcessingEnabled;
+        private boolean dirtyLoanTrackingEnabled;
+        private int threadPoolSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportProperties {
+
+        private FineractReportExportProperties export;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportExportProperties {
+
+        private int fetchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchApiProperties {
+
+        private boolean parallelExecutionEnabled;
+        private int threadPoolSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAccountingProperties {
+
+        private FineractRunningBalanceProperties runningBalance;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractRunningBalanceProperties {
+
+        private int threadPoolSize;
+        private boolean partitionedJobEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractJpaProperties {
+
+        private FineractJpaBatchWritingProperties batchWriting;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractJpaBatchWritingProperties {
+
+        private boolean enabled;
+        private int size;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanProperties {
+
+        private FineractLoanInterestRecalculationProperties interestRecalculation;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanInterestRecalculationProperties {
+
+        private int threadPoolSize;
+        private boolean partitionedJobEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSavingsProperties {
+
+        private FineractSavingsInterestPostingProperties interestPosting;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSavingsInterestPostingProperties {
+
+        private int threadPoolSize;
+        private int queueCapacity;
     }
 }
@@ -25,10 +25,12 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.auditing.JpaAuditingHandlerRegistrar;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.AuditorAwareImpl;
 import org.apache.fineract.infrastructure.core.persistence.DatabaseSelectingPersistenceUnitPostProcessor;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.eclipse.persistence.config.BatchWriting;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
@@ -63,12 +65,15 @@ public class JPAConfig extends JpaBaseConfiguration {
 
     private final DatabaseTypeResolver databaseTypeResolver;
     private final Collection<EntityManagerFactoryCustomizer> emFactoryCustomizers;
+    private final FineractProperties fineractProperties;
 
     public JPAConfig(RoutingDataSource dataSource, JpaProperties properties, ObjectProvider<JtaTransactionManager> jtaTransactionManager,
-            DatabaseTypeResolver databaseTypeResolver, Collection<EntityManagerFactoryCustomizer> customizers) {
+            DatabaseTypeResolver databaseTypeResolver, Collection<EntityManagerFactoryCustomizer> customizers,
+            FineractProperties fineractProperties) {
         super(dataSource, properties, jtaTransactionManager);
         this.databaseTypeResolver = databaseTypeResolver;
         this.emFactoryCustomizers = customizers;
+        this.fineractProperties = fineractProperties;
     }
 
     @Override
@@ -88,6 +93,12 @@ public class JPAConfig extends JpaBaseConfiguration {
         vendorProperties.put(PersistenceUnitProperties.WEAVING, "static");
         vendorProperties.put(PersistenceUnitProperties.PERSISTENCE_CONTEXT_CLOSE_ON_COMMIT, "true");
         vendorProperties.put(PersistenceUnitProperties.CACHE_SHARED_DEFAULT, "false");
+        FineractProperties.FineractJpaBatchWritingProperties batchWriting = fineractProperties.getJpa().getBatchWriting();
+        if (batchWriting.isEnabled()) {
+            // Groups the updates and deletes of a flush (e.g. a regenerated repayment schedule) into JDBC batches
+            vendorProperties.put(PersistenceUnitProperties.BATCH_WRITING, BatchWriting.JDBC);
+            vendorProperties.put(PersistenceUnitProperties.BATCH_WRITING_SIZE, String.valueOf(batchWriting.getSize()));
+        }
         emFactoryCustomizers.forEach(c -> vendorProperties.putAll(c.additionalVendorProperties()));
         return vendorProperties;
     }
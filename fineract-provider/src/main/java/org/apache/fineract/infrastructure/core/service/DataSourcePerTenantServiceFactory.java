@@ -57,6 +57,14 @@ public class DataSourcePerTenantServiceFactory {
     }
 
     public DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
+        return createNewDataSourceFor(null, tenantConnection);
+    }
+
+    /**
+     * Creates the connection pool of the given tenant. The pool is sized from the tenant connection details unless
+     * fineract.tenant.datasource.pools.&lt;tenantIdentifier&gt; overrides it.
+     */
+    public DataSource createNewDataSourceFor(final String tenantIdentifier, final FineractPlatformTenantConnection tenantConnection) {
         String protocol = toProtocol(tenantDataSource);
         // Default properties for Writing
         String schemaServer = tenantConnection.getSchemaServer();
@@ -95,6 +103,7 @@ public class DataSourcePerTenantServiceFactory {
         config.setDriverClassName(hikariConfig.getDriverClassName());
         config.setConnectionTestQuery(hikariConfig.getConnectionTestQuery());
         config.setAutoCommit(hikariConfig.isAutoCommit());
+        applyPoolSizeOverrides(tenantIdentifier, config);
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MBean-(JMX)-Monitoring-and-Management
         config.setRegisterMbeans(true);
@@ -108,6 +117,26 @@ public class DataSourcePerTenantServiceFactory {
         return hikariDataSourceFactory.create(config);
     }
 
+    private void applyPoolSizeOverrides(final String tenantIdentifier, final HikariConfig config) {
+        if (tenantIdentifier == null || fineractProperties.getTenant() == null || fineractProperties.getTenant().getDatasource() == null
+                || fineractProperties.getTenant().getDatasource().getPools() == null) {
+            return;
+        }
+        FineractProperties.FineractTenantDataSourcePoolProperties pool = fineractProperties.getTenant().getDatasource().getPools()
+                .get(tenantIdentifier);
+        if (pool == null) {
+            return;
+        }
+        if (pool.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(pool.getMaximumPoolSize());
+        }
+        if (pool.getMinimumIdle() != null) {
+            config.setMinimumIdle(pool.getMinimumIdle());
+        }
+        log.info("Tenant {} uses a connection pool of minimum idle {} and maximum size {}", tenantIdentifier, config.getMinimumIdle(),
+                config.getMaximumPoolSize());
+    }
+
     private String getPropertyValue(final String baseValue, final String propertyName, final String defaultValue) {
         // If the property already has set, return It
         if (null != baseValue) {
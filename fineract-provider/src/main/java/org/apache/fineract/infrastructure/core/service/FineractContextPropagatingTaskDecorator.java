@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Propagates the Fineract thread local context (tenant, business dates, action context) and the security context of the
+ * submitting thread to the thread which executes the task.
+ */
+public class FineractContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @NotNull
+    @Override
+    public Runnable decorate(@NotNull Runnable runnable) {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            ThreadLocalContextUtil.init(context);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.reset();
+            }
+        };
+    }
+}
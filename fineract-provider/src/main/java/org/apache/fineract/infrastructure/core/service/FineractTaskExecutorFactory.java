@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+public final class FineractTaskExecutorFactory {
+
+    private FineractTaskExecutorFactory() {}
+
+    /**
+     * Creates a fixed size executor for work which only runs from time to time, like a job or an on demand request. The
+     * idle threads are not kept around, and the tasks run in the Fineract context of the submitting thread.
+     */
+    public static ThreadPoolTaskExecutor createOnDemandTaskExecutor(String threadNamePrefix, int threadPoolSize) {
+        int poolSize = Math.max(threadPoolSize, 1);
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setAllowCoreThreadTimeOut(true);
+        taskExecutor.setThreadNamePrefix(threadNamePrefix);
+        taskExecutor.setTaskDecorator(new FineractContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+}
@@ -18,13 +18,32 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
-import java.util.HashMap;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
 /**
@@ -32,44 +51,197 @@ import org.springframework.stereotype.Service;
  * {@link ThreadLocal} variable for this request.
  *
  * {@link ThreadLocalContextUtil} is used to retrieve the {@link FineractPlatformTenant} for the request.
+ *
+ * The pools are kept in a concurrent registry, so looking up the pool of an already known tenant does not lock. A pool is
+ * replaced when the connection details of its tenant change. The replaced pool stops handing out its idle connections
+ * right away, but it is only closed after fineract.tenant.datasource.retired-pool-close-delay-seconds, so the requests
+ * which still use its connections can finish. All the pools are created eagerly on startup unless
+ * fineract.tenant.datasource.prewarm-enabled is turned off.
  */
+@Slf4j
 @Service
-public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService {
+public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService, ApplicationListener<ContextRefreshedEvent> {
+
+    public static final String POOL_METRIC_PREFIX = "fineract.tenant.datasource.connections.";
 
-    private static final Map<Long, DataSource> TENANT_TO_DATA_SOURCE_MAP = new HashMap<>(1);
+    private final Map<Long, TenantDataSource> tenantToDataSourceMap = new ConcurrentHashMap<>();
+    private final Set<HikariDataSource> retiredDataSources = ConcurrentHashMap.newKeySet();
     private final DataSource tenantDataSource;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final TenantDetailsService tenantDetailsService;
+    private final FineractProperties fineractProperties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskScheduler retiredDataSourceCloser;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final FineractProperties fineractProperties, final MeterRegistry meterRegistry,
+            final @Qualifier("tenantDataSourceCloserScheduler") ThreadPoolTaskScheduler retiredDataSourceCloser) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
+        this.tenantDetailsService = tenantDetailsService;
+        this.fineractProperties = fineractProperties;
+        this.meterRegistry = meterRegistry;
+        this.retiredDataSourceCloser = retiredDataSourceCloser;
     }
 
     @Override
     public DataSource retrieveDataSource() {
-        // default to tenant database datasource
-        DataSource actualDataSource = this.tenantDataSource;
-
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
-        if (tenant != null) {
-            final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-
-            synchronized (TENANT_TO_DATA_SOURCE_MAP) {
-                // if tenantConnection information available switch to the
-                // appropriate datasource for that tenant.
-                DataSource possibleDS = TENANT_TO_DATA_SOURCE_MAP.get(tenantConnection.getConnectionId());
-                if (possibleDS != null) {
-                    actualDataSource = possibleDS;
-                } else {
-                    actualDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
-                    TENANT_TO_DATA_SOURCE_MAP.put(tenantConnection.getConnectionId(), actualDataSource);
-                }
+        if (tenant == null) {
+            // default to tenant database datasource
+            return this.tenantDataSource;
+        }
+        final TenantDataSource possibleDS = tenantToDataSourceMap.get(tenant.getConnection().getConnectionId());
+        if (possibleDS != null && possibleDS.isCreatedFor(tenant.getConnection())) {
+            return possibleDS.getDataSource();
+        }
+        return registerDataSource(tenant).getDataSource();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        FineractProperties.FineractTenantProperties tenantProperties = fineractProperties.getTenant();
+        if (tenantProperties == null || tenantProperties.getDatasource() == null || !tenantProperties.getDatasource().isPrewarmEnabled()) {
+            return;
+        }
+        final List<FineractPlatformTenant> allTenants = tenantDetailsService.findAllTenants();
+        for (final FineractPlatformTenant tenant : allTenants) {
+            try {
+                registerDataSource(tenant);
+            } catch (RuntimeException e) {
+                // The pool is retried on the first request of the tenant, a broken tenant must not prevent the startup
+                log.warn("Could not pre-warm the connection pool of tenant {}", tenant.getTenantIdentifier(), e);
+            }
+        }
+        log.info("Pre-warmed the connection pools of {} tenants", allTenants.size());
+    }
+
+    @PreDestroy
+    public void closeDataSources() {
+        // The pending closes of the scheduler find nothing left to close
+        retiredDataSources.forEach(HikariDataSource::close);
+        retiredDataSources.clear();
+        tenantToDataSourceMap.values().forEach(this::close);
+        tenantToDataSourceMap.clear();
+    }
+
+    private TenantDataSource registerDataSource(final FineractPlatformTenant tenant) {
+        final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
+        final AtomicReference<TenantDataSource> replaced = new AtomicReference<>();
+        final TenantDataSource registered = tenantToDataSourceMap.compute(tenantConnection.getConnectionId(), (connectionId, existing) -> {
+            if (existing != null && existing.isCreatedFor(tenantConnection)) {
+                return existing;
+            }
+            if (existing != null) {
+                // The gauges of the new pool are registered with the same names and tags
+                existing.getMeters().forEach(meterRegistry::remove);
+            }
+            replaced.set(existing);
+            return createDataSource(tenant);
+        });
+        final TenantDataSource previous = replaced.get();
+        if (previous != null) {
+            log.info("Connection details of tenant {} have changed, replacing its connection pool", tenant.getTenantIdentifier());
+            retire(previous);
+        }
+        return registered;
+    }
+
+    private void retire(final TenantDataSource replaced) {
+        if (!(replaced.getDataSource() instanceof HikariDataSource hikariDataSource)) {
+            return;
+        }
+        final HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            // Idle connections are closed now, the ones in use are closed once they are returned to the pool
+            pool.softEvictConnections();
+        }
+        retiredDataSources.add(hikariDataSource);
+        retiredDataSourceCloser.schedule(() -> {
+            if (retiredDataSources.remove(hikariDataSource)) {
+                hikariDataSource.close();
             }
+        }, Instant.now().plusSeconds(getRetiredDataSourceCloseDelaySeconds()));
+    }
+
+    private long getRetiredDataSourceCloseDelaySeconds() {
+        final FineractProperties.FineractTenantProperties tenantProperties = fineractProperties.getTenant();
+        if (tenantProperties == null || tenantProperties.getDatasource() == null) {
+            return 0L;
+        }
+        return Math.max(tenantProperties.getDatasource().getRetiredPoolCloseDelaySeconds(), 0L);
+    }
+
+    private TenantDataSource createDataSource(final FineractPlatformTenant tenant) {
+        final DataSource dataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenant.getTenantIdentifier(),
+                tenant.getConnection());
+        final List<Meter> meters = new ArrayList<>();
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            final String tenantIdentifier = tenant.getTenantIdentifier();
+            meters.add(registerPoolGauge(hikariDataSource, tenantIdentifier, "active", "Active connections of the tenant pool",
+                    HikariPoolMXBean::getActiveConnections));
+            meters.add(registerPoolGauge(hikariDataSource, tenantIdentifier, "idle", "Idle connections of the tenant pool",
+                    HikariPoolMXBean::getIdleConnections));
+            meters.add(registerPoolGauge(hikariDataSource, tenantIdentifier, "pending",
+                    "Threads waiting for a connection of the tenant pool", HikariPoolMXBean::getThreadsAwaitingConnection));
+            meters.add(Gauge.builder(POOL_METRIC_PREFIX + "max", hikariDataSource, HikariDataSource::getMaximumPoolSize)
+                    .description("Maximum size of the tenant pool").tag("tenant", tenantIdentifier).register(meterRegistry));
+        }
+        return new TenantDataSource(tenant.getConnection(), dataSource, meters);
+    }
+
+    private Meter registerPoolGauge(final HikariDataSource dataSource, final String tenantIdentifier, final String name,
+            final String description, final ToIntFunction<HikariPoolMXBean> value) {
+        return Gauge.builder(POOL_METRIC_PREFIX + name, dataSource, ds -> {
+            final HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+            return pool == null ? Double.NaN : value.applyAsInt(pool);
+        }).description(description).tag("tenant", tenantIdentifier).register(meterRegistry);
+    }
+
+    private void close(final TenantDataSource registered) {
+        registered.getMeters().forEach(meterRegistry::remove);
+        if (registered.getDataSource() instanceof HikariDataSource hikariDataSource) {
+            hikariDataSource.close();
+        }
+    }
+
+    private static final class TenantDataSource {
+
+        private final FineractPlatformTenantConnection connection;
+        private final List<Object> connectionDetails;
+        private final DataSource dataSource;
+        private final List<Meter> meters;
+
+        private TenantDataSource(FineractPlatformTenantConnection connection, DataSource dataSource, List<Meter> meters) {
+            this.connection = connection;
+            this.connectionDetails = connectionDetailsOf(connection);
+            this.dataSource = dataSource;
+            this.meters = meters;
+        }
+
+        private boolean isCreatedFor(FineractPlatformTenantConnection tenantConnection) {
+            // The tenant details are cached, so the same connection instance is the common case
+            return connection == tenantConnection || connectionDetails.equals(connectionDetailsOf(tenantConnection));
         }
 
-        return actualDataSource;
+        private DataSource getDataSource() {
+            return dataSource;
+        }
+
+        private List<Meter> getMeters() {
+            return meters;
+        }
+
+        private static List<Object> connectionDetailsOf(FineractPlatformTenantConnection connection) {
+            return Arrays.asList(connection.getSchemaServer(), connection.getSchemaServerPort(), connection.getSchemaName(),
+                    connection.getSchemaUsername(), connection.getSchemaPassword(), connection.getSchemaConnectionParameters(),
+                    connection.getReadOnlySchemaServer(), connection.getReadOnlySchemaServerPort(), connection.getReadOnlySchemaName(),
+                    connection.getReadOnlySchemaUsername(), connection.getReadOnlySchemaPassword(),
+                    connection.getReadOnlySchemaConnectionParameters(), connection.getInitialSize(), connection.getMaxActive(),
+                    connection.getValidationInterval());
+        }
     }
 }
@@ -51,6 +51,7 @@ import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
@@ -257,16 +258,16 @@ public class DatatablesApiResource {
 
         this.context.authenticatedUser().validateHasDatatableReadPermission(datatable);
 
-        final GenericResultsetData results = this.readWriteNonCoreDataService.retrieveDataTableGenericResultSet(datatable, apptableId,
+        final ColumnarResultsetData results = this.readWriteNonCoreDataService.retrieveDataTableColumnarResultSet(datatable, apptableId,
                 order, null);
 
         String json = "";
         final boolean genericResultSet = ApiParameterHelper.genericResultSet(uriInfo.getQueryParameters());
         if (genericResultSet) {
             final boolean prettyPrint = ApiParameterHelper.prettyPrint(uriInfo.getQueryParameters());
-            json = this.toApiJsonSerializer.serializePretty(prettyPrint, results);
+            json = this.toApiJsonSerializer.serializePretty(prettyPrint, results.toGenericResultsetData());
         } else {
-            json = this.genericDataService.generateJsonFromGenericResultsetData(results);
+            json = this.genericDataService.generateJsonFromColumnarResultsetData(results);
         }
 
         return json;
@@ -283,15 +284,15 @@ public class DatatablesApiResource {
 
         this.context.authenticatedUser().validateHasDatatableReadPermission(datatable);
 
-        final GenericResultsetData results = this.readWriteNonCoreDataService.retrieveDataTableGenericResultSet(datatable, apptableId,
+        final ColumnarResultsetData results = this.readWriteNonCoreDataService.retrieveDataTableColumnarResultSet(datatable, apptableId,
                 order, datatableId);
 
         String json = "";
         if (genericResultSet) {
             final boolean prettyPrint = ApiParameterHelper.prettyPrint(uriInfo.getQueryParameters());
-            json = this.toApiJsonSerializer.serializePretty(prettyPrint, results);
+            json = this.toApiJsonSerializer.serializePretty(prettyPrint, results.toGenericResultsetData());
         } else {
-            json = this.genericDataService.generateJsonFromGenericResultsetData(results);
+            json = this.genericDataService.generateJsonFromColumnarResultsetData(results);
         }
 
         return json;
@@ -0,0 +1,228 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Column oriented counterpart of {@link GenericResultsetData}. Every column is decoded with a fixed {@link ColumnKind}
+ * chosen once per query, and integer, floating point, date and date time values are kept in primitive arrays instead of
+ * one boxed object per cell.
+ */
+public final class ColumnarResultsetData {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    public enum ColumnKind {
+        INTEGER, LONG, DOUBLE, DATE, DATETIME, OBJECT
+    }
+
+    private final List<ResultsetColumnHeaderData> columnHeaders;
+    private final Column[] columns;
+    private int rowCount;
+
+    public ColumnarResultsetData(final List<ResultsetColumnHeaderData> columnHeaders, final List<ColumnKind> columnKinds) {
+        this.columnHeaders = columnHeaders;
+        this.columns = new Column[columnKinds.size()];
+        for (int i = 0; i < columns.length; i++) {
+            this.columns[i] = new Column(columnKinds.get(i));
+        }
+    }
+
+    public List<ResultsetColumnHeaderData> getColumnHeaders() {
+        return this.columnHeaders;
+    }
+
+    public int getColumnCount() {
+        return this.columns.length;
+    }
+
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    public ColumnKind getColumnKind(final int column) {
+        return this.columns[column].kind;
+    }
+
+    /**
+     * Starts a new row; the values of the row are set afterwards column by column through the setters.
+     *
+     * @return the index of the new row
+     */
+    public int addRow() {
+        final int row = this.rowCount++;
+        for (Column column : this.columns) {
+            column.ensureCapacity(this.rowCount);
+        }
+        return row;
+    }
+
+    public void setNull(final int row, final int column) {
+        this.columns[column].nulls.set(row);
+    }
+
+    public void setInt(final int row, final int column, final int value) {
+        this.columns[column].ints[row] = value;
+    }
+
+    public void setLong(final int row, final int column, final long value) {
+        this.columns[column].longs[row] = value;
+    }
+
+    public void setDouble(final int row, final int column, final double value) {
+        this.columns[column].doubles[row] = value;
+    }
+
+    public void setDate(final int row, final int column, final LocalDate value) {
+        this.columns[column].longs[row] = value.toEpochDay();
+    }
+
+    public void setDateTime(final int row, final int column, final LocalDateTime value) {
+        final Column target = this.columns[column];
+        target.longs[row] = value.toEpochSecond(ZoneOffset.UTC);
+        target.ints[row] = value.getNano();
+    }
+
+    public void setObject(final int row, final int column, final Object value) {
+        if (value == null) {
+            setNull(row, column);
+        } else {
+            this.columns[column].objects[row] = value;
+        }
+    }
+
+    public boolean isNull(final int row, final int column) {
+        return this.columns[column].nulls.get(row);
+    }
+
+    public int getInt(final int row, final int column) {
+        return this.columns[column].ints[row];
+    }
+
+    public long getLong(final int row, final int column) {
+        return this.columns[column].longs[row];
+    }
+
+    public double getDouble(final int row, final int column) {
+        return this.columns[column].doubles[row];
+    }
+
+    public LocalDate getDate(final int row, final int column) {
+        return isNull(row, column) ? null : LocalDate.ofEpochDay(this.columns[column].longs[row]);
+    }
+
+    public LocalDateTime getDateTime(final int row, final int column) {
+        final Column source = this.columns[column];
+        return isNull(row, column) ? null : LocalDateTime.ofEpochSecond(source.longs[row], source.ints[row], ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the value of a cell boxed into the same type {@link GenericResultsetData} holds for it.
+     */
+    public Object getValue(final int row, final int column) {
+        if (isNull(row, column)) {
+            return null;
+        }
+        final Column source = this.columns[column];
+        switch (source.kind) {
+            case INTEGER:
+                return source.ints[row];
+            case LONG:
+                return source.longs[row];
+            case DOUBLE:
+                return source.doubles[row];
+            case DATE:
+                return getDate(row, column);
+            case DATETIME:
+                return getDateTime(row, column);
+            default:
+                return source.objects[row];
+        }
+    }
+
+    /**
+     * Boxes the values into the row oriented representation for the consumers which still work on
+     * {@link GenericResultsetData}.
+     */
+    public GenericResultsetData toGenericResultsetData() {
+        final List<ResultsetRowData> rows = new ArrayList<>(this.rowCount);
+        for (int row = 0; row < this.rowCount; row++) {
+            final List<Object> values = new ArrayList<>(this.columns.length);
+            for (int column = 0; column < this.columns.length; column++) {
+                values.add(getValue(row, column));
+            }
+            rows.add(ResultsetRowData.create(values));
+        }
+        return new GenericResultsetData(this.columnHeaders, rows);
+    }
+
+    private static final class Column {
+
+        private final ColumnKind kind;
+        private final BitSet nulls = new BitSet();
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+
+        private Column(final ColumnKind kind) {
+            this.kind = kind;
+            switch (kind) {
+                case INTEGER:
+                    this.ints = new int[INITIAL_CAPACITY];
+                break;
+                case LONG:
+                case DATE:
+                    this.longs = new long[INITIAL_CAPACITY];
+                break;
+                case DATETIME:
+                    this.longs = new long[INITIAL_CAPACITY];
+                    this.ints = new int[INITIAL_CAPACITY];
+                break;
+                case DOUBLE:
+                    this.doubles = new double[INITIAL_CAPACITY];
+                break;
+                default:
+                    this.objects = new Object[INITIAL_CAPACITY];
+            }
+        }
+
+        private void ensureCapacity(final int size) {
+            if (this.ints != null && this.ints.length < size) {
+                this.ints = Arrays.copyOf(this.ints, this.ints.length * 2);
+            }
+            if (this.longs != null && this.longs.length < size) {
+                this.longs = Arrays.copyOf(this.longs, this.longs.length * 2);
+            }
+            if (this.doubles != null && this.doubles.length < size) {
+                this.doubles = Arrays.copyOf(this.doubles, this.doubles.length * 2);
+            }
+            if (this.objects != null && this.objects.length < size) {
+                this.objects = Arrays.copyOf(this.objects, this.objects.length * 2);
+            }
+        }
+    }
+}
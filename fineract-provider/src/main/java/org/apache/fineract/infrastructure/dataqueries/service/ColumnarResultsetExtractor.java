@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData.ColumnKind;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Reads a result set into a {@link ColumnarResultsetData}. The column headers and the decoder of every column are
+ * resolved once from the result set metadata, and the values are read by column index.
+ */
+public class ColumnarResultsetExtractor implements ResultSetExtractor<ColumnarResultsetData> {
+
+    private final List<ResultsetColumnHeaderData> predefinedColumnHeaders;
+
+    /**
+     * Creates an extractor which derives the column headers from the result set metadata.
+     */
+    public ColumnarResultsetExtractor() {
+        this(null);
+    }
+
+    /**
+     * Creates an extractor which reports the given column headers (e.g. the detailed headers of a datatable) and takes the
+     * column types from the header with the same name.
+     */
+    public ColumnarResultsetExtractor(final List<ResultsetColumnHeaderData> predefinedColumnHeaders) {
+        this.predefinedColumnHeaders = predefinedColumnHeaders;
+    }
+
+    @Override
+    public ColumnarResultsetData extractData(final ResultSet rs) throws SQLException {
+        final ResultSetMetaData metaData = rs.getMetaData();
+        final int columnCount = metaData.getColumnCount();
+        final List<ResultsetColumnHeaderData> resultSetColumnHeaders = new ArrayList<>(columnCount);
+        final List<ColumnKind> columnKinds = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            final String columnName = metaData.getColumnName(i);
+            final String columnType;
+            if (predefinedColumnHeaders == null) {
+                final ResultsetColumnHeaderData columnHeader = ResultsetColumnHeaderData.basic(columnName, metaData.getColumnTypeName(i));
+                resultSetColumnHeaders.add(columnHeader);
+                columnType = columnHeader.getColumnType();
+            } else {
+                columnType = getColumnTypeOfColumnNamed(columnName);
+            }
+            columnKinds.add(resolveColumnKind(columnType, metaData.getColumnClassName(i)));
+        }
+
+        final ColumnarResultsetData result = new ColumnarResultsetData(
+                predefinedColumnHeaders == null ? resultSetColumnHeaders : predefinedColumnHeaders, columnKinds);
+        final ColumnKind[] kinds = columnKinds.toArray(new ColumnKind[0]);
+        while (rs.next()) {
+            final int row = result.addRow();
+            for (int column = 0; column < kinds.length; column++) {
+                readValue(rs, result, row, column, kinds[column]);
+            }
+        }
+        return result;
+    }
+
+    private String getColumnTypeOfColumnNamed(final String columnName) {
+        String columnType = null;
+        for (final ResultsetColumnHeaderData columnHeader : predefinedColumnHeaders) {
+            if (columnHeader.isNamed(columnName)) {
+                columnType = columnHeader.getColumnType();
+            }
+        }
+        return columnType;
+    }
+
+    static ColumnKind resolveColumnKind(final String columnType, final String columnClassName) {
+        if ("DATE".equalsIgnoreCase(columnType)) {
+            return ColumnKind.DATE;
+        }
+        if ("TIMESTAMP WITHOUT TIME ZONE".equalsIgnoreCase(columnType) // PostgreSQL
+                || "DATETIME".equalsIgnoreCase(columnType) || "TIMESTAMP".equalsIgnoreCase(columnType)) {
+            return ColumnKind.DATETIME;
+        }
+        // The primitive decoders must produce the same boxed type as ResultSet#getObject would
+        if (Integer.class.getName().equals(columnClassName)) {
+            return ColumnKind.INTEGER;
+        }
+        if (Long.class.getName().equals(columnClassName)) {
+            return ColumnKind.LONG;
+        }
+        if (Double.class.getName().equals(columnClassName)) {
+            return ColumnKind.DOUBLE;
+        }
+        return ColumnKind.OBJECT;
+    }
+
+    private static void readValue(final ResultSet rs, final ColumnarResultsetData result, final int row, final int column,
+            final ColumnKind kind) throws SQLException {
+        final int columnIndex = column + 1;
+        switch (kind) {
+            case INTEGER:
+                final int intValue = rs.getInt(columnIndex);
+                if (rs.wasNull()) {
+                    result.setNull(row, column);
+                } else {
+                    result.setInt(row, column, intValue);
+                }
+            break;
+            case LONG:
+                final long longValue = rs.getLong(columnIndex);
+                if (rs.wasNull()) {
+                    result.setNull(row, column);
+                } else {
+                    result.setLong(row, column, longValue);
+                }
+            break;
+            case DOUBLE:
+                final double doubleValue = rs.getDouble(columnIndex);
+                if (rs.wasNull()) {
+                    result.setNull(row, column);
+                } else {
+                    result.setDouble(row, column, doubleValue);
+                }
+            break;
+            case DATE:
+                final Date date = rs.getDate(columnIndex);
+                if (date == null) {
+                    result.setNull(row, column);
+                } else {
+                    result.setDate(row, column, date.toLocalDate());
+                }
+            break;
+            case DATETIME:
+                final Timestamp timestamp = rs.getTimestamp(columnIndex);
+                if (timestamp == null) {
+                    result.setNull(row, column);
+                } else {
+                    result.setDateTime(row, column, timestamp.toLocalDateTime());
+                }
+            break;
+            default:
+                result.setObject(row, column, rs.getObject(columnIndex));
+        }
+    }
+}
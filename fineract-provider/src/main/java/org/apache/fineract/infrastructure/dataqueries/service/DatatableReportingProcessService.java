@@ -42,14 +42,12 @@ public class DatatableReportingProcessService implements ReportingProcessService
 
     private final ReadReportingService readExtraDataAndReportingService;
     private final ToApiJsonSerializer<ReportData> toApiJsonSerializer;
-    private final GenericDataService genericDataService;
 
     @Autowired
     public DatatableReportingProcessService(final ReadReportingService readExtraDataAndReportingService,
-            final GenericDataService genericDataService, final ToApiJsonSerializer<ReportData> toApiJsonSerializer) {
+            final ToApiJsonSerializer<ReportData> toApiJsonSerializer) {
         this.readExtraDataAndReportingService = readExtraDataAndReportingService;
         this.toApiJsonSerializer = toApiJsonSerializer;
-        this.genericDataService = genericDataService;
     }
 
     @Override
@@ -79,22 +77,20 @@ public class DatatableReportingProcessService implements ReportingProcessService
         // JSON format
         if (!exportCsv) {
             final Map<String, String> reportParams = getReportParams(queryParams);
+            final boolean genericResultSetIsPassed = ApiParameterHelper.genericResultSetPassed(queryParams);
+            final boolean genericResultSet = ApiParameterHelper.genericResultSet(queryParams);
+
+            if (genericResultSetIsPassed && !genericResultSet) {
+                // The plain row format does not need the result set up front, so it is streamed like the CSV export
+                final StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportJSON(reportName, parameterTypeValue,
+                        reportParams, isSelfServiceUserReport);
+                return Response.ok().entity(result).type(MediaType.APPLICATION_JSON).build();
+            }
 
             final GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName,
                     parameterTypeValue, reportParams, isSelfServiceUserReport);
 
-            String json;
-            final boolean genericResultSetIsPassed = ApiParameterHelper.genericResultSetPassed(queryParams);
-            final boolean genericResultSet = ApiParameterHelper.genericResultSet(queryParams);
-            if (genericResultSetIsPassed) {
-                if (genericResultSet) {
-                    json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-                } else {
-                    json = this.genericDataService.generateJsonFromGenericResultsetData(result);
-                }
-            } else {
-                json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-            }
+            final String json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
 
             return Response.ok().entity(json).type(MediaType.APPLICATION_JSON).build();
         }
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.dataqueries.service;
 
 import java.util.List;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 
@@ -26,8 +27,12 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    ColumnarResultsetData fillColumnarResultSet(String sql);
+
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    String generateJsonFromColumnarResultsetData(ColumnarResultsetData data);
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
@@ -18,11 +18,6 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
-import static java.lang.String.format;
-
-import java.sql.Timestamp;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import javax.sql.DataSource;
@@ -30,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
@@ -39,7 +35,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -60,44 +55,13 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public GenericResultsetData fillGenericResultSet(final String sql) {
-        try {
-            final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql); // NOSONAR
-
-            final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
-            final List<ResultsetRowData> resultsetDataRows = new ArrayList<>();
-
-            final SqlRowSetMetaData rsmd = rs.getMetaData();
-
-            for (int i = 0; i < rsmd.getColumnCount(); i++) {
-
-                final String columnName = rsmd.getColumnName(i + 1);
-                final String columnType = rsmd.getColumnTypeName(i + 1);
-
-                final ResultsetColumnHeaderData columnHeader = ResultsetColumnHeaderData.basic(columnName, columnType);
-                columnHeaders.add(columnHeader);
-            }
-
-            while (rs.next()) {
-                final List<Object> columnValues = new ArrayList<>();
-                for (int i = 0; i < rsmd.getColumnCount(); i++) {
-                    final String columnName = rsmd.getColumnName(i + 1);
-                    final String colType = columnHeaders.get(i).getColumnType();
-                    if ("DATE".equalsIgnoreCase(colType)) {
-                        java.sql.Date tmpDate = (java.sql.Date) rs.getObject(columnName);
-                        columnValues.add(tmpDate != null ? tmpDate.toLocalDate() : null);
-                    } else if ("TIMESTAMP WITHOUT TIME ZONE".equalsIgnoreCase(colType) // PostgreSQL
-                            || "DATETIME".equalsIgnoreCase(colType) || "TIMESTAMP".equalsIgnoreCase(colType)) {
-                        Timestamp tmpDate = (Timestamp) rs.getObject(columnName);
-                        columnValues.add(tmpDate != null ? tmpDate.toLocalDateTime() : null);
-                    } else {
-                        columnValues.add(rs.getObject(columnName));
-                    }
-                }
-                final ResultsetRowData resultsetDataRow = ResultsetRowData.create(columnValues);
-                resultsetDataRows.add(resultsetDataRow);
-            }
+        return fillColumnarResultSet(sql).toGenericResultsetData();
+    }
 
-            return new GenericResultsetData(columnHeaders, resultsetDataRows);
+    @Override
+    public ColumnarResultsetData fillColumnarResultSet(final String sql) {
+        try {
+            return this.jdbcTemplate.query(sql, new ColumnarResultsetExtractor()); // NOSONAR
         } catch (DataAccessException e) {
             log.error("Reporting error: {}", e.getMessage());
             throw new PlatformDataIntegrityException("error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), e);
@@ -143,65 +107,10 @@ public class GenericDataServiceImpl implements GenericDataService {
         final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
 
         final List<ResultsetRowData> data = grs.getData();
-        List<Object> row;
-        Integer rSize;
-        final String doubleQuote = "\"";
-        final String slashDoubleQuote = "\\\"";
-        String currColType;
-        Object currVal;
-
         for (int i = 0; i < data.size(); i++) {
-            writer.append("\n{");
-
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-
-                writer.append(doubleQuote + columnHeaders.get(j).getColumnName() + doubleQuote + ": ");
-                currColType = columnHeaders.get(j).getColumnDisplayType();
-                final String colType = columnHeaders.get(j).getColumnType();
-                if (currColType == null && colType.equalsIgnoreCase("INT")) {
-                    currColType = "INTEGER";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
-                    currColType = "VARCHAR";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("DATE")) {
-                    currColType = "DATE";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("DATETIME")) {
-                    currColType = "DATETIME";
-                }
-                currVal = row.get(j);
-                if (currVal != null && currColType != null) {
-                    if (currColType.equalsIgnoreCase("DECIMAL") || currColType.equalsIgnoreCase("INTEGER")
-                            || currColType.equalsIgnoreCase("CODELOOKUP")) {
-                        writer.append(currVal);
-                    } else {
-                        if (currColType.equalsIgnoreCase("DATE")) {
-                            final LocalDate localDate = (LocalDate) currVal;
-                            writer.append(format("[%d,%d,%d]", localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
-                        } else if (currColType.equalsIgnoreCase("DATETIME")) {
-                            final LocalDateTime localDateTime = (LocalDateTime) currVal;
-                            writer.append(format("[%d,%d,%d,%d,%d,%d,%d]", localDateTime.getYear(), localDateTime.getMonthValue(),
-                                    localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(),
-                                    localDateTime.getSecond(), localDateTime.getNano()));
-                        } else {
-                            writer.append(doubleQuote + replace(String.valueOf(currVal), doubleQuote, slashDoubleQuote) + doubleQuote);
-                        }
-                    }
-                } else {
-                    writer.append("null");
-                }
-                if (j < (rSize - 1)) {
-                    writer.append(",\n");
-                }
-            }
-
+            GenericResultsetFormatter.appendJsonRow(writer, columnHeaders, data.get(i).getRow());
             if (i < (data.size() - 1)) {
-                writer.append("},");
-            } else {
-                writer.append("}");
+                writer.append(",");
             }
         }
 
@@ -210,6 +119,13 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     }
 
+    @Override
+    public String generateJsonFromColumnarResultsetData(final ColumnarResultsetData data) {
+        final StringBuilder writer = new StringBuilder();
+        GenericResultsetFormatter.appendJson(writer, data);
+        return writer.toString();
+    }
+
     @Override
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
         final SqlRowSet columnDefinitions = getDatatableMetaData(datatable);
@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static java.lang.String.format;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData.ColumnKind;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+/**
+ * Formats the values of a generic result set as CSV or JSON, shared by the in-memory and the streaming report exports so
+ * both produce the same output.
+ */
+final class GenericResultsetFormatter {
+
+    private static final String DOUBLE_QUOTE = "\"";
+    private static final String TWO_DOUBLE_QUOTES = DOUBLE_QUOTE + DOUBLE_QUOTE;
+    private static final String SLASH_DOUBLE_QUOTE = "\\\"";
+
+    private GenericResultsetFormatter() {}
+
+    static void appendCsvHeader(StringBuilder writer, List<ResultsetColumnHeaderData> columnHeaders) {
+        final int chSize = columnHeaders.size();
+        for (int i = 0; i < chSize; i++) {
+            writer.append('"').append(columnHeaders.get(i).getColumnName()).append('"');
+            if (i < (chSize - 1)) {
+                writer.append(',');
+            }
+        }
+        writer.append('\n');
+    }
+
+    static void appendCsvRow(StringBuilder writer, List<ResultsetColumnHeaderData> columnHeaders, List<Object> row) {
+        final int rSize = row.size();
+        for (int j = 0; j < rSize; j++) {
+            final Object currVal = row.get(j);
+            if (currVal != null) {
+                final String currColType = columnHeaders.get(j).getColumnType();
+                if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
+                        || currColType.equals("SMALLINT") || currColType.equals("INT")) {
+                    writer.append(currVal);
+                } else {
+                    writer.append('"').append(StringUtils.replace(String.valueOf(currVal), DOUBLE_QUOTE, TWO_DOUBLE_QUOTES)).append('"');
+                }
+            }
+            if (j < (rSize - 1)) {
+                writer.append(',');
+            }
+        }
+        writer.append('\n');
+    }
+
+    static void appendJsonRow(StringBuilder writer, List<ResultsetColumnHeaderData> columnHeaders, List<Object> row) {
+        writer.append("\n{");
+        final int rSize = row.size();
+        for (int j = 0; j < rSize; j++) {
+            writer.append(DOUBLE_QUOTE).append(columnHeaders.get(j).getColumnName()).append(DOUBLE_QUOTE).append(": ");
+            appendJsonValue(writer, columnHeaders.get(j), row.get(j));
+            if (j < (rSize - 1)) {
+                writer.append(",\n");
+            }
+        }
+        writer.append('}');
+    }
+
+    /**
+     * Writes the rows of a columnar result set as a JSON array of row objects, in the same format as
+     * {@link GenericDataService#generateJsonFromGenericResultsetData}, reading numerics and dates without boxing them.
+     */
+    static void appendJson(StringBuilder writer, ColumnarResultsetData data) {
+        final List<ResultsetColumnHeaderData> columnHeaders = data.getColumnHeaders();
+        final int columnCount = data.getColumnCount();
+        final String[] jsonColumnTypes = new String[columnCount];
+        for (int j = 0; j < columnCount; j++) {
+            jsonColumnTypes[j] = resolveJsonColumnType(columnHeaders.get(j));
+        }
+        writer.append('[');
+        for (int row = 0; row < data.getRowCount(); row++) {
+            if (row > 0) {
+                writer.append(',');
+            }
+            writer.append("\n{");
+            for (int j = 0; j < columnCount; j++) {
+                writer.append(DOUBLE_QUOTE).append(columnHeaders.get(j).getColumnName()).append(DOUBLE_QUOTE).append(": ");
+                appendJsonValue(writer, data, row, j, jsonColumnTypes[j]);
+                if (j < (columnCount - 1)) {
+                    writer.append(",\n");
+                }
+            }
+            writer.append('}');
+        }
+        writer.append("\n]");
+    }
+
+    private static void appendJsonValue(StringBuilder writer, ColumnarResultsetData data, int row, int column, String currColType) {
+        if (currColType == null || data.isNull(row, column)) {
+            writer.append("null");
+            return;
+        }
+        final ColumnKind kind = data.getColumnKind(column);
+        if (currColType.equalsIgnoreCase("DECIMAL") || currColType.equalsIgnoreCase("INTEGER")
+                || currColType.equalsIgnoreCase("CODELOOKUP")) {
+            if (kind == ColumnKind.INTEGER) {
+                writer.append(data.getInt(row, column));
+            } else if (kind == ColumnKind.LONG) {
+                writer.append(data.getLong(row, column));
+            } else if (kind == ColumnKind.DOUBLE) {
+                writer.append(data.getDouble(row, column));
+            } else {
+                writer.append(data.getValue(row, column));
+            }
+        } else if (currColType.equalsIgnoreCase("DATE")) {
+            final LocalDate localDate = (LocalDate) data.getValue(row, column);
+            writer.append('[').append(localDate.getYear()).append(',').append(localDate.getMonthValue()).append(',')
+                    .append(localDate.getDayOfMonth()).append(']');
+        } else if (currColType.equalsIgnoreCase("DATETIME")) {
+            final LocalDateTime localDateTime = (LocalDateTime) data.getValue(row, column);
+            writer.append('[').append(localDateTime.getYear()).append(',').append(localDateTime.getMonthValue()).append(',')
+                    .append(localDateTime.getDayOfMonth()).append(',').append(localDateTime.getHour()).append(',')
+                    .append(localDateTime.getMinute()).append(',').append(localDateTime.getSecond()).append(',')
+                    .append(localDateTime.getNano()).append(']');
+        } else {
+            writer.append(DOUBLE_QUOTE)
+                    .append(StringUtils.replace(String.valueOf(data.getValue(row, column)), DOUBLE_QUOTE, SLASH_DOUBLE_QUOTE))
+                    .append(DOUBLE_QUOTE);
+        }
+    }
+
+    private static String resolveJsonColumnType(ResultsetColumnHeaderData columnHeader) {
+        String currColType = columnHeader.getColumnDisplayType();
+        final String colType = columnHeader.getColumnType();
+        if (currColType == null && colType.equalsIgnoreCase("INT")) {
+            currColType = "INTEGER";
+        }
+        if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
+            currColType = "VARCHAR";
+        }
+        if (currColType == null && colType.equalsIgnoreCase("DATE")) {
+            currColType = "DATE";
+        }
+        if (currColType == null && colType.equalsIgnoreCase("DATETIME")) {
+            currColType = "DATETIME";
+        }
+        return currColType;
+    }
+
+    private static void appendJsonValue(StringBuilder writer, ResultsetColumnHeaderData columnHeader, Object currVal) {
+        final String currColType = resolveJsonColumnType(columnHeader);
+        if (currVal != null && currColType != null) {
+            if (currColType.equalsIgnoreCase("DECIMAL") || currColType.equalsIgnoreCase("INTEGER")
+                    || currColType.equalsIgnoreCase("CODELOOKUP")) {
+                writer.append(currVal);
+            } else if (currColType.equalsIgnoreCase("DATE")) {
+                final LocalDate localDate = (LocalDate) currVal;
+                writer.append(format("[%d,%d,%d]", localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
+            } else if (currColType.equalsIgnoreCase("DATETIME")) {
+                final LocalDateTime localDateTime = (LocalDateTime) currVal;
+                writer.append(format("[%d,%d,%d,%d,%d,%d,%d]", localDateTime.getYear(), localDateTime.getMonthValue(),
+                        localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(), localDateTime.getSecond(),
+                        localDateTime.getNano()));
+            } else {
+                writer.append(DOUBLE_QUOTE).append(StringUtils.replace(String.valueOf(currVal), DOUBLE_QUOTE, SLASH_DOUBLE_QUOTE))
+                        .append(DOUBLE_QUOTE);
+            }
+        } else {
+            writer.append("null");
+        }
+    }
+}
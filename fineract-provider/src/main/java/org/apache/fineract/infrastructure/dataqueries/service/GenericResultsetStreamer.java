@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the result of a report query as CSV or JSON straight to an output stream while reading it through a
+ * forward-only cursor, so only the current row and a fixed size write buffer are held in memory regardless of the size
+ * of the report.
+ */
+@Slf4j
+@Component
+public class GenericResultsetStreamer {
+
+    public static final String EXPORTED_ROWS_COUNTER_NAME = "fineract.report.export.rows";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    // The row buffer is flushed into the writer once it grows beyond this size
+    private static final int ROW_BUFFER_FLUSH_THRESHOLD = 8 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+    private final Counter csvRowsCounter;
+    private final Counter jsonRowsCounter;
+
+    public GenericResultsetStreamer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            FineractProperties fineractProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fineractProperties = fineractProperties;
+        this.csvRowsCounter = Counter.builder(EXPORTED_ROWS_COUNTER_NAME).tag("format", "csv")
+                .description("Number of report rows exported through the streaming export").register(meterRegistry);
+        this.jsonRowsCounter = Counter.builder(EXPORTED_ROWS_COUNTER_NAME).tag("format", "json")
+                .description("Number of report rows exported through the streaming export").register(meterRegistry);
+    }
+
+    /**
+     * Streams the result of the query as CSV with a header line, in the same format as the former in-memory export.
+     *
+     * @return the number of exported rows
+     */
+    public long streamCsv(final String sql, final OutputStream out) {
+        return stream(sql, out, "csv", csvRowsCounter, new RowWriter() {
+
+            @Override
+            public void writeHeader(StringBuilder buffer, List<ResultsetColumnHeaderData> columnHeaders) {
+                GenericResultsetFormatter.appendCsvHeader(buffer, columnHeaders);
+            }
+
+            @Override
+            public void writeRow(StringBuilder buffer, List<ResultsetColumnHeaderData> columnHeaders, List<Object> row, long rowIndex) {
+                GenericResultsetFormatter.appendCsvRow(buffer, columnHeaders, row);
+            }
+
+            @Override
+            public void writeFooter(StringBuilder buffer) {}
+        });
+    }
+
+    /**
+     * Streams the result of the query as a JSON array of row objects, in the same format as
+     * {@link GenericDataService#generateJsonFromGenericResultsetData}.
+     *
+     * @return the number of exported rows
+     */
+    public long streamJson(final String sql, final OutputStream out) {
+        return stream(sql, out, "json", jsonRowsCounter, new RowWriter() {
+
+            @Override
+            public void writeHeader(StringBuilder buffer, List<ResultsetColumnHeaderData> columnHeaders) {
+                buffer.append('[');
+            }
+
+            @Override
+            public void writeRow(StringBuilder buffer, List<ResultsetColumnHeaderData> columnHeaders, List<Object> row, long rowIndex) {
+                if (rowIndex > 0) {
+                    buffer.append(',');
+                }
+                GenericResultsetFormatter.appendJsonRow(buffer, columnHeaders, row);
+            }
+
+            @Override
+            public void writeFooter(StringBuilder buffer) {
+                buffer.append("\n]");
+            }
+        });
+    }
+
+    private long stream(final String sql, final OutputStream out, final String format, final Counter rowsCounter,
+            final RowWriter rowWriter) {
+        final long startTime = System.nanoTime();
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        final StreamingResultSetExtractor extractor = new StreamingResultSetExtractor(writer, rowWriter, rowsCounter);
+        final int fetchSize = fineractProperties.getReport().getExport().getFetchSize();
+        final long rowCount;
+        try {
+            // The cursor is only streamed by PostgreSQL within a transaction
+            rowCount = transactionTemplate.execute(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, // NOSONAR
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, extractor));
+            writer.flush();
+        } catch (DataAccessException e) {
+            log.error("Reporting error: {}", e.getMessage());
+            throw new PlatformDataIntegrityException("error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), 1L);
+        log.info("Exported {} report rows as {} in {} ms ({} rows/s)", rowCount, format, elapsedMillis, rowCount * 1000L / elapsedMillis);
+        return rowCount;
+    }
+
+    private interface RowWriter {
+
+        void writeHeader(StringBuilder buffer, List<ResultsetColumnHeaderData> columnHeaders);
+
+        void writeRow(StringBuilder buffer, List<ResultsetColumnHeaderData> columnHeaders, List<Object> row, long rowIndex);
+
+        void writeFooter(StringBuilder buffer);
+    }
+
+    private static final class StreamingResultSetExtractor implements ResultSetExtractor<Long> {
+
+        private final Writer writer;
+        private final RowWriter rowWriter;
+        private final Counter rowsCounter;
+        private final StringBuilder buffer = new StringBuilder(ROW_BUFFER_FLUSH_THRESHOLD * 2);
+
+        private StreamingResultSetExtractor(Writer writer, RowWriter rowWriter, Counter rowsCounter) {
+            this.writer = writer;
+            this.rowWriter = rowWriter;
+            this.rowsCounter = rowsCounter;
+        }
+
+        @Override
+        public Long extractData(ResultSet rs) throws SQLException {
+            final List<ResultsetColumnHeaderData> columnHeaders = readColumnHeaders(rs.getMetaData());
+            rowWriter.writeHeader(buffer, columnHeaders);
+            long rowCount = 0;
+            while (rs.next()) {
+                final List<Object> row = new ArrayList<>(columnHeaders.size());
+                for (int i = 0; i < columnHeaders.size(); i++) {
+                    row.add(readColumnValue(rs, i + 1, columnHeaders.get(i).getColumnType()));
+                }
+                rowWriter.writeRow(buffer, columnHeaders, row, rowCount);
+                rowCount++;
+                rowsCounter.increment();
+                if (buffer.length() >= ROW_BUFFER_FLUSH_THRESHOLD) {
+                    flushBuffer();
+                }
+            }
+            rowWriter.writeFooter(buffer);
+            flushBuffer();
+            return rowCount;
+        }
+
+        private void flushBuffer() {
+            try {
+                writer.append(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.setLength(0);
+        }
+
+        private static List<ResultsetColumnHeaderData> readColumnHeaders(ResultSetMetaData metaData) throws SQLException {
+            final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(metaData.getColumnCount());
+            for (int i = 0; i < metaData.getColumnCount(); i++) {
+                columnHeaders.add(ResultsetColumnHeaderData.basic(metaData.getColumnName(i + 1), metaData.getColumnTypeName(i + 1)));
+            }
+            return columnHeaders;
+        }
+
+        private static Object readColumnValue(ResultSet rs, int columnIndex, String colType) throws SQLException {
+            // Same conversions as GenericDataServiceImpl#fillGenericResultSet
+            if ("DATE".equalsIgnoreCase(colType)) {
+                java.sql.Date tmpDate = rs.getDate(columnIndex);
+                return tmpDate != null ? tmpDate.toLocalDate() : null;
+            } else if ("TIMESTAMP WITHOUT TIME ZONE".equalsIgnoreCase(colType) // PostgreSQL
+                    || "DATETIME".equalsIgnoreCase(colType) || "TIMESTAMP".equalsIgnoreCase(colType)) {
+                Timestamp tmpDate = rs.getTimestamp(columnIndex);
+                return tmpDate != null ? tmpDate.toLocalDateTime() : null;
+            }
+            return rs.getObject(columnIndex);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.google.gson.JsonObject;
 import java.util.List;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -48,6 +49,8 @@ public interface ReadWriteNonCoreDataService {
 
     GenericResultsetData retrieveDataTableGenericResultSet(String datatable, Long appTableId, String order, Long id);
 
+    ColumnarResultsetData retrieveDataTableColumnarResultSet(String datatable, Long appTableId, String order, Long id);
+
     CommandProcessingResult createDatatable(JsonCommand command);
 
     void updateDatatable(String datatableName, JsonCommand command);
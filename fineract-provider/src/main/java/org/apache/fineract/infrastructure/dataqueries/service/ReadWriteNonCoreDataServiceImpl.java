@@ -70,11 +70,11 @@ import org.apache.fineract.infrastructure.core.serialization.JsonParserHelper;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.DataTableValidator;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
-import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableEntryRequiredException;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableSystemErrorException;
@@ -94,7 +94,6 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -1468,6 +1467,12 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     @Override
     public GenericResultsetData retrieveDataTableGenericResultSet(final String dataTableName, final Long appTableId, final String order,
             final Long id) {
+        return retrieveDataTableColumnarResultSet(dataTableName, appTableId, order, id).toGenericResultsetData();
+    }
+
+    @Override
+    public ColumnarResultsetData retrieveDataTableColumnarResultSet(final String dataTableName, final Long appTableId, final String order,
+            final Long id) {
 
         final String appTable = queryForApplicationTableName(dataTableName);
 
@@ -1491,9 +1496,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             sql = sql + " order by " + order;
         }
 
-        final List<ResultsetRowData> result = fillDatatableResultSetDataRows(sql, columnHeaders);
-
-        return new GenericResultsetData(columnHeaders, result);
+        return fillDatatableResultSet(sql, columnHeaders);
     }
 
     private GenericResultsetData retrieveDataTableGenericResultSetForUpdate(final String appTable, final String dataTableName,
@@ -1512,9 +1515,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             sql = sql + " and id = " + id;
         }
 
-        final List<ResultsetRowData> result = fillDatatableResultSetDataRows(sql, columnHeaders);
-
-        return new GenericResultsetData(columnHeaders, result);
+        return fillDatatableResultSet(sql, columnHeaders).toGenericResultsetData();
     }
 
     private CommandProcessingResult checkMainResourceExistsWithinScope(final String appTable, final Long appTableId) {
@@ -1652,38 +1653,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return appTable;
     }
 
-    private List<ResultsetRowData> fillDatatableResultSetDataRows(final String sql, final List<ResultsetColumnHeaderData> columnHeaders) {
-        final List<ResultsetRowData> resultsetDataRows = new ArrayList<>();
-        final GenericResultsetData genericResultsetData = new GenericResultsetData(columnHeaders, null);
-
-        final SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql); // NOSONAR
-        final SqlRowSetMetaData rsmd = rowSet.getMetaData();
-
-        while (rowSet.next()) {
-            final List<Object> columnValues = new ArrayList<>();
-
-            for (int i = 0; i < rsmd.getColumnCount(); i++) {
-                final String columnName = rsmd.getColumnName(i + 1);
-                final String colType = genericResultsetData.getColTypeOfColumnNamed(columnName);
-
-                if ("DATE".equalsIgnoreCase(colType)) {
-                    Date tmpDate = (Date) rowSet.getObject(columnName);
-                    columnValues.add(tmpDate != null ? tmpDate.toLocalDate() : null);
-                } else if ("TIMESTAMP WITHOUT TIME ZONE".equalsIgnoreCase(colType) // PostgreSQL
-                        || "DATETIME".equalsIgnoreCase(colType) || "TIMESTAMP".equalsIgnoreCase(colType)) {
-                    Object tmpDate = rowSet.getObject(columnName);
-
-                    columnValues
-                            .add(tmpDate != null ? tmpDate instanceof Timestamp ? ((Timestamp) tmpDate).toLocalDateTime() : tmpDate : null);
-                } else {
-                    columnValues.add(rowSet.getObject(columnName));
-                }
-            }
-
-            resultsetDataRows.add(ResultsetRowData.create(columnValues));
-        }
-
-        return resultsetDataRows;
+    private ColumnarResultsetData fillDatatableResultSet(final String sql, final List<ResultsetColumnHeaderData> columnHeaders) {
+        return jdbcTemplate.query(sql, new ColumnarResultsetExtractor(columnHeaders)); // NOSONAR
     }
 
     private String queryForApplicationTableName(final String datatable) {
@@ -25,4 +25,14 @@ public interface BusinessEvent<T> {
     String getType();
 
     String getCategory();
+
+    /**
+     * Identifies the aggregate (e.g. the loan) the event belongs to. Events of the same aggregate are delivered in the
+     * order they were raised.
+     *
+     * @return the id of the aggregate root or null if the event does not belong to one
+     */
+    default Long getAggregateRootId() {
+        return null;
+    }
 }
@@ -20,6 +20,8 @@ package org.apache.fineract.infrastructure.event.external.config;
 
 import org.apache.activemq.ActiveMQConnectionFactory;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventBatchProducer;
+import org.apache.fineract.infrastructure.event.external.producer.JMSExternalEventBatchProducer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +33,8 @@ import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.IntegrationFlows;
 import org.springframework.integration.handler.LoggingHandler;
 import org.springframework.integration.jms.dsl.Jms;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
 
 @Configuration
 @EnableIntegration
@@ -53,4 +57,12 @@ public class ExternalEventJMSProducerConfiguration {
                 .get();
     }
 
+    @Bean
+    public ExternalEventBatchProducer externalEventBatchProducer(ActiveMQConnectionFactory connectionFactory) {
+        JmsTemplate jmsTemplate = new JmsTemplate(new CachingConnectionFactory(connectionFactory));
+        jmsTemplate.setSessionTransacted(true);
+        return new JMSExternalEventBatchProducer(jmsTemplate,
+                fineractProperties.getEvents().getExternal().getProducer().getJms().getEventQueueName());
+    }
+
 }
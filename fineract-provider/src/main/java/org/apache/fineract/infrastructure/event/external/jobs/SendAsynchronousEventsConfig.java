@@ -18,15 +18,19 @@
  */
 package org.apache.fineract.infrastructure.event.external.jobs;
 
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.FineractContextPropagatingTaskDecorator;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.SimplePartitioner;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class SendAsynchronousEventsConfig {
@@ -36,17 +40,57 @@ public class SendAsynchronousEventsConfig {
     @Autowired
     private StepBuilderFactory steps;
     @Autowired
-    private SendAsynchronousEventsTasklet tasklet;
+    private FineractProperties fineractProperties;
 
     @Bean
-    protected Step sendAsynchronousEventsStep() {
+    protected Step sendAsynchronousEventsStep(SendAsynchronousEventsTasklet tasklet) {
+        if (isPartitionedConsumptionEnabled() && getWorkerThreadCount() > 1) {
+            // Every worker claims its own event partitions, so the workers can send concurrently
+            return steps.get(JobName.SEND_ASYNCHRONOUS_EVENTS.name())
+                    .partitioner(JobName.SEND_ASYNCHRONOUS_EVENTS.name() + " - Worker", new SimplePartitioner())
+                    .step(sendAsynchronousEventsWorkerStep(tasklet)).gridSize(getWorkerThreadCount())
+                    .taskExecutor(sendAsynchronousEventsTaskExecutor()).build();
+        }
         return steps.get(JobName.SEND_ASYNCHRONOUS_EVENTS.name()).tasklet(tasklet).build();
     }
 
     @Bean
-    public Job sendAsynchronousEventsJob() {
-        return jobs.get(JobName.SEND_ASYNCHRONOUS_EVENTS.name()).start(sendAsynchronousEventsStep()).incrementer(new RunIdIncrementer())
-                .build();
+    public ThreadPoolTaskExecutor sendAsynchronousEventsTaskExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(getWorkerThreadCount());
+        taskExecutor.setMaxPoolSize(getWorkerThreadCount());
+        taskExecutor.setThreadNamePrefix("send-events-worker-");
+        taskExecutor.setTaskDecorator(new FineractContextPropagatingTaskDecorator());
+        return taskExecutor;
     }
 
+    @Bean
+    public ThreadPoolTaskExecutor sendAsynchronousEventsSenderExecutor() {
+        // Every worker has at most one window in flight while it serializes the next one
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(getWorkerThreadCount());
+        taskExecutor.setMaxPoolSize(getWorkerThreadCount());
+        taskExecutor.setQueueCapacity(getWorkerThreadCount());
+        taskExecutor.setThreadNamePrefix("send-events-sender-");
+        taskExecutor.setTaskDecorator(new FineractContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+
+    @Bean
+    public Job sendAsynchronousEventsJob(SendAsynchronousEventsTasklet tasklet) {
+        return jobs.get(JobName.SEND_ASYNCHRONOUS_EVENTS.name()).start(sendAsynchronousEventsStep(tasklet))
+                .incrementer(new RunIdIncrementer()).build();
+    }
+
+    private Step sendAsynchronousEventsWorkerStep(SendAsynchronousEventsTasklet tasklet) {
+        return steps.get(JobName.SEND_ASYNCHRONOUS_EVENTS.name() + " - Worker").tasklet(tasklet).build();
+    }
+
+    private boolean isPartitionedConsumptionEnabled() {
+        return fineractProperties.getEvents().getExternal().getProducer().isPartitionedConsumptionEnabled();
+    }
+
+    private int getWorkerThreadCount() {
+        return Math.max(fineractProperties.getEvents().getExternal().getProducer().getWorkerThreadCount(), 1);
+    }
 }
@@ -18,13 +18,22 @@
  */
 package org.apache.fineract.infrastructure.event.external.jobs;
 
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventBatchProducer;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
@@ -35,28 +44,58 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 @Slf4j
-@RequiredArgsConstructor
 @Component
 public class SendAsynchronousEventsTasklet implements Tasklet {
 
+    public static final String SENT_EVENTS_COUNTER_NAME = "fineract.events.external.sent";
+
     private final FineractProperties fineractProperties;
     private final ExternalEventRepository repository;
     private final ExternalEventProducer eventProducer;
+    private final ObjectProvider<ExternalEventBatchProducer> batchEventProducer;
     private final MessageFactory messageFactory;
     private final ByteBufferConverter byteBufferConverter;
+    private final ThreadPoolTaskExecutor senderExecutor;
+    private final Counter sentEventsCounter;
+
+    public SendAsynchronousEventsTasklet(FineractProperties fineractProperties, ExternalEventRepository repository,
+            ExternalEventProducer eventProducer, ObjectProvider<ExternalEventBatchProducer> batchEventProducer, MessageFactory messageFactory,
+            ByteBufferConverter byteBufferConverter,
+            @Qualifier("sendAsynchronousEventsSenderExecutor") ThreadPoolTaskExecutor senderExecutor, MeterRegistry meterRegistry) {
+        this.fineractProperties = fineractProperties;
+        this.repository = repository;
+        this.eventProducer = eventProducer;
+        this.batchEventProducer = batchEventProducer;
+        this.messageFactory = messageFactory;
+        this.byteBufferConverter = byteBufferConverter;
+        this.senderExecutor = senderExecutor;
+        this.sentEventsCounter = Counter.builder(SENT_EVENTS_COUNTER_NAME).description("Number of external events sent downstream")
+                .register(meterRegistry);
+    }
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
             if (isDownstreamChannelEnabled()) {
                 List<ExternalEvent> events = getQueuedEventsBatch();
-                processEvents(events);
+                if (isPipeliningEnabled()) {
+                    sendEventsPipelined(events);
+                } else {
+                    processEvents(events);
+                }
+                return hasMoreEvents(events) ? RepeatStatus.CONTINUABLE : RepeatStatus.FINISHED;
             }
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for the events to be sent: ", e);
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("Error occurred while processing events: ", e);
         }
@@ -67,25 +106,121 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
         return fineractProperties.getEvents().getExternal().getProducer().getJms().isEnabled();
     }
 
+    private boolean isPipeliningEnabled() {
+        return fineractProperties.getEvents().getExternal().getProducer().getJms().isPipeliningEnabled();
+    }
+
+    private boolean isPartitionedConsumptionEnabled() {
+        return fineractProperties.getEvents().getExternal().getProducer().isPartitionedConsumptionEnabled();
+    }
+
     private List<ExternalEvent> getQueuedEventsBatch() {
         int readBatchSize = getBatchSize();
         Pageable batchSize = PageRequest.ofSize(readBatchSize);
+        if (isPartitionedConsumptionEnabled()) {
+            // Events of an aggregate always fall into the same partition, so holding the partition lock until the
+            // transaction ends keeps them in order even if several workers send events concurrently
+            List<Integer> partitionIds = repository.claimPartitionsWithQueuedEvents(getClaimedPartitionCount());
+            if (partitionIds.isEmpty()) {
+                return List.of();
+            }
+            return repository.findByStatusAndPartitionIdInOrderById(ExternalEventStatus.TO_BE_SENT, partitionIds, batchSize);
+        }
         return repository.findByStatusOrderById(ExternalEventStatus.TO_BE_SENT, batchSize);
     }
 
+    private boolean hasMoreEvents(List<ExternalEvent> events) {
+        if (isPartitionedConsumptionEnabled()) {
+            // Only partitions with queued events are claimed, the queue is drained once nothing could be claimed
+            return !events.isEmpty();
+        }
+        return isPipeliningEnabled() && events.size() >= getBatchSize();
+    }
+
     private void processEvents(List<ExternalEvent> queuedEvents) throws IOException {
         for (ExternalEvent event : queuedEvents) {
             MessageV1 message = messageFactory.createMessage(event);
             byte[] byteMessage = byteBufferConverter.convert(message.toByteBuffer());
             eventProducer.sendEvent(byteMessage);
+            sentEventsCounter.increment();
             event.setStatus(ExternalEventStatus.SENT);
             event.setSentAt(DateUtils.getOffsetDateTimeOfTenant());
             repository.save(event);
         }
     }
 
+    /**
+     * Sends the queued events in windows. While a window is in flight on the sender thread, the next window is being
+     * serialized, so at most one window per worker is waiting for the broker acknowledgement at any time. The events of an
+     * acknowledged window are marked as sent with a single update. A window which is not acknowledged within the send
+     * timeout fails the batch. A full batch makes the tasklet continue with the next batch in a new transaction, so the
+     * queue is drained in one job execution.
+     */
+    private void sendEventsPipelined(List<ExternalEvent> events) throws IOException, InterruptedException {
+        if (events.isEmpty()) {
+            return;
+        }
+        ExternalEventBatchProducer producer = batchEventProducer.getObject();
+        long startTime = System.nanoTime();
+        Future<?> inFlightSend = null;
+        try {
+            List<ExternalEvent> inFlightWindow = null;
+            for (List<ExternalEvent> window : Lists.partition(events, getSendWindowSize())) {
+                List<byte[]> messages = createMessages(window);
+                if (inFlightSend != null) {
+                    awaitAndMarkAsSent(inFlightSend, inFlightWindow);
+                }
+                inFlightSend = senderExecutor.submit(() -> producer.sendEvents(messages));
+                inFlightWindow = window;
+            }
+            awaitAndMarkAsSent(inFlightSend, inFlightWindow);
+        } finally {
+            // No-op once the window is acknowledged, otherwise the send of the failed batch is abandoned
+            if (inFlightSend != null) {
+                inFlightSend.cancel(true);
+            }
+        }
+        long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), 1L);
+        log.debug("Sent {} events in {} ms ({} events/s)", events.size(), elapsedMillis, events.size() * 1000L / elapsedMillis);
+    }
+
+    private List<byte[]> createMessages(List<ExternalEvent> window) throws IOException {
+        List<byte[]> messages = new ArrayList<>(window.size());
+        for (ExternalEvent event : window) {
+            MessageV1 message = messageFactory.createMessage(event);
+            messages.add(byteBufferConverter.convert(message.toByteBuffer()));
+        }
+        return messages;
+    }
+
+    private void awaitAndMarkAsSent(Future<?> send, List<ExternalEvent> window) throws InterruptedException {
+        long sendTimeoutMillis = getSendTimeoutMillis();
+        try {
+            send.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new AcknowledgementTimeoutException("Sending the events failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AcknowledgementTimeoutException("Sending a window of " + window.size() + " events was not acknowledged within "
+                    + sendTimeoutMillis + " ms", e);
+        }
+        List<Long> ids = window.stream().map(ExternalEvent::getId).toList();
+        repository.updateStatusAndSentAtByIds(ids, ExternalEventStatus.SENT, DateUtils.getOffsetDateTimeOfTenant());
+        sentEventsCounter.increment(window.size());
+    }
+
     private int getBatchSize() {
         return fineractProperties.getEvents().getExternal().getProducer().getReadBatchSize();
     }
 
+    private int getClaimedPartitionCount() {
+        return Math.max(fineractProperties.getEvents().getExternal().getProducer().getClaimedPartitionCount(), 1);
+    }
+
+    private int getSendWindowSize() {
+        return Math.max(fineractProperties.getEvents().getExternal().getProducer().getJms().getSendWindowSize(), 1);
+    }
+
+    private long getSendTimeoutMillis() {
+        return Math.max(fineractProperties.getEvents().getExternal().getProducer().getJms().getSendTimeoutMillis(), 1L);
+    }
 }
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.producer;
+
+import java.util.List;
+import javax.jms.BytesMessage;
+import javax.jms.MessageProducer;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Sends the messages of a window in one transacted JMS session. The broker does not acknowledge the messages one by
+ * one, the whole window is acknowledged by the commit, so a window costs a single round trip.
+ */
+@RequiredArgsConstructor
+public class JMSExternalEventBatchProducer implements ExternalEventBatchProducer {
+
+    private final JmsTemplate jmsTemplate;
+    private final String queueName;
+
+    @Override
+    public void sendEvents(List<byte[]> messages) throws AcknowledgementTimeoutException {
+        try {
+            jmsTemplate.execute(session -> {
+                MessageProducer producer = session.createProducer(session.createQueue(queueName));
+                try {
+                    for (byte[] message : messages) {
+                        BytesMessage bytesMessage = session.createBytesMessage();
+                        bytesMessage.writeBytes(message);
+                        producer.send(bytesMessage);
+                    }
+                    session.commit();
+                } finally {
+                    producer.close();
+                }
+                return null;
+            }, true);
+        } catch (JmsException e) {
+            throw new AcknowledgementTimeoutException("Sending a window of " + messages.size() + " events failed", e);
+        }
+    }
+}
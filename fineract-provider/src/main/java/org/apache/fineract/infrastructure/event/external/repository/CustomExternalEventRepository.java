@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.repository;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+
+public interface CustomExternalEventRepository {
+
+    /**
+     * Locks partitions which have events to be sent. Partitions locked by other transactions are skipped, so concurrent
+     * workers never send the events of the same partition at the same time. The locks are released when the current
+     * transaction ends.
+     *
+     * @param maxPartitionCount
+     *            the maximum number of partitions to claim
+     * @return the ids of the claimed partitions
+     */
+    List<Integer> claimPartitionsWithQueuedEvents(int maxPartitionCount);
+
+    /**
+     * Inserts the events with JDBC batches, bypassing the persistence context.
+     *
+     * @param events
+     *            the events to insert
+     */
+    void insertAll(List<ExternalEvent> events);
+}
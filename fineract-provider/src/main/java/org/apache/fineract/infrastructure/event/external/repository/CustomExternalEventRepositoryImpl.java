@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.repository;
+
+import java.sql.Types;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CustomExternalEventRepositoryImpl implements CustomExternalEventRepository {
+
+    // FOR UPDATE SKIP LOCKED has the same syntax on MySQL 8, MariaDB 10.6 and PostgreSQL
+    private static final String CLAIM_PARTITIONS_QUERY = "SELECT p.id FROM m_external_event_partition p WHERE EXISTS "
+            + "(SELECT 1 FROM m_external_event e WHERE e.partition_id = p.id AND e.status = ?1) ORDER BY p.id LIMIT ?2 FOR UPDATE SKIP LOCKED";
+
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Integer> claimPartitionsWithQueuedEvents(int maxPartitionCount) {
+        List<Number> partitionIds = entityManager.createNativeQuery(CLAIM_PARTITIONS_QUERY)
+                .setParameter(1, ExternalEventStatus.TO_BE_SENT.name()).setParameter(2, maxPartitionCount).getResultList();
+        return partitionIds.stream().map(Number::intValue).toList();
+    }
+
+    @Override
+    public void insertAll(List<ExternalEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO m_external_event (type, category, " + sqlGenerator.escape("schema")
+                + ", data, created_at, status, sent_at, idempotency_key, business_date, aggregate_root_id, partition_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.batchUpdate(sql, events, INSERT_BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, event.getType());
+            ps.setString(2, event.getCategory());
+            ps.setString(3, event.getSchema());
+            ps.setBytes(4, event.getData());
+            ps.setObject(5, event.getCreatedAt());
+            ps.setString(6, event.getStatus().name());
+            if (event.getSentAt() == null) {
+                ps.setNull(7, Types.TIMESTAMP);
+            } else {
+                ps.setObject(7, event.getSentAt());
+            }
+            ps.setString(8, event.getIdempotencyKey());
+            ps.setObject(9, event.getBusinessDate());
+            if (event.getAggregateRootId() == null) {
+                ps.setNull(10, Types.BIGINT);
+            } else {
+                ps.setLong(10, event.getAggregateRootId());
+            }
+            ps.setInt(11, event.getPartitionId());
+        });
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.event.external.repository;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
@@ -27,11 +28,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
-public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Long> {
+public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Long>, CustomExternalEventRepository {
 
     List<ExternalEvent> findByStatusOrderById(ExternalEventStatus status, Pageable batchSize);
 
+    List<ExternalEvent> findByStatusAndPartitionIdInOrderById(ExternalEventStatus status, List<Integer> partitionIds, Pageable batchSize);
+
     @Modifying(flushAutomatically = true)
     @Query("delete from ExternalEvent e where e.status = :status and e.businessDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithSentStatus(ExternalEventStatus status, LocalDate dateForPurgeCriteria);
+
+    @Modifying
+    @Query("update ExternalEvent e set e.status = :status, e.sentAt = :sentAt where e.id in :ids")
+    void updateStatusAndSentAtByIds(List<Long> ids, ExternalEventStatus status, OffsetDateTime sentAt);
 }
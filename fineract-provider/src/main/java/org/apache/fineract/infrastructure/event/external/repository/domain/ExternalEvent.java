@@ -39,6 +39,12 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 @NoArgsConstructor
 public class ExternalEvent extends AbstractPersistableCustom {
 
+    /**
+     * Number of partitions the events are spread over by their aggregate root. Has to match the rows of the
+     * m_external_event_partition table.
+     */
+    public static final int PARTITION_COUNT = 16;
+
     @Column(name = "type", nullable = false)
     private String type;
 
@@ -70,7 +76,17 @@ public class ExternalEvent extends AbstractPersistableCustom {
     @Column(name = "business_date", nullable = false)
     private LocalDate businessDate;
 
+    @Column(name = "aggregate_root_id", nullable = true)
+    private Long aggregateRootId;
+
+    @Column(name = "partition_id", nullable = false)
+    private Integer partitionId;
+
     public ExternalEvent(String type, String category, String schema, byte[] data, String idempotencyKey) {
+        this(type, category, schema, data, idempotencyKey, null);
+    }
+
+    public ExternalEvent(String type, String category, String schema, byte[] data, String idempotencyKey, Long aggregateRootId) {
         this.type = type;
         this.category = category;
         this.schema = schema;
@@ -79,5 +95,7 @@ public class ExternalEvent extends AbstractPersistableCustom {
         this.createdAt = DateUtils.getOffsetDateTimeOfTenant();
         this.status = ExternalEventStatus.TO_BE_SENT;
         this.businessDate = DateUtils.getBusinessLocalDate();
+        this.aggregateRootId = aggregateRootId;
+        this.partitionId = aggregateRootId == null ? 0 : (int) Math.floorMod(aggregateRootId, (long) PARTITION_COUNT);
     }
 }
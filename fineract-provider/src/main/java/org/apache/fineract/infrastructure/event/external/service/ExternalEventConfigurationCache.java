@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.exception.ExternalEventConfigurationNotFoundException;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps a snapshot of the external event configurations per tenant, so posting a business event doesn't need a query.
+ * Changes made on this node evict the snapshot once they are committed; changes made on other nodes are picked up
+ * through the configuration version, which is checked at most once per configured interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalEventConfigurationCache {
+
+    private static final String VERSION_QUERY = "SELECT version FROM m_external_event_configuration_version WHERE id = 1";
+    private static final String INCREMENT_VERSION_QUERY = "UPDATE m_external_event_configuration_version SET version = version + 1 WHERE id = 1";
+
+    private final ExternalEventConfigurationRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FineractProperties fineractProperties;
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public boolean isEnabled(String eventType) {
+        Boolean enabled = getSnapshot().getEnabledByType().get(eventType);
+        if (enabled == null) {
+            throw new ExternalEventConfigurationNotFoundException(eventType);
+        }
+        return enabled;
+    }
+
+    public void configurationChanged() {
+        jdbcTemplate.update(INCREMENT_VERSION_QUERY);
+        String tenantIdentifier = getTenantIdentifier();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshots.remove(tenantIdentifier);
+            return;
+        }
+        // Evicting before the commit would let a concurrent lookup cache the old configurations with the old version
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                snapshots.remove(tenantIdentifier);
+            }
+        });
+    }
+
+    private Snapshot getSnapshot() {
+        String tenantIdentifier = getTenantIdentifier();
+        Snapshot snapshot = snapshots.get(tenantIdentifier);
+        long now = System.nanoTime();
+        if (snapshot != null && now - snapshot.getCheckedAt() < getVersionCheckInterval()) {
+            return snapshot;
+        }
+        Long version = jdbcTemplate.queryForObject(VERSION_QUERY, Long.class);
+        if (snapshot != null && snapshot.getVersion().equals(version)) {
+            snapshot = new Snapshot(version, snapshot.getEnabledByType(), now);
+        } else {
+            snapshot = new Snapshot(version, loadConfigurations(), now);
+        }
+        snapshots.put(tenantIdentifier, snapshot);
+        return snapshot;
+    }
+
+    private Map<String, Boolean> loadConfigurations() {
+        Map<String, Boolean> enabledByType = new HashMap<>();
+        for (ExternalEventConfiguration configuration : repository.findAll()) {
+            enabledByType.put(configuration.getType(), configuration.isEnabled());
+        }
+        return enabledByType;
+    }
+
+    private long getVersionCheckInterval() {
+        return TimeUnit.SECONDS.toNanos(fineractProperties.getEvents().getExternal().getConfigurationVersionCheckInterval());
+    }
+
+    private String getTenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Snapshot {
+
+        private final Long version;
+        private final Map<String, Boolean> enabledByType;
+        private final long checkedAt;
+    }
+}
@@ -26,6 +26,7 @@ import javax.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.BulkMessagePayloadV1;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
@@ -34,20 +35,25 @@ import org.apache.fineract.infrastructure.event.external.service.idempotency.Ext
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializer;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializerFactory;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.apache.fineract.infrastructure.event.external.service.support.AvroSerializer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ExternalEventService {
 
+    private static final String EVENT_BUFFER_RESOURCE_KEY = ExternalEventService.class.getName() + ".eventBuffer";
+
     private final ExternalEventRepository repository;
     private final ExternalEventIdempotencyKeyGenerator idempotencyKeyGenerator;
     private final BusinessEventSerializerFactory serializerFactory;
-    private final ByteBufferConverter byteBufferConverter;
+    private final AvroSerializer avroSerializer;
     private final BulkMessageItemFactory bulkMessageItemFactory;
+    private final FineractProperties fineractProperties;
 
     private EntityManager entityManager;
 
@@ -56,19 +62,43 @@ public class ExternalEventService {
             throw new IllegalArgumentException("event cannot be null");
         }
 
+        if (TransactionSynchronizationManager.isSynchronizationActive() && isDeferredWritesEnabled()) {
+            TransactionEventBuffer eventBuffer = getTransactionEventBuffer();
+            if (!eventBuffer.isWritten()) {
+                eventBuffer.add(event);
+                return;
+            }
+        }
+
+        flushChangesBeforeSerialization();
+        repository.save(createExternalEvent(event));
+    }
+
+    private ExternalEvent createExternalEvent(BusinessEvent<?> event) {
         try {
-            flushChangesBeforeSerialization();
-            ExternalEvent externalEvent;
             if (event instanceof BulkBusinessEvent) {
-                externalEvent = handleBulkBusinessEvent((BulkBusinessEvent) event);
+                return handleBulkBusinessEvent((BulkBusinessEvent) event);
             } else {
-                externalEvent = handleRegularBusinessEvent(event);
+                return handleRegularBusinessEvent(event);
             }
-            repository.save(externalEvent);
         } catch (IOException e) {
             throw new RuntimeException("Error while serializing event " + event.getClass().getSimpleName(), e);
         }
+    }
 
+    private boolean isDeferredWritesEnabled() {
+        return fineractProperties.getEvents().getExternal().isDeferredWritesEnabled();
+    }
+
+    private TransactionEventBuffer getTransactionEventBuffer() {
+        TransactionEventBuffer eventBuffer = (TransactionEventBuffer) TransactionSynchronizationManager
+                .getResource(EVENT_BUFFER_RESOURCE_KEY);
+        if (eventBuffer == null) {
+            eventBuffer = new TransactionEventBuffer();
+            TransactionSynchronizationManager.bindResource(EVENT_BUFFER_RESOURCE_KEY, eventBuffer);
+            TransactionSynchronizationManager.registerSynchronization(eventBuffer);
+        }
+        return eventBuffer;
     }
 
     private ExternalEvent handleBulkBusinessEvent(BulkBusinessEvent bulkBusinessEvent) throws IOException {
@@ -82,10 +112,22 @@ public class ExternalEventService {
         }
         String idempotencyKey = idempotencyKeyGenerator.generate(bulkBusinessEvent);
         BulkMessagePayloadV1 avroDto = new BulkMessagePayloadV1(messages);
-        byte[] data = byteBufferConverter.convert(avroDto.toByteBuffer());
+        byte[] data = avroSerializer.serialize(avroDto);
 
         return new ExternalEvent(bulkBusinessEvent.getType(), bulkBusinessEvent.getCategory(), BulkMessagePayloadV1.class.getName(), data,
-                idempotencyKey);
+                idempotencyKey, getCommonAggregateRootId(events));
+    }
+
+    private Long getCommonAggregateRootId(List<BusinessEvent<?>> events) {
+        Long aggregateRootId = null;
+        for (BusinessEvent<?> event : events) {
+            Long eventAggregateRootId = event.getAggregateRootId();
+            if (eventAggregateRootId == null || (aggregateRootId != null && !aggregateRootId.equals(eventAggregateRootId))) {
+                return null;
+            }
+            aggregateRootId = eventAggregateRootId;
+        }
+        return aggregateRootId;
     }
 
     private <T> ExternalEvent handleRegularBusinessEvent(BusinessEvent<T> event) throws IOException {
@@ -96,7 +138,7 @@ public class ExternalEventService {
         String schema = serializer.getSupportedSchema().getName();
         byte[] data = serializer.serialize(event);
 
-        return new ExternalEvent(eventType, eventCategory, schema, data, idempotencyKey);
+        return new ExternalEvent(eventType, eventCategory, schema, data, idempotencyKey, event.getAggregateRootId());
     }
 
     private void flushChangesBeforeSerialization() {
@@ -107,4 +149,54 @@ public class ExternalEventService {
     public void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
+
+    /**
+     * Collects the events posted during a transaction and writes them right before the commit, so the persistence
+     * context is flushed once per transaction instead of once per event and the events are inserted in JDBC batches.
+     * The buffer is unbound while its transaction is suspended, so a nested REQUIRES_NEW transaction gets a buffer of
+     * its own.
+     */
+    private final class TransactionEventBuffer implements TransactionSynchronization {
+
+        private final List<BusinessEvent<?>> events = new ArrayList<>();
+        private boolean written;
+
+        private void add(BusinessEvent<?> event) {
+            events.add(event);
+        }
+
+        private boolean isWritten() {
+            return written;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(EVENT_BUFFER_RESOURCE_KEY);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(EVENT_BUFFER_RESOURCE_KEY, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Events posted by synchronizations running after this one are written immediately
+            written = true;
+            if (events.isEmpty()) {
+                return;
+            }
+            flushChangesBeforeSerialization();
+            List<ExternalEvent> externalEvents = new ArrayList<>(events.size());
+            for (BusinessEvent<?> event : events) {
+                externalEvents.add(createExternalEvent(event));
+            }
+            repository.insertAll(externalEvents);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EVENT_BUFFER_RESOURCE_KEY);
+        }
+    }
 }
@@ -19,25 +19,23 @@
 package org.apache.fineract.infrastructure.event.external.service.serialization.serializer;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.fineract.avro.generator.ByteBufferSerializable;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.apache.fineract.infrastructure.event.external.service.support.AvroSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 
 @RequiredArgsConstructor
 public abstract class AbstractBusinessEventSerializer implements BusinessEventSerializer {
 
     @Setter(onMethod = @__({ @Autowired }))
-    private ByteBufferConverter byteBufferConverter;
+    private AvroSerializer avroSerializer;
 
     @Override
     public <T> byte[] serialize(BusinessEvent<T> rawEvent) throws IOException {
         ByteBufferSerializable avroDto = toAvroDTO(rawEvent);
-        ByteBuffer buffer = avroDto.toByteBuffer();
-        return byteBufferConverter.convert(buffer);
+        return avroSerializer.serialize(avroDto);
     }
 
     protected abstract <T> ByteBufferSerializable toAvroDTO(BusinessEvent<T> rawEvent);
@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.fineract.avro.generator.ByteBufferSerializable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes Avro DTOs into a per-thread output buffer which is reused across events, so only the resulting byte array
+ * is allocated per event. Avro itself keeps the binary encoder per thread.
+ */
+@Component
+public class AvroSerializer {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    // Buffers which grew above this size are not kept to avoid holding on to memory after an unusually large event
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final ThreadLocal<ByteArrayOutputStream> buffers = ThreadLocal
+            .withInitial(() -> new ByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+
+    public byte[] serialize(ByteBufferSerializable avroDto) throws IOException {
+        ByteArrayOutputStream buffer = buffers.get();
+        buffer.reset();
+        try {
+            avroDto.writeTo(buffer);
+            return buffer.toByteArray();
+        } finally {
+            if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+                buffers.remove();
+            }
+        }
+    }
+}
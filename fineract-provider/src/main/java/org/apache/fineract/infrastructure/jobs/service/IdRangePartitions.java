@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Splits the ids processed by a partitioned job into contiguous id ranges of (nearly) equal size. The worker of a
+ * partition processes the ids between the first and the last id of its range.
+ */
+public final class IdRangePartitions {
+
+    public static final String PARTITION_PREFIX = "partition_";
+    public static final String PARTITION_NAME = "partition";
+
+    private IdRangePartitions() {}
+
+    /**
+     * @param sortedIds
+     *            the distinct ids to process, in ascending order
+     * @param gridSize
+     *            the requested number of partitions, there are never more partitions than ids
+     * @param minIdKey
+     *            the execution context key of the first id of a partition
+     * @param maxIdKey
+     *            the execution context key of the last id of a partition
+     * @param idCountKey
+     *            the execution context key of the number of ids in a partition
+     */
+    public static Map<String, ExecutionContext> partition(List<Long> sortedIds, int gridSize, String minIdKey, String maxIdKey,
+            String idCountKey) {
+        if (sortedIds.isEmpty()) {
+            return Map.of();
+        }
+        int partitionCount = Math.min(Math.max(gridSize, 1), sortedIds.size());
+        int partitionSize = (sortedIds.size() + partitionCount - 1) / partitionCount;
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        int partitionIndex = 1;
+        for (int fromIndex = 0; fromIndex < sortedIds.size(); fromIndex += partitionSize) {
+            List<Long> partitionIds = sortedIds.subList(fromIndex, Math.min(fromIndex + partitionSize, sortedIds.size()));
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.putLong(minIdKey, partitionIds.get(0));
+            executionContext.putLong(maxIdKey, partitionIds.get(partitionIds.size() - 1));
+            executionContext.putInt(idCountKey, partitionIds.size());
+            executionContext.put(PARTITION_NAME, PARTITION_PREFIX + partitionIndex);
+            partitions.put(PARTITION_PREFIX + partitionIndex, executionContext);
+            partitionIndex++;
+        }
+        return partitions;
+    }
+}
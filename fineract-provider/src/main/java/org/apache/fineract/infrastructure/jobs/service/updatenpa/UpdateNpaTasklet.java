@@ -57,11 +57,11 @@ public class UpdateNpaTasklet implements Tasklet {
         String wherePart = " where loan.id = sl.id ";
 
         if (databaseTypeResolver.isMySQL()) {
-            resetNPASqlBuilder.append(", ").append(fromPart).append(" set loan.is_npa = false")
+            resetNPASqlBuilder.append(", ").append(fromPart).append(" set loan.is_npa = false, loan.next_relevant_cob_date = null")
                     .append(", loan.last_modified_by = ?, loan.last_modified_on_utc = ? ").append(wherePart);
         } else {
-            resetNPASqlBuilder.append("set is_npa = false").append(", last_modified_by = ?, last_modified_on_utc = ? ").append(" FROM ")
-                    .append(fromPart).append(wherePart);
+            resetNPASqlBuilder.append("set is_npa = false, next_relevant_cob_date = null")
+                    .append(", last_modified_by = ?, last_modified_on_utc = ? ").append(" FROM ").append(fromPart).append(wherePart);
         }
         jdbcTemplate.update(resetNPASqlBuilder.toString(), user.getId(), DateUtils.getOffsetDateTimeOfTenant());
 
@@ -75,11 +75,11 @@ public class UpdateNpaTasklet implements Tasklet {
         wherePart = " where ml.id=sl.id ";
         updateSqlBuilder.append("UPDATE m_loan as ml ");
         if (databaseTypeResolver.isMySQL()) {
-            updateSqlBuilder.append(", ").append(fromPart).append(" SET ml.is_npa = true")
+            updateSqlBuilder.append(", ").append(fromPart).append(" SET ml.is_npa = true, ml.next_relevant_cob_date = null")
                     .append(", ml.last_modified_by = ?, ml.last_modified_on_utc = ? ").append(wherePart);
         } else {
-            updateSqlBuilder.append(" SET is_npa = true").append(", last_modified_by = ?, last_modified_on_utc = ? ").append(" FROM ")
-                    .append(fromPart).append(wherePart);
+            updateSqlBuilder.append(" SET is_npa = true, next_relevant_cob_date = null")
+                    .append(", last_modified_by = ?, last_modified_on_utc = ? ").append(" FROM ").append(fromPart).append(wherePart);
         }
 
         final int result = jdbcTemplate.update(updateSqlBuilder.toString(), user.getId(), DateUtils.getOffsetDateTimeOfTenant());
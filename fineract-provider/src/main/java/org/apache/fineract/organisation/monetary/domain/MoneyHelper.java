@@ -21,17 +21,25 @@ package org.apache.fineract.organisation.monetary.domain;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Provides the rounding configuration of the monetary calculations. The rounding mode is a global configuration of the
+ * tenant, it is resolved once per tenant and kept until {@link #clearCache()} is called.
+ */
 @Component
 public class MoneyHelper {
 
-    private static RoundingMode roundingMode = null;
-    private static MathContext mathContext;
     private static final int PRECISION = 12;
+    private static final String NO_TENANT = "";
+    private static final Map<String, MathContext> MATH_CONTEXTS = new ConcurrentHashMap<>();
 
     private static ConfigurationDomainService staticConfigurationDomainService;
 
@@ -47,16 +55,24 @@ public class MoneyHelper {
     }
 
     public static RoundingMode getRoundingMode() {
-        if (roundingMode == null) {
-            roundingMode = RoundingMode.valueOf(staticConfigurationDomainService.getRoundingMode());
-        }
-        return roundingMode;
+        return getMathContext().getRoundingMode();
     }
 
     public static MathContext getMathContext() {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final String tenantIdentifier = tenant == null ? NO_TENANT : tenant.getTenantIdentifier();
+        MathContext mathContext = MATH_CONTEXTS.get(tenantIdentifier);
         if (mathContext == null) {
-            mathContext = new MathContext(PRECISION, getRoundingMode());
+            mathContext = MATH_CONTEXTS.computeIfAbsent(tenantIdentifier,
+                    key -> new MathContext(PRECISION, RoundingMode.valueOf(staticConfigurationDomainService.getRoundingMode())));
         }
         return mathContext;
     }
+
+    /**
+     * Drops the resolved rounding configuration of every tenant, e.g. when the rounding mode configuration is changed.
+     */
+    public static void clearCache() {
+        MATH_CONTEXTS.clear();
+    }
 }
@@ -19,13 +19,29 @@
 package org.apache.fineract.organisation.workingdays.service;
 
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.fortuna.ical4j.model.Recur;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
 import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
 import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
 
+/**
+ * Evaluating the working days recurrence takes an iCal rule evaluation, while a schedule generation checks the same
+ * dates over and over. The result depends on the recurrence, the date and the time zone of the tenant, so it is
+ * memoized per tenant; changing the working days changes the recurrence, and the lookups are dropped once there are too
+ * many.
+ */
 public final class WorkingDaysUtil {
 
+    private static final int MAX_CACHED_DATES = 100_000;
+    private static final String NO_TENANT = "";
+    private static final Map<String, Map<String, Map<LocalDate, Boolean>>> WORKING_DAYS_BY_TENANT = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> EVERY_DAY_WORKING_DAY_BY_RECURRENCE = new ConcurrentHashMap<>();
+
     private WorkingDaysUtil() {
 
     }
@@ -57,7 +73,46 @@ public final class WorkingDaysUtil {
     }
 
     public static boolean isWorkingDay(final WorkingDays workingDays, final LocalDate date) {
-        return CalendarUtils.isValidRedurringDate(workingDays.getRecurrence(), date, date);
+        final String recurrence = workingDays.getRecurrence();
+        if (recurrence == null) {
+            return CalendarUtils.isValidRedurringDate(recurrence, date, date);
+        }
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final String tenantIdentifier = tenant == null ? NO_TENANT : tenant.getTenantIdentifier();
+        final Map<LocalDate, Boolean> workingDaysOfRecurrence = WORKING_DAYS_BY_TENANT
+                .computeIfAbsent(tenantIdentifier, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(recurrence, key -> new ConcurrentHashMap<>());
+        Boolean workingDay = workingDaysOfRecurrence.get(date);
+        if (workingDay == null) {
+            workingDay = CalendarUtils.isValidRedurringDate(recurrence, date, date);
+            if (workingDaysOfRecurrence.size() >= MAX_CACHED_DATES) {
+                workingDaysOfRecurrence.clear();
+            }
+            workingDaysOfRecurrence.put(date, workingDay);
+        }
+        return workingDay;
+    }
+
+    /**
+     * Returns true when the working days recurrence covers all the seven days of the week.
+     */
+    public static boolean isEveryDayWorkingDay(final WorkingDays workingDays) {
+        final String recurrence = workingDays.getRecurrence();
+        Boolean everyDayWorkingDay = EVERY_DAY_WORKING_DAY_BY_RECURRENCE.get(recurrence);
+        if (everyDayWorkingDay == null) {
+            final Recur recur = CalendarUtils.getICalRecur(recurrence);
+            everyDayWorkingDay = recur.getDayList().size() == 7;
+            EVERY_DAY_WORKING_DAY_BY_RECURRENCE.put(recurrence, everyDayWorkingDay);
+        }
+        return everyDayWorkingDay;
+    }
+
+    /**
+     * Drops the memoized working day lookups.
+     */
+    public static void clearCache() {
+        WORKING_DAYS_BY_TENANT.clear();
+        EVERY_DAY_WORKING_DAY_BY_RECURRENCE.clear();
     }
 
     public static boolean isNonWorkingDay(final WorkingDays workingDays, final LocalDate date) {
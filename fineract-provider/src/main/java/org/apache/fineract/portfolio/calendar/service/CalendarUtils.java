@@ -31,7 +31,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.DateList;
 import net.fortuna.ical4j.model.DateTime;
@@ -43,9 +47,11 @@ import net.fortuna.ical4j.model.parameter.Value;
 import net.fortuna.ical4j.model.property.RRule;
 import net.fortuna.ical4j.validate.ValidationException;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
 import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
 import org.apache.fineract.portfolio.calendar.domain.Calendar;
@@ -64,6 +70,13 @@ public final class CalendarUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(CalendarUtils.class);
 
+    // The repayment meeting dates only depend on the arguments and the time zone of the tenant, so they are memoized per
+    // tenant instead of evaluating the same iCal rule for every schedule generation; the memoized dates are dropped once
+    // there are too many of them
+    private static final int MAX_CACHED_MEETING_DATES = 100_000;
+    private static final String NO_TENANT = "";
+    private static final Map<MeetingDateKey, LocalDate> NEXT_REPAYMENT_MEETING_DATES = new ConcurrentHashMap<>();
+
     static {
         System.setProperty("net.fortuna.ical4j.timezone.date.floating", "true");
     }
@@ -799,11 +812,24 @@ public final class CalendarUtils {
     public static LocalDate getNextRepaymentMeetingDate(final String recurringRule, final LocalDate seedDate, final LocalDate repaymentDate,
             final Integer loanRepaymentInterval, final String frequency, boolean isSkipRepaymentOnFirstDayOfMonth,
             final Integer numberOfDays) {
-        boolean isCalledFirstTime = true;
-        final WorkingDays workingDays = null;
-        boolean applyWorkingDays = false;
-        return getNextRepaymentMeetingDate(recurringRule, seedDate, repaymentDate, loanRepaymentInterval, frequency, workingDays,
-                isSkipRepaymentOnFirstDayOfMonth, numberOfDays, isCalledFirstTime, applyWorkingDays);
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final MeetingDateKey key = new MeetingDateKey(tenant == null ? NO_TENANT : tenant.getTenantIdentifier(), recurringRule, seedDate,
+                repaymentDate, loanRepaymentInterval, frequency, isSkipRepaymentOnFirstDayOfMonth, numberOfDays);
+        LocalDate nextRepaymentMeetingDate = NEXT_REPAYMENT_MEETING_DATES.get(key);
+        if (nextRepaymentMeetingDate == null) {
+            boolean isCalledFirstTime = true;
+            final WorkingDays workingDays = null;
+            boolean applyWorkingDays = false;
+            nextRepaymentMeetingDate = getNextRepaymentMeetingDate(recurringRule, seedDate, repaymentDate, loanRepaymentInterval,
+                    frequency, workingDays, isSkipRepaymentOnFirstDayOfMonth, numberOfDays, isCalledFirstTime, applyWorkingDays);
+            if (nextRepaymentMeetingDate != null) {
+                if (NEXT_REPAYMENT_MEETING_DATES.size() >= MAX_CACHED_MEETING_DATES) {
+                    NEXT_REPAYMENT_MEETING_DATES.clear();
+                }
+                NEXT_REPAYMENT_MEETING_DATES.put(key, nextRepaymentMeetingDate);
+            }
+        }
+        return nextRepaymentMeetingDate;
     }
 
     public static LocalDate getNextRepaymentMeetingDate(final String recurringRule, final LocalDate seedDate, final LocalDate repaymentDate,
@@ -908,4 +934,25 @@ public final class CalendarUtils {
                 .setPosList(recur.getSetPosList()).weekStartDay(recur.getWeekStartDay());
         return recurBuilder;
     }
+
+    /**
+     * Drops the memoized repayment meeting dates.
+     */
+    public static void clearCache() {
+        NEXT_REPAYMENT_MEETING_DATES.clear();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class MeetingDateKey {
+
+        private final String tenantIdentifier;
+        private final String recurringRule;
+        private final LocalDate seedDate;
+        private final LocalDate repaymentDate;
+        private final Integer loanRepaymentInterval;
+        private final String frequency;
+        private final boolean skipRepaymentOnFirstDayOfMonth;
+        private final Integer numberOfDays;
+    }
 }
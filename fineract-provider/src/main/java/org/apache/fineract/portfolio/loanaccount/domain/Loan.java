@@ -35,13 +35,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import javax.persistence.CascadeType;
@@ -55,6 +55,7 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.OrderBy;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
@@ -64,9 +65,11 @@ import org.apache.fineract.infrastructure.codes.domain.CodeValue;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.domain.AbstractAuditableWithUTCDateTimeCustom;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.serialization.JsonParserHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.security.service.RandomPasswordGenerator;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
 import org.apache.fineract.organisation.holiday.service.HolidayUtil;
@@ -420,6 +423,9 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
     @Column(name = "is_fraud", nullable = false)
     private boolean fraud = false;
 
+    @Column(name = "next_relevant_cob_date")
+    private LocalDate nextRelevantCOBDate;
+
     @OneToOne(cascade = CascadeType.ALL, mappedBy = "loan", optional = true, orphanRemoval = true, fetch = FetchType.LAZY)
     private LoanTopupDetails loanTopupDetails;
 
@@ -1251,18 +1257,30 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
     }
 
     public void updateLoanSchedule(final Collection<LoanRepaymentScheduleInstallment> installments) {
-        List<LoanRepaymentScheduleInstallment> existingInstallments = new ArrayList<>(this.repaymentScheduleInstallments);
+        final Map<Integer, LoanRepaymentScheduleInstallment> existingInstallments = new HashMap<>();
+        for (final LoanRepaymentScheduleInstallment existingInstallment : this.repaymentScheduleInstallments) {
+            existingInstallments.putIfAbsent(existingInstallment.getInstallmentNumber(), existingInstallment);
+        }
+        final Set<LoanRepaymentScheduleInstallment> retainedInstallments = Collections.newSetFromMap(new IdentityHashMap<>());
+        retainedInstallments.addAll(installments);
         repaymentScheduleInstallments.clear();
         for (final LoanRepaymentScheduleInstallment installment : installments) {
-            LoanRepaymentScheduleInstallment existingInstallment = findByInstallmentNumber(existingInstallments,
-                    installment.getInstallmentNumber());
-            if (existingInstallment != null) {
-                Set<LoanInstallmentCharge> existingCharges = existingInstallment.getInstallmentCharges();
-                installment.getInstallmentCharges().addAll(existingCharges);
-                existingCharges.forEach(c -> c.setInstallment(installment));
-                existingInstallment.getInstallmentCharges().clear();
+            LoanRepaymentScheduleInstallment existingInstallment = existingInstallments.remove(installment.getInstallmentNumber());
+            if (existingInstallment != null && existingInstallment.getId() != null
+                    && !retainedInstallments.contains(existingInstallment)) {
+                // Update the persisted installment in place instead of deleting it and inserting the new one
+                existingInstallment.updateFrom(installment);
+                addLoanRepaymentScheduleInstallment(existingInstallment);
+            } else {
+                // A retained installment keeps its own charges
+                if (existingInstallment != null && existingInstallment != installment) {
+                    Set<LoanInstallmentCharge> existingCharges = existingInstallment.getInstallmentCharges();
+                    installment.getInstallmentCharges().addAll(existingCharges);
+                    existingCharges.forEach(c -> c.setInstallment(installment));
+                    existingInstallment.getInstallmentCharges().clear();
+                }
+                addLoanRepaymentScheduleInstallment(installment);
             }
-            addLoanRepaymentScheduleInstallment(installment);
         }
         updateLoanScheduleDependentDerivedFields();
         updateLoanSummaryDerivedFields();
@@ -1270,16 +1288,6 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
 
     }
 
-    private LoanRepaymentScheduleInstallment findByInstallmentNumber(Collection<LoanRepaymentScheduleInstallment> installments,
-            Integer installmentNumber) {
-        for (LoanRepaymentScheduleInstallment installment : installments) {
-            if (Objects.equals(installment.getInstallmentNumber(), installmentNumber)) {
-                return installment;
-            }
-        }
-        return null;
-    }
-
     /**
      * method updates accrual derived fields on installments and reverse the unprocessed transactions
      */
@@ -6753,6 +6761,26 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
         return this.fraud;
     }
 
+    public LocalDate getNextRelevantCOBDate() {
+        return this.nextRelevantCOBDate;
+    }
+
+    public void updateNextRelevantCOBDate(final LocalDate nextRelevantCOBDate) {
+        this.nextRelevantCOBDate = nextRelevantCOBDate;
+    }
+
+    /**
+     * Any change made outside of COB (transactions, charges, rescheduling) can make the loan relevant for the next COB
+     * run, so the next relevant COB date is reset and gets recalculated when COB processes the loan. The update callback
+     * only fires when the loan row itself is written, so the write paths also call this explicitly.
+     */
+    @PreUpdate
+    public void resetNextRelevantCOBDate() {
+        if (!ActionContext.COB.equals(ThreadLocalContextUtil.getActionContext())) {
+            this.nextRelevantCOBDate = null;
+        }
+    }
+
     public BigDecimal getFirstDisbursalAmount() {
         BigDecimal firstDisbursalAmount;
 
@@ -344,6 +344,63 @@ public class LoanRepaymentScheduleInstallment extends AbstractAuditableWithUTCDa
                 .plus(getPenaltyChargesOutstanding(currency));
     }
 
+    /**
+     * Takes over the schedule of the given installment which replaces this one (same installment number), so the
+     * persisted row is updated instead of being deleted and inserted again. Charges paid by this installment are kept.
+     */
+    public void updateFrom(final LoanRepaymentScheduleInstallment installment) {
+        this.fromDate = installment.fromDate;
+        this.dueDate = installment.dueDate;
+        this.principal = installment.principal;
+        this.principalCompleted = installment.principalCompleted;
+        this.principalWrittenOff = installment.principalWrittenOff;
+        this.interestCharged = installment.interestCharged;
+        this.interestPaid = installment.interestPaid;
+        this.interestWaived = installment.interestWaived;
+        this.interestWrittenOff = installment.interestWrittenOff;
+        this.interestAccrued = installment.interestAccrued;
+        this.rescheduleInterestPortion = installment.rescheduleInterestPortion;
+        this.feeChargesCharged = installment.feeChargesCharged;
+        this.feeChargesPaid = installment.feeChargesPaid;
+        this.feeChargesWrittenOff = installment.feeChargesWrittenOff;
+        this.feeChargesWaived = installment.feeChargesWaived;
+        this.feeAccrued = installment.feeAccrued;
+        this.penaltyCharges = installment.penaltyCharges;
+        this.penaltyChargesPaid = installment.penaltyChargesPaid;
+        this.penaltyChargesWrittenOff = installment.penaltyChargesWrittenOff;
+        this.penaltyChargesWaived = installment.penaltyChargesWaived;
+        this.penaltyAccrued = installment.penaltyAccrued;
+        this.totalPaidInAdvance = installment.totalPaidInAdvance;
+        this.totalPaidLate = installment.totalPaidLate;
+        this.obligationsMet = installment.obligationsMet;
+        this.obligationsMetOnDate = installment.obligationsMetOnDate;
+        this.recalculatedInterestComponent = installment.recalculatedInterestComponent;
+        this.additional = installment.additional;
+        this.credits = installment.credits;
+
+        if (this.loanCompoundingDetails == null) {
+            this.loanCompoundingDetails = new HashSet<>();
+        }
+        this.loanCompoundingDetails.clear();
+        if (installment.loanCompoundingDetails != null) {
+            installment.loanCompoundingDetails.forEach(cd -> cd.setLoanRepaymentScheduleInstallment(this));
+            this.loanCompoundingDetails.addAll(installment.loanCompoundingDetails);
+        }
+        if (this.postDatedChecks != null) {
+            this.postDatedChecks.clear();
+        }
+        if (installment.postDatedChecks != null) {
+            installment.postDatedChecks.forEach(pdc -> pdc.setLoanRepaymentScheduleInstallment(this));
+            if (this.postDatedChecks == null) {
+                this.postDatedChecks = new HashSet<>();
+            }
+            this.postDatedChecks.addAll(installment.postDatedChecks);
+        }
+        installment.installmentCharges.forEach(c -> c.setInstallment(this));
+        this.installmentCharges.addAll(installment.installmentCharges);
+        installment.installmentCharges.clear();
+    }
+
     public void updateLoan(final Loan loan) {
         this.loan = loan;
     }
@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.loanaccount.domain;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
@@ -39,226 +40,121 @@ public class LoanRepaymentScheduleProcessingWrapper {
             totalInterest = totalInterest.plus(installment.getInterestCharged(currency));
             totalPrincipal = totalPrincipal.plus(installment.getPrincipal(currency));
         }
-        LocalDate startDate = disbursementDate;
-        for (final LoanRepaymentScheduleInstallment period : repaymentPeriods) {
-
-            final Money feeChargesDueForRepaymentPeriod = cumulativeFeeChargesDueWithin(startDate, period.getDueDate(), loanCharges,
-                    currency, period, totalPrincipal, totalInterest, !period.isRecalculatedInterestComponent());
-            final Money feeChargesWaivedForRepaymentPeriod = cumulativeFeeChargesWaivedWithin(startDate, period.getDueDate(), loanCharges,
-                    currency, !period.isRecalculatedInterestComponent());
-            final Money feeChargesWrittenOffForRepaymentPeriod = cumulativeFeeChargesWrittenOffWithin(startDate, period.getDueDate(),
-                    loanCharges, currency, !period.isRecalculatedInterestComponent());
-
-            final Money penaltyChargesDueForRepaymentPeriod = cumulativePenaltyChargesDueWithin(startDate, period.getDueDate(), loanCharges,
-                    currency, period, totalPrincipal, totalInterest, !period.isRecalculatedInterestComponent());
-            final Money penaltyChargesWaivedForRepaymentPeriod = cumulativePenaltyChargesWaivedWithin(startDate, period.getDueDate(),
-                    loanCharges, currency, !period.isRecalculatedInterestComponent());
-            final Money penaltyChargesWrittenOffForRepaymentPeriod = cumulativePenaltyChargesWrittenOffWithin(startDate,
-                    period.getDueDate(), loanCharges, currency, !period.isRecalculatedInterestComponent());
-
-            period.updateChargePortion(feeChargesDueForRepaymentPeriod, feeChargesWaivedForRepaymentPeriod,
-                    feeChargesWrittenOffForRepaymentPeriod, penaltyChargesDueForRepaymentPeriod, penaltyChargesWaivedForRepaymentPeriod,
-                    penaltyChargesWrittenOffForRepaymentPeriod);
-
-            startDate = period.getDueDate();
-        }
-    }
-
-    private Money cumulativeFeeChargesDueWithin(final LocalDate periodStart, final LocalDate periodEnd, final Set<LoanCharge> loanCharges,
-            final MonetaryCurrency monetaryCurrency, LoanRepaymentScheduleInstallment period, final Money totalPrincipal,
-            final Money totalInterest, boolean isInstallmentChargeApplicable) {
 
-        Money cumulative = Money.zero(monetaryCurrency);
+        // The charges are classified once instead of once per period and per charge portion
+        final List<LoanCharge> feeCharges = new ArrayList<>();
+        final List<LoanCharge> penaltyCharges = new ArrayList<>();
         for (final LoanCharge loanCharge : loanCharges) {
             if (loanCharge.isFeeCharge() && !loanCharge.isDueAtDisbursement()) {
-                if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    if (loanCharge.getChargeCalculation().isPercentageBased()) {
-                        BigDecimal amount = BigDecimal.ZERO;
-                        if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
-                            amount = amount.add(period.getPrincipal(monetaryCurrency).getAmount())
-                                    .add(period.getInterestCharged(monetaryCurrency).getAmount());
-                        } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
-                            amount = amount.add(period.getInterestCharged(monetaryCurrency).getAmount());
-                        } else {
-                            amount = amount.add(period.getPrincipal(monetaryCurrency).getAmount());
-                        }
-                        BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
-                        cumulative = cumulative.plus(loanChargeAmt);
-                    } else {
-                        cumulative = cumulative.plus(loanCharge.amountOrPercentage());
-                    }
-                } else if (loanCharge.isOverdueInstallmentCharge()
-                        && loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)
-                        && loanCharge.getChargeCalculation().isPercentageBased()) {
-                    cumulative = cumulative.plus(loanCharge.chargeAmount());
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)
-                        && loanCharge.getChargeCalculation().isPercentageBased()) {
-                    BigDecimal amount = BigDecimal.ZERO;
-                    if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
-                        amount = amount.add(totalPrincipal.getAmount()).add(totalInterest.getAmount());
-                    } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
-                        amount = amount.add(totalInterest.getAmount());
-                    } else {
-                        // If charge type is specified due date and loan is
-                        // multi disburment loan.
-                        // Then we need to get as of this loan charge due date
-                        // how much amount disbursed.
-                        if (loanCharge.getLoan() != null && loanCharge.isSpecifiedDueDate()
-                                && loanCharge.getLoan().isMultiDisburmentLoan()) {
-                            for (final LoanDisbursementDetails loanDisbursementDetails : loanCharge.getLoan().getDisbursementDetails()) {
-                                if (!loanDisbursementDetails.expectedDisbursementDate().isAfter(loanCharge.getDueDate())) {
-                                    amount = amount.add(loanDisbursementDetails.principal());
-                                }
-                            }
-                        } else {
-                            amount = amount.add(totalPrincipal.getAmount());
-                        }
-                    }
-                    BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
-                    cumulative = cumulative.plus(loanChargeAmt);
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.amount());
-                    // Special case for Loan Charges (Due Date) added the same disbursement date
-                } else if (period.isFirstPeriod()
-                        && loanCharge.isDueForCollectionFromIncludingAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.amount());
-                }
+                feeCharges.add(loanCharge);
+            } else if (loanCharge.isPenaltyCharge()) {
+                penaltyCharges.add(loanCharge);
             }
         }
 
-        return cumulative;
-    }
+        LocalDate startDate = disbursementDate;
+        for (final LoanRepaymentScheduleInstallment period : repaymentPeriods) {
+            final boolean isInstallmentChargeApplicable = !period.isRecalculatedInterestComponent();
 
-    private Money cumulativeFeeChargesWaivedWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, boolean isInstallmentChargeApplicable) {
+            final ChargesPortion feePortion = cumulativeChargesWithin(startDate, period.getDueDate(), feeCharges, true, currency, period,
+                    totalPrincipal, totalInterest, isInstallmentChargeApplicable);
+            final ChargesPortion penaltyPortion = cumulativeChargesWithin(startDate, period.getDueDate(), penaltyCharges, false, currency,
+                    period, totalPrincipal, totalInterest, isInstallmentChargeApplicable);
 
-        Money cumulative = Money.zero(currency);
+            period.updateChargePortion(feePortion.due, feePortion.waived, feePortion.writtenOff, penaltyPortion.due, penaltyPortion.waived,
+                    penaltyPortion.writtenOff);
 
-        for (final LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isFeeCharge() && !loanCharge.isDueAtDisbursement()) {
-                if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
-                    if (loanChargePerInstallment != null) {
-                        cumulative = cumulative.plus(loanChargePerInstallment.getAmountWaived(currency));
-                    }
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.getAmountWaived(currency));
-                }
-            }
+            startDate = period.getDueDate();
         }
-
-        return cumulative;
     }
 
-    private Money cumulativeFeeChargesWrittenOffWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, boolean isInstallmentChargeApplicable) {
-
-        Money cumulative = Money.zero(currency);
+    /**
+     * Sums the due, waived and written off amounts of the given (fee or penalty) charges within a repayment period in a
+     * single pass over the charges.
+     */
+    private ChargesPortion cumulativeChargesWithin(final LocalDate periodStart, final LocalDate periodEnd,
+            final List<LoanCharge> loanCharges, final boolean isFeeCharge, final MonetaryCurrency currency,
+            final LoanRepaymentScheduleInstallment period, final Money totalPrincipal, final Money totalInterest,
+            final boolean isInstallmentChargeApplicable) {
 
+        final ChargesPortion portion = new ChargesPortion(currency);
         for (final LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isFeeCharge() && !loanCharge.isDueAtDisbursement()) {
-                if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
-                    if (loanChargePerInstallment != null) {
-                        cumulative = cumulative.plus(loanChargePerInstallment.getAmountWrittenOff(currency));
-                    }
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.getAmountWrittenOff(currency));
+            if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
+                portion.due = portion.due.plus(installmentChargeAmount(loanCharge, period, currency));
+                final LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
+                if (loanChargePerInstallment != null) {
+                    portion.waived = portion.waived.plus(loanChargePerInstallment.getAmountWaived(currency));
+                    portion.writtenOff = portion.writtenOff.plus(loanChargePerInstallment.getAmountWrittenOff(currency));
+                }
+            } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
+                if (loanCharge.isOverdueInstallmentCharge() && loanCharge.getChargeCalculation().isPercentageBased()) {
+                    portion.due = portion.due.plus(loanCharge.chargeAmount());
+                } else if (loanCharge.getChargeCalculation().isPercentageBased()) {
+                    portion.due = portion.due.plus(percentageChargeAmount(loanCharge, isFeeCharge, totalPrincipal, totalInterest));
+                } else {
+                    portion.due = portion.due.plus(loanCharge.amount());
                 }
+                portion.waived = portion.waived.plus(loanCharge.getAmountWaived(currency));
+                portion.writtenOff = portion.writtenOff.plus(loanCharge.getAmountWrittenOff(currency));
+                // Special case for Loan Charges (Due Date) added the same disbursement date
+            } else if (isFeeCharge && period.isFirstPeriod()
+                    && loanCharge.isDueForCollectionFromIncludingAndUpToAndIncluding(periodStart, periodEnd)) {
+                portion.due = portion.due.plus(loanCharge.amount());
             }
         }
-
-        return cumulative;
+        return portion;
     }
 
-    private Money cumulativePenaltyChargesDueWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, LoanRepaymentScheduleInstallment period,
-            final Money totalPrincipal, final Money totalInterest, boolean isInstallmentChargeApplicable) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (final LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isPenaltyCharge()) {
-                if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    if (loanCharge.getChargeCalculation().isPercentageBased()) {
-                        BigDecimal amount = BigDecimal.ZERO;
-                        if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
-                            amount = amount.add(period.getPrincipal(currency).getAmount())
-                                    .add(period.getInterestCharged(currency).getAmount());
-                        } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
-                            amount = amount.add(period.getInterestCharged(currency).getAmount());
-                        } else {
-                            amount = amount.add(period.getPrincipal(currency).getAmount());
-                        }
-                        BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
-                        cumulative = cumulative.plus(loanChargeAmt);
-                    } else {
-                        cumulative = cumulative.plus(loanCharge.amountOrPercentage());
-                    }
-                } else if (loanCharge.isOverdueInstallmentCharge()
-                        && loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)
-                        && loanCharge.getChargeCalculation().isPercentageBased()) {
-                    cumulative = cumulative.plus(loanCharge.chargeAmount());
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)
-                        && loanCharge.getChargeCalculation().isPercentageBased()) {
-                    BigDecimal amount = BigDecimal.ZERO;
-                    if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
-                        amount = amount.add(totalPrincipal.getAmount()).add(totalInterest.getAmount());
-                    } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
-                        amount = amount.add(totalInterest.getAmount());
-                    } else {
-                        amount = amount.add(totalPrincipal.getAmount());
-                    }
-                    BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
-                    cumulative = cumulative.plus(loanChargeAmt);
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.amount());
-                }
-            }
+    private BigDecimal installmentChargeAmount(final LoanCharge loanCharge, final LoanRepaymentScheduleInstallment period,
+            final MonetaryCurrency currency) {
+        if (!loanCharge.getChargeCalculation().isPercentageBased()) {
+            return loanCharge.amountOrPercentage();
         }
-
-        return cumulative;
+        BigDecimal amount = BigDecimal.ZERO;
+        if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
+            amount = amount.add(period.getPrincipal(currency).getAmount()).add(period.getInterestCharged(currency).getAmount());
+        } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
+            amount = amount.add(period.getInterestCharged(currency).getAmount());
+        } else {
+            amount = amount.add(period.getPrincipal(currency).getAmount());
+        }
+        return amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
     }
 
-    private Money cumulativePenaltyChargesWaivedWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, boolean isInstallmentChargeApplicable) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (final LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isPenaltyCharge()) {
-                if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
-                    if (loanChargePerInstallment != null) {
-                        cumulative = cumulative.plus(loanChargePerInstallment.getAmountWaived(currency));
-                    }
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.getAmountWaived(currency));
+    private BigDecimal percentageChargeAmount(final LoanCharge loanCharge, final boolean isFeeCharge, final Money totalPrincipal,
+            final Money totalInterest) {
+        BigDecimal amount = BigDecimal.ZERO;
+        if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
+            amount = amount.add(totalPrincipal.getAmount()).add(totalInterest.getAmount());
+        } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
+            amount = amount.add(totalInterest.getAmount());
+        } else if (isFeeCharge && loanCharge.getLoan() != null && loanCharge.isSpecifiedDueDate()
+                && loanCharge.getLoan().isMultiDisburmentLoan()) {
+            // If charge type is specified due date and loan is
+            // multi disburment loan.
+            // Then we need to get as of this loan charge due date
+            // how much amount disbursed.
+            for (final LoanDisbursementDetails loanDisbursementDetails : loanCharge.getLoan().getDisbursementDetails()) {
+                if (!loanDisbursementDetails.expectedDisbursementDate().isAfter(loanCharge.getDueDate())) {
+                    amount = amount.add(loanDisbursementDetails.principal());
                 }
             }
+        } else {
+            amount = amount.add(totalPrincipal.getAmount());
         }
-
-        return cumulative;
+        return amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
     }
 
-    private Money cumulativePenaltyChargesWrittenOffWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, boolean isInstallmentChargeApplicable) {
+    private static final class ChargesPortion {
 
-        Money cumulative = Money.zero(currency);
+        private Money due;
+        private Money waived;
+        private Money writtenOff;
 
-        for (final LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isPenaltyCharge()) {
-                if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
-                    if (loanChargePerInstallment != null) {
-                        cumulative = cumulative.plus(loanChargePerInstallment.getAmountWrittenOff(currency));
-                    }
-                } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
-                    cumulative = cumulative.plus(loanCharge.getAmountWrittenOff(currency));
-                }
-            }
+        private ChargesPortion(final MonetaryCurrency currency) {
+            this.due = Money.zero(currency);
+            this.waived = Money.zero(currency);
+            this.writtenOff = Money.zero(currency);
         }
-
-        return cumulative;
     }
 }
@@ -21,9 +21,12 @@ package org.apache.fineract.portfolio.loanaccount.domain;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
@@ -71,8 +74,14 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     String FIND_ALL_NON_CLOSED = "select loan.id from Loan loan where loan.loanStatus in (100,200,300,303,304)";
 
+    String FIND_ALL_NON_CLOSED_RELEVANT_FOR_COB = "select loan.id from Loan loan where loan.loanStatus in (100,200,300,303,304) and (loan.nextRelevantCOBDate is null or loan.nextRelevantCOBDate <= :cobDate)";
+
+    String RESET_NEXT_RELEVANT_COB_DATES = "update Loan loan set loan.nextRelevantCOBDate = null where loan.nextRelevantCOBDate is not null";
+
     String FIND_NON_CLOSED_LOAN_THAT_BELONGS_TO_CLIENT = "select loan from Loan loan where loan.id = :loanId and loan.loanStatus = 300 and loan.client.id = :clientId";
 
+    String FIND_ALL_BY_IDS = "select loan from Loan loan where loan.id IN :ids";
+
     String FIND_BY_ACCOUNT_NUMBER = "select loan from Loan loan where loan.accountNumber = :accountNumber";
 
     @Query(FIND_GROUP_LOANS_DISBURSED_AFTER)
@@ -168,4 +177,24 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
     @Query(FIND_ALL_NON_CLOSED)
     List<Long> findAllNonClosedLoanIds();
 
+    @Query(FIND_ALL_NON_CLOSED_RELEVANT_FOR_COB)
+    List<Long> findAllNonClosedLoanIdsRelevantForCOB(@Param("cobDate") LocalDate cobDate);
+
+    @Modifying(flushAutomatically = true)
+    @Query(RESET_NEXT_RELEVANT_COB_DATES)
+    int resetNextRelevantCOBDates();
+
+    /**
+     * Loads the given loans and batch fetches their schedule, transactions, charges, disbursement details and term
+     * variations with one <code>IN</code> query per association instead of one query per loan.
+     */
+    @Query(FIND_ALL_BY_IDS)
+    @QueryHints({ @QueryHint(name = "eclipselink.batch.type", value = "IN"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.repaymentScheduleInstallments"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.charges"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.disbursementDetails"),
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTermVariations") })
+    List<Loan> findAllByIdsWithAssociations(@Param("ids") Collection<Long> ids);
+
 }
@@ -67,15 +67,18 @@ public class LoanRepositoryWrapper {
     }
 
     public Loan saveAndFlush(final Loan loan) {
+        loan.resetNextRelevantCOBDate();
         return this.repository.saveAndFlush(loan);
     }
 
     @Transactional
     public Loan save(final Loan loan) {
+        loan.resetNextRelevantCOBDate();
         return this.repository.save(loan);
     }
 
     public List<Loan> save(List<Loan> loans) {
+        loans.forEach(Loan::resetNextRelevantCOBDate);
         return this.repository.saveAll(loans);
     }
 
@@ -83,6 +86,11 @@ public class LoanRepositoryWrapper {
         this.repository.flush();
     }
 
+    @Transactional
+    public int resetNextRelevantCOBDates() {
+        return this.repository.resetNextRelevantCOBDates();
+    }
+
     public void delete(final Long loanId) {
         this.repository.deleteById(loanId);
     }
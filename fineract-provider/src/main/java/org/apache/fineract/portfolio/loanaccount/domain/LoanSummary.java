@@ -236,26 +236,25 @@ public class LoanSummary {
             Set<LoanCharge> charges) {
 
         this.totalPrincipalDisbursed = principal.getAmount();
-        this.totalPrincipalAdjustments = summaryWrapper.calculateTotalPrincipalAdjusted(repaymentScheduleInstallments, currency)
-                .getAmount();
-        this.totalPrincipalRepaid = summaryWrapper.calculateTotalPrincipalRepaid(repaymentScheduleInstallments, currency).getAmount();
-        this.totalPrincipalWrittenOff = summaryWrapper.calculateTotalPrincipalWrittenOff(repaymentScheduleInstallments, currency)
-                .getAmount();
+        final LoanSummaryWrapper.InstallmentTotals installmentTotals = summaryWrapper.calculateTotals(repaymentScheduleInstallments,
+                currency);
+        this.totalPrincipalAdjustments = installmentTotals.getPrincipalAdjusted().getAmount();
+        this.totalPrincipalRepaid = installmentTotals.getPrincipalRepaid().getAmount();
+        this.totalPrincipalWrittenOff = installmentTotals.getPrincipalWrittenOff().getAmount();
 
         this.totalPrincipalOutstanding = principal.plus(this.totalPrincipalAdjustments).minus(this.totalPrincipalRepaid)
                 .minus(this.totalPrincipalWrittenOff).getAmount();
 
-        final Money totalInterestCharged = summaryWrapper.calculateTotalInterestCharged(repaymentScheduleInstallments, currency);
+        final Money totalInterestCharged = installmentTotals.getInterestCharged();
         this.totalInterestCharged = totalInterestCharged.getAmount();
-        this.totalInterestRepaid = summaryWrapper.calculateTotalInterestRepaid(repaymentScheduleInstallments, currency).getAmount();
-        this.totalInterestWaived = summaryWrapper.calculateTotalInterestWaived(repaymentScheduleInstallments, currency).getAmount();
-        this.totalInterestWrittenOff = summaryWrapper.calculateTotalInterestWrittenOff(repaymentScheduleInstallments, currency).getAmount();
+        this.totalInterestRepaid = installmentTotals.getInterestRepaid().getAmount();
+        this.totalInterestWaived = installmentTotals.getInterestWaived().getAmount();
+        this.totalInterestWrittenOff = installmentTotals.getInterestWrittenOff().getAmount();
 
         this.totalInterestOutstanding = totalInterestCharged.minus(this.totalInterestRepaid).minus(this.totalInterestWaived)
                 .minus(this.totalInterestWrittenOff).getAmount();
 
-        final Money totalFeeChargesCharged = summaryWrapper.calculateTotalFeeChargesCharged(repaymentScheduleInstallments, currency)
-                .plus(this.totalFeeChargesDueAtDisbursement);
+        final Money totalFeeChargesCharged = installmentTotals.getFeeChargesCharged().plus(this.totalFeeChargesDueAtDisbursement);
         this.totalFeeChargesCharged = totalFeeChargesCharged.getAmount();
 
         Money totalFeeChargesRepaidAtDisbursement = summaryWrapper.calculateTotalChargesRepaidAtDisbursement(charges, currency);
@@ -267,21 +266,16 @@ public class LoanSummary {
             this.totalFeeChargesWaived = BigDecimal.ZERO;
         }
 
-        this.totalFeeChargesWrittenOff = summaryWrapper.calculateTotalFeeChargesWrittenOff(repaymentScheduleInstallments, currency)
-                .getAmount();
+        this.totalFeeChargesWrittenOff = installmentTotals.getFeeChargesWrittenOff().getAmount();
 
         this.totalFeeChargesOutstanding = totalFeeChargesCharged.minus(this.totalFeeChargesRepaid).minus(this.totalFeeChargesWaived)
                 .minus(this.totalFeeChargesWrittenOff).getAmount();
 
-        final Money totalPenaltyChargesCharged = summaryWrapper.calculateTotalPenaltyChargesCharged(repaymentScheduleInstallments,
-                currency);
+        final Money totalPenaltyChargesCharged = installmentTotals.getPenaltyChargesCharged();
         this.totalPenaltyChargesCharged = totalPenaltyChargesCharged.getAmount();
-        this.totalPenaltyChargesRepaid = summaryWrapper.calculateTotalPenaltyChargesRepaid(repaymentScheduleInstallments, currency)
-                .getAmount();
-        this.totalPenaltyChargesWaived = summaryWrapper.calculateTotalPenaltyChargesWaived(repaymentScheduleInstallments, currency)
-                .getAmount();
-        this.totalPenaltyChargesWrittenOff = summaryWrapper.calculateTotalPenaltyChargesWrittenOff(repaymentScheduleInstallments, currency)
-                .getAmount();
+        this.totalPenaltyChargesRepaid = installmentTotals.getPenaltyChargesRepaid().getAmount();
+        this.totalPenaltyChargesWaived = installmentTotals.getPenaltyChargesWaived().getAmount();
+        this.totalPenaltyChargesWrittenOff = installmentTotals.getPenaltyChargesWrittenOff().getAmount();
 
         this.totalPenaltyChargesOutstanding = totalPenaltyChargesCharged.minus(this.totalPenaltyChargesRepaid)
                 .minus(this.totalPenaltyChargesWaived).minus(this.totalPenaltyChargesWrittenOff).getAmount();
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.loanaccount.domain;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
@@ -31,6 +32,19 @@ import org.springframework.stereotype.Component;
 @Component
 public final class LoanSummaryWrapper {
 
+    /**
+     * Calculates the totals of the installment amounts needed by the loan summary in a single pass over the repayment
+     * schedule installments.
+     */
+    public InstallmentTotals calculateTotals(final List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments,
+            final MonetaryCurrency currency) {
+        final InstallmentTotals totals = new InstallmentTotals(currency);
+        for (final LoanRepaymentScheduleInstallment installment : repaymentScheduleInstallments) {
+            totals.add(installment);
+        }
+        return totals;
+    }
+
     public Money calculateTotalPrincipalRepaid(final List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments,
             final MonetaryCurrency currency) {
         Money total = Money.zero(currency);
@@ -253,4 +267,100 @@ public final class LoanSummaryWrapper {
         return total;
 
     }
+
+    /**
+     * Totals of the repayment schedule installment amounts. The amounts are accumulated in mutable {@link BigDecimal}s
+     * and only wrapped into {@link Money} when they are read.
+     */
+    public static final class InstallmentTotals {
+
+        private final MonetaryCurrency currency;
+        private BigDecimal principalAdjusted = BigDecimal.ZERO;
+        private BigDecimal principalRepaid = BigDecimal.ZERO;
+        private BigDecimal principalWrittenOff = BigDecimal.ZERO;
+        private BigDecimal interestCharged = BigDecimal.ZERO;
+        private BigDecimal interestRepaid = BigDecimal.ZERO;
+        private BigDecimal interestWaived = BigDecimal.ZERO;
+        private BigDecimal interestWrittenOff = BigDecimal.ZERO;
+        private BigDecimal feeChargesCharged = BigDecimal.ZERO;
+        private BigDecimal feeChargesWrittenOff = BigDecimal.ZERO;
+        private BigDecimal penaltyChargesCharged = BigDecimal.ZERO;
+        private BigDecimal penaltyChargesRepaid = BigDecimal.ZERO;
+        private BigDecimal penaltyChargesWaived = BigDecimal.ZERO;
+        private BigDecimal penaltyChargesWrittenOff = BigDecimal.ZERO;
+
+        private InstallmentTotals(final MonetaryCurrency currency) {
+            this.currency = currency;
+        }
+
+        private void add(final LoanRepaymentScheduleInstallment installment) {
+            // Each installment amount is rounded to the currency exactly like the per total calculations above do
+            this.principalAdjusted = this.principalAdjusted.add(installment.getCredits(this.currency).getAmount());
+            this.principalRepaid = this.principalRepaid.add(installment.getPrincipalCompleted(this.currency).getAmount());
+            this.principalWrittenOff = this.principalWrittenOff.add(installment.getPrincipalWrittenOff(this.currency).getAmount());
+            this.interestCharged = this.interestCharged.add(installment.getInterestCharged(this.currency).getAmount());
+            this.interestRepaid = this.interestRepaid.add(installment.getInterestPaid(this.currency).getAmount());
+            this.interestWaived = this.interestWaived.add(installment.getInterestWaived(this.currency).getAmount());
+            this.interestWrittenOff = this.interestWrittenOff.add(installment.getInterestWrittenOff(this.currency).getAmount());
+            this.feeChargesCharged = this.feeChargesCharged.add(installment.getFeeChargesCharged(this.currency).getAmount());
+            this.feeChargesWrittenOff = this.feeChargesWrittenOff.add(installment.getFeeChargesWrittenOff(this.currency).getAmount());
+            this.penaltyChargesCharged = this.penaltyChargesCharged.add(installment.getPenaltyChargesCharged(this.currency).getAmount());
+            this.penaltyChargesRepaid = this.penaltyChargesRepaid.add(installment.getPenaltyChargesPaid(this.currency).getAmount());
+            this.penaltyChargesWaived = this.penaltyChargesWaived.add(installment.getPenaltyChargesWaived(this.currency).getAmount());
+            this.penaltyChargesWrittenOff = this.penaltyChargesWrittenOff
+                    .add(installment.getPenaltyChargesWrittenOff(this.currency).getAmount());
+        }
+
+        public Money getPrincipalAdjusted() {
+            return Money.of(this.currency, this.principalAdjusted);
+        }
+
+        public Money getPrincipalRepaid() {
+            return Money.of(this.currency, this.principalRepaid);
+        }
+
+        public Money getPrincipalWrittenOff() {
+            return Money.of(this.currency, this.principalWrittenOff);
+        }
+
+        public Money getInterestCharged() {
+            return Money.of(this.currency, this.interestCharged);
+        }
+
+        public Money getInterestRepaid() {
+            return Money.of(this.currency, this.interestRepaid);
+        }
+
+        public Money getInterestWaived() {
+            return Money.of(this.currency, this.interestWaived);
+        }
+
+        public Money getInterestWrittenOff() {
+            return Money.of(this.currency, this.interestWrittenOff);
+        }
+
+        public Money getFeeChargesCharged() {
+            return Money.of(this.currency, this.feeChargesCharged);
+        }
+
+        public Money getFeeChargesWrittenOff() {
+            return Money.of(this.currency, this.feeChargesWrittenOff);
+        }
+
+        public Money getPenaltyChargesCharged() {
+            return Money.of(this.currency, this.penaltyChargesCharged);
+        }
+
+        public Money getPenaltyChargesRepaid() {
+            return Money.of(this.currency, this.penaltyChargesRepaid);
+        }
+
+        public Money getPenaltyChargesWaived() {
+            return Money.of(this.currency, this.penaltyChargesWaived);
+        }
+
+        public Money getPenaltyChargesWrittenOff() {
+            return Money.of(this.currency, this.penaltyChargesWrittenOff);
+        }
+    }
 }
@@ -122,6 +122,8 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
                 }
                 loanTransaction.resetDerivedComponents();
                 Money unprocessed = loanTransaction.getAmount(currency);
+                final Set<LoanCharge> transferFees = extractFeeCharges(transferCharges);
+                final Set<LoanCharge> transferPenalties = extractPenaltyCharges(transferCharges);
                 for (LoanChargePaidDetail chargePaidDetail : chargePaidDetails) {
                     final List<LoanRepaymentScheduleInstallment> processInstallments = new ArrayList<>(1);
                     processInstallments.add(chargePaidDetail.getInstallment());
@@ -129,8 +131,8 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
                     if (processAmt.isGreaterThan(unprocessed)) {
                         processAmt = unprocessed;
                     }
-                    unprocessed = handleTransactionAndCharges(loanTransaction, currency, processInstallments, transferCharges, processAmt,
-                            chargePaidDetail.isFeeCharge());
+                    unprocessed = handleTransactionAndCharges(loanTransaction, currency, processInstallments, transferFees,
+                            transferPenalties, processAmt, chargePaidDetail.isFeeCharge());
                     if (!unprocessed.isGreaterThanZero()) {
                         break;
                     }
@@ -146,6 +148,9 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
             }
         }
 
+        // The fee and penalty charges of the loan do not change while the transactions are replayed, they are split once
+        final Set<LoanCharge> loanFees = charges == null ? null : extractFeeCharges(charges);
+        final Set<LoanCharge> loanPenalties = charges == null ? null : extractPenaltyCharges(charges);
         for (final LoanTransaction loanTransaction : transactionstoBeProcessed) {
             // TODO: analyze and remove this
             if (!loanTransaction.getTypeOf().equals(LoanTransactionType.REFUND_FOR_ACTIVE_LOAN)) {
@@ -162,7 +167,7 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
             if (loanTransaction.isRepaymentType() || loanTransaction.isInterestWaiver() || loanTransaction.isRecoveryRepayment()) {
                 // pass through for new transactions
                 if (loanTransaction.getId() == null) {
-                    handleTransaction(loanTransaction, currency, installments, charges);
+                    handleTransaction(loanTransaction, currency, installments, loanFees, loanPenalties);
                     loanTransaction.adjustInterestComponent(currency);
                 } else {
                     /**
@@ -173,7 +178,7 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
 
                     // Reset derived component of new loan transaction and
                     // re-process transaction
-                    handleTransaction(newLoanTransaction, currency, installments, charges);
+                    handleTransaction(newLoanTransaction, currency, installments, loanFees, loanPenalties);
                     newLoanTransaction.adjustInterestComponent(currency);
                     /**
                      * Check if the transaction amounts have changed. If so, reverse the original transaction and update
@@ -210,18 +215,17 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
     public void handleTransaction(final LoanTransaction loanTransaction, final MonetaryCurrency currency,
             final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges) {
 
-        final Money amountToProcess = null;
-        final boolean isChargeAmount = false;
-        handleTransaction(loanTransaction, currency, installments, charges, amountToProcess, isChargeAmount);
-
+        handleTransaction(loanTransaction, currency, installments, extractFeeCharges(charges), extractPenaltyCharges(charges));
     }
 
     private void handleTransaction(final LoanTransaction loanTransaction, final MonetaryCurrency currency,
-            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges, final Money chargeAmountToProcess,
-            final boolean isFeeCharge) {
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> loanFees,
+            final Set<LoanCharge> loanPenalties) {
 
-        Money transactionAmountUnprocessed = handleTransactionAndCharges(loanTransaction, currency, installments, charges,
-                chargeAmountToProcess, isFeeCharge);
+        final Money amountToProcess = null;
+        final boolean isChargeAmount = false;
+        Money transactionAmountUnprocessed = handleTransactionAndCharges(loanTransaction, currency, installments, loanFees, loanPenalties,
+                amountToProcess, isChargeAmount);
 
         if (transactionAmountUnprocessed.isGreaterThanZero()) {
             if (loanTransaction.isWaiver()) {
@@ -235,16 +239,14 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
     }
 
     private Money handleTransactionAndCharges(final LoanTransaction loanTransaction, final MonetaryCurrency currency,
-            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges, final Money chargeAmountToProcess,
-            final boolean isFeeCharge) {
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> loanFees, final Set<LoanCharge> loanPenalties,
+            final Money chargeAmountToProcess, final boolean isFeeCharge) {
         // to.
         if (loanTransaction.isRepaymentType() || loanTransaction.isInterestWaiver() || loanTransaction.isRecoveryRepayment()) {
             loanTransaction.resetDerivedComponents();
         }
         Money transactionAmountUnprocessed = processTransaction(loanTransaction, currency, installments, chargeAmountToProcess);
 
-        final Set<LoanCharge> loanFees = extractFeeCharges(charges);
-        final Set<LoanCharge> loanPenalties = extractPenaltyCharges(charges);
         Integer installmentNumber = null;
         if (loanTransaction.isChargePayment() && installments.size() == 1) {
             installmentNumber = installments.get(0).getInstallmentNumber();
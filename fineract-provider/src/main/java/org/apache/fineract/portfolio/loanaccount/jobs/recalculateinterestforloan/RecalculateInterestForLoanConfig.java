@@ -18,6 +18,11 @@
  */
 package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.FineractTaskExecutorFactory;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
@@ -26,15 +31,22 @@ import org.apache.fineract.portfolio.loanaccount.service.RecalculateInterestPost
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+@Slf4j
 @Configuration
 public class RecalculateInterestForLoanConfig {
 
+    private static final String WORKER_STEP_NAME = JobName.RECALCULATE_INTEREST_FOR_LOAN.name() + "_WORKER";
+
     @Autowired
     private JobBuilderFactory jobs;
 
@@ -53,11 +65,50 @@ public class RecalculateInterestForLoanConfig {
     @Autowired
     private OfficeReadPlatformService officeReadPlatformService;
 
+    @Autowired
+    private LoanAccountLockService loanAccountLockService;
+
+    @Autowired
+    private FineractProperties fineractProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
     protected Step recalculateInterestForLoanStep() {
+        FineractProperties.FineractLoanInterestRecalculationProperties properties = fineractProperties.getLoan()
+                .getInterestRecalculation();
+        if (properties.isPartitionedJobEnabled()) {
+            return steps.get(JobName.RECALCULATE_INTEREST_FOR_LOAN.name())
+                    .partitioner(WORKER_STEP_NAME, recalculateInterestForLoanPartitioner(null, null, null))
+                    .step(recalculateInterestForLoanWorkerStep()).gridSize(Math.max(properties.getThreadPoolSize(), 1))
+                    .taskExecutor(interestRecalculationTaskExecutor()).build();
+        }
         return steps.get(JobName.RECALCULATE_INTEREST_FOR_LOAN.name()).tasklet(recalculateInterestForLoanTasklet()).build();
     }
 
+    @Bean
+    @JobScope
+    public RecalculateInterestForLoanPartitioner recalculateInterestForLoanPartitioner(
+            @Value("#{jobParameters['officeId']}") String officeId, @Value("#{jobParameters['thread-pool-size']}") String threadPoolSize,
+            @Value("#{jobParameters['batch-size']}") String batchSize) {
+        if (threadPoolSize != null || batchSize != null) {
+            log.info("The thread-pool-size and batch-size job parameters are ignored by the partitioned interest recalculation, "
+                    + "the fineract.loan.interest-recalculation.thread-pool-size property is used instead");
+        }
+        return new RecalculateInterestForLoanPartitioner(loanReadPlatformService, loanAccountLockService, officeReadPlatformService,
+                officeId == null ? null : Long.valueOf(officeId));
+    }
+
+    @Bean
+    protected Step recalculateInterestForLoanWorkerStep() {
+        // Every loan is recalculated in its own transaction, so the worker step itself must not hold a database transaction
+        return steps.get(WORKER_STEP_NAME).transactionManager(new ResourcelessTransactionManager())
+                .tasklet(new RecalculateInterestForLoanPartitionTasklet(loanReadPlatformService, loanWritePlatformService,
+                        loanAccountLockService, meterRegistry))
+                .build();
+    }
+
     @Bean
     public Job recalculateInterestForLoanJob() {
         return jobs.get(JobName.RECALCULATE_INTEREST_FOR_LOAN.name()).start(recalculateInterestForLoanStep())
@@ -69,4 +120,11 @@ public class RecalculateInterestForLoanConfig {
         return new RecalculateInterestForLoanTasklet(loanReadPlatformService, loanWritePlatformService, recalculateInterestPoster,
                 officeReadPlatformService);
     }
+
+    @Bean
+    public ThreadPoolTaskExecutor interestRecalculationTaskExecutor() {
+        // The partitions are only processed while the job is running
+        return FineractTaskExecutorFactory.createOnDemandTaskExecutor("interest-recalculation-worker-",
+                fineractProperties.getLoan().getInterestRecalculation().getThreadPoolSize());
+    }
 }
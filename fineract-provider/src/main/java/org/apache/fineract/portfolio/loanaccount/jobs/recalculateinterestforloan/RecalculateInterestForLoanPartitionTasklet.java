@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.jobs.service.IdRangePartitions;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+/**
+ * Recalculates the interest of the loans of a partition page by page. Every loan is recalculated in its own
+ * transaction (retried on optimistic locking failures) while it is locked against Loan COB, a loan which still fails
+ * is skipped and left for the next run. The partition is processed to its end either way, but it fails once a loan has
+ * failed; loans which are skipped because Loan COB holds their lock do not fail it.
+ */
+@Slf4j
+public class RecalculateInterestForLoanPartitionTasklet implements Tasklet, StepExecutionListener {
+
+    public static final String RECALCULATED_COUNTER_NAME = "fineract.loan.interest-recalculation.recalculated";
+    public static final String SKIPPED_COUNTER_NAME = "fineract.loan.interest-recalculation.skipped";
+    public static final String RECALCULATION_TIMER_NAME = "fineract.loan.interest-recalculation.duration";
+    static final int PAGE_SIZE = 100;
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final LoanWritePlatformService loanWritePlatformService;
+    private final LoanAccountLockService loanAccountLockService;
+    private final Counter recalculatedCounter;
+    private final Counter lockedCounter;
+    private final Counter failedCounter;
+    private final Timer recalculationTimer;
+
+    public RecalculateInterestForLoanPartitionTasklet(LoanReadPlatformService loanReadPlatformService,
+            LoanWritePlatformService loanWritePlatformService, LoanAccountLockService loanAccountLockService, MeterRegistry meterRegistry) {
+        this.loanReadPlatformService = loanReadPlatformService;
+        this.loanWritePlatformService = loanWritePlatformService;
+        this.loanAccountLockService = loanAccountLockService;
+        this.recalculatedCounter = Counter.builder(RECALCULATED_COUNTER_NAME)
+                .description("Number of loans whose interest was recalculated by the job").register(meterRegistry);
+        this.lockedCounter = Counter.builder(SKIPPED_COUNTER_NAME).tag("reason", "locked")
+                .description("Number of loans skipped by the interest recalculation job").register(meterRegistry);
+        this.failedCounter = Counter.builder(SKIPPED_COUNTER_NAME).tag("reason", "failed")
+                .description("Number of loans skipped by the interest recalculation job").register(meterRegistry);
+        this.recalculationTimer = Timer.builder(RECALCULATION_TIMER_NAME)
+                .description("Time spent on recalculating the interest of a single loan").register(meterRegistry);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
+        long minLoanId = executionContext.getLong(RecalculateInterestForLoanPartitioner.MIN_LOAN_ID);
+        long maxLoanId = executionContext.getLong(RecalculateInterestForLoanPartitioner.MAX_LOAN_ID);
+        String officeHierarchy = executionContext.getString(RecalculateInterestForLoanPartitioner.OFFICE_HIERARCHY, null);
+        List<Long> loanIds = loanReadPlatformService.fetchLoansForInterestRecalculation(minLoanId, maxLoanId, officeHierarchy, PAGE_SIZE);
+        if (loanIds.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
+        for (Long loanId : loanIds) {
+            recalculateInterest(loanId, contribution);
+        }
+        Long lastLoanId = loanIds.get(loanIds.size() - 1);
+        executionContext.putLong(RecalculateInterestForLoanPartitioner.MIN_LOAN_ID, lastLoanId + 1);
+        StepExecution stepExecution = contribution.getStepExecution();
+        log.info("Interest recalculation {}: processed loans up to loan {} ({} recalculated, {} skipped of {} loans)",
+                executionContext.getString(IdRangePartitions.PARTITION_NAME, ""), lastLoanId,
+                stepExecution.getWriteCount() + contribution.getWriteCount(), stepExecution.getProcessSkipCount()
+                        + stepExecution.getFilterCount() + contribution.getProcessSkipCount() + contribution.getFilterCount(),
+                executionContext.getInt(RecalculateInterestForLoanPartitioner.LOAN_COUNT, 0));
+        return loanIds.size() < PAGE_SIZE || lastLoanId >= maxLoanId ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        // Nothing to prepare, the partition range is read from the execution context
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getProcessSkipCount() > 0) {
+            stepExecution.setStatus(BatchStatus.FAILED);
+            return ExitStatus.FAILED.addExitDescription(
+                    "Interest recalculation failed for " + stepExecution.getProcessSkipCount() + " loans, see the log for the causes");
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    private void recalculateInterest(Long loanId, StepContribution contribution) {
+        if (!loanAccountLockService.applyLock(loanId, LockOwner.LOAN_INTEREST_RECALCULATION)) {
+            log.debug("Interest recalculation of loan {} is skipped as the loan is locked by Loan COB", loanId);
+            contribution.incrementFilterCount(1);
+            lockedCounter.increment();
+            return;
+        }
+        try {
+            recalculationTimer.record(() -> loanWritePlatformService.recalculateInterest(loanId));
+            contribution.incrementWriteCount(1);
+            recalculatedCounter.increment();
+        } catch (RuntimeException e) {
+            log.error("Interest recalculation of loan {} failed, the loan is skipped", loanId, e);
+            contribution.incrementProcessSkipCount();
+            failedCounter.increment();
+        } finally {
+            loanAccountLockService.removeLock(loanId, LockOwner.LOAN_INTEREST_RECALCULATION);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.jobs.service.IdRangePartitions;
+import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.exception.OfficeNotFoundException;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RecalculateInterestForLoanPartitioner implements Partitioner {
+
+    public static final String MIN_LOAN_ID = "minLoanId";
+    public static final String MAX_LOAN_ID = "maxLoanId";
+    public static final String LOAN_COUNT = "loanCount";
+    public static final String OFFICE_HIERARCHY = "officeHierarchy";
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final LoanAccountLockService loanAccountLockService;
+    private final OfficeReadPlatformService officeReadPlatformService;
+    private final Long officeId;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        // The job is never running in parallel with itself, so every lock of this owner was left behind by an aborted run
+        int staleLockCount = loanAccountLockService.removeLocks(LockOwner.LOAN_INTEREST_RECALCULATION);
+        if (staleLockCount > 0) {
+            log.warn("Removed {} interest recalculation loan locks left behind by a previous run", staleLockCount);
+        }
+        String officeHierarchy = getOfficeHierarchy();
+        Collection<Long> fetchedLoanIds = loanReadPlatformService.fetchLoansForInterestRecalculation(officeHierarchy);
+        if (fetchedLoanIds == null || fetchedLoanIds.isEmpty()) {
+            log.debug("No loans found for interest recalculation");
+            return Map.of();
+        }
+        List<Long> loanIds = fetchedLoanIds.stream().distinct().sorted().toList();
+        Map<String, ExecutionContext> partitions = IdRangePartitions.partition(loanIds, gridSize, MIN_LOAN_ID, MAX_LOAN_ID, LOAN_COUNT);
+        if (officeHierarchy != null) {
+            partitions.values().forEach(partition -> partition.putString(OFFICE_HIERARCHY, officeHierarchy));
+        }
+        log.info("Interest recalculation of {} loans is split into {} partitions", loanIds.size(), partitions.size());
+        return partitions;
+    }
+
+    private String getOfficeHierarchy() {
+        if (officeId == null) {
+            return null;
+        }
+        OfficeData office = officeReadPlatformService.retrieveOffice(officeId);
+        if (office == null) {
+            throw new OfficeNotFoundException(officeId);
+        }
+        return office.getHierarchy() + "%";
+    }
+}
@@ -61,12 +61,12 @@ public class DefaultPaymentPeriodsInOneYearCalculator implements PaymentPeriodsI
             final LocalDate scheduledDueDate, final LocalDate interestChargedFromLocalDate,
             final PeriodFrequencyType repaymentPeriodFrequencyType, final Integer repaidEvery) {
 
-        Double periodFraction = Double.valueOf("0.0");
+        double periodFraction = 0.0;
 
         final LocalDateInterval repaymentPeriod = new LocalDateInterval(repaymentPeriodStartDate, scheduledDueDate);
 
         if (interestChargedFromLocalDate != null && repaymentPeriod.fallsBefore(interestChargedFromLocalDate.plusDays(1))) {
-            periodFraction = Double.valueOf("1.0");
+            periodFraction = 1.0;
         } else if (interestChargedFromLocalDate != null && repaymentPeriod.contains(interestChargedFromLocalDate)) {
 
             final int numberOfDaysInterestCalculationGraceInPeriod = Math
@@ -81,22 +81,22 @@ public class DefaultPaymentPeriodsInOneYearCalculator implements PaymentPeriodsI
     private double calculateRepaymentPeriodFraction(final PeriodFrequencyType repaymentPeriodFrequencyType, final Integer every,
             final Integer numberOfDaysInterestCalculationGrace) {
 
-        Double fraction = Double.valueOf("0");
+        double fraction = 0.0;
         switch (repaymentPeriodFrequencyType) {
             case DAYS:
                 fraction = numberOfDaysInterestCalculationGrace.doubleValue() * every.doubleValue();
             break;
             case WEEKS:
-                fraction = numberOfDaysInterestCalculationGrace.doubleValue() / (Double.parseDouble("7.0") * every.doubleValue());
+                fraction = numberOfDaysInterestCalculationGrace.doubleValue() / (7.0 * every.doubleValue());
             break;
             case MONTHS:
-                fraction = numberOfDaysInterestCalculationGrace.doubleValue() / (Double.parseDouble("30.0") * every.doubleValue());
+                fraction = numberOfDaysInterestCalculationGrace.doubleValue() / (30.0 * every.doubleValue());
             break;
             case YEARS:
-                fraction = numberOfDaysInterestCalculationGrace.doubleValue() / (Double.parseDouble("365.0") * every.doubleValue());
+                fraction = numberOfDaysInterestCalculationGrace.doubleValue() / (365.0 * every.doubleValue());
             break;
             case INVALID:
-                fraction = Double.valueOf("0");
+                fraction = 0.0;
             break;
             case WHOLE_TERM:
                 LOG.error("TODO Implement repaymentPeriodFrequencyType for WHOLE_TERM");
@@ -20,7 +20,6 @@ package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import net.fortuna.ical4j.model.Recur;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
 import org.apache.fineract.organisation.holiday.service.HolidayUtil;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
@@ -110,6 +109,10 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
 
     private AdjustedDateDetailsDTO getAdjustedDateDetailsDTO(final LocalDate dueRepaymentPeriodDate,
             final LoanApplicationTerms loanApplicationTerms, final HolidayDetailDTO holidayDetailDTO, final LocalDate adjustedDate) {
+        // The next repayment date is only needed to move a date off a non working day or a holiday
+        if (!isNonWorkingDayOrHoliday(adjustedDate, holidayDetailDTO)) {
+            return new AdjustedDateDetailsDTO(adjustedDate, dueRepaymentPeriodDate);
+        }
         final boolean isFirstRepayment = false;
         final LocalDate nextRepaymentPeriodDueDate = generateNextRepaymentDate(adjustedDate, loanApplicationTerms, isFirstRepayment);
         final AdjustedDateDetailsDTO newAdjustedDateDetailsDTO = new AdjustedDateDetailsDTO(adjustedDate, dueRepaymentPeriodDate,
@@ -133,8 +136,7 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
     private AdjustedDateDetailsDTO recursivelyCheckNonWorkingDaysAndHolidaysAndWorkingDaysExemptionToGenerateNextRepaymentPeriodDate(
             final AdjustedDateDetailsDTO adjustedDateDetailsDTO, final LoanApplicationTerms loanApplicationTerms,
             final HolidayDetailDTO holidayDetailDTO, final boolean isFirstRepayment) {
-        final Recur recur = CalendarUtils.getICalRecur(holidayDetailDTO.getWorkingDays().getRecurrence());
-        final boolean isSevenDaysWeek = (recur.getDayList().size() == 7); // 7 Seven days in the week
+        final boolean isSevenDaysWeek = WorkingDaysUtil.isEveryDayWorkingDay(holidayDetailDTO.getWorkingDays());
         // If Workings days are not seven day week
         if (!isSevenDaysWeek) {
             checkAndUpdateWorkingDayIfRepaymentDateIsNonWorkingDay(adjustedDateDetailsDTO, holidayDetailDTO, loanApplicationTerms,
@@ -148,9 +150,7 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
          * Check Changed Schedule Date is holiday or is not a working day Then re-call this method to get the non
          * holiday and working day
          */
-        if ((holidayDetailDTO.isHolidayEnabled() && HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                holidayDetailDTO.getHolidays()) != null)
-                || WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())) {
+        if (isNonWorkingDayOrHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(), holidayDetailDTO)) {
             recursivelyCheckNonWorkingDaysAndHolidaysAndWorkingDaysExemptionToGenerateNextRepaymentPeriodDate(adjustedDateDetailsDTO,
                     loanApplicationTerms, holidayDetailDTO, isFirstRepayment);
         }
@@ -158,6 +158,11 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
         return adjustedDateDetailsDTO;
     }
 
+    private boolean isNonWorkingDayOrHoliday(final LocalDate date, final HolidayDetailDTO holidayDetailDTO) {
+        return (holidayDetailDTO.isHolidayEnabled() && HolidayUtil.getApplicableHoliday(date, holidayDetailDTO.getHolidays()) != null)
+                || WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), date);
+    }
+
     /**
      * This method to check and update the working day if repayment date is holiday
      *
@@ -920,6 +920,7 @@ public class LoanChargeWritePlatformServiceImpl implements LoanChargeWritePlatfo
         }
 
         loan.addLoanCharge(loanCharge);
+        loan.resetNextRelevantCOBDate();
 
         this.loanChargeRepository.saveAndFlush(loanCharge);
 
@@ -117,6 +117,10 @@ public interface LoanReadPlatformService {
 
     List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
 
+    List<Long> fetchLoansForInterestRecalculation(String officeHierarchy);
+
+    List<Long> fetchLoansForInterestRecalculation(Long minLoanId, Long maxLoanId, String officeHierarchy, int limit);
+
     LoanTransactionData retrieveLoanPrePaymentTemplate(LoanTransactionType repaymentTransactionType, Long loanId, LocalDate onDate);
 
     Collection<LoanTransactionData> retrieveWaiverLoanTransactions(Long loanId);
@@ -1893,8 +1893,53 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
 
     @Override
     public Collection<Long> fetchLoansForInterestRecalculation() {
+        String sql = loansForInterestRecalculationSql(false, "") + " group by ml.id";
+        try {
+            LocalDate currentdate = DateUtils.getBusinessLocalDate();
+            // will look only for yesterday modified rates
+            LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
+            return this.jdbcTemplate.queryForList(sql, Long.class, yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate,
+                    currentdate, yesterday);
+        } catch (final EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public List<Long> fetchLoansForInterestRecalculation(String officeHierarchy) {
+        String sql = loansForInterestRecalculationSql(officeHierarchy != null, "") + " group by ml.id";
+        return this.jdbcTemplate.queryForList(sql, Long.class, loansForInterestRecalculationParameters(officeHierarchy).toArray());
+    }
+
+    @Override
+    public List<Long> fetchLoansForInterestRecalculation(Long minLoanId, Long maxLoanId, String officeHierarchy, int limit) {
+        String sql = loansForInterestRecalculationSql(officeHierarchy != null, " and ml.id between ? and ?")
+                + " group by ml.id order by ml.id " + sqlGenerator.limit(limit);
+        List<Object> parameters = loansForInterestRecalculationParameters(officeHierarchy);
+        parameters.add(minLoanId);
+        parameters.add(maxLoanId);
+        return this.jdbcTemplate.queryForList(sql, Long.class, parameters.toArray());
+    }
+
+    private List<Object> loansForInterestRecalculationParameters(String officeHierarchy) {
+        LocalDate currentdate = DateUtils.getBusinessLocalDate();
+        // will look only for yesterday modified rates
+        LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
+        List<Object> parameters = new ArrayList<>(
+                List.of(yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday));
+        if (officeHierarchy != null) {
+            parameters.add(officeHierarchy);
+        }
+        return parameters;
+    }
+
+    private String loansForInterestRecalculationSql(boolean filterByOfficeHierarchy, String additionalCondition) {
         StringBuilder sqlBuilder = new StringBuilder();
         sqlBuilder.append("SELECT ml.id FROM m_loan ml ");
+        if (filterByOfficeHierarchy) {
+            sqlBuilder.append(" left join m_client mc on mc.id = ml.client_id ");
+            sqlBuilder.append(" left join m_office o on mc.office_id = o.id  ");
+        }
         sqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
         sqlBuilder.append(" LEFT JOIN m_loan_disbursement_detail dd on dd.loan_id=ml.id and dd.disbursedon_date is null ");
         // For Floating rate changes
@@ -1922,16 +1967,11 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                 .append("(bfrp.id is not null and frp.is_differential_to_base_lending_rate = true and frp.from_date >= bfrp.from_date)) ");
         sqlBuilder.append("and lrr.loan_id is null");
         sqlBuilder.append(" ))");
-        sqlBuilder.append(" group by ml.id");
-        try {
-            LocalDate currentdate = DateUtils.getBusinessLocalDate();
-            // will look only for yesterday modified rates
-            LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
-            return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, yesterday, LoanStatus.ACTIVE.getValue(), currentdate,
-                    currentdate, currentdate, yesterday);
-        } catch (final EmptyResultDataAccessException e) {
-            return null;
+        if (filterByOfficeHierarchy) {
+            sqlBuilder.append(" and o.hierarchy like ? ");
         }
+        sqlBuilder.append(additionalCondition);
+        return sqlBuilder.toString();
     }
 
     @Override
@@ -19,6 +19,8 @@
 package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
 
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.FineractContextPropagatingTaskDecorator;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
@@ -34,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
@@ -66,6 +69,20 @@ public class PostInterestForSavingConfig {
         return steps.get(JobName.POST_INTEREST_FOR_SAVINGS.name()).tasklet(postInterestForSavingTasklet).build();
     }
 
+    @Bean
+    public ThreadPoolTaskExecutor postInterestForSavingTaskExecutor(FineractProperties fineractProperties) {
+        FineractProperties.FineractSavingsInterestPostingProperties interestPosting = fineractProperties.getSavings().getInterestPosting();
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        // The reader and at least one worker have to run at the same time
+        int poolSize = Math.max(interestPosting.getThreadPoolSize(), 2);
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(interestPosting.getQueueCapacity());
+        taskExecutor.setThreadNamePrefix("post-interest-worker-");
+        taskExecutor.setTaskDecorator(new FineractContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+
     @Bean
     public Job postInterestForSavingJob(PostInterestForSavingTasklet postInterestForSavingTasklet) {
         return jobs.get(JobName.POST_INTEREST_FOR_SAVINGS.name()).start(postInterestForSavingStep(postInterestForSavingTasklet))
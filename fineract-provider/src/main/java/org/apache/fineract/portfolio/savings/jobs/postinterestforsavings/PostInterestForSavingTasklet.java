@@ -20,22 +20,24 @@ package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
 
 import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
 
-import java.util.ArrayDeque;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
-import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
 import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPoster;
@@ -43,177 +45,224 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
-@RequiredArgsConstructor
+/**
+ * Posts the interest of the active savings accounts through a bounded producer/consumer pipeline: a single reader streams
+ * the due account ids through a database cursor and hands them over in batches to the workers, each of which loads its
+ * batch, calculates the interest and writes the results with one {@link SavingsSchedularInterestPoster}. The queue
+ * between the two sides is bounded, so the reader is held back while the workers are busy and the memory footprint does
+ * not depend on the number of accounts.
+ */
 @Slf4j
 @Component
 public class PostInterestForSavingTasklet implements Tasklet {
 
+    public static final String POSTED_ACCOUNTS_COUNTER_NAME = "fineract.savings.interest.posting.accounts.posted";
+    public static final String FAILED_ACCOUNTS_COUNTER_NAME = "fineract.savings.interest.posting.accounts.failed";
+    public static final String BATCH_TIMER_NAME = "fineract.savings.interest.posting.batch";
+
+    private static final int QUEUED_BATCHES_PER_WORKER = 2;
+    private static final int CURSOR_FETCH_SIZE = 1000;
+    private static final long QUEUE_OFFER_TIMEOUT_SECONDS = 1L;
+    // Batches are never empty, so an empty list marks the end of the stream
+    private static final List<Long> END_OF_STREAM = Collections.emptyList();
+
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
     private final ConfigurationDomainService configurationDomainService;
-    private final Queue<List<SavingsAccountData>> queue = new ArrayDeque<>();
     private final ApplicationContext applicationContext;
-    private final int queueSize = 1;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final Counter postedAccountsCounter;
+    private final Counter failedAccountsCounter;
+    private final Timer batchTimer;
+
+    public PostInterestForSavingTasklet(SavingsAccountReadPlatformService savingAccountReadPlatformService,
+            ConfigurationDomainService configurationDomainService, ApplicationContext applicationContext,
+            TransactionTemplate transactionTemplate, @Qualifier("postInterestForSavingTaskExecutor") ThreadPoolTaskExecutor taskExecutor,
+            MeterRegistry meterRegistry) {
+        this.savingAccountReadPlatformService = savingAccountReadPlatformService;
+        this.configurationDomainService = configurationDomainService;
+        this.applicationContext = applicationContext;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.postedAccountsCounter = Counter.builder(POSTED_ACCOUNTS_COUNTER_NAME)
+                .description("Number of savings accounts whose interest has been posted").register(meterRegistry);
+        this.failedAccountsCounter = Counter.builder(FAILED_ACCOUNTS_COUNTER_NAME)
+                .description("Number of savings accounts whose interest posting has failed").register(meterRegistry);
+        this.batchTimer = Timer.builder(BATCH_TIMER_NAME).description("Time spent on loading and posting the interest of a batch")
+                .register(meterRegistry);
+    }
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         final int threadPoolSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("thread-pool-size"));
         final int batchSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("batch-size"));
-        final int pageSize = batchSize * threadPoolSize;
-        Long maxSavingsIdInList = 0L;
-        final ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
         final boolean backdatedTxnsAllowedTill = this.configurationDomainService.retrievePivotDateConfig();
 
-        long start = System.currentTimeMillis();
-
-        log.debug("Reading Savings Account Data!");
-        List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
-                .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxSavingsIdInList);
-
-        if (savingsAccounts != null && savingsAccounts.size() > 0) {
-            savingsAccounts = Collections.synchronizedList(savingsAccounts);
-            long finish = System.currentTimeMillis();
-            log.debug("Done fetching Data within {} milliseconds", finish - start);
-            queue.add(savingsAccounts);
-
-            if (!CollectionUtils.isEmpty(queue)) {
-                do {
-                    int totalFilteredRecords = savingsAccounts.size();
-                    log.debug("Starting Interest posting - total records - {}", totalFilteredRecords);
-                    List<SavingsAccountData> queueElement = queue.element();
-                    maxSavingsIdInList = queueElement.get(queueElement.size() - 1).getId();
-                    postInterest(queue.remove(), threadPoolSize, executorService, backdatedTxnsAllowedTill, pageSize, maxSavingsIdInList);
-                } while (!CollectionUtils.isEmpty(queue));
-            }
-            executorService.shutdownNow();
-        }
+        // One thread of the pool is taken by the reader
+        final int workerCount = Math.max(Math.min(threadPoolSize, taskExecutor.getMaxPoolSize() - 1), 1);
+        InterestPostingRun run = new InterestPostingRun(workerCount, Math.max(batchSize, 1), backdatedTxnsAllowedTill);
+        run.execute();
         return RepeatStatus.FINISHED;
     }
 
-    private void postInterest(List<SavingsAccountData> savingsAccounts, int threadPoolSize, ExecutorService executorService,
-            final boolean backdatedTxnsAllowedTill, final int pageSize, Long maxSavingsIdInList) {
-        List<Callable<Void>> posters = new ArrayList<>();
-        int fromIndex = 0;
-        int size = savingsAccounts.size();
-        int batchSize = (int) Math.ceil((double) size / threadPoolSize);
+    private final class InterestPostingRun {
 
-        if (batchSize == 0) {
-            return;
-        }
+        private final int workerCount;
+        private final int batchSize;
+        private final boolean backdatedTxnsAllowedTill;
+        private final BlockingQueue<List<Long>> queue;
+        private final AtomicBoolean aborted = new AtomicBoolean();
+        private final AtomicLong postedAccounts = new AtomicLong();
+        private final AtomicLong failedAccounts = new AtomicLong();
+        private final List<Throwable> errors = new ArrayList<>();
+        private List<Long> currentBatch;
 
-        int toIndex = (batchSize > size - 1) ? size : batchSize;
-        while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-            toIndex++;
+        private InterestPostingRun(int workerCount, int batchSize, boolean backdatedTxnsAllowedTill) {
+            this.workerCount = workerCount;
+            this.batchSize = batchSize;
+            this.backdatedTxnsAllowedTill = backdatedTxnsAllowedTill;
+            this.queue = new ArrayBlockingQueue<>(workerCount * QUEUED_BATCHES_PER_WORKER);
+            this.currentBatch = new ArrayList<>(batchSize);
         }
-        boolean lastBatch = false;
-        int loopCount = size / batchSize + 1;
-
-        FineractContext context = ThreadLocalContextUtil.getContext();
 
-        Callable<Void> fetchData = () -> {
-            ThreadLocalContextUtil.init(context);
-            Long maxId = maxSavingsIdInList;
-            if (!queue.isEmpty()) {
-                maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
+        private void execute() throws InterruptedException, JobExecutionException {
+            long start = System.nanoTime();
+            List<Future<?>> tasks = new ArrayList<>(workerCount + 1);
+            tasks.add(taskExecutor.submit(this::readSavingsIds));
+            for (int i = 0; i < workerCount; i++) {
+                tasks.add(taskExecutor.submit(this::postInterest));
             }
-
-            while (queue.size() <= queueSize) {
-                log.debug("Fetching while threads are running!");
-                List<SavingsAccountData> savingsAccountDataList = Collections.synchronizedList(this.savingAccountReadPlatformService
-                        .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-                if (savingsAccountDataList.isEmpty()) {
-                    break;
+            try {
+                for (Future<?> task : tasks) {
+                    awaitCompletion(task);
                 }
-                maxId = savingsAccountDataList.get(savingsAccountDataList.size() - 1).getId();
-                queue.add(savingsAccountDataList);
-            }
-            return null;
-        };
-        posters.add(fetchData);
-
-        for (long i = 0; i < loopCount; i++) {
-            List<SavingsAccountData> subList = safeSubList(savingsAccounts, fromIndex, toIndex);
-            SavingsSchedularInterestPoster savingsSchedularInterestPoster = applicationContext
-                    .getBean(SavingsSchedularInterestPoster.class);
-            savingsSchedularInterestPoster.setSavingAccounts(subList);
-            savingsSchedularInterestPoster.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
-            savingsSchedularInterestPoster.setContext(ThreadLocalContextUtil.getContext());
-
-            posters.add(savingsSchedularInterestPoster);
-
-            if (lastBatch) {
-                break;
+            } catch (InterruptedException e) {
+                aborted.set(true);
+                tasks.forEach(task -> task.cancel(true));
+                throw e;
             }
-            if (toIndex + batchSize > size - 1) {
-                lastBatch = true;
-            }
-            fromIndex = fromIndex + (toIndex - fromIndex);
-            toIndex = (toIndex + batchSize > size - 1) ? size : toIndex + batchSize;
-            while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-                toIndex++;
+            long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1L);
+            log.info("Interest posted for {} savings accounts ({} failed) in {} ms, {} accounts/s", postedAccounts.get(),
+                    failedAccounts.get(), elapsedMillis, postedAccounts.get() * 1000L / elapsedMillis);
+            if (!errors.isEmpty()) {
+                throw new JobExecutionException(errors);
             }
         }
 
-        try {
-            List<Future<Void>> responses = executorService.invokeAll(posters);
-            Long maxId = maxSavingsIdInList;
-            if (!queue.isEmpty()) {
-                maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
+        private void awaitCompletion(Future<?> task) throws InterruptedException {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                aborted.set(true);
+                errors.add(e.getCause());
+                log.error("Execution exception while posting the interest of the savings accounts", e.getCause());
             }
+        }
 
-            while (queue.size() <= queueSize) {
-                log.debug("Fetching while threads are running!..:: this is not supposed to run........");
-                savingsAccounts = Collections.synchronizedList(this.savingAccountReadPlatformService
-                        .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-                if (savingsAccounts.isEmpty()) {
-                    break;
+        private void readSavingsIds() {
+            try {
+                // The cursor is only streamed by PostgreSQL within a transaction
+                transactionTemplate.executeWithoutResult(status -> savingAccountReadPlatformService
+                        .streamSavingsIdsForInterestPosting(ACTIVE.getValue(), CURSOR_FETCH_SIZE, this::addSavingsId));
+                if (!currentBatch.isEmpty()) {
+                    enqueue(currentBatch);
+                }
+            } finally {
+                for (int i = 0; i < workerCount; i++) {
+                    // The workers must always be released, so the end of stream markers ignore the aborted flag
+                    if (!queue.offer(END_OF_STREAM)) {
+                        enqueueEndOfStream();
+                    }
                 }
-                maxId = savingsAccounts.get(savingsAccounts.size() - 1).getId();
-                log.debug("Add to the Queue");
-                queue.add(savingsAccounts);
             }
-
-            checkCompletion(responses);
-            log.debug("Queue size {}", queue.size());
-        } catch (InterruptedException e1) {
-            log.error("Interrupted while postInterest", e1);
         }
-    }
 
-    private <T> List<T> safeSubList(List<T> list, int fromIndex, int toIndex) {
-        int size = list.size();
-        if (fromIndex >= size || toIndex <= 0 || fromIndex >= toIndex) {
-            return Collections.emptyList();
+        private void addSavingsId(Long savingsId) {
+            currentBatch.add(savingsId);
+            if (currentBatch.size() >= batchSize) {
+                enqueue(currentBatch);
+                currentBatch = new ArrayList<>(batchSize);
+            }
         }
 
-        fromIndex = Math.max(0, fromIndex);
-        toIndex = Math.min(size, toIndex);
-
-        return list.subList(fromIndex, toIndex);
-    }
+        private void enqueue(List<Long> batch) {
+            try {
+                while (!queue.offer(batch, QUEUE_OFFER_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    if (aborted.get()) {
+                        throw new CancellationException("Interest posting has been aborted");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while reading the savings accounts");
+            }
+        }
 
-    private void checkCompletion(List<Future<Void>> responses) {
-        try {
-            for (Future<Void> f : responses) {
-                f.get();
+        private void enqueueEndOfStream() {
+            try {
+                while (!queue.offer(END_OF_STREAM, QUEUE_OFFER_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    if (aborted.get()) {
+                        // A failed worker no longer drains the queue, so the pending batches are dropped
+                        queue.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-            boolean allThreadsExecuted;
-            int noOfThreadsExecuted = 0;
-            for (Future<Void> future : responses) {
-                if (future.isDone()) {
-                    noOfThreadsExecuted++;
+        }
+
+        private void postInterest() {
+            boolean completed = false;
+            try {
+                while (!completed) {
+                    List<Long> savingsIds = queue.take();
+                    if (savingsIds.isEmpty()) {
+                        completed = true;
+                    } else {
+                        postInterest(savingsIds);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (!completed) {
+                    // Lets the reader give up instead of waiting for a worker which is gone
+                    aborted.set(true);
                 }
             }
-            allThreadsExecuted = noOfThreadsExecuted == responses.size();
-            if (!allThreadsExecuted) {
-                log.error("All threads could not execute.");
+        }
+
+        private void postInterest(List<Long> savingsIds) {
+            Timer.Sample sample = Timer.start();
+            try {
+                List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
+                        .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, savingsIds);
+                if (!savingsAccounts.isEmpty()) {
+                    SavingsSchedularInterestPoster savingsSchedularInterestPoster = applicationContext
+                            .getBean(SavingsSchedularInterestPoster.class);
+                    savingsSchedularInterestPoster.setSavingAccounts(savingsAccounts);
+                    savingsSchedularInterestPoster.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
+                    savingsSchedularInterestPoster.setContext(ThreadLocalContextUtil.getContext());
+                    savingsSchedularInterestPoster.call();
+                }
+                postedAccounts.addAndGet(savingsAccounts.size());
+                postedAccountsCounter.increment(savingsAccounts.size());
+                log.debug("Interest posted for {} savings accounts so far", postedAccounts.get());
+            } catch (Exception e) {
+                // The poster writes a batch in a single transaction, so a failure rolls back the whole batch
+                failedAccounts.addAndGet(savingsIds.size());
+                failedAccountsCounter.increment(savingsIds.size());
+                log.error("Interest posting failed for the savings accounts {} to {}", savingsIds.get(0),
+                        savingsIds.get(savingsIds.size() - 1), e);
+            } finally {
+                sample.stop(batchTimer);
             }
-        } catch (InterruptedException e1) {
-            log.error("Interrupted while interest posting entries", e1);
-        } catch (ExecutionException e2) {
-            log.error("Execution exception while interest posting entries", e2);
         }
     }
 }
@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.savings.service;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
@@ -64,8 +65,14 @@ public interface SavingsAccountReadPlatformService {
 
     List<Long> getAccountsIdsByStatusPaged(Integer status, int pageSize, Long maxSavingsIdInList);
 
-    List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(boolean backdatedTxnsAllowedTill, int pageSize, Integer status,
-            Long maxSavingsId);
+    List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(boolean backdatedTxnsAllowedTill, Collection<Long> savingsIds);
+
+    /**
+     * Streams the ids of the savings accounts which are due for interest posting in ascending order through a forward-only
+     * cursor, so the full id list never has to be kept in memory. On PostgreSQL the cursor is only honoured when the call is
+     * made within a transaction.
+     */
+    void streamSavingsIdsForInterestPosting(Integer status, int fetchSize, Consumer<Long> savingsIdConsumer);
 
     List<SavingsAccountTransactionData> retrieveAllTransactionData(List<String> refNo);
 }
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import javax.persistence.CascadeType;
@@ -37,6 +38,7 @@ import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -119,6 +121,13 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
     @Column(name = "cannot_change_password", nullable = true)
     private Boolean cannotChangePassword;
 
+    /**
+     * Upper cased codes of the permissions granted by the roles of the user. Compiled on the first permission check, so
+     * the user cached in usersByUsername answers the checks with a single hash lookup.
+     */
+    @Transient
+    private transient volatile Set<String> permissionCodes;
+
     public static AppUser fromJson(final Office userOffice, final Staff linkedStaff, final Set<Role> allRoles,
             final Collection<Client> clients, final JsonCommand command) {
 
@@ -218,6 +227,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
         if (!allRoles.isEmpty()) {
             this.roles.clear();
             this.roles = allRoles;
+            this.permissionCodes = null;
         }
     }
 
@@ -362,6 +372,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
         this.firstTimeLoginRemaining = true;
         this.username = getId() + "_DELETED_" + this.username;
         this.roles.clear();
+        this.permissionCodes = null;
     }
 
     public boolean isDeleted() {
@@ -539,14 +550,7 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
      * @return whether the user has the specified permission
      */
     public boolean hasSpecificPermissionTo(final String permissionCode) {
-        boolean hasPermission = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo(permissionCode)) {
-                hasPermission = true;
-                break;
-            }
-        }
-        return hasPermission;
+        return permissionCode != null && getPermissionCodes().contains(permissionCode.toUpperCase(Locale.ROOT));
     }
 
     public void validateHasReadPermission(final String resourceType) {
@@ -581,27 +585,29 @@ public class AppUser extends AbstractPersistableCustom implements PlatformUser {
     }
 
     private boolean hasPermissionTo(final String permissionCode) {
-        boolean hasPermission = hasAllFunctionsPermission();
-        if (!hasPermission) {
-            for (final Role role : this.roles) {
-                if (role.hasPermissionTo(permissionCode)) {
-                    hasPermission = true;
-                    break;
-                }
-            }
-        }
-        return hasPermission;
+        return hasAllFunctionsPermission() || hasSpecificPermissionTo(permissionCode);
     }
 
     private boolean hasAllFunctionsPermission() {
-        boolean match = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo("ALL_FUNCTIONS")) {
-                match = true;
-                break;
+        return getPermissionCodes().contains("ALL_FUNCTIONS");
+    }
+
+    private Set<String> getPermissionCodes() {
+        Set<String> codes = this.permissionCodes;
+        if (codes == null) {
+            // Racing threads compile the same set, so the last write winning is fine
+            final Set<String> compiledCodes = new HashSet<>();
+            for (final Role role : this.roles) {
+                for (final Permission permission : role.getPermissions()) {
+                    if (permission.getCode() != null) {
+                        compiledCodes.add(permission.getCode().toUpperCase(Locale.ROOT));
+                    }
+                }
             }
+            codes = Set.copyOf(compiledCodes);
+            this.permissionCodes = codes;
         }
-        return match;
+        return codes;
     }
 
     public boolean hasIdOf(final Long userId) {
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.jobs.accountrunningbalanceupdate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceUpdateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountRunningBalanceUpdatePartitionTaskletTest {
+
+    @Mock
+    private JournalEntryRunningBalanceUpdateService journalEntryRunningBalanceUpdateService;
+    private AccountRunningBalanceUpdatePartitionTasklet underTest;
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new AccountRunningBalanceUpdatePartitionTasklet(journalEntryRunningBalanceUpdateService);
+        stepExecution = new StepExecution("worker", new JobExecution(1L));
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putLong(AccountRunningBalanceUpdatePartitioner.MIN_ACCOUNT_ID, 1L);
+        executionContext.putLong(AccountRunningBalanceUpdatePartitioner.MAX_ACCOUNT_ID, 9L);
+        executionContext.putInt(AccountRunningBalanceUpdatePartitioner.ACCOUNT_COUNT, 2);
+        stepExecution.setExecutionContext(executionContext);
+    }
+
+    @Test
+    public void givenPartitionWhenExecutedThenAccountsAreRecalculatedOneByOneUntilTheRangeIsDone() throws Exception {
+        // given
+        when(journalEntryRunningBalanceUpdateService.updateNextRunningBalance(1L, 9L)).thenReturn(4L);
+        when(journalEntryRunningBalanceUpdateService.updateNextRunningBalance(5L, 9L)).thenReturn(9L);
+        // when & then
+        assertEquals(RepeatStatus.CONTINUABLE, execute());
+        assertEquals(RepeatStatus.FINISHED, execute());
+        assertEquals(2, stepExecution.getWriteCount());
+        assertEquals(2, stepExecution.getExecutionContext().getInt(AccountRunningBalanceUpdatePartitionTasklet.RECALCULATED_ACCOUNT_COUNT));
+        assertEquals(10L, stepExecution.getExecutionContext().getLong(AccountRunningBalanceUpdatePartitioner.MIN_ACCOUNT_ID));
+    }
+
+    @Test
+    public void givenRestartedPartitionWhenExecutedThenProgressContinuesFromThePreviousExecution() throws Exception {
+        // given
+        ExecutionContext restoredContext = new ExecutionContext(stepExecution.getExecutionContext());
+        restoredContext.putLong(AccountRunningBalanceUpdatePartitioner.MIN_ACCOUNT_ID, 5L);
+        restoredContext.putInt(AccountRunningBalanceUpdatePartitionTasklet.RECALCULATED_ACCOUNT_COUNT, 1);
+        stepExecution = new StepExecution("worker", new JobExecution(2L));
+        stepExecution.setExecutionContext(restoredContext);
+        when(journalEntryRunningBalanceUpdateService.updateNextRunningBalance(5L, 9L)).thenReturn(9L);
+        // when & then
+        assertEquals(RepeatStatus.FINISHED, execute());
+        assertEquals(1, stepExecution.getWriteCount());
+        assertEquals(2, stepExecution.getExecutionContext().getInt(AccountRunningBalanceUpdatePartitionTasklet.RECALCULATED_ACCOUNT_COUNT));
+    }
+
+    @Test
+    public void givenNothingToRecalculateWhenExecutedThenPartitionIsFinished() throws Exception {
+        // given
+        when(journalEntryRunningBalanceUpdateService.updateNextRunningBalance(1L, 9L)).thenReturn(null);
+        // when & then
+        assertEquals(RepeatStatus.FINISHED, execute());
+        assertEquals(0, stepExecution.getWriteCount());
+    }
+
+    private RepeatStatus execute() throws Exception {
+        StepContribution contribution = stepExecution.createStepContribution();
+        RepeatStatus status = underTest.execute(contribution, null);
+        stepExecution.apply(contribution);
+        return status;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.jobs.accountrunningbalanceupdate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryRunningBalanceUpdateService;
+import org.apache.fineract.infrastructure.jobs.service.IdRangePartitions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountRunningBalanceUpdatePartitionerTest {
+
+    @Mock
+    private JournalEntryRunningBalanceUpdateService journalEntryRunningBalanceUpdateService;
+    private AccountRunningBalanceUpdatePartitioner underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new AccountRunningBalanceUpdatePartitioner(journalEntryRunningBalanceUpdateService);
+    }
+
+    @Test
+    public void givenAccountsWhenPartitionThenAccountsAreSplitIntoContiguousRanges() {
+        // given
+        when(journalEntryRunningBalanceUpdateService.retrieveAccountIdsToRecalculate()).thenReturn(List.of(1L, 4L, 5L, 9L, 12L));
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(2);
+        // then
+        assertEquals(2, partitions.size());
+        assertPartition(partitions.get(IdRangePartitions.PARTITION_PREFIX + "1"), 1L, 5L, 3);
+        assertPartition(partitions.get(IdRangePartitions.PARTITION_PREFIX + "2"), 9L, 12L, 2);
+    }
+
+    @Test
+    public void givenLessAccountsThanGridSizeWhenPartitionThenEveryAccountHasItsOwnPartition() {
+        // given
+        when(journalEntryRunningBalanceUpdateService.retrieveAccountIdsToRecalculate()).thenReturn(List.of(3L, 7L));
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(16);
+        // then
+        assertEquals(2, partitions.size());
+        assertPartition(partitions.get(IdRangePartitions.PARTITION_PREFIX + "1"), 3L, 3L, 1);
+        assertPartition(partitions.get(IdRangePartitions.PARTITION_PREFIX + "2"), 7L, 7L, 1);
+    }
+
+    @Test
+    public void givenNoAccountsWhenPartitionThenNoPartitionIsCreated() {
+        // given
+        when(journalEntryRunningBalanceUpdateService.retrieveAccountIdsToRecalculate()).thenReturn(List.of());
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(4);
+        // then
+        assertTrue(partitions.isEmpty());
+    }
+
+    private void assertPartition(ExecutionContext partition, long minAccountId, long maxAccountId, int accountCount) {
+        assertEquals(minAccountId, partition.getLong(AccountRunningBalanceUpdatePartitioner.MIN_ACCOUNT_ID));
+        assertEquals(maxAccountId, partition.getLong(AccountRunningBalanceUpdatePartitioner.MAX_ACCOUNT_ID));
+        assertEquals(accountCount, partition.getInt(AccountRunningBalanceUpdatePartitioner.ACCOUNT_COUNT));
+    }
+}
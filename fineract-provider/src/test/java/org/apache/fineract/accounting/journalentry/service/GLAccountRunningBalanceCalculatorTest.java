@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class GLAccountRunningBalanceCalculatorTest {
+
+    private static final Long ACCOUNT_ID = 10L;
+    private static final Long USER_ID = 7L;
+    private static final LocalDate FROM_DATE = LocalDate.of(2022, 10, 1);
+    private static final OffsetDateTime MODIFIED_ON = OffsetDateTime.of(2022, 11, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private GLAccountRunningBalanceCalculator underTest;
+    private final List<Object[]> updates = new ArrayList<>();
+    private final List<Object[]> snapshots = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new GLAccountRunningBalanceCalculator(jdbcTemplate, transactionTemplate);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(ACCOUNT_ID))).thenReturn(GLAccountType.ASSET.getValue());
+        doAnswer(invocation -> {
+            updates.addAll(invocation.getArgument(1));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(startsWith("UPDATE acc_gl_journal_entry"), anyList());
+        doAnswer(invocation -> {
+            snapshots.addAll(invocation.getArgument(1));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO acc_gl_running_balance_snapshot"), anyList());
+    }
+
+    @Test
+    public void givenSnapshotBeforeFromDateWhenOrganizationBalanceIsRecalculatedThenItStartsFromTheSnapshot() throws SQLException {
+        // given
+        givenRows("select s.office_id", new Object[] { ACCOUNT_ID, FROM_DATE }, snapshotRow(1L, BigDecimal.valueOf(100)));
+        givenRows("select je.id", new Object[] { ACCOUNT_ID, FROM_DATE },
+                entryRow(1L, 1L, FROM_DATE, JournalEntryType.DEBIT, BigDecimal.valueOf(50)),
+                entryRow(2L, 2L, FROM_DATE, JournalEntryType.CREDIT, BigDecimal.valueOf(20)),
+                entryRow(3L, 1L, FROM_DATE.plusDays(1), JournalEntryType.CREDIT, BigDecimal.valueOf(30)));
+        // when
+        underTest.recalculateOrganizationRunningBalance(ACCOUNT_ID, FROM_DATE, USER_ID, MODIFIED_ON);
+        // then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForObject(endsWith("for update"), eq(Integer.class), eq(ACCOUNT_ID));
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM acc_gl_running_balance_snapshot"), eq(ACCOUNT_ID), eq(FROM_DATE));
+        assertEquals(3, updates.size());
+        assertArrayEquals(new Object[] { Boolean.TRUE, BigDecimal.valueOf(150), BigDecimal.valueOf(150), USER_ID, MODIFIED_ON, 1L },
+                updates.get(0));
+        assertArrayEquals(new Object[] { Boolean.TRUE, BigDecimal.valueOf(130), BigDecimal.valueOf(-20), USER_ID, MODIFIED_ON, 2L },
+                updates.get(1));
+        assertArrayEquals(new Object[] { Boolean.TRUE, BigDecimal.valueOf(100), BigDecimal.valueOf(120), USER_ID, MODIFIED_ON, 3L },
+                updates.get(2));
+        assertEquals(3, snapshots.size());
+        assertArrayEquals(new Object[] { 1L, ACCOUNT_ID, FROM_DATE, BigDecimal.valueOf(150), 1L }, snapshots.get(0));
+        assertArrayEquals(new Object[] { 2L, ACCOUNT_ID, FROM_DATE, BigDecimal.valueOf(-20), 2L }, snapshots.get(1));
+        assertArrayEquals(new Object[] { 1L, ACCOUNT_ID, FROM_DATE.plusDays(1), BigDecimal.valueOf(120), 3L }, snapshots.get(2));
+    }
+
+    @Test
+    public void givenOfficeWhenOfficeBalanceIsRecalculatedThenOnlyTheEntriesOfTheOfficeAreUpdated() throws SQLException {
+        // given
+        givenRows("select s.office_id", new Object[] { ACCOUNT_ID, FROM_DATE, 1L }, snapshotRow(1L, BigDecimal.valueOf(100)));
+        givenRows("select je.id", new Object[] { ACCOUNT_ID, FROM_DATE, 1L },
+                entryRow(1L, 1L, FROM_DATE, JournalEntryType.CREDIT, BigDecimal.valueOf(40)));
+        // when
+        underTest.recalculateOfficeRunningBalance(1L, ACCOUNT_ID, FROM_DATE, USER_ID, MODIFIED_ON);
+        // then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForObject(endsWith("for update"), eq(Integer.class), eq(ACCOUNT_ID));
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM acc_gl_running_balance_snapshot"), eq(ACCOUNT_ID), eq(FROM_DATE),
+                eq(1L));
+        assertEquals(1, updates.size());
+        assertArrayEquals(new Object[] { BigDecimal.valueOf(60), USER_ID, MODIFIED_ON, 1L }, updates.get(0));
+        assertEquals(1, snapshots.size());
+        assertArrayEquals(new Object[] { 1L, ACCOUNT_ID, FROM_DATE, BigDecimal.valueOf(60), 1L }, snapshots.get(0));
+    }
+
+    private void givenRows(String sqlPrefix, Object[] params, ResultSet... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith(sqlPrefix), any(RowCallbackHandler.class), eqAll(params));
+    }
+
+    private static Object[] eqAll(Object[] params) {
+        return Arrays.stream(params).map(ArgumentMatchers::eq).toArray();
+    }
+
+    private ResultSet snapshotRow(Long officeId, BigDecimal runningBalance) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("officeId")).thenReturn(officeId);
+        when(rs.getBigDecimal("runningBalance")).thenReturn(runningBalance);
+        return rs;
+    }
+
+    private ResultSet entryRow(Long id, Long officeId, LocalDate entryDate, JournalEntryType entryType, BigDecimal amount)
+            throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getLong("officeId")).thenReturn(officeId);
+        when(rs.getDate("entryDate")).thenReturn(Date.valueOf(entryDate));
+        when(rs.getInt("entryType")).thenReturn(entryType.getValue());
+        when(rs.getBigDecimal("amount")).thenReturn(amount);
+        return rs;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class JournalEntryRunningBalanceUpdateServiceImplTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2022, 10, 1);
+    private static final LocalDate SECOND_DATE = LocalDate.of(2022, 10, 5);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+    @Mock
+    private JournalEntryDataValidator dataValidator;
+    @Mock
+    private FromJsonHelper fromApiJsonHelper;
+    @Mock
+    private PlatformSecurityContext platformSecurityContext;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private GLAccountRunningBalanceCalculator runningBalanceCalculator;
+    @Mock
+    private AppUser appUser;
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private JournalEntryRunningBalanceUpdateServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.initialize();
+        underTest = new JournalEntryRunningBalanceUpdateServiceImpl(jdbcTemplate, officeRepositoryWrapper, dataValidator,
+                fromApiJsonHelper, platformSecurityContext, sqlGenerator, runningBalanceCalculator, taskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    public void givenUncalculatedEntriesWhenRunningBalanceIsUpdatedThenEveryAccountIsRecalculatedFromItsEarliestDate() {
+        // given
+        givenAccountsToRecalculate(Map.entry(10L, FIRST_DATE), Map.entry(11L, SECOND_DATE));
+        when(platformSecurityContext.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(7L);
+        // when
+        underTest.updateRunningBalance();
+        // then
+        verify(runningBalanceCalculator).recalculateOrganizationRunningBalance(eq(10L), eq(FIRST_DATE), eq(7L), any());
+        verify(runningBalanceCalculator).recalculateOrganizationRunningBalance(eq(11L), eq(SECOND_DATE), eq(7L), any());
+    }
+
+    @Test
+    public void givenFailingAccountWhenRunningBalanceIsUpdatedThenOtherAccountsAreStillRecalculatedAndFailureIsThrown() {
+        // given
+        givenAccountsToRecalculate(Map.entry(10L, FIRST_DATE), Map.entry(11L, SECOND_DATE));
+        when(platformSecurityContext.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(7L);
+        IllegalStateException failure = new IllegalStateException("failure");
+        doThrow(failure).when(runningBalanceCalculator).recalculateOrganizationRunningBalance(eq(10L), eq(FIRST_DATE), eq(7L), any());
+        // when
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> underTest.updateRunningBalance());
+        // then
+        assertSame(failure, thrown);
+        verify(runningBalanceCalculator).recalculateOrganizationRunningBalance(eq(11L), eq(SECOND_DATE), eq(7L), any());
+    }
+
+    @Test
+    public void givenNoUncalculatedEntriesWhenRunningBalanceIsUpdatedThenNothingIsRecalculated() {
+        // given
+        givenAccountsToRecalculate();
+        // when
+        underTest.updateRunningBalance();
+        // then
+        verifyNoInteractions(runningBalanceCalculator, platformSecurityContext);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenAccountRangeWhenNextRunningBalanceIsUpdatedThenFirstPendingAccountOfRangeIsRecalculated() {
+        // given
+        when(sqlGenerator.limit(1)).thenReturn("LIMIT 0,1");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(5L), eq(20L))).thenReturn(List.of(Map.entry(10L, FIRST_DATE)));
+        when(platformSecurityContext.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(7L);
+        // when
+        Long accountId = underTest.updateNextRunningBalance(5L, 20L);
+        // then
+        assertEquals(10L, accountId);
+        verify(runningBalanceCalculator).recalculateOrganizationRunningBalance(eq(10L), eq(FIRST_DATE), eq(7L), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenNoPendingAccountInRangeWhenNextRunningBalanceIsUpdatedThenNullIsReturned() {
+        // given
+        when(sqlGenerator.limit(1)).thenReturn("LIMIT 0,1");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(5L), eq(20L))).thenReturn(List.of());
+        // when
+        Long accountId = underTest.updateNextRunningBalance(5L, 20L);
+        // then
+        assertNull(accountId);
+        verifyNoInteractions(runningBalanceCalculator);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void givenAccountsToRecalculate(Map.Entry<Long, LocalDate>... accounts) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any())).thenReturn(List.of(accounts));
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonSyntaxException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.junit.jupiter.api.Test;
+
+public class BatchRequestJsonHelperTest {
+
+    private final BatchRequestJsonHelper underTest = new BatchRequestJsonHelper();
+
+    @Test
+    public void testExtractListReadsTheRequestsFromTheStreamInOrder() {
+        // given
+        String json = "[{\"requestId\":1,\"relativeUrl\":\"clients\",\"method\":\"POST\","
+                + "\"body\":\"{\\\"firstname\\\":\\\"Petra\\\"}\"},"
+                + "{\"requestId\":2,\"relativeUrl\":\"loans\",\"method\":\"POST\",\"reference\":1,"
+                + "\"body\":\"{\\\"clientId\\\":\\\"$.clientId\\\"}\"}]";
+        List<Long> seenRequestIds = new ArrayList<>();
+        // when
+        List<BatchRequest> requests = underTest.extractList(stream(json), request -> seenRequestIds.add(request.getRequestId()));
+        // then
+        assertEquals(List.of(1L, 2L), seenRequestIds);
+        assertEquals(2, requests.size());
+        assertEquals("{\"firstname\":\"Petra\"}", requests.get(0).getBody());
+        assertEquals(1L, requests.get(1).getReference());
+    }
+
+    @Test
+    public void testExtractListStopsReadingWhenARequestIsRejected() {
+        // given
+        String json = "[{\"requestId\":1,\"method\":\"POST\"},{\"requestId\":2,\"method\":\"POST\"}, this is not read";
+        List<Long> seenRequestIds = new ArrayList<>();
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> underTest.extractList(stream(json), request -> {
+            seenRequestIds.add(request.getRequestId());
+            throw new IllegalArgumentException("rejected");
+        }));
+        assertEquals(List.of(1L), seenRequestIds);
+    }
+
+    @Test
+    public void testExtractListWithMalformedOrEmptyPayload() {
+        assertThrows(JsonSyntaxException.class, () -> underTest.extractList(stream("{\"requestId\":1}"), request -> {}));
+        assertThrows(JsonSyntaxException.class, () -> underTest.extractList(stream("[{\"requestId\":1"), request -> {}));
+        assertTrue(underTest.extractList(stream(""), request -> {}).isEmpty());
+    }
+
+    private InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class BatchApiServiceImplTest {
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+
+    @Mock
+    private ResolutionHelper resolutionHelper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CommandStrategy commandStrategy;
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractBatchApiProperties batchApiProperties = new FineractProperties.FineractBatchApiProperties();
+        batchApiProperties.setParallelExecutionEnabled(true);
+        batchApiProperties.setThreadPoolSize(3);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setBatchApi(batchApiProperties);
+        taskExecutor = new BatchApiConfig().batchApiTaskExecutor(fineractProperties);
+        taskExecutor.initialize();
+        underTest = new BatchApiServiceImpl(strategyProvider, resolutionHelper, transactionTemplate, fineractProperties, taskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    public void testIndependentRequestTreesAreExecutedConcurrentlyInTheTenantContext() {
+        // given
+        List<BatchRequest> requests = List.of(request(3L), request(1L), request(2L));
+        given(resolutionHelper.getDependingRequests(requests)).willReturn(requests.stream().map(this::node).toList());
+        given(strategyProvider.getCommandStrategy(any())).willReturn(commandStrategy);
+        CountDownLatch allStarted = new CountDownLatch(requests.size());
+        given(commandStrategy.execute(any(), any())).willAnswer(invocation -> {
+            BatchRequest request = invocation.getArgument(0);
+            allStarted.countDown();
+            // Only returns if every request tree is in progress at the same time
+            assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+            if (request.getRequestId() == 2L) {
+                throw new IllegalStateException("failed");
+            }
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200)
+                    .setBody(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+        });
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsWithoutEnclosingTransaction(requests, null);
+        // then
+        assertEquals(List.of(1L, 2L, 3L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertEquals("default", responses.get(0).getBody());
+        assertNotEquals(200, responses.get(1).getStatusCode());
+        assertEquals("default", responses.get(2).getBody());
+    }
+
+    private BatchRequest request(Long requestId) {
+        return new BatchRequest().setRequestId(requestId).setRelativeUrl("loans/" + requestId + "/transactions?command=repayment")
+                .setMethod("POST");
+    }
+
+    private BatchRequestNode node(BatchRequest request) {
+        BatchRequestNode node = new BatchRequestNode();
+        node.setRequest(request);
+        return node;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.junit.jupiter.api.Test;
+
+public class ResolutionHelperTest {
+
+    private final ResolutionHelper underTest = new ResolutionHelper(new FromJsonHelper());
+
+    @Test
+    public void testResoluteRequestKeepsBodyWithoutReferences() {
+        // given
+        BatchResponse parentResponse = new BatchResponse().setRequestId(1L).setStatusCode(200).setBody("{\"clientId\":7}");
+        String body = "{ \"note\" : \"as sent\" }";
+        BatchRequest plain = new BatchRequest().setRequestId(2L).setRelativeUrl("loans").setBody(body);
+        BatchRequest referencing = new BatchRequest().setRequestId(3L).setRelativeUrl("loans").setBody("{\"clientId\":\"$.clientId\"}");
+        // when
+        BatchRequest resolvedPlain = underTest.resoluteRequest(plain, parentResponse);
+        BatchRequest resolvedReferencing = underTest.resoluteRequest(referencing, parentResponse);
+        // then
+        assertEquals(body, resolvedPlain.getBody());
+        assertEquals("{\"clientId\":7}", resolvedReferencing.getBody());
+    }
+}
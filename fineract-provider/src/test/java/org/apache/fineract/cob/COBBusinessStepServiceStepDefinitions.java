@@ -25,6 +25,7 @@ import static org.mockito.Mockito.mock;
 
 import com.google.common.base.Splitter;
 import io.cucumber.java8.En;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,8 +50,9 @@ public class COBBusinessStepServiceStepDefinitions implements En {
     private ListableBeanFactory beanFactory = mock(ListableBeanFactory.class);
     private BatchBusinessStepRepository batchBusinessStepRepository = mock(BatchBusinessStepRepository.class);
     private BusinessEventNotifierService businessEventNotifierService = mock(BusinessEventNotifierService.class);
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private final COBBusinessStepService businessStepService = new COBBusinessStepServiceImpl(batchBusinessStepRepository,
-            applicationContext, beanFactory, businessEventNotifierService);
+            applicationContext, beanFactory, businessEventNotifierService, meterRegistry);
     private COBBusinessStep cobBusinessStep = mock(COBBusinessStep.class);
     private COBBusinessStep notRegistereCobBusinessStep = mock(COBBusinessStep.class);
     private TreeMap<Long, String> executionMap;
@@ -137,6 +139,7 @@ public class COBBusinessStepServiceStepDefinitions implements En {
         Then("The COBBusinessStepService.run result should match", () -> {
             assertEquals(outputItem, resultItem);
             assertEquals(ActionContext.COB, ThreadLocalContextUtil.getActionContext());
+            assertEquals(1L, meterRegistry.get(COBBusinessStepServiceImpl.BUSINESS_STEP_TIMER_NAME).tag("step", "test").timer().count());
             ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         });
 
@@ -25,13 +25,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import io.cucumber.java8.En;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashSet;
 import java.util.List;
-import org.apache.fineract.cob.domain.LoanAccountLock;
+import java.util.Set;
+import org.apache.fineract.cob.data.LoanAccountHardLockResult;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
-import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.StepExecution;
@@ -40,9 +42,11 @@ import org.springframework.batch.repeat.RepeatStatus;
 
 public class ApplyLoanLockTaskletStepDefinitions implements En {
 
-    ArgumentCaptor<LoanAccountLock> valueCaptor = ArgumentCaptor.forClass(LoanAccountLock.class);
     private LoanAccountLockRepository accountLockRepository = mock(LoanAccountLockRepository.class);
-    private ApplyLoanLockTasklet applyLoanLockTasklet = new ApplyLoanLockTasklet(accountLockRepository);
+    private LoanAccountLockService loanAccountLockService = mock(LoanAccountLockService.class);
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ApplyLoanLockTasklet applyLoanLockTasklet = new ApplyLoanLockTasklet(accountLockRepository, loanAccountLockService,
+            meterRegistry);
     private RepeatStatus resultItem;
     private StepContribution stepContribution;
 
@@ -56,13 +60,11 @@ public class ApplyLoanLockTaskletStepDefinitions implements En {
             this.stepContribution = new StepContribution(stepExecution);
 
             if ("error".equals(action)) {
-                lenient().when(this.accountLockRepository.findAllByLoanIdIn(Mockito.anyList())).thenThrow(new RuntimeException("fail"));
+                lenient().when(this.loanAccountLockService.applyHardLock(Mockito.anyList())).thenThrow(new RuntimeException("fail"));
             } else {
-                LoanAccountLock lock1 = new LoanAccountLock(1L, LockOwner.LOAN_COB_CHUNK_PROCESSING);
-                LoanAccountLock lock2 = new LoanAccountLock(2L, LockOwner.LOAN_COB_PARTITIONING);
-                LoanAccountLock lock3 = new LoanAccountLock(3L, LockOwner.LOAN_INLINE_COB_PROCESSING);
-                List<LoanAccountLock> accountLocks = List.of(lock1, lock2, lock3);
-                lenient().when(this.accountLockRepository.findAllByLoanIdIn(Mockito.anyList())).thenReturn(accountLocks);
+                LoanAccountHardLockResult hardLockResult = new LoanAccountHardLockResult(Set.of(1L, 2L),
+                        new LinkedHashSet<>(List.of(3L, 4L)));
+                lenient().when(this.loanAccountLockService.applyHardLock(List.of(1L, 2L, 3L, 4L))).thenReturn(hardLockResult);
             }
 
         });
@@ -77,10 +79,8 @@ public class ApplyLoanLockTaskletStepDefinitions implements En {
                     .get(LoanCOBConstant.ALREADY_LOCKED_BY_INLINE_COB_OR_PROCESSED_LOAN_IDS)).get(0));
             assertEquals(4L, ((List) stepContribution.getStepExecution().getExecutionContext()
                     .get(LoanCOBConstant.ALREADY_LOCKED_BY_INLINE_COB_OR_PROCESSED_LOAN_IDS)).get(1));
-            verify(this.accountLockRepository, Mockito.times(1)).save(valueCaptor.capture());
-            List<LoanAccountLock> values = valueCaptor.getAllValues();
-            assertEquals(2L, values.get(0).getLoanId());
-            assertEquals(LockOwner.LOAN_COB_CHUNK_PROCESSING, values.get(0).getLockOwner());
+            verify(this.loanAccountLockService, Mockito.times(1)).applyHardLock(List.of(1L, 2L, 3L, 4L));
+            assertEquals(2.0, meterRegistry.get(ApplyLoanLockTasklet.LOCK_CONTENTION_COUNTER_NAME).counter().count());
         });
 
         Then("throw exception ApplyLoanLockTasklet.execute method", () -> {
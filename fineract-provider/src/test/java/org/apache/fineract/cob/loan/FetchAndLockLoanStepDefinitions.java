@@ -29,6 +29,7 @@ import java.util.List;
 import org.apache.fineract.cob.domain.LoanAccountLock;
 import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mockito.Mockito;
@@ -41,6 +42,8 @@ public class FetchAndLockLoanStepDefinitions implements En {
 
     private final LoanAccountLockRepository loanAccountLockRepository = mock(LoanAccountLockRepository.class);
 
+    private final LoanAccountLockService loanAccountLockService = mock(LoanAccountLockService.class);
+
     private final RetrieveLoanIdService retrieveLoanIdService = mock(RetrieveLoanIdService.class);
     StepContribution contribution;
     private FetchAndLockLoanTasklet fetchAndLockLoanTasklet;
@@ -75,7 +78,7 @@ public class FetchAndLockLoanStepDefinitions implements En {
             StepExecution stepExecution = new StepExecution("step", jobExecution);
             contribution = new StepContribution(stepExecution);
 
-            fetchAndLockLoanTasklet = new FetchAndLockLoanTasklet(loanAccountLockRepository, retrieveLoanIdService);
+            fetchAndLockLoanTasklet = new FetchAndLockLoanTasklet(loanAccountLockRepository, loanAccountLockService, retrieveLoanIdService);
         });
 
         When("FetchAndLockLoanTasklet.execute method executed", () -> {
@@ -86,7 +89,7 @@ public class FetchAndLockLoanStepDefinitions implements En {
             if ("empty steps".equals(action)) {
                 assertEquals(RepeatStatus.FINISHED, result);
             } else if ("good".equals(action)) {
-                verify(loanAccountLockRepository, Mockito.times(3)).save(Mockito.any());
+                verify(loanAccountLockService, Mockito.times(1)).applySoftLock(List.of(1L, 2L, 3L));
                 assertEquals(RepeatStatus.FINISHED, result);
                 assertEquals(3,
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
@@ -101,7 +104,7 @@ public class FetchAndLockLoanStepDefinitions implements En {
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
                                 .get(2));
             } else if ("soft lock".equals(action)) {
-                verify(loanAccountLockRepository, Mockito.times(2)).save(Mockito.any());
+                verify(loanAccountLockService, Mockito.times(1)).applySoftLock(List.of(2L, 3L));
                 assertEquals(RepeatStatus.FINISHED, result);
                 assertEquals(3,
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
@@ -116,7 +119,7 @@ public class FetchAndLockLoanStepDefinitions implements En {
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
                                 .get(2));
             } else if ("inline cob".equals(action)) {
-                verify(loanAccountLockRepository, Mockito.times(2)).save(Mockito.any());
+                verify(loanAccountLockService, Mockito.times(1)).applySoftLock(List.of(1L, 3L));
                 assertEquals(RepeatStatus.FINISHED, result);
                 assertEquals(2,
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
@@ -128,7 +131,7 @@ public class FetchAndLockLoanStepDefinitions implements En {
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
                                 .get(1));
             } else if ("chunk processing".equals(action)) {
-                verify(loanAccountLockRepository, Mockito.times(2)).save(Mockito.any());
+                verify(loanAccountLockService, Mockito.times(1)).applySoftLock(List.of(1L, 2L));
                 assertEquals(RepeatStatus.FINISHED, result);
                 assertEquals(2,
                         ((List) contribution.getStepExecution().getJobExecution().getExecutionContext().get(LoanCOBConstant.LOAN_IDS))
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.cob.data.LoanIdRange;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.springbatch.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanCOBRangePartitionerTest {
+
+    @Mock
+    private PropertyService propertyService;
+    @Mock
+    private COBBusinessStepService cobBusinessStepService;
+    @Mock
+    private JobOperator jobOperator;
+    @Mock
+    private JobExplorer jobExplorer;
+    @Mock
+    private RetrieveLoanIdService retrieveLoanIdService;
+    private final TreeMap<Long, String> cobBusinessStepMap = new TreeMap<>(Map.of(1L, "Business step"));
+    private LoanCOBRangePartitioner underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new LoanCOBRangePartitioner(propertyService, cobBusinessStepService, jobOperator, jobExplorer, retrieveLoanIdService);
+    }
+
+    @Test
+    public void givenLoanIdRangesWhenPartitionThenOnlyRangeBoundariesAreShipped() {
+        // given
+        givenPartitionSizeAndBusinessSteps();
+        when(retrieveLoanIdService.retrieveLoanIdRanges(2)).thenReturn(List.of(new LoanIdRange(1L, 5L, 2), new LoanIdRange(7L, 7L, 1)));
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(1);
+        // then
+        assertEquals(2, partitions.size());
+        ExecutionContext firstPartition = partitions.get(LoanCOBPartitioner.PARTITION_PREFIX + "1");
+        assertEquals(1L, firstPartition.getLong(LoanCOBConstant.MIN_LOAN_ID));
+        assertEquals(5L, firstPartition.getLong(LoanCOBConstant.MAX_LOAN_ID));
+        assertEquals(cobBusinessStepMap, firstPartition.get(LoanCOBConstant.BUSINESS_STEP_MAP));
+        assertFalse(firstPartition.containsKey(LoanCOBConstant.LOAN_IDS));
+        ExecutionContext secondPartition = partitions.get(LoanCOBPartitioner.PARTITION_PREFIX + "2");
+        assertEquals(7L, secondPartition.getLong(LoanCOBConstant.MIN_LOAN_ID));
+        assertEquals(7L, secondPartition.getLong(LoanCOBConstant.MAX_LOAN_ID));
+    }
+
+    @Test
+    public void givenNoLoansWhenPartitionThenJobIsStopped() throws Exception {
+        // given
+        givenPartitionSizeAndBusinessSteps();
+        when(retrieveLoanIdService.retrieveLoanIdRanges(2)).thenReturn(List.of());
+        when(jobExplorer.findRunningJobExecutions(JobName.LOAN_COB.name())).thenReturn(Set.of(new JobExecution(3L)));
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(1);
+        // then
+        assertTrue(partitions.isEmpty());
+        verify(jobOperator).stop(3L);
+    }
+
+    @Test
+    public void givenLoanIdsWhenDefaultRangeRetrievalThenRangesRespectPartitionSize() {
+        // given
+        RetrieveLoanIdService defaultRetrieveLoanIdService = mock(RetrieveLoanIdService.class, CALLS_REAL_METHODS);
+        when(defaultRetrieveLoanIdService.retrieveLoanIds()).thenReturn(List.of(9L, 1L, 4L, 2L, 8L));
+        // when
+        List<LoanIdRange> loanIdRanges = defaultRetrieveLoanIdService.retrieveLoanIdRanges(2);
+        // then
+        assertEquals(List.of(new LoanIdRange(1L, 2L, 2), new LoanIdRange(4L, 8L, 2), new LoanIdRange(9L, 9L, 1)), loanIdRanges);
+    }
+
+    private void givenPartitionSizeAndBusinessSteps() {
+        when(propertyService.getPartitionSize(LoanCOBConstant.JOB_NAME)).thenReturn(2);
+        when(cobBusinessStepService.getCOBBusinessStepMap(LoanCOBBusinessStep.class, LoanCOBConstant.LOAN_COB_JOB_NAME))
+                .thenReturn(cobBusinessStepMap);
+    }
+}
@@ -22,10 +22,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import io.cucumber.java8.En;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.TreeMap;
 import org.apache.fineract.cob.COBBusinessStepService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
@@ -34,7 +39,9 @@ public class LoanItemProcessorStepDefinitions implements En {
 
     private COBBusinessStepService cobBusinessStepService = mock(COBBusinessStepService.class);
 
-    private LoanItemProcessor loanItemProcessor = new LoanItemProcessor(cobBusinessStepService);
+    private NextRelevantCOBDateCalculator nextRelevantCOBDateCalculator = mock(NextRelevantCOBDateCalculator.class);
+
+    private LoanItemProcessor loanItemProcessor = new LoanItemProcessor(cobBusinessStepService, nextRelevantCOBDateCalculator);
 
     private Loan loan = mock(Loan.class);
 
@@ -45,6 +52,9 @@ public class LoanItemProcessorStepDefinitions implements En {
 
     private TreeMap<Long, String> treeMap = mock(TreeMap.class);
 
+    private final LocalDate cobDate = LocalDate.of(2022, 10, 1);
+    private final LocalDate nextRelevantCOBDate = LocalDate.of(2022, 10, 25);
+
     public LoanItemProcessorStepDefinitions() {
         Given("/^The LoanItemProcessor.process method with item (.*)$/", (String loanItem) -> {
 
@@ -62,6 +72,12 @@ public class LoanItemProcessorStepDefinitions implements En {
 
             lenient().when(this.cobBusinessStepService.run(treeMap, null)).thenThrow(new RuntimeException("fail"));
             lenient().when(this.cobBusinessStepService.run(treeMap, loan)).thenReturn(processedLoan);
+            lenient().when(this.nextRelevantCOBDateCalculator.calculate(processedLoan, cobDate)).thenReturn(nextRelevantCOBDate);
+
+            HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+            businessDates.put(BusinessDateType.BUSINESS_DATE, cobDate.plusDays(1));
+            businessDates.put(BusinessDateType.COB_DATE, cobDate);
+            ThreadLocalContextUtil.setBusinessDates(businessDates);
 
         });
 
@@ -71,6 +87,7 @@ public class LoanItemProcessorStepDefinitions implements En {
 
         Then("LoanItemProcessor.process result should match", () -> {
             assertEquals(processedLoan, resultItem);
+            verify(processedLoan).updateNextRelevantCOBDate(nextRelevantCOBDate);
         });
 
         Then("throw exception LoanItemProcessor.process method", () -> {
@@ -29,6 +29,7 @@ import io.cucumber.java8.En;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
 import org.apache.fineract.cob.exceptions.LoanReadException;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
@@ -40,7 +41,9 @@ public class LoanItemReaderStepDefinitions implements En {
 
     private LoanRepository loanRepository = mock(LoanRepository.class);
 
-    private LoanItemReader loanItemReader = new LoanItemReader(loanRepository);
+    private LoanAccountLockRepository accountLockRepository = mock(LoanAccountLockRepository.class);
+
+    private LoanItemReader loanItemReader = new LoanItemReader(loanRepository, accountLockRepository);
 
     private Loan loan = mock(Loan.class);
 
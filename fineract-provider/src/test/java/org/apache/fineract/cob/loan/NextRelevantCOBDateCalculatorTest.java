@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NextRelevantCOBDateCalculatorTest {
+
+    private static final LocalDate COB_DATE = LocalDate.of(2022, 10, 1);
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private Loan loan;
+    private NextRelevantCOBDateCalculator underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(configurationDomainService.retrieveRepaymentDueDays()).thenReturn(3L);
+        when(configurationDomainService.retrieveRepaymentOverdueDays()).thenReturn(2L);
+        underTest = new NextRelevantCOBDateCalculator(configurationDomainService);
+    }
+
+    @Test
+    public void givenUpcomingInstallmentWhenCalculateThenDaysBeforeDueDateIsReturned() {
+        // given
+        when(loan.getRepaymentScheduleInstallments())
+                .thenReturn(List.of(installment(LocalDate.of(2022, 9, 1), true), installment(LocalDate.of(2022, 10, 20), false)));
+        // when
+        LocalDate result = underTest.calculate(loan, COB_DATE);
+        // then
+        assertEquals(LocalDate.of(2022, 10, 17), result);
+    }
+
+    @Test
+    public void givenOverdueInstallmentWhenCalculateThenNextDayIsReturned() {
+        // given
+        when(loan.getRepaymentScheduleInstallments()).thenReturn(List.of(installment(LocalDate.of(2022, 9, 30), false)));
+        // when
+        LocalDate result = underTest.calculate(loan, COB_DATE);
+        // then
+        assertEquals(COB_DATE.plusDays(1), result);
+    }
+
+    @Test
+    public void givenInstallmentDueWithinDaysBeforeDueWhenCalculateThenOverdueTransitionIsReturned() {
+        // given
+        when(loan.getRepaymentScheduleInstallments()).thenReturn(List.of(installment(LocalDate.of(2022, 10, 2), false)));
+        // when
+        LocalDate result = underTest.calculate(loan, COB_DATE);
+        // then
+        assertEquals(LocalDate.of(2022, 10, 3), result);
+    }
+
+    private LoanRepaymentScheduleInstallment installment(LocalDate dueDate, boolean obligationsMet) {
+        LoanRepaymentScheduleInstallment installment = mock(LoanRepaymentScheduleInstallment.class);
+        when(installment.getDueDate()).thenReturn(dueDate);
+        when(installment.isObligationsMet()).thenReturn(obligationsMet);
+        return installment;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.cob.domain.LoanAccountLockRepository;
+import org.apache.fineract.cob.exceptions.LoanReadException;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+public class PrefetchingLoanItemReaderTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private LoanAccountLockRepository accountLockRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PrefetchingLoanItemReader underTest;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new PrefetchingLoanItemReader(loanRepository, accountLockRepository, 2, meterRegistry);
+    }
+
+    @Test
+    public void givenLoanIdsWhenReadThenLoansAreFetchedPerChunkAndLockedLoansAreSkipped() throws Exception {
+        // given
+        initReader(List.of(1L, 2L, 3L, 4L), List.of(2L));
+        Loan loan1 = mockLoan(1L);
+        Loan loan3 = mockLoan(3L);
+        Loan loan4 = mockLoan(4L);
+        when(loanRepository.findAllByIdsWithAssociations(List.of(1L, 3L))).thenReturn(List.of(loan1, loan3));
+        when(loanRepository.findAllByIdsWithAssociations(List.of(4L))).thenReturn(List.of(loan4));
+        // when & then
+        assertEquals(loan1, underTest.read());
+        assertThrows(LoanReadException.class, () -> underTest.read());
+        assertEquals(loan3, underTest.read());
+        assertEquals(loan4, underTest.read());
+        assertNull(underTest.read());
+        verify(loanRepository, times(2)).findAllByIdsWithAssociations(anyCollection());
+        assertEquals(2L, meterRegistry.get(PrefetchingLoanItemReader.PREFETCH_TIMER_NAME).timer().count());
+    }
+
+    @Test
+    public void givenMissingLoanWhenReadThenExceptionIsThrown() {
+        // given
+        initReader(List.of(5L), List.of());
+        when(loanRepository.findAllByIdsWithAssociations(List.of(5L))).thenReturn(List.of());
+        // when & then
+        assertThrows(LoanReadException.class, () -> underTest.read());
+    }
+
+    private void initReader(List<Long> loanIds, List<Long> lockedLoanIds) {
+        JobExecution jobExecution = new JobExecution(1L);
+        ExecutionContext jobExecutionContext = new ExecutionContext();
+        jobExecutionContext.put(LoanCOBConstant.ALREADY_LOCKED_BY_INLINE_COB_OR_PROCESSED_LOAN_IDS, new ArrayList<>(lockedLoanIds));
+        jobExecution.setExecutionContext(jobExecutionContext);
+        StepExecution stepExecution = new StepExecution("test", jobExecution);
+        ExecutionContext stepExecutionContext = new ExecutionContext();
+        stepExecutionContext.put(LoanCOBConstant.LOAN_IDS, new ArrayList<>(loanIds));
+        stepExecution.setExecutionContext(stepExecutionContext);
+        underTest.beforeStep(stepExecution);
+    }
+
+    private Loan mockLoan(Long id) {
+        Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(id);
+        when(loan.getRepaymentScheduleInstallments()).thenReturn(List.of());
+        when(loan.getLoanTransactions()).thenReturn(List.of());
+        when(loan.getCharges()).thenReturn(List.of());
+        when(loan.getDisbursementDetails()).thenReturn(List.of());
+        when(loan.getLoanTermVariations()).thenReturn(List.of());
+        return loan;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.apache.fineract.commands.annotation.CommandType;
+import org.apache.fineract.commands.exception.UnsupportedCommandException;
+import org.apache.fineract.commands.handler.NewCommandSourceHandler;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandHandlerProviderTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private NewCommandSourceHandler createClientHandler;
+
+    @Mock
+    private NewCommandSourceHandler createNoteHandler;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommandHandlerProvider underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        CommandType commandType = CreateClientCommandHandler.class.getAnnotation(CommandType.class);
+        given(applicationContext.getBeanNamesForAnnotation(CommandType.class)).willReturn(new String[] { "createClientCommandHandler" });
+        given(applicationContext.findAnnotationOnBean("createClientCommandHandler", CommandType.class)).willReturn(commandType);
+        given(applicationContext.getBeansOfType(NewCommandSourceHandler.class, false, true))
+                .willReturn(Map.of("createClientCommandHandler", createClientHandler, "createNoteCommandHandler", createNoteHandler));
+        underTest = new CommandHandlerProvider(meterRegistry);
+        underTest.setApplicationContext(applicationContext);
+        underTest.afterPropertiesSet();
+        underTest.afterSingletonsInstantiated();
+    }
+
+    @Test
+    public void testGetHandlerIsServedFromTheHandlerTableAndTimed() {
+        // given
+        JsonCommand command = JsonCommand.fromExistingCommand(1L, null, null, null, null, null, null, null, null, null, null, null);
+        CommandProcessingResult expected = new CommandProcessingResultBuilder().withCommandId(1L).build();
+        given(createClientHandler.processCommand(command)).willReturn(expected);
+        // when
+        CommandProcessingResult result = underTest.getHandler("CLIENT", "CREATE").processCommand(command);
+        // then
+        assertEquals(expected, result);
+        verify(applicationContext, never()).getBean(anyString());
+        assertEquals(1L, meterRegistry.get(TimedCommandHandler.TIMER_NAME).tag("handler", "createClientCommandHandler").timer().count());
+    }
+
+    @Test
+    public void testGetHandlerByNameCountsFailures() {
+        // given
+        given(createNoteHandler.processCommand(any())).willThrow(new IllegalStateException("failed"));
+        NewCommandSourceHandler handler = underTest.getHandlerByName("createNoteCommandHandler");
+        // when
+        assertThrows(IllegalStateException.class, () -> handler.processCommand(null));
+        // then
+        verify(applicationContext, never()).getBean(anyString(), any(Class.class));
+        assertEquals(1.0,
+                meterRegistry.get(TimedCommandHandler.FAILURE_COUNTER_NAME).tag("handler", "createNoteCommandHandler").counter().count());
+        assertEquals(1L, meterRegistry.get(TimedCommandHandler.TIMER_NAME).tag("handler", "createNoteCommandHandler").timer().count());
+    }
+
+    @Test
+    public void testGetHandlerForUnknownCommandThrowsException() {
+        assertThrows(UnsupportedCommandException.class, () -> underTest.getHandler("CLIENT", "UNKNOWN"));
+    }
+
+    @CommandType(entity = "CLIENT", action = "CREATE")
+    private static final class CreateClientCommandHandler {}
+}
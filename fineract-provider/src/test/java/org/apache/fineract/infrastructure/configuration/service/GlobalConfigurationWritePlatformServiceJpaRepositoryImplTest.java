@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.service;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationDataValidator;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.configuration.domain.GlobalConfigurationProperty;
+import org.apache.fineract.infrastructure.configuration.domain.GlobalConfigurationRepositoryWrapper;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class GlobalConfigurationWritePlatformServiceJpaRepositoryImplTest {
+
+    private static final Long CONFIG_ID = 1L;
+
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private GlobalConfigurationRepositoryWrapper repository;
+    @Mock
+    private GlobalConfigurationDataValidator globalConfigurationDataValidator;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Mock
+    private GlobalConfigurationProperty property;
+    @Mock
+    private JsonCommand command;
+    private GlobalConfigurationWritePlatformServiceJpaRepositoryImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(repository.findOneWithNotFoundDetection(CONFIG_ID)).thenReturn(property);
+        underTest = new GlobalConfigurationWritePlatformServiceJpaRepositoryImpl(context, repository, globalConfigurationDataValidator,
+                configurationDomainService, loanRepositoryWrapper);
+    }
+
+    @Test
+    public void givenRepaymentDueDaysChangedWhenUpdateThenNextRelevantCOBDatesAreReset() {
+        // given
+        when(property.update(command)).thenReturn(Map.of("value", 5L));
+        when(property.getName()).thenReturn("days-before-repayment-is-due");
+        // when
+        underTest.update(CONFIG_ID, command);
+        // then
+        verify(loanRepositoryWrapper).resetNextRelevantCOBDates();
+    }
+
+    @Test
+    public void givenRepaymentOverdueDaysChangedWhenUpdateThenNextRelevantCOBDatesAreReset() {
+        // given
+        when(property.update(command)).thenReturn(Map.of("enabled", true));
+        when(property.getName()).thenReturn("days-after-repayment-is-overdue");
+        // when
+        underTest.update(CONFIG_ID, command);
+        // then
+        verify(loanRepositoryWrapper).resetNextRelevantCOBDates();
+    }
+
+    @Test
+    public void givenOtherConfigurationChangedWhenUpdateThenNextRelevantCOBDatesAreKept() {
+        // given
+        when(property.update(command)).thenReturn(Map.of("enabled", true));
+        when(property.getName()).thenReturn("allow-backdated-transaction-before-interest-posting");
+        // when
+        underTest.update(CONFIG_ID, command);
+        // then
+        verify(loanRepositoryWrapper, never()).resetNextRelevantCOBDates();
+    }
+
+    @Test
+    public void givenNoChangeWhenUpdateThenNextRelevantCOBDatesAreKept() {
+        // given
+        when(property.update(command)).thenReturn(Map.of());
+        // when
+        underTest.update(CONFIG_ID, command);
+        // then
+        verify(loanRepositoryWrapper, never()).resetNextRelevantCOBDates();
+    }
+}
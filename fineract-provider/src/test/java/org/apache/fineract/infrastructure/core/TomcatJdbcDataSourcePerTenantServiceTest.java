@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.DataSourcePerTenantServiceFactory;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.TomcatJdbcDataSourcePerTenantService;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+public class TomcatJdbcDataSourcePerTenantServiceTest {
+
+    @Mock
+    private DataSource defaultDataSource;
+
+    @Mock
+    private DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    private FineractProperties fineractProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskScheduler closerScheduler;
+    private TomcatJdbcDataSourcePerTenantService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractTenantDataSourceProperties dataSourceProperties =
+                new FineractProperties.FineractTenantDataSourceProperties();
+        dataSourceProperties.setPrewarmEnabled(true);
+        dataSourceProperties.setRetiredPoolCloseDelaySeconds(60L);
+        FineractProperties.FineractTenantProperties tenantProperties = new FineractProperties.FineractTenantProperties();
+        tenantProperties.setDatasource(dataSourceProperties);
+        fineractProperties = new FineractProperties();
+        fineractProperties.setTenant(tenantProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        closerScheduler = new ThreadPoolTaskScheduler();
+        closerScheduler.initialize();
+        underTest = new TomcatJdbcDataSourcePerTenantService(defaultDataSource, dataSourcePerTenantServiceFactory, tenantDetailsService,
+                fineractProperties, meterRegistry, closerScheduler);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.closeDataSources();
+        closerScheduler.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRetrieveDataSourceWithoutTenantReturnsDefaultDataSource() {
+        // given
+        ThreadLocalContextUtil.clearTenant();
+        // when
+        DataSource result = underTest.retrieveDataSource();
+        // then
+        assertSame(defaultDataSource, result);
+    }
+
+    @Test
+    public void testRetrieveDataSourceCreatesThePoolOfTheTenantOnlyOnce() {
+        // given
+        FineractPlatformTenant tenant = tenant(1L, "default", "fineract_default");
+        HikariDataSource pool = mock(HikariDataSource.class);
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor("default", tenant.getConnection())).willReturn(pool);
+        ThreadLocalContextUtil.setTenant(tenant);
+        // when
+        DataSource first = underTest.retrieveDataSource();
+        DataSource second = underTest.retrieveDataSource();
+        // then
+        assertSame(pool, first);
+        assertSame(pool, second);
+        verify(dataSourcePerTenantServiceFactory, times(1)).createNewDataSourceFor(any(), any());
+        assertNotNull(meterRegistry.find(TomcatJdbcDataSourcePerTenantService.POOL_METRIC_PREFIX + "active").tag("tenant", "default")
+                .gauge());
+    }
+
+    @Test
+    public void testRetrieveDataSourceReplacesThePoolWhenTheConnectionDetailsChange() {
+        // given
+        FineractPlatformTenant tenant = tenant(1L, "default", "fineract_default");
+        FineractPlatformTenant changedTenant = tenant(1L, "default", "fineract_default_moved");
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariPoolMXBean poolMXBean = mock(HikariPoolMXBean.class);
+        HikariDataSource newPool = mock(HikariDataSource.class);
+        given(pool.getHikariPoolMXBean()).willReturn(poolMXBean);
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor("default", tenant.getConnection())).willReturn(pool);
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor("default", changedTenant.getConnection())).willReturn(newPool);
+        ThreadLocalContextUtil.setTenant(tenant);
+        underTest.retrieveDataSource();
+        // when
+        ThreadLocalContextUtil.setTenant(changedTenant);
+        DataSource result = underTest.retrieveDataSource();
+        // then
+        assertSame(newPool, result);
+        verify(poolMXBean).softEvictConnections();
+        verify(pool, never()).close();
+        assertEquals(1, meterRegistry.find(TomcatJdbcDataSourcePerTenantService.POOL_METRIC_PREFIX + "active").gauges().size());
+        // when
+        underTest.closeDataSources();
+        // then
+        verify(pool).close();
+        verify(newPool).close();
+    }
+
+    @Test
+    public void testRetrieveDataSourceClosesTheReplacedPoolAfterTheCloseDelay() {
+        // given
+        fineractProperties.getTenant().getDatasource().setRetiredPoolCloseDelaySeconds(0L);
+        FineractPlatformTenant tenant = tenant(1L, "default", "fineract_default");
+        FineractPlatformTenant changedTenant = tenant(1L, "default", "fineract_default_moved");
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariDataSource newPool = mock(HikariDataSource.class);
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor("default", tenant.getConnection())).willReturn(pool);
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor("default", changedTenant.getConnection())).willReturn(newPool);
+        ThreadLocalContextUtil.setTenant(tenant);
+        underTest.retrieveDataSource();
+        // when
+        ThreadLocalContextUtil.setTenant(changedTenant);
+        underTest.retrieveDataSource();
+        // then
+        verify(pool, timeout(5000)).close();
+        verify(newPool, never()).close();
+    }
+
+    @Test
+    public void testPrewarmCreatesThePoolsOfAllTenantsAndSkipsTheBrokenOnes() {
+        // given
+        FineractPlatformTenant broken = tenant(1L, "broken", "fineract_broken");
+        FineractPlatformTenant tenant = tenant(2L, "default", "fineract_default");
+        HikariDataSource pool = mock(HikariDataSource.class);
+        given(tenantDetailsService.findAllTenants()).willReturn(List.of(broken, tenant));
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor(eq("broken"), any()))
+                .willThrow(new IllegalStateException("Database is down"));
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor("default", tenant.getConnection())).willReturn(pool);
+        // when
+        underTest.onApplicationEvent(null);
+        ThreadLocalContextUtil.setTenant(tenant);
+        DataSource result = underTest.retrieveDataSource();
+        // then
+        assertSame(pool, result);
+        verify(dataSourcePerTenantServiceFactory, times(1)).createNewDataSourceFor("default", tenant.getConnection());
+        assertNull(meterRegistry.find(TomcatJdbcDataSourcePerTenantService.POOL_METRIC_PREFIX + "active").tag("tenant", "broken")
+                .gauge());
+    }
+
+    private FineractPlatformTenant tenant(Long connectionId, String identifier, String schemaName) {
+        FineractPlatformTenantConnection connection = new FineractPlatformTenantConnection(connectionId, schemaName, "localhost", "3306",
+                null, "root", "password", true, 5, 500L, false, 0, false, 50, 40, 20, 10, 60, 34000, 60000, true, null, null, null, null,
+                null, null);
+        return new FineractPlatformTenant(connectionId, identifier, identifier, "UTC", connection);
+    }
+}
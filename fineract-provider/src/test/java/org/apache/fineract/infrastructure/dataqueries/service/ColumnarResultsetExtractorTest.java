@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ColumnarResultsetData.ColumnKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ColumnarResultsetExtractorTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2022, 1, 1);
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2022, 1, 1, 10, 15, 30, 500);
+
+    @Mock
+    private ResultSetMetaData metaData;
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private ResultSet resultSet;
+    private int currentRow;
+    private boolean lastValueNull;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(6);
+        mockColumn(1, "id", "BIGINT", Long.class);
+        mockColumn(2, "counter", "INT", Integer.class);
+        mockColumn(3, "name", "VARCHAR", String.class);
+        mockColumn(4, "amount", "DECIMAL", BigDecimal.class);
+        mockColumn(5, "due_date", "DATE", Date.class);
+        mockColumn(6, "created_at", "DATETIME", Timestamp.class);
+        // Every third row has null values, so the null handling of every column kind is covered
+        lenient().when(resultSet.getLong(1)).thenAnswer(invocation -> value((long) currentRow, 0L));
+        lenient().when(resultSet.getInt(2)).thenAnswer(invocation -> value(currentRow % 1000, 0));
+        lenient().when(resultSet.getObject(3)).thenAnswer(invocation -> value("Client \"" + currentRow + "\"", null));
+        lenient().when(resultSet.getObject(4)).thenAnswer(invocation -> value(BigDecimal.valueOf(currentRow, 2), null));
+        lenient().when(resultSet.getDate(5)).thenAnswer(invocation -> value(Date.valueOf(START_DATE.plusDays(currentRow % 365)), null));
+        lenient().when(resultSet.getTimestamp(6))
+                .thenAnswer(invocation -> value(Timestamp.valueOf(START_DATE_TIME.plusSeconds(currentRow)), null));
+        lenient().when(resultSet.wasNull()).thenAnswer(invocation -> lastValueNull);
+    }
+
+    @Test
+    public void givenResultSetWhenExtractThenValuesAreDecodedPerColumnKind() throws Exception {
+        // given
+        mockRowCount(3);
+        // when
+        ColumnarResultsetData result = new ColumnarResultsetExtractor().extractData(resultSet);
+        // then
+        assertEquals(3, result.getRowCount());
+        assertEquals(List.of(ColumnKind.LONG, ColumnKind.INTEGER, ColumnKind.OBJECT, ColumnKind.OBJECT, ColumnKind.DATE,
+                ColumnKind.DATETIME), List.of(result.getColumnKind(0), result.getColumnKind(1), result.getColumnKind(2),
+                        result.getColumnKind(3), result.getColumnKind(4), result.getColumnKind(5)));
+        assertEquals(1L, result.getValue(1, 0));
+        assertEquals(1, result.getValue(1, 1));
+        assertEquals("Client \"1\"", result.getValue(1, 2));
+        assertEquals(new BigDecimal("0.01"), result.getValue(1, 3));
+        assertEquals(START_DATE.plusDays(1), result.getValue(1, 4));
+        assertEquals(START_DATE_TIME.plusSeconds(1), result.getValue(1, 5));
+        for (int column = 0; column < result.getColumnCount(); column++) {
+            assertNull(result.getValue(2, column));
+        }
+    }
+
+    @Test
+    public void givenResultSetWhenGenerateJsonThenColumnarAndRowOrientedOutputsMatch() throws Exception {
+        // given
+        mockRowCount(10);
+        ColumnarResultsetData result = new ColumnarResultsetExtractor().extractData(resultSet);
+        GenericDataServiceImpl genericDataService = new GenericDataServiceImpl(dataSource, null, null);
+        // when
+        String rowOrientedJson = genericDataService.generateJsonFromGenericResultsetData(result.toGenericResultsetData());
+        String columnarJson = genericDataService.generateJsonFromColumnarResultsetData(result);
+        // then
+        assertEquals(rowOrientedJson, columnarJson);
+    }
+
+    private void mockColumn(int index, String name, String typeName, Class<?> javaClass) throws Exception {
+        when(metaData.getColumnName(index)).thenReturn(name);
+        when(metaData.getColumnTypeName(index)).thenReturn(typeName);
+        when(metaData.getColumnClassName(index)).thenReturn(javaClass.getName());
+    }
+
+    private void mockRowCount(int rowCount) throws Exception {
+        currentRow = -1;
+        when(resultSet.next()).thenAnswer(invocation -> ++currentRow < rowCount);
+    }
+
+    private <T> T value(T value, T nullValue) {
+        lastValueNull = currentRow % 3 == 2;
+        return lastValueNull ? nullValue : value;
+    }
+}
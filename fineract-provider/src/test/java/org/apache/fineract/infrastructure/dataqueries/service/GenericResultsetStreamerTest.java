@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class GenericResultsetStreamerTest {
+
+    private static final String SQL = "select x.* from (select name, balance from report) x";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+    private SimpleMeterRegistry meterRegistry;
+    private GenericResultsetStreamer underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractReportProperties reportProperties = new FineractProperties.FineractReportProperties();
+        FineractProperties.FineractReportExportProperties exportProperties = new FineractProperties.FineractReportExportProperties();
+        exportProperties.setFetchSize(500);
+        reportProperties.setExport(exportProperties);
+        fineractProperties.setReport(reportProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new GenericResultsetStreamer(jdbcTemplate, transactionTemplate, fineractProperties, meterRegistry);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class))).thenAnswer(invocation -> {
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            return invocation.<ResultSetExtractor<?>>getArgument(1).extractData(resultSet);
+        });
+        when(connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnName(1)).thenReturn("name");
+        when(metaData.getColumnTypeName(1)).thenReturn("VARCHAR");
+        when(metaData.getColumnName(2)).thenReturn("balance");
+        when(metaData.getColumnTypeName(2)).thenReturn("DECIMAL");
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn("John \"JJ\" Doe", "Jane");
+        when(resultSet.getObject(2)).thenReturn(new BigDecimal("10.50"), null);
+    }
+
+    @Test
+    public void givenReportRowsWhenStreamCsvThenRowsAreWrittenAsCsv() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // when
+        long rowCount = underTest.streamCsv(SQL, out);
+        // then
+        assertEquals(2L, rowCount);
+        assertEquals("\"name\",\"balance\"\n\"John \"\"JJ\"\" Doe\",10.50\n\"Jane\",\n", out.toString(StandardCharsets.UTF_8));
+        verify(statement).setFetchSize(500);
+        assertEquals(2.0, meterRegistry.get(GenericResultsetStreamer.EXPORTED_ROWS_COUNTER_NAME).tag("format", "csv").counter().count());
+    }
+
+    @Test
+    public void givenReportRowsWhenStreamJsonThenRowsAreWrittenAsJsonWithConfiguredFetchSize() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // when
+        long rowCount = underTest.streamJson(SQL, out);
+        // then
+        assertEquals(2L, rowCount);
+        assertEquals("[\n{\"name\": \"John \\\"JJ\\\" Doe\",\n\"balance\": 10.50},\n{\"name\": \"Jane\",\n\"balance\": null}\n]",
+                out.toString(StandardCharsets.UTF_8));
+        verify(statement).setFetchSize(500);
+        assertEquals(2.0, meterRegistry.get(GenericResultsetStreamer.EXPORTED_ROWS_COUNTER_NAME).tag("format", "json").counter().count());
+    }
+}
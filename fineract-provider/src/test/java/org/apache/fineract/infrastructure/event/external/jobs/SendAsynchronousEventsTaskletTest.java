@@ -20,12 +20,16 @@ package org.apache.fineract.infrastructure.event.external.jobs;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -39,12 +43,14 @@ import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.external.exception.AcknowledgementTimeoutException;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventBatchProducer;
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
 import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -55,6 +61,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @ExtendWith(MockitoExtension.class)
 class SendAsynchronousEventsTaskletTest {
@@ -66,6 +74,10 @@ class SendAsynchronousEventsTaskletTest {
     @Mock
     private ExternalEventProducer eventProducer;
     @Mock
+    private ExternalEventBatchProducer batchEventProducer;
+    @Mock
+    private ObjectProvider<ExternalEventBatchProducer> batchEventProducerProvider;
+    @Mock
     private MessageFactory messageFactory;
     @Mock
     private StepContribution stepContribution;
@@ -73,6 +85,8 @@ class SendAsynchronousEventsTaskletTest {
     private ChunkContext chunkContext;
     @Mock
     private ByteBufferConverter byteBufferConverter;
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor senderExecutor;
     private SendAsynchronousEventsTasklet underTest;
     private RepeatStatus resultStatus;
 
@@ -82,17 +96,48 @@ class SendAsynchronousEventsTaskletTest {
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
         configureExternalEventsProducerReadBatchSizeProperty(1000);
-        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter);
+        meterRegistry = new SimpleMeterRegistry();
+        senderExecutor = new ThreadPoolTaskExecutor();
+        senderExecutor.setCorePoolSize(1);
+        senderExecutor.setMaxPoolSize(1);
+        senderExecutor.setQueueCapacity(1);
+        senderExecutor.initialize();
+        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, batchEventProducerProvider,
+                messageFactory, byteBufferConverter, senderExecutor, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        senderExecutor.shutdown();
     }
 
     private void configureExternalEventsProducerReadBatchSizeProperty(int readBatchSize) {
+        configureExternalEventsProducerProperties(readBatchSize, false, 100);
+    }
+
+    private void configureExternalEventsProducerProperties(int readBatchSize, boolean pipeliningEnabled, int sendWindowSize) {
+        configureExternalEventsProducerProperties(readBatchSize, pipeliningEnabled, sendWindowSize, false);
+    }
+
+    private void configureExternalEventsProducerProperties(int readBatchSize, boolean pipeliningEnabled, int sendWindowSize,
+            boolean partitionedConsumptionEnabled) {
+        configureExternalEventsProducerProperties(readBatchSize, pipeliningEnabled, sendWindowSize, partitionedConsumptionEnabled, 30000L);
+    }
+
+    private void configureExternalEventsProducerProperties(int readBatchSize, boolean pipeliningEnabled, int sendWindowSize,
+            boolean partitionedConsumptionEnabled, long sendTimeoutMillis) {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
         FineractProperties.FineractExternalEventsProducerProperties externalEventsProducerProperties = new FineractProperties.FineractExternalEventsProducerProperties();
         FineractProperties.FineractExternalEventsProducerJmsProperties externalEventsProducerJMSProperties = new FineractProperties.FineractExternalEventsProducerJmsProperties();
         externalEventsProducerJMSProperties.setEnabled(true);
+        externalEventsProducerJMSProperties.setPipeliningEnabled(pipeliningEnabled);
+        externalEventsProducerJMSProperties.setSendWindowSize(sendWindowSize);
+        externalEventsProducerJMSProperties.setSendTimeoutMillis(sendTimeoutMillis);
         externalProperties.setEnabled(true);
         externalEventsProducerProperties.setReadBatchSize(readBatchSize);
+        externalEventsProducerProperties.setPartitionedConsumptionEnabled(partitionedConsumptionEnabled);
+        externalEventsProducerProperties.setClaimedPartitionCount(4);
         externalEventsProducerProperties.setJms(externalEventsProducerJMSProperties);
         externalProperties.setProducer(externalEventsProducerProperties);
         eventsProperties.setExternal(externalProperties);
@@ -159,4 +204,127 @@ class SendAsynchronousEventsTaskletTest {
         assertThat(externalEvent.getStatus()).isEqualTo(ExternalEventStatus.SENT);
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
+
+    @Test
+    public void givenPipeliningEnabledWhenTaskExecutionThenEventsAreSentInWindows() throws Exception {
+        // given
+        configureExternalEventsProducerProperties(3, true, 2);
+        List<ExternalEvent> events = Arrays.asList(new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey"),
+                new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey"),
+                new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey"));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(batchEventProducerProvider.getObject()).thenReturn(batchEventProducer);
+        // when
+        resultStatus = this.underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(batchEventProducer, times(2)).sendEvents(Mockito.anyList());
+        verify(repository, times(2)).updateStatusAndSentAtByIds(Mockito.anyList(), Mockito.eq(ExternalEventStatus.SENT), Mockito.any());
+        verify(repository, never()).save(Mockito.any(ExternalEvent.class));
+        assertEquals(3.0, meterRegistry.get(SendAsynchronousEventsTasklet.SENT_EVENTS_COUNTER_NAME).counter().count());
+        assertEquals(RepeatStatus.CONTINUABLE, resultStatus);
+    }
+
+    @Test
+    public void givenPipeliningEnabledWhenWindowSendFailsThenWindowIsNotMarkedAsSent() throws Exception {
+        // given
+        configureExternalEventsProducerProperties(1000, true, 100);
+        List<ExternalEvent> events = Arrays.asList(new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey"));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(batchEventProducerProvider.getObject()).thenReturn(batchEventProducer);
+        doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).when(batchEventProducer)
+                .sendEvents(Mockito.anyList());
+        // when
+        resultStatus = this.underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository, never()).updateStatusAndSentAtByIds(Mockito.anyList(), Mockito.any(), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
+    @Test
+    public void givenPipeliningEnabledWhenWindowIsNotAcknowledgedInTimeThenWindowIsNotMarkedAsSent() throws Exception {
+        // given
+        configureExternalEventsProducerProperties(1000, true, 100, false, 50L);
+        List<ExternalEvent> events = Arrays.asList(new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey"));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(batchEventProducerProvider.getObject()).thenReturn(batchEventProducer);
+        doAnswer(invocation -> {
+            Thread.sleep(10000L);
+            return null;
+        }).when(batchEventProducer).sendEvents(Mockito.anyList());
+        // when
+        resultStatus = this.underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository, never()).updateStatusAndSentAtByIds(Mockito.anyList(), Mockito.any(), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
+    @Test
+    public void givenPipeliningEnabledWhenInterruptedWhileWaitingForAcknowledgementThenInterruptIsPreserved() throws Exception {
+        // given
+        configureExternalEventsProducerProperties(1000, true, 100);
+        List<ExternalEvent> events = Arrays.asList(new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey"));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        when(batchEventProducerProvider.getObject()).thenReturn(batchEventProducer);
+        doAnswer(invocation -> {
+            Thread.sleep(10000L);
+            return null;
+        }).when(batchEventProducer).sendEvents(Mockito.anyList());
+        Thread.currentThread().interrupt();
+        // when
+        resultStatus = this.underTest.execute(stepContribution, chunkContext);
+        // then
+        assertTrue(Thread.interrupted());
+        verify(repository, never()).updateStatusAndSentAtByIds(Mockito.anyList(), Mockito.any(), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
+    @Test
+    public void givenPartitionedConsumptionEnabledWhenTaskExecutionThenOnlyEventsOfClaimedPartitionsAreSent() throws Exception {
+        // given
+        configureExternalEventsProducerProperties(1000, false, 100, true);
+        List<ExternalEvent> events = Arrays.asList(new ExternalEvent("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.claimPartitionsWithQueuedEvents(4)).thenReturn(List.of(1, 2));
+        when(repository.findByStatusAndPartitionIdInOrderById(Mockito.eq(ExternalEventStatus.TO_BE_SENT), Mockito.eq(List.of(1, 2)),
+                Mockito.any())).thenReturn(events);
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        // when
+        resultStatus = this.underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(eventProducer).sendEvent(new byte[0]);
+        verify(repository, never()).findByStatusOrderById(Mockito.any(), Mockito.any());
+        assertThat(events.get(0).getPartitionId()).isEqualTo(1);
+        assertEquals(RepeatStatus.CONTINUABLE, resultStatus);
+    }
+
+    @Test
+    public void givenPartitionedConsumptionEnabledWhenNoPartitionCanBeClaimedThenExecutionFinishes() throws Exception {
+        // given
+        configureExternalEventsProducerProperties(1000, false, 100, true);
+        when(repository.claimPartitionsWithQueuedEvents(4)).thenReturn(List.of());
+        // when
+        resultStatus = this.underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository, never()).findByStatusAndPartitionIdInOrderById(Mockito.any(), Mockito.anyList(), Mockito.any());
+        verify(eventProducer, never()).sendEvent(Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
 }
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.producer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Sends windows of events to an embedded, non-persistent broker and checks that every event is delivered in order.
+ */
+public class JMSExternalEventBatchProducerTest {
+
+    private static final String QUEUE_NAME = "batchProducerTestQueue";
+    private static final int WINDOW_COUNT = 20;
+    private static final int WINDOW_SIZE = 100;
+    // A lost message fails the test instead of blocking it
+    private static final long RECEIVE_TIMEOUT_MILLIS = 5000L;
+
+    private CachingConnectionFactory connectionFactory;
+    private JmsTemplate jmsTemplate;
+    private JMSExternalEventBatchProducer underTest;
+
+    @BeforeEach
+    public void setUp() {
+        connectionFactory = new CachingConnectionFactory(new ActiveMQConnectionFactory("vm://batchProducerTest?broker.persistent=false"));
+        jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setSessionTransacted(true);
+        jmsTemplate.setReceiveTimeout(RECEIVE_TIMEOUT_MILLIS);
+        underTest = new JMSExternalEventBatchProducer(jmsTemplate, QUEUE_NAME);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    public void givenWindowsOfEventsWhenSentThenEveryEventIsDeliveredInOrder() throws JMSException {
+        // given
+        List<List<byte[]>> windows = new ArrayList<>();
+        for (int i = 0; i < WINDOW_COUNT; i++) {
+            List<byte[]> window = new ArrayList<>();
+            for (int j = 0; j < WINDOW_SIZE; j++) {
+                window.add(ByteBuffer.allocate(Integer.BYTES).putInt(i * WINDOW_SIZE + j).array());
+            }
+            windows.add(window);
+        }
+        // when
+        windows.forEach(underTest::sendEvents);
+        // then
+        for (int i = 0; i < WINDOW_COUNT * WINDOW_SIZE; i++) {
+            BytesMessage message = (BytesMessage) jmsTemplate.receive(QUEUE_NAME);
+            assertNotNull(message, "Event " + i + " was not delivered");
+            byte[] content = new byte[Integer.BYTES];
+            assertEquals(Integer.BYTES, message.readBytes(content));
+            assertArrayEquals(ByteBuffer.allocate(Integer.BYTES).putInt(i).array(), content);
+        }
+    }
+}
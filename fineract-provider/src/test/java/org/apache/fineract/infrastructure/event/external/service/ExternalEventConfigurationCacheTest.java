@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.infrastructure.event.external.exception.ExternalEventConfigurationNotFoundException;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventConfigurationRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class ExternalEventConfigurationCacheTest {
+
+    @Mock
+    private ExternalEventConfigurationRepository repository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private FineractProperties fineractProperties;
+
+    private ExternalEventConfigurationCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ExternalEventConfigurationCache(repository, jdbcTemplate, fineractProperties);
+        when(repository.findAll()).thenReturn(List.of(new ExternalEventConfiguration("enabledType", true),
+                new ExternalEventConfiguration("disabledType", false)));
+    }
+
+    @Test
+    public void givenUnchangedVersionWhenLookupsThenConfigurationsAreLoadedOnce() {
+        // given
+        configureVersionCheckInterval(0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        // when & then
+        assertTrue(underTest.isEnabled("enabledType"));
+        assertFalse(underTest.isEnabled("disabledType"));
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void givenVersionCheckIntervalWhenLookupsThenVersionIsCheckedOnce() {
+        // given
+        configureVersionCheckInterval(60);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        // when
+        underTest.isEnabled("enabledType");
+        underTest.isEnabled("disabledType");
+        // then
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    public void givenChangedVersionWhenLookupThenConfigurationsAreReloaded() {
+        // given
+        configureVersionCheckInterval(0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 2L);
+        // when
+        underTest.isEnabled("enabledType");
+        underTest.isEnabled("enabledType");
+        // then
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenLocalChangeWhenLookupThenConfigurationsAreReloaded() {
+        // given
+        configureVersionCheckInterval(60);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 2L);
+        underTest.isEnabled("enabledType");
+        // when
+        underTest.configurationChanged();
+        underTest.isEnabled("enabledType");
+        // then
+        verify(jdbcTemplate).update(anyString());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void givenLocalChangeInTransactionWhenLookupThenConfigurationsAreReloadedAfterCommit() {
+        // given
+        configureVersionCheckInterval(60);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.isEnabled("enabledType");
+            // when
+            underTest.configurationChanged();
+            underTest.isEnabled("enabledType");
+            // then
+            verify(repository, times(1)).findAll();
+            // when
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            underTest.isEnabled("enabledType");
+            // then
+            verify(repository, times(2)).findAll();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void givenUnknownTypeWhenLookupThenExceptionIsThrown() {
+        // given
+        configureVersionCheckInterval(0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        // when & then
+        assertThrows(ExternalEventConfigurationNotFoundException.class, () -> underTest.isEnabled("unknownType"));
+    }
+
+    private void configureVersionCheckInterval(int versionCheckInterval) {
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        externalProperties.setConfigurationVersionCheckInterval(versionCheckInterval);
+        eventsProperties.setExternal(externalProperties);
+        when(fineractProperties.getEvents()).thenReturn(eventsProperties);
+    }
+}
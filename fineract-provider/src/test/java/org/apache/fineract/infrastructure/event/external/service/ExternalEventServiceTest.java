@@ -23,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
@@ -36,6 +38,7 @@ import javax.persistence.EntityManager;
 import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
@@ -46,13 +49,20 @@ import org.apache.fineract.infrastructure.event.external.service.idempotency.Ext
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializer;
 import org.apache.fineract.infrastructure.event.external.service.serialization.serializer.BusinessEventSerializerFactory;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.apache.fineract.infrastructure.event.external.service.support.AvroSerializer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -65,18 +75,20 @@ class ExternalEventServiceTest {
     @Mock
     private BusinessEventSerializerFactory serializerFactory;
     @Mock
-    private ByteBufferConverter byteBufferConverter;
+    private AvroSerializer avroSerializer;
     @Mock
     private BulkMessageItemFactory bulkMessageItemFactory;
     @Mock
     private EntityManager entityManager;
+    @Mock
+    private FineractProperties fineractProperties;
 
     private ExternalEventService underTest;
 
     @BeforeEach
     public void setUp() {
-        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
-                bulkMessageItemFactory);
+        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, avroSerializer, bulkMessageItemFactory,
+                fineractProperties);
         underTest.setEntityManager(entityManager);
         FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null);
         ThreadLocalContextUtil.setTenant(tenant);
@@ -84,6 +96,13 @@ class ExternalEventServiceTest {
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
     }
 
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     public void testPostEventShouldFailWhenNullEventIsGiven() {
         // given
@@ -148,7 +167,7 @@ class ExternalEventServiceTest {
 
         given(bulkMessageItemFactory.createBulkMessageItem(1, event)).willReturn(messageItem);
         given(idempotencyKeyGenerator.generate(bulkEvent)).willReturn(idempotencyKey);
-        given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
+        given(avroSerializer.serialize(any())).willReturn(data);
         // when
         underTest.postEvent(bulkEvent);
         // then
@@ -186,4 +205,123 @@ class ExternalEventServiceTest {
         assertThat(externalEvent.getCategory()).isEqualTo(eventCategory);
 
     }
+
+    @Test
+    public void testPostEventShouldDeferWritesUntilCommitWhenDeferredWritesEnabled() throws IOException {
+        // given
+        ArgumentCaptor<List<ExternalEvent>> externalEventsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        configureDeferredWrites(true);
+        TransactionSynchronizationManager.initSynchronization();
+        BusinessEvent event1 = mock(BusinessEvent.class);
+        BusinessEvent event2 = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        given(event1.getType()).willReturn("TestType1");
+        given(event2.getType()).willReturn("TestType2");
+        given(idempotencyKeyGenerator.generate(any())).willReturn("key");
+        given(serializerFactory.create(any())).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.serialize(any())).willReturn(new byte[0]);
+        underTest.postEvent(event1);
+        underTest.postEvent(event2);
+        verify(entityManager, never()).flush();
+        // when
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        // then
+        verify(entityManager, times(1)).flush();
+        verify(repository, never()).save(any());
+        verify(repository).insertAll(externalEventsArgumentCaptor.capture());
+        List<ExternalEvent> externalEvents = externalEventsArgumentCaptor.getValue();
+        assertThat(externalEvents).hasSize(2);
+        assertThat(externalEvents.get(0).getType()).isEqualTo("TestType1");
+        assertThat(externalEvents.get(1).getType()).isEqualTo("TestType2");
+    }
+
+    @Test
+    public void testPostEventShouldWriteEventsOfRequiresNewTransactionWhenOuterTransactionRollsBack() throws IOException {
+        // given
+        ArgumentCaptor<List<ExternalEvent>> externalEventsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        configureDeferredWrites(true);
+        BusinessEvent outerEvent = mock(BusinessEvent.class);
+        BusinessEvent innerEvent = mock(BusinessEvent.class);
+        BusinessEventSerializer eventSerializer = mock(BusinessEventSerializer.class);
+        given(innerEvent.getType()).willReturn("InnerType");
+        given(idempotencyKeyGenerator.generate(any())).willReturn("key");
+        given(serializerFactory.create(any())).willReturn(eventSerializer);
+        given(eventSerializer.getSupportedSchema()).will(invocation -> LoanAccountDataV1.class);
+        given(eventSerializer.serialize(any())).willReturn(new byte[0]);
+        TestTransactionManager transactionManager = new TestTransactionManager();
+        TransactionTemplate outerTransaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate innerTransaction = new TransactionTemplate(transactionManager);
+        innerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // when
+        outerTransaction.executeWithoutResult(outerStatus -> {
+            underTest.postEvent(outerEvent);
+            innerTransaction.executeWithoutResult(innerStatus -> underTest.postEvent(innerEvent));
+            outerStatus.setRollbackOnly();
+        });
+        // then
+        verify(repository, never()).save(any());
+        verify(repository, times(1)).insertAll(externalEventsArgumentCaptor.capture());
+        List<ExternalEvent> externalEvents = externalEventsArgumentCaptor.getValue();
+        assertThat(externalEvents).hasSize(1);
+        assertThat(externalEvents.get(0).getType()).isEqualTo("InnerType");
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    private void configureDeferredWrites(boolean deferredWritesEnabled) {
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        externalProperties.setDeferredWritesEnabled(deferredWritesEnabled);
+        eventsProperties.setExternal(externalProperties);
+        given(fineractProperties.getEvents()).willReturn(eventsProperties);
+    }
+
+    /**
+     * Resourceless transaction manager that supports suspension, so the synchronizations go through the same
+     * suspend/resume cycle as with the JPA transaction manager.
+     */
+    private static final class TestTransactionManager extends AbstractPlatformTransactionManager {
+
+        private boolean active;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new boolean[] { active };
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((boolean[]) transaction)[0];
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            active = true;
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            active = false;
+            return Boolean.TRUE;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            active = true;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            active = false;
+        }
+    }
 }
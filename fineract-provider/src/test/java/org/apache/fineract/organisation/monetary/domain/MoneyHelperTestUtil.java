@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public final class MoneyHelperTestUtil {
+
+    private MoneyHelperTestUtil() {}
+
+    /**
+     * Makes {@link MoneyHelper} resolve the rounding mode from the given (mocked) configuration service and drops the
+     * rounding cached by earlier tests.
+     */
+    public static void initialize(ConfigurationDomainService configurationDomainService) {
+        MoneyHelper moneyHelper = new MoneyHelper();
+        ReflectionTestUtils.setField(moneyHelper, "configurationDomainService", configurationDomainService);
+        moneyHelper.someFunction();
+        MoneyHelper.clearCache();
+    }
+}
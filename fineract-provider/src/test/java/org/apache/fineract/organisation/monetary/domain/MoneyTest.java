@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class MoneyTest {
+
+    private static final MonetaryCurrency USD = new MonetaryCurrency("USD", 2, null);
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    @BeforeEach
+    public void setUp() {
+        MoneyHelperTestUtil.initialize(configurationDomainService);
+        when(configurationDomainService.getRoundingMode()).thenReturn(RoundingMode.HALF_EVEN.ordinal());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MoneyHelper.clearCache();
+    }
+
+    @Test
+    public void givenAmountsOfCurrencyScaleWhenAddedAndSubtractedThenResultMatchesRoundedArithmetic() {
+        Random random = new Random(42L);
+        Money total = Money.zero(USD);
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000L, 2);
+            if (i % 2 == 0) {
+                total = total.plus(Money.of(USD, amount));
+                expected = expected.add(amount);
+            } else {
+                total = total.minus(amount);
+                expected = expected.subtract(amount);
+            }
+            assertEquals(expected.setScale(2, RoundingMode.HALF_EVEN), total.getAmount());
+        }
+    }
+
+    @Test
+    public void givenAmountWithHigherScaleWhenAddedThenResultIsRoundedToCurrencyScale() {
+        Money money = Money.of(USD, new BigDecimal("10.00"));
+
+        assertEquals(new BigDecimal("10.12"), money.plus(new BigDecimal("0.125")).getAmount());
+        assertEquals(new BigDecimal("9.88"), money.minus(new BigDecimal("0.125")).getAmount());
+        assertEquals(new BigDecimal("10.00"), Money.of(USD, new BigDecimal("10.0000000")).getAmount());
+    }
+
+    @Test
+    public void givenCurrencyInMultiplesOfWhenAddedThenResultIsStillRoundedToMultiples() {
+        MonetaryCurrency currency = new MonetaryCurrency("XOF", 0, 50);
+
+        Money money = Money.of(currency, BigDecimal.valueOf(100)).plus(BigDecimal.valueOf(30));
+
+        assertEquals(BigDecimal.valueOf(150), money.getAmount());
+    }
+
+    @Test
+    public void givenAmountsWhenSignIsCheckedThenSignumOfAmountIsUsed() {
+        assertTrue(Money.zero(USD).isZero());
+        assertFalse(Money.zero(USD).isGreaterThanZero());
+        assertTrue(Money.of(USD, new BigDecimal("0.01")).isGreaterThanZero());
+        assertTrue(Money.of(USD, new BigDecimal("-0.01")).isLessThanZero());
+        assertFalse(Money.of(USD, new BigDecimal("-0.01")).isZero());
+    }
+
+    @Test
+    public void givenTenantWhenRoundingModeIsResolvedRepeatedlyThenConfigurationIsReadOnce() {
+        Money.of(USD, new BigDecimal("1.005"));
+        Money.of(USD, new BigDecimal("2.005"));
+        assertEquals(RoundingMode.HALF_EVEN, MoneyHelper.getRoundingMode());
+
+        verify(configurationDomainService, times(1)).getRoundingMode();
+
+        MoneyHelper.clearCache();
+        when(configurationDomainService.getRoundingMode()).thenReturn(RoundingMode.HALF_UP.ordinal());
+        assertEquals(new BigDecimal("1.01"), Money.of(USD, new BigDecimal("1.005")).getAmount());
+    }
+}
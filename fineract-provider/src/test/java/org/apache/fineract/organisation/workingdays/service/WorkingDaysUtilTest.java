@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.workingdays.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class WorkingDaysUtilTest {
+
+    private static final String WEEKDAYS = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR";
+    private static final String EVERY_DAY = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU";
+
+    private static final FineractPlatformTenant OTHER_TENANT = new FineractPlatformTenant(2L, "other", "Other", "Pacific/Honolulu",
+            null);
+
+    @Mock
+    private WorkingDays workingDays;
+
+    @AfterEach
+    public void tearDown() {
+        WorkingDaysUtil.clearCache();
+    }
+
+    @Test
+    public void givenWeekdaysWhenCheckedRepeatedlyThenWeekendIsNonWorkingDay() {
+        // given
+        when(workingDays.getRecurrence()).thenReturn(WEEKDAYS);
+        LocalDate friday = LocalDate.of(2023, 3, 3);
+        LocalDate saturday = LocalDate.of(2023, 3, 4);
+        // when & then
+        for (int i = 0; i < 2; i++) {
+            assertTrue(WorkingDaysUtil.isWorkingDay(workingDays, friday));
+            assertTrue(WorkingDaysUtil.isNonWorkingDay(workingDays, saturday));
+        }
+        assertFalse(WorkingDaysUtil.isEveryDayWorkingDay(workingDays));
+    }
+
+    @Test
+    public void givenChangedRecurrenceWhenCheckedThenNewRecurrenceIsEvaluated() {
+        // given
+        LocalDate saturday = LocalDate.of(2023, 3, 4);
+        when(workingDays.getRecurrence()).thenReturn(WEEKDAYS);
+        assertTrue(WorkingDaysUtil.isNonWorkingDay(workingDays, saturday));
+        // when
+        when(workingDays.getRecurrence()).thenReturn(EVERY_DAY);
+        // then
+        assertTrue(WorkingDaysUtil.isWorkingDay(workingDays, saturday));
+        assertTrue(WorkingDaysUtil.isEveryDayWorkingDay(workingDays));
+    }
+
+    @Test
+    public void givenCheckedWorkingDayWhenCheckedAgainThenLookupIsServedFromCache() {
+        // given
+        when(workingDays.getRecurrence()).thenReturn(WEEKDAYS);
+        LocalDate friday = LocalDate.of(2023, 3, 3);
+        try (MockedStatic<CalendarUtils> calendarUtils = mockStatic(CalendarUtils.class, CALLS_REAL_METHODS)) {
+            assertTrue(WorkingDaysUtil.isWorkingDay(workingDays, friday));
+            // when
+            assertTrue(WorkingDaysUtil.isWorkingDay(workingDays, friday));
+            // then
+            calendarUtils.verify(() -> CalendarUtils.isValidRedurringDate(WEEKDAYS, friday, friday), times(1));
+        }
+    }
+
+    @Test
+    public void givenTenantsInDifferentTimeZonesWhenCheckedThenRecurrenceIsEvaluatedPerTenant() {
+        // given
+        when(workingDays.getRecurrence()).thenReturn(WEEKDAYS);
+        LocalDate friday = LocalDate.of(2023, 3, 3);
+        try (MockedStatic<CalendarUtils> calendarUtils = mockStatic(CalendarUtils.class, CALLS_REAL_METHODS)) {
+            assertTrue(WorkingDaysUtil.isWorkingDay(workingDays, friday));
+            // when
+            ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+            // The recurring dates are converted in the time zone of the tenant, so the result is not asserted here
+            WorkingDaysUtil.isWorkingDay(workingDays, friday);
+            ThreadLocalContextUtil.setTenant(DefaultTenantExtension.DEFAULT_TENANT);
+            assertTrue(WorkingDaysUtil.isWorkingDay(workingDays, friday));
+            // then
+            calendarUtils.verify(() -> CalendarUtils.isValidRedurringDate(WEEKDAYS, friday, friday), times(2));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+
+import java.time.LocalDate;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+
+@ExtendWith(DefaultTenantExtension.class)
+public class CalendarUtilsTest {
+
+    private static final String WEEKLY_ON_MONDAY = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO";
+    private static final FineractPlatformTenant OTHER_TENANT = new FineractPlatformTenant(2L, "other", "Other", "Pacific/Honolulu",
+            null);
+
+    @AfterEach
+    public void tearDown() {
+        CalendarUtils.clearCache();
+    }
+
+    @Test
+    public void givenNextRepaymentMeetingDateWhenRequestedAgainThenItIsServedFromCache() {
+        try (MockedStatic<CalendarUtils> calendarUtils = mockStatic(CalendarUtils.class, CALLS_REAL_METHODS)) {
+            // given
+            LocalDate meetingDate = nextRepaymentMeetingDate();
+            // when
+            LocalDate cachedMeetingDate = nextRepaymentMeetingDate();
+            // then
+            assertEquals(meetingDate, cachedMeetingDate);
+            verifyMeetingDateEvaluations(calendarUtils, 1);
+        }
+    }
+
+    @Test
+    public void givenTenantsInDifferentTimeZonesWhenNextRepaymentMeetingDateRequestedThenItIsEvaluatedPerTenant() {
+        try (MockedStatic<CalendarUtils> calendarUtils = mockStatic(CalendarUtils.class, CALLS_REAL_METHODS)) {
+            // given
+            nextRepaymentMeetingDate();
+            // when
+            ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+            nextRepaymentMeetingDate();
+            ThreadLocalContextUtil.setTenant(DefaultTenantExtension.DEFAULT_TENANT);
+            nextRepaymentMeetingDate();
+            // then
+            verifyMeetingDateEvaluations(calendarUtils, 2);
+        }
+    }
+
+    private LocalDate nextRepaymentMeetingDate() {
+        return CalendarUtils.getNextRepaymentMeetingDate(WEEKLY_ON_MONDAY, LocalDate.of(2023, 1, 2), LocalDate.of(2023, 3, 6), 1,
+                "WEEKLY", false, 0);
+    }
+
+    private void verifyMeetingDateEvaluations(MockedStatic<CalendarUtils> calendarUtils, int evaluations) {
+        calendarUtils.verify(() -> CalendarUtils.getNextRepaymentMeetingDate(eq(WEEKLY_ON_MONDAY), any(), any(), any(), any(), any(),
+                anyBoolean(), any(), anyBoolean(), anyBoolean()), times(evaluations));
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class LoanRepaymentScheduleInstallmentTest {
+
+    @Test
+    public void givenReplacingInstallmentWhenUpdateFromThenScheduleIsTakenOverAndChargesAreKept() {
+        // given
+        LoanRepaymentScheduleInstallment existing = new LoanRepaymentScheduleInstallment(null, 3, LocalDate.of(2022, 2, 1),
+                LocalDate.of(2022, 3, 1), BigDecimal.valueOf(100), BigDecimal.valueOf(10), null, null, false, new HashSet<>());
+        ReflectionTestUtils.setField(existing, "id", 42L);
+        LoanInstallmentCharge existingCharge = new LoanInstallmentCharge(BigDecimal.ONE, null, existing);
+        existing.getInstallmentCharges().add(existingCharge);
+
+        LoanInterestRecalcualtionAdditionalDetails compoundingDetail = new LoanInterestRecalcualtionAdditionalDetails(
+                LocalDate.of(2022, 3, 5), BigDecimal.valueOf(2));
+        LoanRepaymentScheduleInstallment replacement = new LoanRepaymentScheduleInstallment(null, 3, LocalDate.of(2022, 2, 1),
+                LocalDate.of(2022, 3, 5), BigDecimal.valueOf(90), BigDecimal.valueOf(12), BigDecimal.valueOf(5), null, true,
+                new HashSet<>(Set.of(compoundingDetail)), BigDecimal.valueOf(3));
+        LoanInstallmentCharge newCharge = new LoanInstallmentCharge(BigDecimal.TEN, null, replacement);
+        replacement.getInstallmentCharges().add(newCharge);
+        // when
+        existing.updateFrom(replacement);
+        // then
+        assertEquals(42L, existing.getId());
+        assertEquals(LocalDate.of(2022, 3, 5), existing.getDueDate());
+        assertEquals(BigDecimal.valueOf(90), ReflectionTestUtils.getField(existing, "principal"));
+        assertEquals(BigDecimal.valueOf(12), ReflectionTestUtils.getField(existing, "interestCharged"));
+        assertEquals(BigDecimal.valueOf(5), ReflectionTestUtils.getField(existing, "feeChargesCharged"));
+        assertEquals(BigDecimal.valueOf(3), existing.getRescheduleInterestPortion());
+        assertTrue(existing.isRecalculatedInterestComponent());
+        assertEquals(Set.of(compoundingDetail), existing.getLoanCompoundingDetails());
+        assertSame(existing, compoundingDetail.getLoanRepaymentScheduleInstallment());
+        assertEquals(Set.of(existingCharge, newCharge), existing.getInstallmentCharges());
+        assertSame(existing, existingCharge.getInstallment());
+        assertSame(existing, newCharge.getInstallment());
+        assertTrue(replacement.getInstallmentCharges().isEmpty());
+    }
+}
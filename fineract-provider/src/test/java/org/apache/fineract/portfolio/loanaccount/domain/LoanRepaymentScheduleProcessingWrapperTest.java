@@ -0,0 +1,383 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelperTestUtil;
+import org.apache.fineract.portfolio.charge.domain.ChargeCalculationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class LoanRepaymentScheduleProcessingWrapperTest {
+
+    private static final MonetaryCurrency USD = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2022, 1, 1);
+    private static final ChargeCalculationType[] CALCULATION_TYPES = { ChargeCalculationType.FLAT, ChargeCalculationType.PERCENT_OF_AMOUNT,
+            ChargeCalculationType.PERCENT_OF_AMOUNT_AND_INTEREST, ChargeCalculationType.PERCENT_OF_INTEREST,
+            ChargeCalculationType.PERCENT_OF_DISBURSEMENT_AMOUNT };
+    private static final String[] CHARGE_PORTIONS = { "Fee charges due", "Fee charges waived", "Fee charges written off",
+            "Penalty charges due", "Penalty charges waived", "Penalty charges written off" };
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    private final LoanRepaymentScheduleProcessingWrapper underTest = new LoanRepaymentScheduleProcessingWrapper();
+
+    @BeforeEach
+    public void setUp() {
+        MoneyHelperTestUtil.initialize(configurationDomainService);
+        lenient().when(configurationDomainService.getRoundingMode()).thenReturn(RoundingMode.HALF_EVEN.ordinal());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MoneyHelper.clearCache();
+    }
+
+    @Test
+    public void givenFeeAndPenaltyChargesWhenReprocessThenChargePortionsArePerPeriod() {
+        // given
+        LoanRepaymentScheduleInstallment first = mockPeriod(LocalDate.of(2022, 2, 1), true);
+        LoanRepaymentScheduleInstallment second = mockPeriod(LocalDate.of(2022, 3, 1), false);
+        LoanCharge fee = mockCharge(true, false, ChargeCalculationType.FLAT);
+        when(fee.isDueForCollectionFromAndUpToAndIncluding(DISBURSEMENT_DATE, LocalDate.of(2022, 2, 1))).thenReturn(false);
+        when(fee.isDueForCollectionFromIncludingAndUpToAndIncluding(DISBURSEMENT_DATE, LocalDate.of(2022, 2, 1))).thenReturn(false);
+        when(fee.isDueForCollectionFromAndUpToAndIncluding(LocalDate.of(2022, 2, 1), LocalDate.of(2022, 3, 1))).thenReturn(true);
+        when(fee.amount()).thenReturn(BigDecimal.valueOf(10));
+        when(fee.getAmountWaived(USD)).thenReturn(Money.of(USD, BigDecimal.valueOf(4)));
+        when(fee.getAmountWrittenOff(USD)).thenReturn(Money.of(USD, BigDecimal.valueOf(1)));
+        LoanCharge penalty = mockCharge(false, true, ChargeCalculationType.PERCENT_OF_AMOUNT);
+        when(penalty.isDueForCollectionFromAndUpToAndIncluding(DISBURSEMENT_DATE, LocalDate.of(2022, 2, 1))).thenReturn(true);
+        when(penalty.isDueForCollectionFromAndUpToAndIncluding(LocalDate.of(2022, 2, 1), LocalDate.of(2022, 3, 1))).thenReturn(false);
+        when(penalty.getPercentage()).thenReturn(BigDecimal.valueOf(2));
+        when(penalty.getAmountWaived(USD)).thenReturn(Money.zero(USD));
+        when(penalty.getAmountWrittenOff(USD)).thenReturn(Money.zero(USD));
+        Set<LoanCharge> charges = new LinkedHashSet<>(List.of(fee, penalty));
+        // when
+        underTest.reprocess(USD, DISBURSEMENT_DATE, List.of(first, second), charges);
+        // then
+        verify(first).updateChargePortion(money(0), money(0), money(0), money(4), money(0), money(0));
+        verify(second).updateChargePortion(money(10), money(4), money(1), money(0), money(0), money(0));
+    }
+
+    @Test
+    public void givenInstallmentFeeWhenReprocessThenItIsChargedOnEveryPeriodFromThePeriodAmounts() {
+        // given
+        LoanRepaymentScheduleInstallment first = mockPeriod(LocalDate.of(2022, 2, 1), true);
+        LoanRepaymentScheduleInstallment second = mockPeriod(LocalDate.of(2022, 3, 1), false);
+        LoanCharge installmentFee = mockCharge(true, false, ChargeCalculationType.PERCENT_OF_AMOUNT_AND_INTEREST);
+        when(installmentFee.isInstalmentFee()).thenReturn(true);
+        when(installmentFee.getPercentage()).thenReturn(BigDecimal.valueOf(10));
+        LoanInstallmentCharge firstInstallmentCharge = mock(LoanInstallmentCharge.class);
+        when(firstInstallmentCharge.getAmountWaived(USD)).thenReturn(Money.of(USD, BigDecimal.valueOf(11)));
+        when(firstInstallmentCharge.getAmountWrittenOff(USD)).thenReturn(Money.zero(USD));
+        when(installmentFee.getInstallmentLoanCharge(LocalDate.of(2022, 2, 1))).thenReturn(firstInstallmentCharge);
+        when(installmentFee.getInstallmentLoanCharge(LocalDate.of(2022, 3, 1))).thenReturn(null);
+        // when
+        underTest.reprocess(USD, DISBURSEMENT_DATE, List.of(first, second), Set.of(installmentFee));
+        // then
+        verify(first).updateChargePortion(money(11), money(11), money(0), money(0), money(0), money(0));
+        verify(second).updateChargePortion(money(11), money(0), money(0), money(0), money(0), money(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 1L, 7L, 42L, 2022L, 31337L })
+    public void givenRandomChargesWhenReprocessThenChargePortionsMatchThePerPortionCalculation(long seed) {
+        Random random = new Random(seed);
+        for (int scenario = 0; scenario < 25; scenario++) {
+            // given
+            List<LoanRepaymentScheduleInstallment> periods = randomPeriods(random);
+            Set<LoanCharge> charges = randomCharges(random, periods);
+            // when
+            underTest.reprocess(USD, DISBURSEMENT_DATE, periods, charges);
+            // then
+            assertChargePortionsMatchPerPortionCalculation(periods, charges, "seed " + seed + ", scenario " + scenario);
+        }
+    }
+
+    private List<LoanRepaymentScheduleInstallment> randomPeriods(Random random) {
+        List<LoanRepaymentScheduleInstallment> periods = new ArrayList<>();
+        int numberOfPeriods = 1 + random.nextInt(6);
+        for (int i = 0; i < numberOfPeriods; i++) {
+            LoanRepaymentScheduleInstallment period = mockPeriod(DISBURSEMENT_DATE.plusMonths(i + 1L), i == 0);
+            lenient().when(period.isRecalculatedInterestComponent()).thenReturn(random.nextInt(5) == 0);
+            lenient().when(period.getPrincipal(USD)).thenReturn(Money.of(USD, randomAmount(random, 100_000)));
+            lenient().when(period.getInterestCharged(USD)).thenReturn(Money.of(USD, randomAmount(random, 10_000)));
+            periods.add(period);
+        }
+        return periods;
+    }
+
+    private Set<LoanCharge> randomCharges(Random random, List<LoanRepaymentScheduleInstallment> periods) {
+        Set<LoanCharge> charges = new LinkedHashSet<>();
+        int numberOfCharges = random.nextInt(8);
+        for (int i = 0; i < numberOfCharges; i++) {
+            boolean isFee = random.nextBoolean();
+            ChargeCalculationType calculationType = CALCULATION_TYPES[random.nextInt(CALCULATION_TYPES.length)];
+            LoanCharge charge = mockCharge(isFee, !isFee, calculationType);
+            int chargeTime = random.nextInt(4);
+            lenient().when(charge.isDueAtDisbursement()).thenReturn(chargeTime == 0);
+            lenient().when(charge.isSpecifiedDueDate()).thenReturn(chargeTime == 1);
+            lenient().when(charge.isInstalmentFee()).thenReturn(chargeTime == 2);
+            lenient().when(charge.isOverdueInstallmentCharge()).thenReturn(chargeTime == 3);
+
+            // Due on the disbursement date, on or between the period due dates or after the last period
+            LocalDate dueDate = chargeTime == 2 ? null : DISBURSEMENT_DATE.plusDays(random.nextInt(31 * periods.size() + 10));
+            lenient().when(charge.getDueDate()).thenReturn(dueDate);
+            lenient().when(charge.isDueForCollectionFromAndUpToAndIncluding(any(LocalDate.class), any(LocalDate.class)))
+                    .thenAnswer(invocation -> dueDate != null && dueDate.isAfter(invocation.getArgument(0))
+                            && !dueDate.isAfter(invocation.getArgument(1)));
+            lenient().when(charge.isDueForCollectionFromIncludingAndUpToAndIncluding(any(LocalDate.class), any(LocalDate.class)))
+                    .thenAnswer(invocation -> dueDate != null && !dueDate.isBefore(invocation.getArgument(0))
+                            && !dueDate.isAfter(invocation.getArgument(1)));
+
+            BigDecimal amount = randomAmount(random, 1_000);
+            lenient().when(charge.amount()).thenReturn(amount);
+            lenient().when(charge.amountOrPercentage()).thenReturn(amount);
+            lenient().when(charge.chargeAmount()).thenReturn(amount.add(randomAmount(random, 100)));
+            lenient().when(charge.getPercentage()).thenReturn(randomAmount(random, 2_000));
+            // Not, partially or fully waived and written off
+            lenient().when(charge.getAmountWaived(USD)).thenReturn(Money.of(USD, randomPortion(random, amount)));
+            lenient().when(charge.getAmountWrittenOff(USD)).thenReturn(Money.of(USD, randomPortion(random, amount)));
+
+            for (LoanRepaymentScheduleInstallment period : periods) {
+                LocalDate periodDueDate = period.getDueDate();
+                LoanInstallmentCharge installmentCharge = null;
+                if (random.nextInt(3) > 0) {
+                    installmentCharge = mock(LoanInstallmentCharge.class);
+                    lenient().when(installmentCharge.getAmountWaived(USD)).thenReturn(Money.of(USD, randomPortion(random, amount)));
+                    lenient().when(installmentCharge.getAmountWrittenOff(USD)).thenReturn(Money.of(USD, randomPortion(random, amount)));
+                }
+                lenient().when(charge.getInstallmentLoanCharge(periodDueDate)).thenReturn(installmentCharge);
+            }
+
+            if (random.nextBoolean()) {
+                Loan loan = mock(Loan.class);
+                lenient().when(loan.isMultiDisburmentLoan()).thenReturn(random.nextBoolean());
+                List<LoanDisbursementDetails> disbursementDetails = new ArrayList<>();
+                for (int tranche = 0; tranche < 3; tranche++) {
+                    LoanDisbursementDetails details = mock(LoanDisbursementDetails.class);
+                    lenient().when(details.expectedDisbursementDate()).thenReturn(DISBURSEMENT_DATE.plusDays(tranche * 30L));
+                    lenient().when(details.principal()).thenReturn(randomAmount(random, 50_000));
+                    disbursementDetails.add(details);
+                }
+                lenient().when(loan.getDisbursementDetails()).thenReturn(disbursementDetails);
+                lenient().when(charge.getLoan()).thenReturn(loan);
+            }
+            charges.add(charge);
+        }
+        return charges;
+    }
+
+    private BigDecimal randomAmount(Random random, int bound) {
+        return BigDecimal.valueOf(random.nextInt(bound * 100), 2);
+    }
+
+    private BigDecimal randomPortion(Random random, BigDecimal amount) {
+        return switch (random.nextInt(3)) {
+            case 0 -> BigDecimal.ZERO;
+            case 1 -> amount;
+            default -> amount.multiply(BigDecimal.valueOf(random.nextInt(100), 2)).setScale(2, RoundingMode.HALF_EVEN);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertChargePortionsMatchPerPortionCalculation(List<LoanRepaymentScheduleInstallment> periods, Set<LoanCharge> charges,
+            String scenario) {
+        Money totalPrincipal = Money.zero(USD);
+        Money totalInterest = Money.zero(USD);
+        for (LoanRepaymentScheduleInstallment period : periods) {
+            totalPrincipal = totalPrincipal.plus(period.getPrincipal(USD));
+            totalInterest = totalInterest.plus(period.getInterestCharged(USD));
+        }
+        LocalDate startDate = DISBURSEMENT_DATE;
+        for (LoanRepaymentScheduleInstallment period : periods) {
+            boolean isInstallmentChargeApplicable = !period.isRecalculatedInterestComponent();
+            ArgumentCaptor<Money>[] captors = new ArgumentCaptor[6];
+            for (int i = 0; i < captors.length; i++) {
+                captors[i] = ArgumentCaptor.forClass(Money.class);
+            }
+            verify(period).updateChargePortion(captors[0].capture(), captors[1].capture(), captors[2].capture(), captors[3].capture(),
+                    captors[4].capture(), captors[5].capture());
+
+            List<Money> expected = List.of(
+                    previousChargesDueWithin(startDate, period.getDueDate(), charges, true, period, totalPrincipal, totalInterest,
+                            isInstallmentChargeApplicable),
+                    previousChargesWaivedWithin(startDate, period.getDueDate(), charges, true, isInstallmentChargeApplicable),
+                    previousChargesWrittenOffWithin(startDate, period.getDueDate(), charges, true, isInstallmentChargeApplicable),
+                    previousChargesDueWithin(startDate, period.getDueDate(), charges, false, period, totalPrincipal, totalInterest,
+                            isInstallmentChargeApplicable),
+                    previousChargesWaivedWithin(startDate, period.getDueDate(), charges, false, isInstallmentChargeApplicable),
+                    previousChargesWrittenOffWithin(startDate, period.getDueDate(), charges, false, isInstallmentChargeApplicable));
+            for (int i = 0; i < captors.length; i++) {
+                assertEquals(expected.get(i).getAmount(), captors[i].getValue().getAmount(),
+                        CHARGE_PORTIONS[i] + " of period " + period.getDueDate() + ", " + scenario);
+            }
+            startDate = period.getDueDate();
+        }
+    }
+
+    // The per charge portion calculation that the single pass replaced, one pass over the charges per portion
+
+    private boolean isChargeOfType(LoanCharge loanCharge, boolean isFee) {
+        return isFee ? loanCharge.isFeeCharge() && !loanCharge.isDueAtDisbursement() : loanCharge.isPenaltyCharge();
+    }
+
+    private Money previousChargesDueWithin(LocalDate periodStart, LocalDate periodEnd, Set<LoanCharge> loanCharges, boolean isFee,
+            LoanRepaymentScheduleInstallment period, Money totalPrincipal, Money totalInterest, boolean isInstallmentChargeApplicable) {
+        Money cumulative = Money.zero(USD);
+        for (LoanCharge loanCharge : loanCharges) {
+            if (!isChargeOfType(loanCharge, isFee)) {
+                continue;
+            }
+            if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
+                if (loanCharge.getChargeCalculation().isPercentageBased()) {
+                    BigDecimal amount = BigDecimal.ZERO;
+                    if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
+                        amount = amount.add(period.getPrincipal(USD).getAmount()).add(period.getInterestCharged(USD).getAmount());
+                    } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
+                        amount = amount.add(period.getInterestCharged(USD).getAmount());
+                    } else {
+                        amount = amount.add(period.getPrincipal(USD).getAmount());
+                    }
+                    cumulative = cumulative.plus(amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100)));
+                } else {
+                    cumulative = cumulative.plus(loanCharge.amountOrPercentage());
+                }
+            } else if (loanCharge.isOverdueInstallmentCharge()
+                    && loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)
+                    && loanCharge.getChargeCalculation().isPercentageBased()) {
+                cumulative = cumulative.plus(loanCharge.chargeAmount());
+            } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)
+                    && loanCharge.getChargeCalculation().isPercentageBased()) {
+                BigDecimal amount = BigDecimal.ZERO;
+                if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
+                    amount = amount.add(totalPrincipal.getAmount()).add(totalInterest.getAmount());
+                } else if (loanCharge.getChargeCalculation().isPercentageOfInterest()) {
+                    amount = amount.add(totalInterest.getAmount());
+                } else if (isFee && loanCharge.getLoan() != null && loanCharge.isSpecifiedDueDate()
+                        && loanCharge.getLoan().isMultiDisburmentLoan()) {
+                    for (LoanDisbursementDetails loanDisbursementDetails : loanCharge.getLoan().getDisbursementDetails()) {
+                        if (!loanDisbursementDetails.expectedDisbursementDate().isAfter(loanCharge.getDueDate())) {
+                            amount = amount.add(loanDisbursementDetails.principal());
+                        }
+                    }
+                } else {
+                    amount = amount.add(totalPrincipal.getAmount());
+                }
+                cumulative = cumulative.plus(amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100)));
+            } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
+                cumulative = cumulative.plus(loanCharge.amount());
+            } else if (isFee && period.isFirstPeriod()
+                    && loanCharge.isDueForCollectionFromIncludingAndUpToAndIncluding(periodStart, periodEnd)) {
+                cumulative = cumulative.plus(loanCharge.amount());
+            }
+        }
+        return cumulative;
+    }
+
+    private Money previousChargesWaivedWithin(LocalDate periodStart, LocalDate periodEnd, Set<LoanCharge> loanCharges, boolean isFee,
+            boolean isInstallmentChargeApplicable) {
+        Money cumulative = Money.zero(USD);
+        for (LoanCharge loanCharge : loanCharges) {
+            if (!isChargeOfType(loanCharge, isFee)) {
+                continue;
+            }
+            if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
+                LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
+                if (loanChargePerInstallment != null) {
+                    cumulative = cumulative.plus(loanChargePerInstallment.getAmountWaived(USD));
+                }
+            } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
+                cumulative = cumulative.plus(loanCharge.getAmountWaived(USD));
+            }
+        }
+        return cumulative;
+    }
+
+    private Money previousChargesWrittenOffWithin(LocalDate periodStart, LocalDate periodEnd, Set<LoanCharge> loanCharges, boolean isFee,
+            boolean isInstallmentChargeApplicable) {
+        Money cumulative = Money.zero(USD);
+        for (LoanCharge loanCharge : loanCharges) {
+            if (!isChargeOfType(loanCharge, isFee)) {
+                continue;
+            }
+            if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
+                LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
+                if (loanChargePerInstallment != null) {
+                    cumulative = cumulative.plus(loanChargePerInstallment.getAmountWrittenOff(USD));
+                }
+            } else if (loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd)) {
+                cumulative = cumulative.plus(loanCharge.getAmountWrittenOff(USD));
+            }
+        }
+        return cumulative;
+    }
+
+    private LoanRepaymentScheduleInstallment mockPeriod(LocalDate dueDate, boolean isFirstPeriod) {
+        LoanRepaymentScheduleInstallment period = mock(LoanRepaymentScheduleInstallment.class);
+        lenient().when(period.getDueDate()).thenReturn(dueDate);
+        lenient().when(period.isFirstPeriod()).thenReturn(isFirstPeriod);
+        lenient().when(period.getPrincipal(USD)).thenReturn(Money.of(USD, BigDecimal.valueOf(100)));
+        lenient().when(period.getInterestCharged(USD)).thenReturn(Money.of(USD, BigDecimal.valueOf(10)));
+        return period;
+    }
+
+    private LoanCharge mockCharge(boolean isFee, boolean isPenalty, ChargeCalculationType calculationType) {
+        LoanCharge loanCharge = mock(LoanCharge.class);
+        lenient().when(loanCharge.isFeeCharge()).thenReturn(isFee);
+        lenient().when(loanCharge.isPenaltyCharge()).thenReturn(isPenalty);
+        lenient().when(loanCharge.getChargeCalculation()).thenReturn(calculationType);
+        return loanCharge;
+    }
+
+    private Money money(long amount) {
+        BigDecimal expected = BigDecimal.valueOf(amount).setScale(2);
+        return argThat(money -> money != null && money.getAmount().compareTo(expected) == 0);
+    }
+}
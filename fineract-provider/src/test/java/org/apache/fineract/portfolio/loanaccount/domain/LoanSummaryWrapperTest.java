@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelperTestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(DefaultTenantExtension.class)
+public class LoanSummaryWrapperTest {
+
+    private static final MonetaryCurrency USD = new MonetaryCurrency("USD", 2, null);
+    private static final int NUMBER_OF_INSTALLMENTS = 360;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    private final LoanSummaryWrapper underTest = new LoanSummaryWrapper();
+
+    @BeforeEach
+    public void setUp() {
+        MoneyHelperTestUtil.initialize(configurationDomainService);
+        when(configurationDomainService.getRoundingMode()).thenReturn(RoundingMode.HALF_EVEN.ordinal());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MoneyHelper.clearCache();
+    }
+
+    @Test
+    public void givenInstallmentsWhenCalculateTotalsThenTotalsMatchThePerTotalCalculations() {
+        // given
+        List<LoanRepaymentScheduleInstallment> installments = buildInstallments();
+        // when
+        LoanSummaryWrapper.InstallmentTotals totals = underTest.calculateTotals(installments, USD);
+        // then
+        assertAmountEquals(underTest.calculateTotalPrincipalAdjusted(installments, USD), totals.getPrincipalAdjusted());
+        assertAmountEquals(underTest.calculateTotalPrincipalRepaid(installments, USD), totals.getPrincipalRepaid());
+        assertAmountEquals(underTest.calculateTotalPrincipalWrittenOff(installments, USD), totals.getPrincipalWrittenOff());
+        assertAmountEquals(underTest.calculateTotalInterestCharged(installments, USD), totals.getInterestCharged());
+        assertAmountEquals(underTest.calculateTotalInterestRepaid(installments, USD), totals.getInterestRepaid());
+        assertAmountEquals(underTest.calculateTotalInterestWaived(installments, USD), totals.getInterestWaived());
+        assertAmountEquals(underTest.calculateTotalInterestWrittenOff(installments, USD), totals.getInterestWrittenOff());
+        assertAmountEquals(underTest.calculateTotalFeeChargesCharged(installments, USD), totals.getFeeChargesCharged());
+        assertAmountEquals(underTest.calculateTotalFeeChargesWrittenOff(installments, USD), totals.getFeeChargesWrittenOff());
+        assertAmountEquals(underTest.calculateTotalPenaltyChargesCharged(installments, USD), totals.getPenaltyChargesCharged());
+        assertAmountEquals(underTest.calculateTotalPenaltyChargesRepaid(installments, USD), totals.getPenaltyChargesRepaid());
+        assertAmountEquals(underTest.calculateTotalPenaltyChargesWaived(installments, USD), totals.getPenaltyChargesWaived());
+        assertAmountEquals(underTest.calculateTotalPenaltyChargesWrittenOff(installments, USD), totals.getPenaltyChargesWrittenOff());
+    }
+
+    @Test
+    public void givenNoInstallmentsWhenCalculateTotalsThenTotalsAreZero() {
+        // when
+        LoanSummaryWrapper.InstallmentTotals totals = underTest.calculateTotals(List.of(), USD);
+        // then
+        assertEquals(0, totals.getPrincipalRepaid().getAmount().signum());
+        assertEquals(0, totals.getInterestCharged().getAmount().signum());
+        assertEquals(0, totals.getPenaltyChargesWrittenOff().getAmount().signum());
+    }
+
+    private List<LoanRepaymentScheduleInstallment> buildInstallments() {
+        Random random = new Random(42L);
+        LocalDate fromDate = LocalDate.of(2022, 1, 1);
+        List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>(NUMBER_OF_INSTALLMENTS);
+        for (int i = 1; i <= NUMBER_OF_INSTALLMENTS; i++) {
+            LocalDate dueDate = fromDate.plusMonths(1);
+            LoanRepaymentScheduleInstallment installment = new LoanRepaymentScheduleInstallment(null, i, fromDate, dueDate,
+                    randomAmount(random), randomAmount(random), randomAmount(random), randomAmount(random), false, null);
+            for (String field : List.of("credits", "principalCompleted", "principalWrittenOff", "interestPaid", "interestWaived",
+                    "interestWrittenOff", "feeChargesPaid", "feeChargesWrittenOff", "penaltyChargesPaid", "penaltyChargesWaived",
+                    "penaltyChargesWrittenOff")) {
+                ReflectionTestUtils.setField(installment, field, randomAmount(random));
+            }
+            installments.add(installment);
+            fromDate = dueDate;
+        }
+        return installments;
+    }
+
+    private void assertAmountEquals(Money expected, Money actual) {
+        assertEquals(expected.getAmount(), actual.getAmount());
+    }
+
+    private BigDecimal randomAmount(Random random) {
+        // Six decimal places like the database columns, so each amount is rounded to the currency on its own
+        return BigDecimal.valueOf(random.nextInt(100_000_000), 6);
+    }
+}
@@ -19,12 +19,17 @@
 package org.apache.fineract.portfolio.loanaccount.domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.fineract.portfolio.charge.domain.Charge;
 import org.apache.fineract.portfolio.charge.domain.ChargeCalculationType;
 import org.apache.fineract.portfolio.charge.domain.ChargePaymentMode;
@@ -75,6 +80,109 @@ public class LoanTest {
         assertEquals(0, chargeIds.size());
     }
 
+    /**
+     * Tests {@link Loan#updateLoanSchedule(Collection)} with a rescheduled schedule: the installments before the reschedule
+     * date are retained, the persisted installments are updated in place and the extra installments are added.
+     */
+    @Test
+    public void testUpdateLoanScheduleWithRescheduledInstallments() {
+        final Loan loan = buildLoan();
+        final LoanRepaymentScheduleInstallment first = buildPersistedInstallment(loan, 1, LocalDate.of(2022, 2, 1), 11L);
+        final LoanRepaymentScheduleInstallment second = buildPersistedInstallment(loan, 2, LocalDate.of(2022, 3, 1), 12L);
+        final LoanRepaymentScheduleInstallment third = buildPersistedInstallment(loan, 3, LocalDate.of(2022, 4, 1), 13L);
+        final LoanInstallmentCharge retainedCharge = new LoanInstallmentCharge(BigDecimal.ONE, null, first);
+        first.getInstallmentCharges().add(retainedCharge);
+        final LoanInstallmentCharge charge = new LoanInstallmentCharge(BigDecimal.ONE, null, second);
+        second.getInstallmentCharges().add(charge);
+
+        final LoanRepaymentScheduleInstallment rescheduledSecond = buildInstallment(2, LocalDate.of(2022, 3, 15));
+        final LoanRepaymentScheduleInstallment rescheduledThird = buildInstallment(3, LocalDate.of(2022, 4, 15));
+        final LoanRepaymentScheduleInstallment extraTerm = buildInstallment(4, LocalDate.of(2022, 5, 15));
+        loan.updateLoanSchedule(List.of(first, rescheduledSecond, rescheduledThird, extraTerm));
+
+        final List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
+        assertEquals(4, installments.size());
+        assertSame(first, installments.get(0));
+        assertEquals(LocalDate.of(2022, 2, 1), first.getDueDate());
+        assertEquals(Set.of(retainedCharge), first.getInstallmentCharges());
+        assertSame(second, installments.get(1));
+        assertEquals(LocalDate.of(2022, 3, 15), second.getDueDate());
+        assertEquals(Set.of(charge), second.getInstallmentCharges());
+        assertSame(third, installments.get(2));
+        assertEquals(13L, third.getId());
+        assertEquals(LocalDate.of(2022, 4, 15), third.getDueDate());
+        assertSame(extraTerm, installments.get(3));
+        assertSame(loan, extraTerm.getLoan());
+        assertEquals(LocalDate.of(2022, 5, 15), loan.getExpectedMaturityDate());
+    }
+
+    /**
+     * Tests {@link Loan#updateLoanSchedule(Collection)} with a schedule regenerated by the interest recalculation which
+     * has less installments: the persisted installments are updated in place and the trailing ones are removed.
+     */
+    @Test
+    public void testUpdateLoanScheduleWithRecalculatedInstallments() {
+        final Loan loan = buildLoan();
+        final LoanRepaymentScheduleInstallment first = buildPersistedInstallment(loan, 1, LocalDate.of(2022, 2, 1), 11L);
+        final LoanRepaymentScheduleInstallment second = buildPersistedInstallment(loan, 2, LocalDate.of(2022, 3, 1), 12L);
+        buildPersistedInstallment(loan, 3, LocalDate.of(2022, 4, 1), 13L);
+        buildPersistedInstallment(loan, 4, LocalDate.of(2022, 5, 1), 14L);
+
+        final LoanRepaymentScheduleInstallment recalculatedFirst = buildInstallment(1, LocalDate.of(2022, 2, 1));
+        final LoanRepaymentScheduleInstallment recalculatedSecond = buildInstallment(2, LocalDate.of(2022, 3, 1));
+        ReflectionTestUtils.setField(recalculatedSecond, "principal", BigDecimal.valueOf(200));
+        loan.updateLoanSchedule(List.of(recalculatedFirst, recalculatedSecond));
+
+        final List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
+        assertEquals(List.of(first, second), installments);
+        assertSame(first, installments.get(0));
+        assertSame(second, installments.get(1));
+        assertEquals(BigDecimal.valueOf(200), ReflectionTestUtils.getField(second, "principal"));
+        assertEquals(LocalDate.of(2022, 3, 1), loan.getExpectedMaturityDate());
+    }
+
+    /**
+     * Tests {@link Loan#updateLoanSchedule(Collection)} with installments which are not persisted yet: they are replaced
+     * by the new installments, which take over their charges.
+     */
+    @Test
+    public void testUpdateLoanScheduleWithNotPersistedInstallments() {
+        final Loan loan = buildLoan();
+        final LoanRepaymentScheduleInstallment existing = buildInstallment(1, LocalDate.of(2022, 2, 1));
+        loan.addLoanRepaymentScheduleInstallment(existing);
+        final LoanInstallmentCharge charge = new LoanInstallmentCharge(BigDecimal.ONE, null, existing);
+        existing.getInstallmentCharges().add(charge);
+
+        final LoanRepaymentScheduleInstallment replacement = buildInstallment(1, LocalDate.of(2022, 2, 15));
+        loan.updateLoanSchedule(List.of(replacement));
+
+        assertEquals(1, loan.getRepaymentScheduleInstallments().size());
+        assertSame(replacement, loan.getRepaymentScheduleInstallments().get(0));
+        assertSame(loan, replacement.getLoan());
+        assertEquals(Set.of(charge), replacement.getInstallmentCharges());
+        assertSame(replacement, charge.getInstallment());
+        assertTrue(existing.getInstallmentCharges().isEmpty());
+    }
+
+    private Loan buildLoan() {
+        final Loan loan = new Loan();
+        ReflectionTestUtils.setField(loan, "summary", LoanSummary.create(null));
+        return loan;
+    }
+
+    private LoanRepaymentScheduleInstallment buildPersistedInstallment(final Loan loan, final int installmentNumber,
+            final LocalDate dueDate, final Long id) {
+        final LoanRepaymentScheduleInstallment installment = buildInstallment(installmentNumber, dueDate);
+        ReflectionTestUtils.setField(installment, "id", id);
+        loan.addLoanRepaymentScheduleInstallment(installment);
+        return installment;
+    }
+
+    private LoanRepaymentScheduleInstallment buildInstallment(final int installmentNumber, final LocalDate dueDate) {
+        return new LoanRepaymentScheduleInstallment(null, installmentNumber, dueDate.minusMonths(1), dueDate, BigDecimal.valueOf(100),
+                BigDecimal.TEN, null, null, false, new HashSet<>());
+    }
+
     /**
      * Builds a new loan charge.
      *
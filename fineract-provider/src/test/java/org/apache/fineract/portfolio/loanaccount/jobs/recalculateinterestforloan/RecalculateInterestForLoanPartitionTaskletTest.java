@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanWritePlatformService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@ExtendWith(MockitoExtension.class)
+public class RecalculateInterestForLoanPartitionTaskletTest {
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanWritePlatformService loanWritePlatformService;
+    @Mock
+    private LoanAccountLockService loanAccountLockService;
+    private SimpleMeterRegistry meterRegistry;
+    private RecalculateInterestForLoanPartitionTasklet underTest;
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new RecalculateInterestForLoanPartitionTasklet(loanReadPlatformService, loanWritePlatformService,
+                loanAccountLockService, meterRegistry);
+        stepExecution = new StepExecution("worker", new JobExecution(1L));
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putLong(RecalculateInterestForLoanPartitioner.MIN_LOAN_ID, 1L);
+        executionContext.putLong(RecalculateInterestForLoanPartitioner.MAX_LOAN_ID, 9L);
+        executionContext.putInt(RecalculateInterestForLoanPartitioner.LOAN_COUNT, 3);
+        stepExecution.setExecutionContext(executionContext);
+    }
+
+    @Test
+    public void givenPartitionWhenExecutedThenLockedAndFailingLoansAreSkipped() throws Exception {
+        // given
+        when(loanReadPlatformService.fetchLoansForInterestRecalculation(1L, 9L, null, RecalculateInterestForLoanPartitionTasklet.PAGE_SIZE))
+                .thenReturn(List.of(2L, 5L, 7L));
+        when(loanAccountLockService.applyLock(2L, LockOwner.LOAN_INTEREST_RECALCULATION)).thenReturn(true);
+        when(loanAccountLockService.applyLock(5L, LockOwner.LOAN_INTEREST_RECALCULATION)).thenReturn(false);
+        when(loanAccountLockService.applyLock(7L, LockOwner.LOAN_INTEREST_RECALCULATION)).thenReturn(true);
+        doThrow(new ObjectOptimisticLockingFailureException("Loan", 7L)).when(loanWritePlatformService).recalculateInterest(7L);
+        // when
+        RepeatStatus status = execute();
+        // then
+        assertEquals(RepeatStatus.FINISHED, status);
+        verify(loanWritePlatformService).recalculateInterest(2L);
+        verify(loanWritePlatformService, never()).recalculateInterest(5L);
+        verify(loanAccountLockService).removeLock(2L, LockOwner.LOAN_INTEREST_RECALCULATION);
+        verify(loanAccountLockService, never()).removeLock(5L, LockOwner.LOAN_INTEREST_RECALCULATION);
+        verify(loanAccountLockService).removeLock(7L, LockOwner.LOAN_INTEREST_RECALCULATION);
+        assertEquals(1, stepExecution.getWriteCount());
+        assertEquals(1, stepExecution.getFilterCount());
+        assertEquals(1, stepExecution.getProcessSkipCount());
+        assertEquals(10L, stepExecution.getExecutionContext().getLong(RecalculateInterestForLoanPartitioner.MIN_LOAN_ID));
+        assertEquals(1.0, meterRegistry.get(RecalculateInterestForLoanPartitionTasklet.RECALCULATED_COUNTER_NAME).counter().count());
+        assertEquals(1.0, meterRegistry.get(RecalculateInterestForLoanPartitionTasklet.SKIPPED_COUNTER_NAME).tag("reason", "locked")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get(RecalculateInterestForLoanPartitionTasklet.SKIPPED_COUNTER_NAME).tag("reason", "failed")
+                .counter().count());
+    }
+
+    @Test
+    public void givenNothingToRecalculateWhenExecutedThenPartitionIsFinished() throws Exception {
+        // given
+        when(loanReadPlatformService.fetchLoansForInterestRecalculation(1L, 9L, null, RecalculateInterestForLoanPartitionTasklet.PAGE_SIZE))
+                .thenReturn(List.of());
+        // when & then
+        assertEquals(RepeatStatus.FINISHED, execute());
+        assertEquals(0, stepExecution.getWriteCount());
+    }
+
+    @Test
+    public void givenFailedLoanWhenPartitionIsCompletedThenStepFails() {
+        // given
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        stepExecution.setFilterCount(2);
+        stepExecution.setProcessSkipCount(1);
+        // when
+        ExitStatus exitStatus = underTest.afterStep(stepExecution);
+        // then
+        assertEquals(ExitStatus.FAILED.getExitCode(), exitStatus.getExitCode());
+        assertEquals(BatchStatus.FAILED, stepExecution.getStatus());
+    }
+
+    @Test
+    public void givenOnlyLockedLoansWhenPartitionIsCompletedThenStepSucceeds() {
+        // given
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        stepExecution.setExitStatus(ExitStatus.COMPLETED);
+        stepExecution.setFilterCount(2);
+        // when
+        ExitStatus exitStatus = underTest.afterStep(stepExecution);
+        // then
+        assertEquals(ExitStatus.COMPLETED, exitStatus);
+        assertEquals(BatchStatus.COMPLETED, stepExecution.getStatus());
+    }
+
+    private RepeatStatus execute() throws Exception {
+        StepContribution contribution = stepExecution.createStepContribution();
+        RepeatStatus status = underTest.execute(contribution, null);
+        stepExecution.apply(contribution);
+        return status;
+    }
+}
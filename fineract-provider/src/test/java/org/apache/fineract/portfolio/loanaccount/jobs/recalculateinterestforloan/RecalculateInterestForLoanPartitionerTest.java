@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.jobs.recalculateinterestforloan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.cob.service.LoanAccountLockService;
+import org.apache.fineract.infrastructure.jobs.service.IdRangePartitions;
+import org.apache.fineract.organisation.office.data.OfficeData;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+public class RecalculateInterestForLoanPartitionerTest {
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanAccountLockService loanAccountLockService;
+    @Mock
+    private OfficeReadPlatformService officeReadPlatformService;
+    private RecalculateInterestForLoanPartitioner underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new RecalculateInterestForLoanPartitioner(loanReadPlatformService, loanAccountLockService, officeReadPlatformService,
+                null);
+    }
+
+    @Test
+    public void givenLoansWhenPartitionThenLoansAreSplitIntoContiguousRanges() {
+        // given
+        when(loanReadPlatformService.fetchLoansForInterestRecalculation(null)).thenReturn(List.of(12L, 4L, 1L, 9L, 5L, 4L));
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(2);
+        // then
+        assertEquals(2, partitions.size());
+        assertPartition(partitions.get(IdRangePartitions.PARTITION_PREFIX + "1"), 1L, 5L, 3);
+        assertPartition(partitions.get(IdRangePartitions.PARTITION_PREFIX + "2"), 9L, 12L, 2);
+        assertNull(partitions.get(IdRangePartitions.PARTITION_PREFIX + "1")
+                .getString(RecalculateInterestForLoanPartitioner.OFFICE_HIERARCHY, null));
+        verify(loanAccountLockService).removeLocks(LockOwner.LOAN_INTEREST_RECALCULATION);
+    }
+
+    @Test
+    public void givenOfficeWhenPartitionThenOnlyLoansOfTheOfficeHierarchyArePartitioned() {
+        // given
+        underTest = new RecalculateInterestForLoanPartitioner(loanReadPlatformService, loanAccountLockService, officeReadPlatformService,
+                2L);
+        OfficeData office = new OfficeData(2L, "Branch", null, null, null, ".1.2.", 1L, "Head Office", null);
+        when(officeReadPlatformService.retrieveOffice(2L)).thenReturn(office);
+        when(loanReadPlatformService.fetchLoansForInterestRecalculation(".1.2.%")).thenReturn(List.of(3L, 8L));
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(1);
+        // then
+        assertEquals(1, partitions.size());
+        ExecutionContext partition = partitions.get(IdRangePartitions.PARTITION_PREFIX + "1");
+        assertPartition(partition, 3L, 8L, 2);
+        assertEquals(".1.2.%", partition.getString(RecalculateInterestForLoanPartitioner.OFFICE_HIERARCHY));
+    }
+
+    @Test
+    public void givenNoLoansWhenPartitionThenNoPartitionIsCreated() {
+        // given
+        when(loanReadPlatformService.fetchLoansForInterestRecalculation(null)).thenReturn(List.of());
+        // when
+        Map<String, ExecutionContext> partitions = underTest.partition(4);
+        // then
+        assertTrue(partitions.isEmpty());
+    }
+
+    private void assertPartition(ExecutionContext partition, long minLoanId, long maxLoanId, int loanCount) {
+        assertEquals(minLoanId, partition.getLong(RecalculateInterestForLoanPartitioner.MIN_LOAN_ID));
+        assertEquals(maxLoanId, partition.getLong(RecalculateInterestForLoanPartitioner.MAX_LOAN_ID));
+        assertEquals(loanCount, partition.getInt(RecalculateInterestForLoanPartitioner.LOAN_COUNT));
+    }
+}
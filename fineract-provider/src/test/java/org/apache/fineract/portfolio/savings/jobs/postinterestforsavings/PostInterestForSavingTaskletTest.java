@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class PostInterestForSavingTaskletTest {
+
+    @Mock
+    private SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private SavingsSchedularInterestPoster savingsSchedularInterestPoster;
+    @Mock
+    private StepContribution stepContribution;
+    private ThreadPoolTaskExecutor taskExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private PostInterestForSavingTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(4);
+        taskExecutor.setMaxPoolSize(4);
+        taskExecutor.setQueueCapacity(8);
+        taskExecutor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new PostInterestForSavingTasklet(savingAccountReadPlatformService, configurationDomainService, applicationContext,
+                transactionTemplate, taskExecutor, meterRegistry);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(applicationContext.getBean(SavingsSchedularInterestPoster.class)).thenReturn(savingsSchedularInterestPoster);
+        SavingsAccountData savingsAccount = mock(SavingsAccountData.class);
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(eq(false), anyList()))
+                .thenAnswer(invocation -> Collections.nCopies(invocation.<List<Long>>getArgument(1).size(), savingsAccount));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    public void givenDueSavingsAccountsWhenExecuteThenInterestIsPostedPerBatch() throws Exception {
+        // given
+        streamSavingsIds(1L, 2L, 3L, 4L, 5L);
+        // when
+        RepeatStatus result = underTest.execute(stepContribution, chunkContext("2", "2"));
+        // then
+        assertEquals(RepeatStatus.FINISHED, result);
+        verify(savingAccountReadPlatformService).retrieveAllSavingsDataForInterestPosting(false, List.of(1L, 2L));
+        verify(savingAccountReadPlatformService).retrieveAllSavingsDataForInterestPosting(false, List.of(3L, 4L));
+        verify(savingAccountReadPlatformService).retrieveAllSavingsDataForInterestPosting(false, List.of(5L));
+        verify(savingsSchedularInterestPoster, times(3)).call();
+        assertEquals(5.0, meterRegistry.get(PostInterestForSavingTasklet.POSTED_ACCOUNTS_COUNTER_NAME).counter().count());
+        assertEquals(3L, meterRegistry.get(PostInterestForSavingTasklet.BATCH_TIMER_NAME).timer().count());
+    }
+
+    @Test
+    public void givenFailingBatchWhenExecuteThenRemainingBatchesAreStillPosted() throws Exception {
+        // given
+        streamSavingsIds(1L, 2L, 3L, 4L, 5L, 6L);
+        doThrow(new JobExecutionException(List.of(new IllegalStateException()))).doReturn(null).when(savingsSchedularInterestPoster)
+                .call();
+        // when
+        underTest.execute(stepContribution, chunkContext("1", "3"));
+        // then
+        verify(savingsSchedularInterestPoster, times(2)).call();
+        assertEquals(3.0, meterRegistry.get(PostInterestForSavingTasklet.POSTED_ACCOUNTS_COUNTER_NAME).counter().count());
+        assertEquals(3.0, meterRegistry.get(PostInterestForSavingTasklet.FAILED_ACCOUNTS_COUNTER_NAME).counter().count());
+    }
+
+    @Test
+    public void givenFailingReaderWhenExecuteThenStepFails() {
+        // given
+        doThrow(new IllegalStateException("cursor closed")).when(savingAccountReadPlatformService)
+                .streamSavingsIdsForInterestPosting(anyInt(), anyInt(), any());
+        // when
+        JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> underTest.execute(stepContribution, chunkContext("2", "2")));
+        // then
+        assertEquals(IllegalStateException.class, exception.getCauses().get(0).getClass());
+        verify(savingsSchedularInterestPoster, times(0)).call();
+    }
+
+    @Test
+    public void givenFailingWorkerWhenExecuteThenStepFails() {
+        // given
+        streamSavingsIds(1L, 2L, 3L, 4L);
+        doThrow(new NoClassDefFoundError("SavingsSchedularInterestPoster")).when(applicationContext)
+                .getBean(SavingsSchedularInterestPoster.class);
+        // when
+        JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> underTest.execute(stepContribution, chunkContext("1", "1")));
+        // then
+        assertTrue(exception.getCauses().stream().anyMatch(NoClassDefFoundError.class::isInstance));
+    }
+
+    private void streamSavingsIds(Long... savingsIds) {
+        doAnswer(invocation -> {
+            Consumer<Long> consumer = invocation.getArgument(2);
+            for (Long savingsId : savingsIds) {
+                consumer.accept(savingsId);
+            }
+            return null;
+        }).when(savingAccountReadPlatformService).streamSavingsIdsForInterestPosting(anyInt(), anyInt(), any());
+    }
+
+    private ChunkContext chunkContext(String threadPoolSize, String batchSize) {
+        ChunkContext chunkContext = mock(ChunkContext.class, RETURNS_DEEP_STUBS);
+        when(chunkContext.getStepContext().getJobParameters())
+                .thenReturn(Map.of("thread-pool-size", threadPoolSize, "batch-size", batchSize));
+        return chunkContext;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.domain;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.service.DefaultTenantExtension;
+import org.apache.fineract.infrastructure.security.exception.NoAuthorizationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.security.core.userdetails.User;
+
+@ExtendWith(DefaultTenantExtension.class)
+public class AppUserTest {
+
+    @Test
+    public void testPermissionChecksAreCaseInsensitive() {
+        // given
+        AppUser appUser = createUser(role(new Permission("portfolio", "LOAN", "CREATE")));
+        // when & then
+        assertTrue(appUser.hasSpecificPermissionTo("CREATE_LOAN"));
+        assertTrue(appUser.hasSpecificPermissionTo("create_loan"));
+        assertFalse(appUser.hasSpecificPermissionTo("UPDATE_LOAN"));
+        assertFalse(appUser.hasSpecificPermissionTo(null));
+        assertDoesNotThrow(() -> appUser.validateHasPermissionTo("CREATE_LOAN"));
+        assertThrows(NoAuthorizationException.class, () -> appUser.validateHasPermissionTo("UPDATE_LOAN"));
+        assertFalse(appUser.hasNotPermissionForAnyOf("ALL_FUNCTIONS", "CREATE_LOAN"));
+        assertTrue(appUser.hasNotPermissionForAnyOf("ALL_FUNCTIONS", "DELETE_LOAN"));
+    }
+
+    @Test
+    public void testAllFunctionsPermissionGrantsEveryPermission() {
+        // given
+        AppUser appUser = createUser(role(new Permission("special", "FUNCTIONS", "ALL")));
+        // when & then
+        assertTrue(appUser.hasAnyPermission(List.of("UPDATE_LOAN")));
+        assertFalse(appUser.hasNotPermissionForReport("Client Listing"));
+        assertFalse(appUser.hasSpecificPermissionTo("UPDATE_LOAN"));
+    }
+
+    @Test
+    public void testPermissionsAreRecompiledWhenRolesChange() {
+        // given
+        AppUser appUser = createUser(role(new Permission("portfolio", "LOAN", "CREATE")));
+        assertFalse(appUser.hasSpecificPermissionTo("READ_CLIENT"));
+        // when
+        appUser.updateRoles(new HashSet<>(Set.of(role(new Permission("portfolio", "CLIENT", "READ")))));
+        // then
+        assertTrue(appUser.hasSpecificPermissionTo("READ_CLIENT"));
+        assertFalse(appUser.hasSpecificPermissionTo("CREATE_LOAN"));
+    }
+
+    private AppUser createUser(Role role) {
+        User user = new User("mifos", "password", List.of());
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        return new AppUser(null, user, roles, "mifos@mifos.org", "App", "Administrator", null, true, false, List.of(), false);
+    }
+
+    private Role role(Permission permission) {
+        Role role = new Role("role", "role");
+        role.updatePermission(permission, true);
+        return role;
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.apache.fineract.integrationtests.common.ClientHelper;
+import org.apache.fineract.integrationtests.common.CollateralManagementHelper;
+import org.apache.fineract.integrationtests.common.LoanRescheduleRequestHelper;
+import org.apache.fineract.integrationtests.common.Utils;
+import org.apache.fineract.integrationtests.common.loans.LoanApplicationTestBuilder;
+import org.apache.fineract.integrationtests.common.loans.LoanProductTestBuilder;
+import org.apache.fineract.integrationtests.common.loans.LoanRescheduleRequestTestBuilder;
+import org.apache.fineract.integrationtests.common.loans.LoanTransactionHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a regenerated repayment schedule, whose installments are updated in place, added and removed by the same
+ * flush, is persisted consistently with the EclipseLink JDBC batch writing (fineract.jpa.batch-writing.enabled), which
+ * is enabled by default.
+ */
+@SuppressWarnings({ "rawtypes" })
+public class LoanScheduleRegenerationIntegrationTest {
+
+    private static final String LOAN_PRINCIPAL_AMOUNT = "100000.00";
+    private static final String NUMBER_OF_REPAYMENTS = "12";
+    private static final String INTEREST_RATE_PER_PERIOD = "18";
+    private static final String DISBURSEMENT_DATE = "04 September 2014";
+
+    private ResponseSpecification responseSpec;
+    private RequestSpecification requestSpec;
+    private LoanTransactionHelper loanTransactionHelper;
+    private LoanRescheduleRequestHelper loanRescheduleRequestHelper;
+    private Integer clientId;
+
+    @BeforeEach
+    public void initialize() {
+        Utils.initializeRESTAssured();
+        this.requestSpec = new RequestSpecBuilder().setContentType(ContentType.JSON).build();
+        this.requestSpec.header("Authorization", "Basic " + Utils.loginIntoServerAndGetBase64EncodedAuthenticationKey());
+        this.responseSpec = new ResponseSpecBuilder().expectStatusCode(200).build();
+        this.loanTransactionHelper = new LoanTransactionHelper(this.requestSpec, this.responseSpec);
+        this.loanRescheduleRequestHelper = new LoanRescheduleRequestHelper(this.requestSpec, this.responseSpec);
+        this.clientId = ClientHelper.createClient(this.requestSpec, this.responseSpec);
+    }
+
+    @Test
+    public void testApprovedRescheduleRequestKeepsTheScheduleConsistent() {
+        // given
+        final String loanProductJSON = new LoanProductTestBuilder().withPrincipal(LOAN_PRINCIPAL_AMOUNT)
+                .withNumberOfRepayments(NUMBER_OF_REPAYMENTS).withinterestRatePerPeriod(INTEREST_RATE_PER_PERIOD)
+                .withInterestRateFrequencyTypeAsYear().build(null);
+        final Integer loanId = createDisbursedLoan(this.loanTransactionHelper.getLoanProductId(loanProductJSON), false);
+        final int installmentCount = getRepaymentPeriods(loanId).size();
+
+        // when
+        final String requestJSON = new LoanRescheduleRequestTestBuilder().build(loanId.toString());
+        final Integer loanRescheduleRequestId = this.loanRescheduleRequestHelper.createLoanRescheduleRequest(requestJSON);
+        this.loanRescheduleRequestHelper.approveLoanRescheduleRequest(loanRescheduleRequestId,
+                new LoanRescheduleRequestTestBuilder().getApproveLoanRescheduleRequestJSON());
+
+        // then
+        final List<HashMap> periods = getRepaymentPeriods(loanId);
+        assertTrue(periods.size() > installmentCount, "The extra terms are added to the schedule");
+        verifySchedule(loanId, periods);
+    }
+
+    @Test
+    public void testPrepaymentWithInterestRecalculationKeepsTheScheduleConsistent() {
+        // given
+        final String loanProductJSON = new LoanProductTestBuilder().withPrincipal(LOAN_PRINCIPAL_AMOUNT)
+                .withNumberOfRepayments(NUMBER_OF_REPAYMENTS).withinterestRatePerPeriod(INTEREST_RATE_PER_PERIOD)
+                .withInterestRateFrequencyTypeAsYear().withInterestTypeAsDecliningBalance().withInterestCalculationPeriodTypeAsDays()
+                .withInterestRecalculationDetails(LoanProductTestBuilder.RECALCULATION_COMPOUNDING_METHOD_NONE,
+                        LoanProductTestBuilder.RECALCULATION_STRATEGY_REDUCE_NUMBER_OF_INSTALLMENTS,
+                        LoanProductTestBuilder.INTEREST_APPLICABLE_STRATEGY_ON_PRE_CLOSE_DATE)
+                .withInterestRecalculationRestFrequencyDetails(LoanProductTestBuilder.RECALCULATION_FREQUENCY_TYPE_DAILY, "0", null, null)
+                .withInterestRecalculationCompoundingFrequencyDetails(null, null, null, null).build(null);
+        final Integer loanId = createDisbursedLoan(this.loanTransactionHelper.getLoanProductId(loanProductJSON), true);
+        final int installmentCount = getRepaymentPeriods(loanId).size();
+
+        // when
+        this.loanTransactionHelper.makeRepayment("04 October 2014", 50000.0f, loanId);
+
+        // then
+        final List<HashMap> periods = getRepaymentPeriods(loanId);
+        assertTrue(periods.size() < installmentCount, "The trailing installments are removed from the schedule");
+        verifySchedule(loanId, periods);
+    }
+
+    private Integer createDisbursedLoan(final Integer loanProductId, final boolean decliningBalance) {
+        List<HashMap> collaterals = new ArrayList<>();
+        final Integer collateralId = CollateralManagementHelper.createCollateralProduct(this.requestSpec, this.responseSpec);
+        Assertions.assertNotNull(collateralId);
+        final Integer clientCollateralId = CollateralManagementHelper.createClientCollateral(this.requestSpec, this.responseSpec,
+                this.clientId.toString(), collateralId);
+        Assertions.assertNotNull(clientCollateralId);
+        HashMap<String, String> collateral = new HashMap<>(2);
+        collateral.put("clientCollateralId", clientCollateralId.toString());
+        collateral.put("quantity", "1");
+        collaterals.add(collateral);
+
+        LoanApplicationTestBuilder loanApplicationTestBuilder = new LoanApplicationTestBuilder().withPrincipal(LOAN_PRINCIPAL_AMOUNT)
+                .withLoanTermFrequency(NUMBER_OF_REPAYMENTS).withLoanTermFrequencyAsMonths().withNumberOfRepayments(NUMBER_OF_REPAYMENTS)
+                .withRepaymentEveryAfter("1").withRepaymentFrequencyTypeAsMonths().withAmortizationTypeAsEqualInstallments()
+                .withInterestCalculationPeriodTypeAsDays().withInterestRatePerPeriod(INTEREST_RATE_PER_PERIOD)
+                .withSubmittedOnDate(DISBURSEMENT_DATE).withExpectedDisbursementDate(DISBURSEMENT_DATE).withCollaterals(collaterals);
+        if (decliningBalance) {
+            loanApplicationTestBuilder.withInterestTypeAsDecliningBalance();
+        }
+        final Integer loanId = this.loanTransactionHelper
+                .getLoanId(loanApplicationTestBuilder.build(this.clientId.toString(), loanProductId.toString(), null));
+        this.loanTransactionHelper.approveLoan(DISBURSEMENT_DATE, loanId);
+        String loanDetails = this.loanTransactionHelper.getLoanDetails(this.requestSpec, this.responseSpec, loanId);
+        this.loanTransactionHelper.disburseLoanWithNetDisbursalAmount(DISBURSEMENT_DATE, loanId,
+                JsonPath.from(loanDetails).get("netDisbursalAmount").toString());
+        return loanId;
+    }
+
+    private List<HashMap> getRepaymentPeriods(final Integer loanId) {
+        final List<HashMap> periods = new ArrayList<>();
+        for (Object period : this.loanTransactionHelper.getLoanRepaymentSchedule(this.requestSpec, this.responseSpec, loanId)) {
+            // The disbursement period has no period number
+            if (((HashMap) period).get("period") != null) {
+                periods.add((HashMap) period);
+            }
+        }
+        return periods;
+    }
+
+    private void verifySchedule(final Integer loanId, final List<HashMap> periods) {
+        BigDecimal principalDue = BigDecimal.ZERO;
+        LocalDate previousDueDate = null;
+        for (int i = 0; i < periods.size(); i++) {
+            final HashMap period = periods.get(i);
+            assertEquals(i + 1, period.get("period"), "Installment numbers are contiguous");
+            final List dueDate = (List) period.get("dueDate");
+            final LocalDate periodDueDate = LocalDate.of((Integer) dueDate.get(0), (Integer) dueDate.get(1), (Integer) dueDate.get(2));
+            assertTrue(previousDueDate == null || periodDueDate.isAfter(previousDueDate), "Due dates are increasing");
+            previousDueDate = periodDueDate;
+            principalDue = principalDue.add(new BigDecimal(String.valueOf(period.get("principalDue"))));
+        }
+        assertEquals(0, new BigDecimal(LOAN_PRINCIPAL_AMOUNT).compareTo(principalDue), "The installments add up to the principal");
+        final HashMap loanSummary = this.loanTransactionHelper.getLoanSummary(this.requestSpec, this.responseSpec, loanId);
+        final BigDecimal principalOutstanding = new BigDecimal(String.valueOf(loanSummary.get("principalOutstanding")));
+        final BigDecimal principalPaid = new BigDecimal(String.valueOf(loanSummary.get("principalPaid")));
+        assertEquals(0, new BigDecimal(LOAN_PRINCIPAL_AMOUNT).compareTo(principalOutstanding.add(principalPaid)),
+                "The summary matches the persisted schedule");
+    }
+}